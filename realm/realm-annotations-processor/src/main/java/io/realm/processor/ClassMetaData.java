@@ -32,12 +32,17 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
 
+import io.realm.annotations.CompositeIndex;
+import io.realm.annotations.FullTextIndex;
 import io.realm.annotations.Ignore;
 import io.realm.annotations.Index;
+import io.realm.annotations.IndexType;
+import io.realm.annotations.LinkingObjects;
 import io.realm.annotations.PrimaryKey;
 import io.realm.annotations.Required;
 
@@ -55,6 +60,11 @@ public class ClassMetaData {
     private List<String> fieldNames = new ArrayList<String>();
     private List<String> ignoreFieldNames = new ArrayList<String>();
     private List<VariableElement> indexedFields = new ArrayList<VariableElement>(); // list of all fields marked @Index.
+    private List<VariableElement> fullTextIndexedFields = new ArrayList<VariableElement>(); // list of all fields marked @FullTextIndex.
+    private List<VariableElement> caseInsensitiveIndexedFields = new ArrayList<VariableElement>(); // list of all fields marked @Index(caseInsensitive = true).
+    private List<VariableElement> orderedIndexedFields = new ArrayList<VariableElement>(); // list of all fields marked @Index(type = IndexType.ORDERED).
+    private List<VariableElement> compositeIndexedFields = new ArrayList<VariableElement>(); // list of the fields of the @CompositeIndex, in index order.
+    private List<VariableElement> backlinkFields = new ArrayList<VariableElement>(); // list of all fields marked @LinkingObjects. Not persisted.
     private Set<VariableElement> nullableFields = new HashSet<VariableElement>(); // Set of fields which can be nullable
     private Set<String> expectedGetters = new HashSet<String>(); // Set of fieldnames that are expected to have a getter
     private Set<String> expectedSetters = new HashSet<String>(); // Set of fieldnames that are expected to have a setter
@@ -104,11 +114,13 @@ public class ClassMetaData {
         packageName = packageElement.getQualifiedName().toString();
 
         if (!categorizeClassElements()) return false;
+        if (!checkCompositeIndex()) return false;
         if (!checkListTypes()) return  false;
         if (!checkMethods()) return false;
         if (!checkDefaultConstructor()) return false;
         if (!checkRequiredGetters()) return false;
         if (!checkRequireSetters()) return false;
+        if (!checkBacklinkFields()) return false;
 
         return true; // Meta data was successfully generated
     }
@@ -292,7 +304,38 @@ public class ClassMetaData {
                     continue;
                 }
 
-                if (variableElement.getAnnotation(Index.class) != null) {
+                if (variableElement.getAnnotation(LinkingObjects.class) != null) {
+                    // The field has the @LinkingObjects annotation. It isn't persisted and only has a getter.
+                    if (!Utils.isRealmResults(variableElement) || Utils.getGenericType(variableElement) == null) {
+                        Utils.error("@LinkingObjects is only applicable to RealmResults fields with a generic type "
+                                + element + ".");
+                        return false;
+                    }
+                    if (!variableElement.getModifiers().contains(Modifier.PRIVATE)) {
+                        Utils.error("The fields of the RealmObject class must be private", variableElement);
+                        return false;
+                    }
+                    backlinkFields.add(variableElement);
+                    expectedGetters.add(fieldName);
+                    continue;
+                }
+
+                if (variableElement.getAnnotation(Index.class) != null
+                        && variableElement.getAnnotation(Index.class).type() == IndexType.ORDERED) {
+                    // The field has the @Index(type = IndexType.ORDERED) annotation. It's only valid for column types:
+                    // INTEGER, FLOAT, DOUBLE, DATE
+                    String columnType = Constants.JAVA_TO_COLUMN_TYPES.get(variableElement.asType().toString());
+                    if (columnType != null && !variableElement.getAnnotation(Index.class).caseInsensitive() &&
+                            (columnType.equals("RealmFieldType.INTEGER") ||
+                            columnType.equals("RealmFieldType.FLOAT") ||
+                            columnType.equals("RealmFieldType.DOUBLE") ||
+                            columnType.equals("RealmFieldType.DATE"))) {
+                        orderedIndexedFields.add(variableElement);
+                    } else {
+                        Utils.error("@Index(type = IndexType.ORDERED) is not applicable to this field " + element + ".");
+                        return false;
+                    }
+                } else if (variableElement.getAnnotation(Index.class) != null) {
                     // The field has the @Index annotation. It's only valid for column types:
                     // STRING, DATE, INTEGER, BOOLEAN
                     String elementTypeCanonicalName = variableElement.asType().toString();
@@ -306,6 +349,25 @@ public class ClassMetaData {
                         Utils.error("@Index is not applicable to this field " + element + ".");
                         return false;
                     }
+                    if (variableElement.getAnnotation(Index.class).caseInsensitive()) {
+                        // Only Strings can be folded
+                        if (Utils.isString(variableElement)) {
+                            caseInsensitiveIndexedFields.add(variableElement);
+                        } else {
+                            Utils.error("@Index(caseInsensitive = true) is not applicable to this field " + element + ".");
+                            return false;
+                        }
+                    }
+                }
+
+                if (variableElement.getAnnotation(FullTextIndex.class) != null) {
+                    // The field has the @FullTextIndex annotation. It's only valid for String fields.
+                    if (Utils.isString(variableElement)) {
+                        fullTextIndexedFields.add(variableElement);
+                    } else {
+                        Utils.error("@FullTextIndex is not applicable to this field " + element + ".");
+                        return false;
+                    }
                 }
 
                 if (variableElement.getAnnotation(Required.class) == null) {
@@ -380,6 +442,9 @@ public class ClassMetaData {
         for (VariableElement field : fields) {
             fieldNames.add(field.getSimpleName().toString());
         }
+        for (VariableElement field : backlinkFields) {
+            fieldNames.add(field.getSimpleName().toString());
+        }
 
         if (fields.size() == 0) {
             Utils.error(className + " must contain at least 1 persistable field");
@@ -388,6 +453,78 @@ public class ClassMetaData {
         return true;
     }
 
+    private boolean checkCompositeIndex() {
+        CompositeIndex compositeIndex = classType.getAnnotation(CompositeIndex.class);
+        if (compositeIndex == null) {
+            return true;
+        }
+        String[] indexedFieldNames = compositeIndex.value();
+        if (indexedFieldNames.length < 2) {
+            Utils.error("@CompositeIndex needs at least two fields.", classType);
+            return false;
+        }
+        for (String indexedFieldName : indexedFieldNames) {
+            VariableElement indexedField = null;
+            for (VariableElement field : fields) {
+                if (field.getSimpleName().toString().equals(indexedFieldName)) {
+                    indexedField = field;
+                }
+            }
+            if (indexedField == null) {
+                Utils.error("@CompositeIndex field " + indexedFieldName + " doesn't exist or is ignored.", classType);
+                return false;
+            }
+            if (compositeIndexedFields.contains(indexedField)) {
+                Utils.error("@CompositeIndex field " + indexedFieldName + " is listed more than once.", classType);
+                return false;
+            }
+            // Only valid for column types: STRING, DATE, INTEGER, BOOLEAN
+            String columnType = Constants.JAVA_TO_COLUMN_TYPES.get(indexedField.asType().toString());
+            if (columnType == null || !(columnType.equals("RealmFieldType.STRING") ||
+                    columnType.equals("RealmFieldType.DATE") ||
+                    columnType.equals("RealmFieldType.INTEGER") ||
+                    columnType.equals("RealmFieldType.BOOLEAN"))) {
+                Utils.error("@CompositeIndex is not applicable to the field " + indexedFieldName + ".", classType);
+                return false;
+            }
+            compositeIndexedFields.add(indexedField);
+        }
+        return true;
+    }
+
+    // Checks that @LinkingObjects fields are read-only and name a field of the origin class linking to this class.
+    private boolean checkBacklinkFields() {
+        for (VariableElement backlinkField : backlinkFields) {
+            String fieldName = backlinkField.getSimpleName().toString();
+            if (setters.containsKey(fieldName)) {
+                Utils.error("@LinkingObjects fields are read-only and must not have a setter: " + fieldName,
+                        backlinkField);
+                return false;
+            }
+            String originFieldName = backlinkField.getAnnotation(LinkingObjects.class).value();
+            TypeMirror originType = ((DeclaredType) backlinkField.asType()).getTypeArguments().get(0);
+            VariableElement originField = null;
+            for (Element element : typeUtils.asElement(originType).getEnclosedElements()) {
+                if (element.getKind().equals(ElementKind.FIELD)
+                        && element.getSimpleName().toString().equals(originFieldName)) {
+                    originField = (VariableElement) element;
+                }
+            }
+            if (originField == null || originField.getAnnotation(Ignore.class) != null
+                    || originField.getModifiers().contains(Modifier.STATIC)) {
+                Utils.error(String.format("@LinkingObjects field %s refers to %s.%s which doesn't exist or is ignored.",
+                        fieldName, originType, originFieldName), backlinkField);
+                return false;
+            }
+            if (!typeUtils.isSameType(originField.asType(), classType.asType())) {
+                Utils.error(String.format("@LinkingObjects field %s refers to %s.%s which doesn't link to %s.",
+                        fieldName, originType, originFieldName, className), backlinkField);
+                return false;
+            }
+        }
+        return true;
+    }
+
     public String getSimpleClassName() {
         return className;
     }
@@ -429,6 +566,26 @@ public class ClassMetaData {
         return indexedFields;
     }
 
+    public List<VariableElement> getFullTextIndexedFields() {
+        return fullTextIndexedFields;
+    }
+
+    public List<VariableElement> getCaseInsensitiveIndexedFields() {
+        return caseInsensitiveIndexedFields;
+    }
+
+    public List<VariableElement> getOrderedIndexedFields() {
+        return orderedIndexedFields;
+    }
+
+    public List<VariableElement> getCompositeIndexedFields() {
+        return compositeIndexedFields;
+    }
+
+    public List<VariableElement> getBacklinkFields() {
+        return backlinkFields;
+    }
+
     public boolean hasPrimaryKey() {
         return primaryKey != null;
     }
@@ -93,8 +93,11 @@ import io.realm.annotations.RealmClass;
  */
 @SupportedAnnotationTypes({
         "io.realm.annotations.RealmClass",
+        "io.realm.annotations.FullTextIndex",
+        "io.realm.annotations.CompositeIndex",
         "io.realm.annotations.Ignore",
         "io.realm.annotations.Index",
+        "io.realm.annotations.LinkingObjects",
         "io.realm.annotations.PrimaryKey",
         "io.realm.annotations.RealmModule",
         "io.realm.annotations.Required"
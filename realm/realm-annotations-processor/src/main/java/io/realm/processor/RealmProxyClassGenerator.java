@@ -33,6 +33,8 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.util.Types;
 import javax.tools.JavaFileObject;
 
+import io.realm.annotations.LinkingObjects;
+
 public class RealmProxyClassGenerator {
     private ProcessingEnvironment processingEnvironment;
     private ClassMetaData metadata;
@@ -58,6 +60,7 @@ public class RealmProxyClassGenerator {
         ArrayList<String> imports = new ArrayList<String>();
         imports.add("android.util.JsonReader");
         imports.add("android.util.JsonToken");
+        imports.add("android.util.JsonWriter");
         imports.add("io.realm.RealmFieldType");
         imports.add("io.realm.exceptions.RealmMigrationNeededException");
         imports.add("io.realm.internal.ColumnInfo");
@@ -66,6 +69,7 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.internal.TableOrView");
         imports.add("io.realm.internal.ImplicitTransaction");
         imports.add("io.realm.internal.LinkView");
+        imports.add("io.realm.internal.Row");
         imports.add("io.realm.internal.android.JsonUtils");
         imports.add("java.io.IOException");
         imports.add("java.util.ArrayList");
@@ -74,10 +78,26 @@ public class RealmProxyClassGenerator {
         imports.add("java.util.Date");
         imports.add("java.util.Map");
         imports.add("java.util.HashMap");
+        imports.add("java.util.Set");
         imports.add("org.json.JSONObject");
         imports.add("org.json.JSONException");
         imports.add("org.json.JSONArray");
         imports.add(metadata.getFullyQualifiedClassName());
+        if (!metadata.getFullTextIndexedFields().isEmpty()) {
+            imports.add("io.realm.internal.FullTextIndex");
+        }
+        if (!metadata.getCaseInsensitiveIndexedFields().isEmpty()) {
+            imports.add("io.realm.internal.CaseInsensitiveIndex");
+        }
+        if (!metadata.getCompositeIndexedFields().isEmpty()) {
+            imports.add("io.realm.internal.CompositeIndex");
+        }
+        if (!metadata.getOrderedIndexedFields().isEmpty()) {
+            imports.add("io.realm.internal.OrderedIndex");
+        }
+        if (!metadata.getBacklinkFields().isEmpty()) {
+            imports.add("io.realm.internal.BacklinkIndex");
+        }
 
         for (VariableElement field : metadata.getFields()) {
             String fieldTypeName = "";
@@ -110,13 +130,17 @@ public class RealmProxyClassGenerator {
         emitAccessors(writer);
         emitInitTableMethod(writer);
         emitValidateTableMethod(writer);
+        emitCreateColumnInfoMethod(writer);
         emitGetTableNameMethod(writer);
+        emitGetSchemaHashMethod(writer);
         emitGetFieldNamesMethod(writer);
         emitCreateOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
         emitCopyOrUpdateMethod(writer);
         emitCopyMethod(writer);
         emitUpdateMethod(writer);
+        emitCreateDetachedCopyMethod(writer);
+        emitExportToJsonMethod(writer);
         emitToStringMethod(writer);
         emitHashcodeMethod(writer);
         emitEqualsMethod(writer);
@@ -241,6 +265,13 @@ public class RealmProxyClassGenerator {
                 writer.emitAnnotation("Override");
                 writer.beginMethod("void", metadata.getSetter(fieldName), EnumSet.of(Modifier.PUBLIC), fieldTypeCanonicalName, "value");
                 writer.emitStatement("realm.checkIfValid()");
+                if (metadata.getFullTextIndexedFields().contains(field)
+                        || metadata.getCaseInsensitiveIndexedFields().contains(field)
+                        || metadata.getCompositeIndexedFields().contains(field)
+                        || metadata.getOrderedIndexedFields().contains(field)) {
+                    // The full-text, case insensitive, composite and ordered indexes read the new value when the transaction is committed.
+                    writer.emitStatement("realm.scheduleIndexUpdate(row, %s)", fieldIndexVariableReference(field));
+                }
                 // Although setting null value for String and bytes[] can be handled by the JNI code, we still generate the same code here.
                 // Compared with getter, null value won't trigger more native calls in setter which is relatively cheaper.
                 if (metadata.isNullable(field)) {
@@ -280,6 +311,10 @@ public class RealmProxyClassGenerator {
                 writer.emitAnnotation("Override");
                 writer.beginMethod("void", metadata.getSetter(fieldName), EnumSet.of(Modifier.PUBLIC), fieldTypeCanonicalName, "value");
                 writer.emitStatement("realm.checkIfValid()");
+                // The class linked to might declare a @LinkingObjects field, which keeps a backlink index of this field.
+                writer.beginControlFlow("if (columnInfo.hasBacklinkIndex(%s))", fieldIndexVariableReference(field));
+                    writer.emitStatement("realm.scheduleIndexUpdate(row, %s)", fieldIndexVariableReference(field));
+                writer.endControlFlow();
                 writer.beginControlFlow("if (value == null)");
                     writer.emitStatement("row.nullifyLink(%s)", fieldIndexVariableReference(field));
                     writer.emitStatement("return");
@@ -346,6 +381,23 @@ public class RealmProxyClassGenerator {
             }
             writer.emitEmptyLine();
         }
+
+        for (VariableElement field : metadata.getBacklinkFields()) {
+            /**
+             * Backlinks, read-only
+             */
+            String fieldName = field.getSimpleName().toString();
+            String originType = ((DeclaredType) field.asType()).getTypeArguments().get(0).toString();
+            String originFieldName = field.getAnnotation(LinkingObjects.class).value();
+
+            writer.emitAnnotation("Override");
+            writer.beginMethod(field.asType().toString(), metadata.getGetter(fieldName), EnumSet.of(Modifier.PUBLIC));
+            writer.emitStatement("realm.checkIfValid()");
+            writer.emitStatement("return RealmQuery.createQuery((Realm) realm, %s.class).linksTo(\"%s\", this).findAll()",
+                    originType, originFieldName);
+            writer.endMethod();
+            writer.emitEmptyLine();
+        }
     }
 
     private void emitInitTableMethod(JavaWriter writer) throws IOException {
@@ -395,6 +447,25 @@ public class RealmProxyClassGenerator {
             writer.emitStatement("table.addSearchIndex(table.getColumnIndex(\"%s\"))", fieldName);
         }
 
+        for (VariableElement field : metadata.getFullTextIndexedFields()) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("FullTextIndex.addIndex(transaction, table, table.getColumnIndex(\"%s\"))", fieldName);
+        }
+
+        for (VariableElement field : metadata.getCaseInsensitiveIndexedFields()) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("CaseInsensitiveIndex.addIndex(transaction, table, table.getColumnIndex(\"%s\"))", fieldName);
+        }
+
+        for (VariableElement field : metadata.getOrderedIndexedFields()) {
+            String fieldName = field.getSimpleName().toString();
+            writer.emitStatement("OrderedIndex.addIndex(transaction, table, table.getColumnIndex(\"%s\"))", fieldName);
+        }
+
+        if (!metadata.getCompositeIndexedFields().isEmpty()) {
+            writer.emitStatement("CompositeIndex.addIndex(transaction, table, %s)", compositeIndexColumns());
+        }
+
         if (metadata.hasPrimaryKey()) {
             String fieldName = metadata.getPrimaryKey().getSimpleName().toString();
             writer.emitStatement("table.setPrimaryKey(\"%s\")", fieldName);
@@ -402,13 +473,37 @@ public class RealmProxyClassGenerator {
             writer.emitStatement("table.setPrimaryKey(\"\")");
         }
 
+        emitAddBacklinkIndexes(writer);
         writer.emitStatement("return table");
         writer.endControlFlow();
+        emitAddBacklinkIndexes(writer);
         writer.emitStatement("return transaction.getTable(\"%s%s\")", Constants.TABLE_PREFIX, this.className);
         writer.endMethod();
         writer.emitEmptyLine();
     }
 
+    // The backlink indexes are kept by the tables of the classes linking to this class. Such a table might just be
+    // created by a call to initTable() from this class and still miss its link column, so the index is also added
+    // when initTable() is called again for an existing table.
+    private void emitAddBacklinkIndexes(JavaWriter writer) throws IOException {
+        for (VariableElement field : metadata.getBacklinkFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String originType = Utils.getGenericType(field);
+            String originFieldName = field.getAnnotation(LinkingObjects.class).value();
+            writer.beginControlFlow("if (!transaction.hasTable(\"%s%s\"))", Constants.TABLE_PREFIX, originType);
+            writer.emitStatement("%s%s.initTable(transaction)", originType, Constants.PROXY_SUFFIX);
+            writer.endControlFlow();
+            writer.emitStatement("Table %sOriginTable = transaction.getTable(\"%s%s\")", fieldName,
+                    Constants.TABLE_PREFIX, originType);
+            writer.emitStatement("long %sOriginColumnIndex = %sOriginTable.getColumnIndex(\"%s\")", fieldName,
+                    fieldName, originFieldName);
+            writer.beginControlFlow("if (%sOriginColumnIndex != Table.NO_MATCH)", fieldName);
+            writer.emitStatement("BacklinkIndex.addIndex(transaction, %sOriginTable, %sOriginColumnIndex)", fieldName,
+                    fieldName);
+            writer.endControlFlow();
+        }
+    }
+
     private void emitValidateTableMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 columnInfoClassName(), // Return type
@@ -505,6 +600,30 @@ public class RealmProxyClassGenerator {
                     writer.endControlFlow();
                 }
 
+                // Validate @FullTextIndex
+                if (metadata.getFullTextIndexedFields().contains(field)) {
+                    writer.beginControlFlow("if (!FullTextIndex.hasIndex(transaction, table, table.getColumnIndex(\"%s\")))", fieldName);
+                    writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Full-text index not defined for field '%s' in existing Realm file. " +
+                            "Either remove @FullTextIndex or migrate using RealmObjectSchema.addFullTextIndex().\")", fieldName);
+                    writer.endControlFlow();
+                }
+
+                // Validate @Index(caseInsensitive = true)
+                if (metadata.getCaseInsensitiveIndexedFields().contains(field)) {
+                    writer.beginControlFlow("if (!CaseInsensitiveIndex.hasIndex(transaction, table, table.getColumnIndex(\"%s\")))", fieldName);
+                    writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Case insensitive index not defined for field '%s' in existing Realm file. " +
+                            "Either remove caseInsensitive from @Index or migrate using RealmObjectSchema.addIndex(fieldName, Case.INSENSITIVE).\")", fieldName);
+                    writer.endControlFlow();
+                }
+
+                // Validate @Index(type = IndexType.ORDERED)
+                if (metadata.getOrderedIndexedFields().contains(field)) {
+                    writer.beginControlFlow("if (!OrderedIndex.hasIndex(transaction, table, table.getColumnIndex(\"%s\")))", fieldName);
+                    writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Ordered index not defined for field '%s' in existing Realm file. " +
+                            "Either remove type from @Index or migrate using RealmObjectSchema.addOrderedIndex().\")", fieldName);
+                    writer.endControlFlow();
+                }
+
             } else if (Utils.isRealmObject(field)) { // Links
                 writer.beginControlFlow("if (!columnTypes.containsKey(\"%s\"))", fieldName);
                 writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Missing field '%s' in existing Realm file. " +
@@ -549,6 +668,34 @@ public class RealmProxyClassGenerator {
             fieldIndex++;
         }
 
+        // Validate @LinkingObjects
+        for (VariableElement field : metadata.getBacklinkFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String originType = Utils.getGenericType(field);
+            String originFieldName = field.getAnnotation(LinkingObjects.class).value();
+            writer.beginControlFlow("if (!transaction.hasTable(\"%s%s\"))", Constants.TABLE_PREFIX, originType);
+            writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Missing class '%s%s' for field '%s'\")",
+                    Constants.TABLE_PREFIX, originType, fieldName);
+            writer.endControlFlow();
+            writer.emitStatement("Table %sOriginTable = transaction.getTable(\"%s%s\")", fieldName,
+                    Constants.TABLE_PREFIX, originType);
+            writer.emitStatement("long %sOriginColumnIndex = %sOriginTable.getColumnIndex(\"%s\")", fieldName,
+                    fieldName, originFieldName);
+            writer.beginControlFlow("if (%sOriginColumnIndex == Table.NO_MATCH || !BacklinkIndex.hasIndex(transaction, %sOriginTable, %sOriginColumnIndex))",
+                    fieldName, fieldName, fieldName);
+            writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Backlink index not defined for field '%s' in class '%s' of existing Realm file. " +
+                    "Either remove @LinkingObjects from field '%s' or migrate using RealmObjectSchema.addBacklinkIndex().\")", originFieldName, originType, fieldName);
+            writer.endControlFlow();
+        }
+
+        // Validate @CompositeIndex
+        if (!metadata.getCompositeIndexedFields().isEmpty()) {
+            writer.beginControlFlow("if (!CompositeIndex.hasIndex(transaction, table, %s))", compositeIndexColumns());
+            writer.emitStatement("throw new RealmMigrationNeededException(transaction.getPath(), \"Composite index not defined for fields %s in existing Realm file. " +
+                    "Either remove @CompositeIndex or migrate using RealmObjectSchema.addCompositeIndex().\")", compositeIndexFieldNames());
+            writer.endControlFlow();
+        }
+
         writer.emitStatement("return %s", "columnInfo");
 
         writer.nextControlFlow("else");
@@ -558,6 +705,26 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private String compositeIndexColumns() {
+        StringBuilder sb = new StringBuilder("new long[] {");
+        List<VariableElement> fields = metadata.getCompositeIndexedFields();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append("table.getColumnIndex(\"").append(fields.get(i).getSimpleName()).append("\")");
+        }
+        return sb.append("}").toString();
+    }
+
+    private String compositeIndexFieldNames() {
+        List<String> fieldNames = new ArrayList<String>();
+        for (VariableElement field : metadata.getCompositeIndexedFields()) {
+            fieldNames.add("'" + field.getSimpleName() + "'");
+        }
+        return fieldNames.toString();
+    }
+
     private void emitGetTableNameMethod(JavaWriter writer) throws IOException {
         writer.beginMethod("String", "getTableName", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
         writer.emitStatement("return \"%s%s\"", Constants.TABLE_PREFIX, className);
@@ -565,6 +732,59 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitCreateColumnInfoMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                columnInfoClassName(), // Return type
+                "createColumnInfo", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "ImplicitTransaction", "transaction"); // Argument type & argument name
+        writer.emitStatement("return new %s(transaction.getPath(), transaction.getTable(\"%s%s\"))",
+                columnInfoClassName(), Constants.TABLE_PREFIX, className);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitGetSchemaHashMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod("long", "getSchemaHash", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
+        writer.emitStatement("return %dL", Utils.hash(getSchemaDescriptor()));
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    // Describes everything validateTable() checks, so a table with the same schema hash doesn't need validation.
+    private String getSchemaDescriptor() {
+        StringBuilder descriptor = new StringBuilder(className);
+        for (VariableElement field : metadata.getFields()) {
+            descriptor.append(';').append(field.getSimpleName()).append(' ').append(field.asType());
+            if (metadata.isNullable(field)) {
+                descriptor.append('?');
+            }
+            if (field.equals(metadata.getPrimaryKey())) {
+                descriptor.append(" @PrimaryKey");
+            }
+            if (metadata.getIndexedFields().contains(field)) {
+                descriptor.append(" @Index");
+            }
+            if (metadata.getFullTextIndexedFields().contains(field)) {
+                descriptor.append(" @FullTextIndex");
+            }
+            if (metadata.getCaseInsensitiveIndexedFields().contains(field)) {
+                descriptor.append(" @Index(caseInsensitive)");
+            }
+            if (metadata.getOrderedIndexedFields().contains(field)) {
+                descriptor.append(" @Index(ORDERED)");
+            }
+        }
+        for (VariableElement field : metadata.getBacklinkFields()) {
+            descriptor.append(';').append(field.getSimpleName()).append(' ').append(field.asType())
+                    .append(" @LinkingObjects(").append(field.getAnnotation(LinkingObjects.class).value()).append(')');
+        }
+        if (!metadata.getCompositeIndexedFields().isEmpty()) {
+            descriptor.append(";@CompositeIndex").append(compositeIndexFieldNames());
+        }
+        return descriptor.toString();
+    }
+
     private void emitGetFieldNamesMethod(JavaWriter writer) throws IOException {
         writer.beginMethod("List<String>", "getFieldNames", EnumSet.of(Modifier.PUBLIC, Modifier.STATIC));
         writer.emitStatement("return FIELD_NAMES");
@@ -762,6 +982,174 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitCreateDetachedCopyMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                className, // Return type
+                "createDetachedCopy", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                className, "realmObject", "int", "currentDepth", "int", "maxDepth", "Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>>", "cache");
+        writer
+            .beginControlFlow("if (currentDepth > maxDepth || realmObject == null)")
+                .emitStatement("return null")
+            .endControlFlow()
+            .emitStatement("RealmObjectProxy.CacheData<RealmObject> cachedObject = cache.get(realmObject)")
+            .emitStatement("%s standaloneObject", className)
+            .beginControlFlow("if (cachedObject != null)")
+                .emitSingleLineComment("Reuse the copy, unless it was created at a greater depth and must be filled deeper")
+                .beginControlFlow("if (currentDepth >= cachedObject.minDepth)")
+                    .emitStatement("return (%s) cachedObject.object", className)
+                .endControlFlow()
+                .emitStatement("standaloneObject = (%s) cachedObject.object", className)
+                .emitStatement("cachedObject.minDepth = currentDepth")
+            .nextControlFlow("else")
+                .emitStatement("standaloneObject = new %s()", className)
+                .emitStatement("cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject))")
+            .endControlFlow();
+
+        // The fields are read from the row directly, the Realm is only validated once by the caller
+        writer
+            .emitStatement("%s columnInfo = ((%s) realmObject).columnInfo", columnInfoClassName(), Utils.getProxyClassName(className))
+            .emitStatement("Row row = realmObject.row");
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldTypeCanonicalName = field.asType().toString();
+            String setter = metadata.getSetter(fieldName);
+
+            if (Utils.isRealmObject(field)) {
+                writer
+                    .emitEmptyLine()
+                    .emitSingleLineComment("Deep copy of %s", fieldName)
+                    .beginControlFlow("if (currentDepth == maxDepth || row.isNullLink(%s))", fieldIndexVariableReference(field))
+                        .emitStatement("standaloneObject.%s(null)", setter)
+                    .nextControlFlow("else")
+                        .emitStatement("standaloneObject.%s(%s.createDetachedCopy(realmObject.realm.get(%s.class, row.getLink(%s)), currentDepth + 1, maxDepth, cache))",
+                                setter, Utils.getProxyClassSimpleName(field), fieldTypeCanonicalName, fieldIndexVariableReference(field))
+                    .endControlFlow();
+            } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .emitEmptyLine()
+                    .emitSingleLineComment("Deep copy of %s", fieldName)
+                    .beginControlFlow("if (currentDepth == maxDepth)")
+                        .emitStatement("standaloneObject.%s(null)", setter)
+                    .nextControlFlow("else")
+                        .emitStatement("LinkView %sLinkView = row.getLinkList(%s)", fieldName, fieldIndexVariableReference(field))
+                        .emitStatement("RealmList<%s> standalone%sList = new RealmList<%s>()", genericType, fieldName, genericType)
+                        .emitStatement("standaloneObject.%s(standalone%sList)", setter, fieldName)
+                        .emitStatement("long %sSize = %sLinkView.size()", fieldName, fieldName)
+                        .beginControlFlow("for (long i = 0; i < %sSize; i++)", fieldName)
+                            .emitStatement("%s item = %s.createDetachedCopy(realmObject.realm.get(%s.class, %sLinkView.getTargetRowIndex(i)), currentDepth + 1, maxDepth, cache)",
+                                    genericType, Utils.getProxyClassSimpleName(field), genericType, fieldName)
+                            .emitStatement("standalone%sList.add(item)", fieldName)
+                        .endControlFlow()
+                    .endControlFlow();
+            } else {
+                String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
+                String castingBackType;
+                if (Utils.isBoxedType(fieldTypeCanonicalName)) {
+                    Types typeUtils = processingEnvironment.getTypeUtils();
+                    castingBackType = typeUtils.unboxedType(field.asType()).toString();
+                } else {
+                    castingBackType = fieldTypeCanonicalName;
+                }
+                // Like in the getter, null values of String and bytes[] are returned by the row.
+                if (metadata.isNullable(field) && !Utils.isString(field) && !Utils.isByteArray(field)) {
+                    writer.emitStatement("standaloneObject.%s(row.isNull(%s) ? null : (%s) row.get%s(%s))",
+                            setter, fieldIndexVariableReference(field), castingBackType, realmType,
+                            fieldIndexVariableReference(field));
+                } else {
+                    writer.emitStatement("standaloneObject.%s((%s) row.get%s(%s))",
+                            setter, castingBackType, realmType, fieldIndexVariableReference(field));
+                }
+            }
+        }
+
+        writer.emitEmptyLine();
+        writer.emitStatement("return standaloneObject");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitExportToJsonMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "void", // Return type
+                "exportToJson", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                Arrays.asList("JsonWriter", "writer", className, "realmObject", "int", "currentDepth", "int", "maxDepth", "Set<String>", "fieldNames"),
+                Arrays.asList("IOException"));
+
+        // The fields are read from the row directly, the Realm is only validated once by the caller
+        writer
+            .emitStatement("%s columnInfo = ((%s) realmObject).columnInfo", columnInfoClassName(), Utils.getProxyClassName(className))
+            .emitStatement("Row row = realmObject.row")
+            .emitStatement("writer.beginObject()");
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldTypeCanonicalName = field.asType().toString();
+            String fieldIndex = fieldIndexVariableReference(field);
+
+            if (Utils.isRealmObject(field)) {
+                writer
+                    .beginControlFlow("if (currentDepth < maxDepth && (fieldNames == null || fieldNames.contains(\"%s\")))", fieldName)
+                        .emitStatement("writer.name(\"%s\")", fieldName)
+                        .beginControlFlow("if (row.isNullLink(%s))", fieldIndex)
+                            .emitStatement("writer.nullValue()")
+                        .nextControlFlow("else")
+                            .emitStatement("%s.exportToJson(writer, realmObject.realm.get(%s.class, row.getLink(%s)), currentDepth + 1, maxDepth, null)",
+                                    Utils.getProxyClassSimpleName(field), fieldTypeCanonicalName, fieldIndex)
+                        .endControlFlow()
+                    .endControlFlow();
+            } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .beginControlFlow("if (currentDepth < maxDepth && (fieldNames == null || fieldNames.contains(\"%s\")))", fieldName)
+                        .emitStatement("writer.name(\"%s\")", fieldName)
+                        .emitStatement("writer.beginArray()")
+                        .emitStatement("LinkView %sLinkView = row.getLinkList(%s)", fieldName, fieldIndex)
+                        .emitStatement("long %sSize = %sLinkView.size()", fieldName, fieldName)
+                        .beginControlFlow("for (long i = 0; i < %sSize; i++)", fieldName)
+                            .emitStatement("%s.exportToJson(writer, realmObject.realm.get(%s.class, %sLinkView.getTargetRowIndex(i)), currentDepth + 1, maxDepth, null)",
+                                    Utils.getProxyClassSimpleName(field), genericType, fieldName)
+                        .endControlFlow()
+                        .emitStatement("writer.endArray()")
+                    .endControlFlow();
+            } else {
+                String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
+                String value;
+                String statement = "writer.value(%s)";
+                if (realmType.equals("Float") || realmType.equals("Double")) {
+                    // NaN and infinite values cannot be written as JSON numbers
+                    value = String.format("row.get%s(%s)", realmType, fieldIndex);
+                    statement = "JsonUtils.write" + realmType + "(writer, %s)";
+                } else if (realmType.equals("Date")) {
+                    // Dates are written as milliseconds since the epoch, which is supported by the JSON import
+                    value = String.format("row.getDate(%s).getTime()", fieldIndex);
+                } else if (realmType.equals("BinaryByteArray")) {
+                    value = String.format("JsonUtils.bytesToString(row.getBinaryByteArray(%s))", fieldIndex);
+                } else {
+                    value = String.format("row.get%s(%s)", realmType, fieldIndex);
+                }
+                writer.beginControlFlow("if (fieldNames == null || fieldNames.contains(\"%s\"))", fieldName);
+                writer.emitStatement("writer.name(\"%s\")", fieldName);
+                // Like in the getter, null values of String and bytes[] are returned by the row.
+                if (metadata.isNullable(field) && !Utils.isString(field) && !Utils.isByteArray(field)) {
+                    writer
+                        .beginControlFlow("if (row.isNull(%s))", fieldIndex)
+                            .emitStatement("writer.nullValue()")
+                        .nextControlFlow("else")
+                            .emitStatement(statement, value)
+                        .endControlFlow();
+                } else {
+                    writer.emitStatement(statement, value);
+                }
+                writer.endControlFlow();
+            }
+        }
+        writer.emitStatement("writer.endObject()");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitToStringMethod(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod("String", "toString", EnumSet.of(Modifier.PUBLIC));
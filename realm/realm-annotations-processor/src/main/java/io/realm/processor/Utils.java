@@ -26,6 +26,7 @@ public class Utils {
     public static Types typeUtils;
     private static Messager messager;
     private static DeclaredType realmList;
+    private static DeclaredType realmResults;
     private static TypeMirror realmObject;
 
     public static void initialize(ProcessingEnvironment env) {
@@ -33,6 +34,8 @@ public class Utils {
         messager = env.getMessager();
         realmList = typeUtils.getDeclaredType(env.getElementUtils().getTypeElement("io.realm.RealmList"),
                 typeUtils.getWildcardType(null, null));
+        realmResults = typeUtils.getDeclaredType(env.getElementUtils().getTypeElement("io.realm.RealmResults"),
+                typeUtils.getWildcardType(null, null));
         realmObject = env.getElementUtils().getTypeElement("io.realm.RealmObject").asType();
     }
 
@@ -143,6 +146,13 @@ public class Utils {
         return typeUtils.isAssignable(field.asType(), realmList);
     }
 
+    /**
+     * @return {@code true} if a given field type is "RealmResults", {@code false} otherwise.
+     */
+    public static boolean isRealmResults(VariableElement field) {
+        return typeUtils.isAssignable(field.asType(), realmResults);
+    }
+
     /**
      * @return {@code true} if a given field type is "RealmObject", {@code false} otherwise.
      */
@@ -232,6 +242,20 @@ public class Utils {
         return messageDigest.digest(data);
     }
 
+    /**
+     * Compute the 64-bit FNV-1a hash of the characters of the given string
+     * @param data the string to hash
+     * @return the hash
+     */
+    public static long hash(String data) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < data.length(); i++) {
+            hash ^= data.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     /**
      * Convert a byte array to its hex-string
      * @param data the byte array to convert
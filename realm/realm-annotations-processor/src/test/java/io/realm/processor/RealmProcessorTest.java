@@ -46,6 +46,10 @@ public class RealmProcessorTest {
     private JavaFileObject nullTypesModel = JavaFileObjects.forResource("some/test/NullTypes.java");
     private JavaFileObject nullTypesProxy = JavaFileObjects.forResource("io/realm/NullTypesRealmProxy.java");
     private JavaFileObject missingGenericTypeModel = JavaFileObjects.forResource("some/test/MissingGenericType.java");
+    private JavaFileObject compositeIndexedModel = JavaFileObjects.forResource("some/test/CompositeIndexed.java");
+    private JavaFileObject invalidCompositeIndexModel = JavaFileObjects.forResource("some/test/InvalidCompositeIndex.java");
+    private JavaFileObject backlinksModel = JavaFileObjects.forResource("some/test/Backlinks.java");
+    private JavaFileObject invalidBacklinksModel = JavaFileObjects.forResource("some/test/InvalidBacklinks.java");
 
     @Test
     public void compileSimpleFile() {
@@ -297,6 +301,122 @@ public class RealmProcessorTest {
         }
     }
 
+    // Supported "Index(caseInsensitive = true)" annotation types
+    @Test
+    public void compileCaseInsensitiveIndexTypes() throws IOException {
+        TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                "ValidCaseInsensitiveIndexType", "Index(caseInsensitive = true)", "String", "testField");
+        ASSERT.about(javaSource())
+                .that(javaFileObject)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    // Unsupported "Index(caseInsensitive = true)" annotation types
+    @Test
+    public void compileInvalidCaseInsensitiveIndexTypes() throws IOException {
+        final String[] invalidCaseInsensitiveIndexFieldTypes = {"int", "long", "boolean", "java.util.Date"};
+
+        for (String fieldType : invalidCaseInsensitiveIndexFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidCaseInsensitiveIndexType", "Index(caseInsensitive = true)", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
+    // Supported "Index(type = IndexType.ORDERED)" annotation types
+    @Test
+    public void compileOrderedIndexTypes() throws IOException {
+        final String[] validOrderedIndexFieldTypes = {"byte", "short", "int", "long", "float", "double",
+                "java.util.Date", "Long", "Double"};
+
+        for (String fieldType : validOrderedIndexFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "ValidOrderedIndexType", "Index(type = IndexType.ORDERED)", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .compilesWithoutError();
+        }
+    }
+
+    // Unsupported "Index(type = IndexType.ORDERED)" annotation types
+    @Test
+    public void compileInvalidOrderedIndexTypes() throws IOException {
+        final String[] invalidOrderedIndexFieldTypes = {"String", "boolean", "byte[]", "Simple", "RealmList"};
+
+        for (String fieldType : invalidOrderedIndexFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidOrderedIndexType", "Index(type = IndexType.ORDERED)", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
+    // Supported "FullTextIndex" annotation types
+    @Test
+    public void compileFullTextIndexTypes() throws IOException {
+        TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                "ValidFullTextIndexType", "FullTextIndex", "String", "testField");
+        ASSERT.about(javaSource())
+                .that(javaFileObject)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    // Unsupported "FullTextIndex" annotation types
+    @Test
+    public void compileInvalidFullTextIndexTypes() throws IOException {
+        final String[] invalidFullTextIndexFieldTypes = {"int", "long", "boolean", "java.util.Date", "byte[]",
+                "Simple", "RealmList"};
+
+        for (String fieldType : invalidFullTextIndexFieldTypes) {
+            TestRealmObjectFileObject javaFileObject = TestRealmObjectFileObject.getSingleFieldInstance(
+                    "InvalidFullTextIndexType", "FullTextIndex", fieldType, "testField");
+            ASSERT.about(javaSource())
+                    .that(javaFileObject)
+                    .processedWith(new RealmProcessor())
+                    .failsToCompile();
+        }
+    }
+
+    @Test
+    public void compileCompositeIndex() {
+        ASSERT.about(javaSource())
+                .that(compositeIndexedModel)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void compileInvalidCompositeIndex() {
+        ASSERT.about(javaSource())
+                .that(invalidCompositeIndexModel)
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
+
+    @Test
+    public void compileLinkingObjects() {
+        ASSERT.about(javaSource())
+                .that(backlinksModel)
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void compileInvalidLinkingObjects() {
+        ASSERT.about(javaSource())
+                .that(invalidBacklinksModel)
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
+
     // Supported "PrimaryKey" annotation types
     @Test
     public void compilePrimaryKeyTypes() throws IOException {
@@ -3,12 +3,14 @@ package io.realm;
 
 import android.util.JsonReader;
 import android.util.JsonToken;
+import android.util.JsonWriter;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -19,6 +21,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -207,6 +210,9 @@ public class AllTypesRealmProxy extends AllTypes
     @Override
     public void setColumnObject(AllTypes value) {
         realm.checkIfValid();
+        if (columnInfo.hasBacklinkIndex(columnInfo.columnObjectIndex)) {
+            realm.scheduleIndexUpdate(row, columnInfo.columnObjectIndex);
+        }
         if (value == null) {
             row.nullifyLink(columnInfo.columnObjectIndex);
             return;
@@ -397,10 +403,18 @@ public class AllTypesRealmProxy extends AllTypes
         }
     }
 
+    public static AllTypesColumnInfo createColumnInfo(ImplicitTransaction transaction) {
+        return new AllTypesColumnInfo(transaction.getPath(), transaction.getTable("class_AllTypes"));
+    }
+
     public static String getTableName() {
         return "class_AllTypes";
     }
 
+    public static long getSchemaHash() {
+        return -4651397089987346143L;
+    }
+
     public static List<String> getFieldNames() {
         return FIELD_NAMES;
     }
@@ -703,6 +717,111 @@ public class AllTypesRealmProxy extends AllTypes
         return realmObject;
     }
 
+    public static AllTypes createDetachedCopy(AllTypes realmObject, int currentDepth, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        if (currentDepth > maxDepth || realmObject == null) {
+            return null;
+        }
+        RealmObjectProxy.CacheData<RealmObject> cachedObject = cache.get(realmObject);
+        AllTypes standaloneObject;
+        if (cachedObject != null) {
+            // Reuse the copy, unless it was created at a greater depth and must be filled deeper
+            if (currentDepth >= cachedObject.minDepth) {
+                return (AllTypes) cachedObject.object;
+            }
+            standaloneObject = (AllTypes) cachedObject.object;
+            cachedObject.minDepth = currentDepth;
+        } else {
+            standaloneObject = new AllTypes();
+            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
+        }
+        AllTypesColumnInfo columnInfo = ((AllTypesRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        standaloneObject.setColumnString((java.lang.String) row.getString(columnInfo.columnStringIndex));
+        standaloneObject.setColumnLong((long) row.getLong(columnInfo.columnLongIndex));
+        standaloneObject.setColumnFloat((float) row.getFloat(columnInfo.columnFloatIndex));
+        standaloneObject.setColumnDouble((double) row.getDouble(columnInfo.columnDoubleIndex));
+        standaloneObject.setColumnBoolean((boolean) row.getBoolean(columnInfo.columnBooleanIndex));
+        standaloneObject.setColumnDate((java.util.Date) row.getDate(columnInfo.columnDateIndex));
+        standaloneObject.setColumnBinary((byte[]) row.getBinaryByteArray(columnInfo.columnBinaryIndex));
+
+        // Deep copy of columnObject
+        if (currentDepth == maxDepth || row.isNullLink(columnInfo.columnObjectIndex)) {
+            standaloneObject.setColumnObject(null);
+        } else {
+            standaloneObject.setColumnObject(AllTypesRealmProxy.createDetachedCopy(realmObject.realm.get(some.test.AllTypes.class, row.getLink(columnInfo.columnObjectIndex)), currentDepth + 1, maxDepth, cache));
+        }
+
+        // Deep copy of columnRealmList
+        if (currentDepth == maxDepth) {
+            standaloneObject.setColumnRealmList(null);
+        } else {
+            LinkView columnRealmListLinkView = row.getLinkList(columnInfo.columnRealmListIndex);
+            RealmList<AllTypes> standalonecolumnRealmListList = new RealmList<AllTypes>();
+            standaloneObject.setColumnRealmList(standalonecolumnRealmListList);
+            long columnRealmListSize = columnRealmListLinkView.size();
+            for (long i = 0; i < columnRealmListSize; i++) {
+                AllTypes item = AllTypesRealmProxy.createDetachedCopy(realmObject.realm.get(AllTypes.class, columnRealmListLinkView.getTargetRowIndex(i)), currentDepth + 1, maxDepth, cache);
+                standalonecolumnRealmListList.add(item);
+            }
+        }
+
+        return standaloneObject;
+    }
+
+    public static void exportToJson(JsonWriter writer, AllTypes realmObject, int currentDepth, int maxDepth, Set<String> fieldNames)
+            throws IOException {
+        AllTypesColumnInfo columnInfo = ((AllTypesRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        writer.beginObject();
+        if (fieldNames == null || fieldNames.contains("columnString")) {
+            writer.name("columnString");
+            writer.value(row.getString(columnInfo.columnStringIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("columnLong")) {
+            writer.name("columnLong");
+            writer.value(row.getLong(columnInfo.columnLongIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("columnFloat")) {
+            writer.name("columnFloat");
+            JsonUtils.writeFloat(writer, row.getFloat(columnInfo.columnFloatIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("columnDouble")) {
+            writer.name("columnDouble");
+            JsonUtils.writeDouble(writer, row.getDouble(columnInfo.columnDoubleIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("columnBoolean")) {
+            writer.name("columnBoolean");
+            writer.value(row.getBoolean(columnInfo.columnBooleanIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("columnDate")) {
+            writer.name("columnDate");
+            writer.value(row.getDate(columnInfo.columnDateIndex).getTime());
+        }
+        if (fieldNames == null || fieldNames.contains("columnBinary")) {
+            writer.name("columnBinary");
+            writer.value(JsonUtils.bytesToString(row.getBinaryByteArray(columnInfo.columnBinaryIndex)));
+        }
+        if (currentDepth < maxDepth && (fieldNames == null || fieldNames.contains("columnObject"))) {
+            writer.name("columnObject");
+            if (row.isNullLink(columnInfo.columnObjectIndex)) {
+                writer.nullValue();
+            } else {
+                AllTypesRealmProxy.exportToJson(writer, realmObject.realm.get(some.test.AllTypes.class, row.getLink(columnInfo.columnObjectIndex)), currentDepth + 1, maxDepth, null);
+            }
+        }
+        if (currentDepth < maxDepth && (fieldNames == null || fieldNames.contains("columnRealmList"))) {
+            writer.name("columnRealmList");
+            writer.beginArray();
+            LinkView columnRealmListLinkView = row.getLinkList(columnInfo.columnRealmListIndex);
+            long columnRealmListSize = columnRealmListLinkView.size();
+            for (long i = 0; i < columnRealmListSize; i++) {
+                AllTypesRealmProxy.exportToJson(writer, realmObject.realm.get(AllTypes.class, columnRealmListLinkView.getTargetRowIndex(i)), currentDepth + 1, maxDepth, null);
+            }
+            writer.endArray();
+        }
+        writer.endObject();
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
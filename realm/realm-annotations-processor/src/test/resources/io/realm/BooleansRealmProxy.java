@@ -3,12 +3,14 @@ package io.realm;
 
 import android.util.JsonReader;
 import android.util.JsonToken;
+import android.util.JsonWriter;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -19,6 +21,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -187,10 +190,18 @@ public class BooleansRealmProxy extends Booleans
         }
     }
 
+    public static BooleansColumnInfo createColumnInfo(ImplicitTransaction transaction) {
+        return new BooleansColumnInfo(transaction.getPath(), transaction.getTable("class_Booleans"));
+    }
+
     public static String getTableName() {
         return "class_Booleans";
     }
 
+    public static long getSchemaHash() {
+        return -8796761252349649538L;
+    }
+
     public static List<String> getFieldNames() {
         return FIELD_NAMES;
     }
@@ -290,6 +301,57 @@ public class BooleansRealmProxy extends Booleans
         return realmObject;
     }
 
+    public static Booleans createDetachedCopy(Booleans realmObject, int currentDepth, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        if (currentDepth > maxDepth || realmObject == null) {
+            return null;
+        }
+        RealmObjectProxy.CacheData<RealmObject> cachedObject = cache.get(realmObject);
+        Booleans standaloneObject;
+        if (cachedObject != null) {
+            // Reuse the copy, unless it was created at a greater depth and must be filled deeper
+            if (currentDepth >= cachedObject.minDepth) {
+                return (Booleans) cachedObject.object;
+            }
+            standaloneObject = (Booleans) cachedObject.object;
+            cachedObject.minDepth = currentDepth;
+        } else {
+            standaloneObject = new Booleans();
+            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
+        }
+        BooleansColumnInfo columnInfo = ((BooleansRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        standaloneObject.setDone((boolean) row.getBoolean(columnInfo.doneIndex));
+        standaloneObject.setReady((boolean) row.getBoolean(columnInfo.isReadyIndex));
+        standaloneObject.setmCompleted((boolean) row.getBoolean(columnInfo.mCompletedIndex));
+        standaloneObject.setAnotherBoolean((boolean) row.getBoolean(columnInfo.anotherBooleanIndex));
+
+        return standaloneObject;
+    }
+
+    public static void exportToJson(JsonWriter writer, Booleans realmObject, int currentDepth, int maxDepth, Set<String> fieldNames)
+            throws IOException {
+        BooleansColumnInfo columnInfo = ((BooleansRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        writer.beginObject();
+        if (fieldNames == null || fieldNames.contains("done")) {
+            writer.name("done");
+            writer.value(row.getBoolean(columnInfo.doneIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("isReady")) {
+            writer.name("isReady");
+            writer.value(row.getBoolean(columnInfo.isReadyIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("mCompleted")) {
+            writer.name("mCompleted");
+            writer.value(row.getBoolean(columnInfo.mCompletedIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("anotherBoolean")) {
+            writer.name("anotherBoolean");
+            writer.value(row.getBoolean(columnInfo.anotherBooleanIndex));
+        }
+        writer.endObject();
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
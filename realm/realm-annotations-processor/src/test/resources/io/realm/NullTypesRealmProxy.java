@@ -3,12 +3,14 @@ package io.realm;
 
 import android.util.JsonReader;
 import android.util.JsonToken;
+import android.util.JsonWriter;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -19,6 +21,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -518,6 +521,9 @@ public class NullTypesRealmProxy extends NullTypes
     @Override
     public void setFieldObjectNull(NullTypes value) {
         realm.checkIfValid();
+        if (columnInfo.hasBacklinkIndex(columnInfo.fieldObjectNullIndex)) {
+            realm.scheduleIndexUpdate(row, columnInfo.fieldObjectNullIndex);
+        }
         if (value == null) {
             row.nullifyLink(columnInfo.fieldObjectNullIndex);
             return;
@@ -776,10 +782,18 @@ public class NullTypesRealmProxy extends NullTypes
         }
     }
 
+    public static NullTypesColumnInfo createColumnInfo(ImplicitTransaction transaction) {
+        return new NullTypesColumnInfo(transaction.getPath(), transaction.getTable("class_NullTypes"));
+    }
+
     public static String getTableName() {
         return "class_NullTypes";
     }
 
+    public static long getSchemaHash() {
+        return 3316121500246067327L;
+    }
+
     public static List<String> getFieldNames() {
         return FIELD_NAMES;
     }
@@ -1167,6 +1181,184 @@ public class NullTypesRealmProxy extends NullTypes
         return realmObject;
     }
 
+    public static NullTypes createDetachedCopy(NullTypes realmObject, int currentDepth, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        if (currentDepth > maxDepth || realmObject == null) {
+            return null;
+        }
+        RealmObjectProxy.CacheData<RealmObject> cachedObject = cache.get(realmObject);
+        NullTypes standaloneObject;
+        if (cachedObject != null) {
+            // Reuse the copy, unless it was created at a greater depth and must be filled deeper
+            if (currentDepth >= cachedObject.minDepth) {
+                return (NullTypes) cachedObject.object;
+            }
+            standaloneObject = (NullTypes) cachedObject.object;
+            cachedObject.minDepth = currentDepth;
+        } else {
+            standaloneObject = new NullTypes();
+            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
+        }
+        NullTypesColumnInfo columnInfo = ((NullTypesRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        standaloneObject.setFieldStringNotNull((java.lang.String) row.getString(columnInfo.fieldStringNotNullIndex));
+        standaloneObject.setFieldStringNull((java.lang.String) row.getString(columnInfo.fieldStringNullIndex));
+        standaloneObject.setFieldBooleanNotNull((boolean) row.getBoolean(columnInfo.fieldBooleanNotNullIndex));
+        standaloneObject.setFieldBooleanNull(row.isNull(columnInfo.fieldBooleanNullIndex) ? null : (boolean) row.getBoolean(columnInfo.fieldBooleanNullIndex));
+        standaloneObject.setFieldBytesNotNull((byte[]) row.getBinaryByteArray(columnInfo.fieldBytesNotNullIndex));
+        standaloneObject.setFieldBytesNull((byte[]) row.getBinaryByteArray(columnInfo.fieldBytesNullIndex));
+        standaloneObject.setFieldByteNotNull((byte) row.getLong(columnInfo.fieldByteNotNullIndex));
+        standaloneObject.setFieldByteNull(row.isNull(columnInfo.fieldByteNullIndex) ? null : (byte) row.getLong(columnInfo.fieldByteNullIndex));
+        standaloneObject.setFieldShortNotNull((short) row.getLong(columnInfo.fieldShortNotNullIndex));
+        standaloneObject.setFieldShortNull(row.isNull(columnInfo.fieldShortNullIndex) ? null : (short) row.getLong(columnInfo.fieldShortNullIndex));
+        standaloneObject.setFieldIntegerNotNull((int) row.getLong(columnInfo.fieldIntegerNotNullIndex));
+        standaloneObject.setFieldIntegerNull(row.isNull(columnInfo.fieldIntegerNullIndex) ? null : (int) row.getLong(columnInfo.fieldIntegerNullIndex));
+        standaloneObject.setFieldLongNotNull((long) row.getLong(columnInfo.fieldLongNotNullIndex));
+        standaloneObject.setFieldLongNull(row.isNull(columnInfo.fieldLongNullIndex) ? null : (long) row.getLong(columnInfo.fieldLongNullIndex));
+        standaloneObject.setFieldFloatNotNull((float) row.getFloat(columnInfo.fieldFloatNotNullIndex));
+        standaloneObject.setFieldFloatNull(row.isNull(columnInfo.fieldFloatNullIndex) ? null : (float) row.getFloat(columnInfo.fieldFloatNullIndex));
+        standaloneObject.setFieldDoubleNotNull((double) row.getDouble(columnInfo.fieldDoubleNotNullIndex));
+        standaloneObject.setFieldDoubleNull(row.isNull(columnInfo.fieldDoubleNullIndex) ? null : (double) row.getDouble(columnInfo.fieldDoubleNullIndex));
+        standaloneObject.setFieldDateNotNull((java.util.Date) row.getDate(columnInfo.fieldDateNotNullIndex));
+        standaloneObject.setFieldDateNull(row.isNull(columnInfo.fieldDateNullIndex) ? null : (java.util.Date) row.getDate(columnInfo.fieldDateNullIndex));
+
+        // Deep copy of fieldObjectNull
+        if (currentDepth == maxDepth || row.isNullLink(columnInfo.fieldObjectNullIndex)) {
+            standaloneObject.setFieldObjectNull(null);
+        } else {
+            standaloneObject.setFieldObjectNull(NullTypesRealmProxy.createDetachedCopy(realmObject.realm.get(some.test.NullTypes.class, row.getLink(columnInfo.fieldObjectNullIndex)), currentDepth + 1, maxDepth, cache));
+        }
+
+        return standaloneObject;
+    }
+
+    public static void exportToJson(JsonWriter writer, NullTypes realmObject, int currentDepth, int maxDepth, Set<String> fieldNames)
+            throws IOException {
+        NullTypesColumnInfo columnInfo = ((NullTypesRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        writer.beginObject();
+        if (fieldNames == null || fieldNames.contains("fieldStringNotNull")) {
+            writer.name("fieldStringNotNull");
+            writer.value(row.getString(columnInfo.fieldStringNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldStringNull")) {
+            writer.name("fieldStringNull");
+            writer.value(row.getString(columnInfo.fieldStringNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldBooleanNotNull")) {
+            writer.name("fieldBooleanNotNull");
+            writer.value(row.getBoolean(columnInfo.fieldBooleanNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldBooleanNull")) {
+            writer.name("fieldBooleanNull");
+            if (row.isNull(columnInfo.fieldBooleanNullIndex)) {
+                writer.nullValue();
+            } else {
+                writer.value(row.getBoolean(columnInfo.fieldBooleanNullIndex));
+            }
+        }
+        if (fieldNames == null || fieldNames.contains("fieldBytesNotNull")) {
+            writer.name("fieldBytesNotNull");
+            writer.value(JsonUtils.bytesToString(row.getBinaryByteArray(columnInfo.fieldBytesNotNullIndex)));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldBytesNull")) {
+            writer.name("fieldBytesNull");
+            writer.value(JsonUtils.bytesToString(row.getBinaryByteArray(columnInfo.fieldBytesNullIndex)));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldByteNotNull")) {
+            writer.name("fieldByteNotNull");
+            writer.value(row.getLong(columnInfo.fieldByteNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldByteNull")) {
+            writer.name("fieldByteNull");
+            if (row.isNull(columnInfo.fieldByteNullIndex)) {
+                writer.nullValue();
+            } else {
+                writer.value(row.getLong(columnInfo.fieldByteNullIndex));
+            }
+        }
+        if (fieldNames == null || fieldNames.contains("fieldShortNotNull")) {
+            writer.name("fieldShortNotNull");
+            writer.value(row.getLong(columnInfo.fieldShortNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldShortNull")) {
+            writer.name("fieldShortNull");
+            if (row.isNull(columnInfo.fieldShortNullIndex)) {
+                writer.nullValue();
+            } else {
+                writer.value(row.getLong(columnInfo.fieldShortNullIndex));
+            }
+        }
+        if (fieldNames == null || fieldNames.contains("fieldIntegerNotNull")) {
+            writer.name("fieldIntegerNotNull");
+            writer.value(row.getLong(columnInfo.fieldIntegerNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldIntegerNull")) {
+            writer.name("fieldIntegerNull");
+            if (row.isNull(columnInfo.fieldIntegerNullIndex)) {
+                writer.nullValue();
+            } else {
+                writer.value(row.getLong(columnInfo.fieldIntegerNullIndex));
+            }
+        }
+        if (fieldNames == null || fieldNames.contains("fieldLongNotNull")) {
+            writer.name("fieldLongNotNull");
+            writer.value(row.getLong(columnInfo.fieldLongNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldLongNull")) {
+            writer.name("fieldLongNull");
+            if (row.isNull(columnInfo.fieldLongNullIndex)) {
+                writer.nullValue();
+            } else {
+                writer.value(row.getLong(columnInfo.fieldLongNullIndex));
+            }
+        }
+        if (fieldNames == null || fieldNames.contains("fieldFloatNotNull")) {
+            writer.name("fieldFloatNotNull");
+            JsonUtils.writeFloat(writer, row.getFloat(columnInfo.fieldFloatNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldFloatNull")) {
+            writer.name("fieldFloatNull");
+            if (row.isNull(columnInfo.fieldFloatNullIndex)) {
+                writer.nullValue();
+            } else {
+                JsonUtils.writeFloat(writer, row.getFloat(columnInfo.fieldFloatNullIndex));
+            }
+        }
+        if (fieldNames == null || fieldNames.contains("fieldDoubleNotNull")) {
+            writer.name("fieldDoubleNotNull");
+            JsonUtils.writeDouble(writer, row.getDouble(columnInfo.fieldDoubleNotNullIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("fieldDoubleNull")) {
+            writer.name("fieldDoubleNull");
+            if (row.isNull(columnInfo.fieldDoubleNullIndex)) {
+                writer.nullValue();
+            } else {
+                JsonUtils.writeDouble(writer, row.getDouble(columnInfo.fieldDoubleNullIndex));
+            }
+        }
+        if (fieldNames == null || fieldNames.contains("fieldDateNotNull")) {
+            writer.name("fieldDateNotNull");
+            writer.value(row.getDate(columnInfo.fieldDateNotNullIndex).getTime());
+        }
+        if (fieldNames == null || fieldNames.contains("fieldDateNull")) {
+            writer.name("fieldDateNull");
+            if (row.isNull(columnInfo.fieldDateNullIndex)) {
+                writer.nullValue();
+            } else {
+                writer.value(row.getDate(columnInfo.fieldDateNullIndex).getTime());
+            }
+        }
+        if (currentDepth < maxDepth && (fieldNames == null || fieldNames.contains("fieldObjectNull"))) {
+            writer.name("fieldObjectNull");
+            if (row.isNullLink(columnInfo.fieldObjectNullIndex)) {
+                writer.nullValue();
+            } else {
+                NullTypesRealmProxy.exportToJson(writer, realmObject.realm.get(some.test.NullTypes.class, row.getLink(columnInfo.fieldObjectNullIndex)), currentDepth + 1, maxDepth, null);
+            }
+        }
+        writer.endObject();
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
@@ -2,6 +2,7 @@ package io.realm;
 
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
@@ -49,6 +50,17 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, ImplicitTransaction transaction) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.createColumnInfo(transaction);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmObject> clazz) {
         checkClass(clazz);
@@ -71,6 +83,17 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public long getSchemaHash(Class<? extends RealmObject> clazz) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.getSchemaHash();
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public <E extends RealmObject> E newInstance(Class<E> clazz, ColumnInfo columnInfo) {
         checkClass(clazz);
@@ -100,6 +123,31 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        // This cast is correct because realmObject is managed, i.e. generated by RealmProxy
+        @SuppressWarnings("unchecked") Class<E> clazz = (Class<E>) realmObject.getClass().getSuperclass();
+
+        if (clazz.equals(AllTypes.class)) {
+            return clazz.cast(AllTypesRealmProxy.createDetachedCopy((AllTypes) realmObject, 0, maxDepth, cache));
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public void exportToJson(JsonWriter writer, RealmObject realmObject, int maxDepth, Set<String> fieldNames)
+            throws IOException {
+        // This cast is correct because realmObject is managed, i.e. generated by RealmProxy
+        @SuppressWarnings("unchecked") Class<? extends RealmObject> clazz = (Class<? extends RealmObject>) realmObject.getClass().getSuperclass();
+
+        if (clazz.equals(AllTypes.class)) {
+            AllTypesRealmProxy.exportToJson(writer, (AllTypes) realmObject, 0, maxDepth, fieldNames);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update)
             throws JSONException {
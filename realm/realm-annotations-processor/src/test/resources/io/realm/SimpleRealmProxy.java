@@ -3,12 +3,14 @@ package io.realm;
 
 import android.util.JsonReader;
 import android.util.JsonToken;
+import android.util.JsonWriter;
 import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
@@ -19,6 +21,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -135,10 +138,18 @@ public class SimpleRealmProxy extends Simple
         }
     }
 
+    public static SimpleColumnInfo createColumnInfo(ImplicitTransaction transaction) {
+        return new SimpleColumnInfo(transaction.getPath(), transaction.getTable("class_Simple"));
+    }
+
     public static String getTableName() {
         return "class_Simple";
     }
 
+    public static long getSchemaHash() {
+        return -6425081492164910880L;
+    }
+
     public static List<String> getFieldNames() {
         return FIELD_NAMES;
     }
@@ -208,6 +219,47 @@ public class SimpleRealmProxy extends Simple
         return realmObject;
     }
 
+    public static Simple createDetachedCopy(Simple realmObject, int currentDepth, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        if (currentDepth > maxDepth || realmObject == null) {
+            return null;
+        }
+        RealmObjectProxy.CacheData<RealmObject> cachedObject = cache.get(realmObject);
+        Simple standaloneObject;
+        if (cachedObject != null) {
+            // Reuse the copy, unless it was created at a greater depth and must be filled deeper
+            if (currentDepth >= cachedObject.minDepth) {
+                return (Simple) cachedObject.object;
+            }
+            standaloneObject = (Simple) cachedObject.object;
+            cachedObject.minDepth = currentDepth;
+        } else {
+            standaloneObject = new Simple();
+            cache.put(realmObject, new RealmObjectProxy.CacheData<RealmObject>(currentDepth, standaloneObject));
+        }
+        SimpleColumnInfo columnInfo = ((SimpleRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        standaloneObject.setName((java.lang.String) row.getString(columnInfo.nameIndex));
+        standaloneObject.setAge((int) row.getLong(columnInfo.ageIndex));
+
+        return standaloneObject;
+    }
+
+    public static void exportToJson(JsonWriter writer, Simple realmObject, int currentDepth, int maxDepth, Set<String> fieldNames)
+            throws IOException {
+        SimpleColumnInfo columnInfo = ((SimpleRealmProxy) realmObject).columnInfo;
+        Row row = realmObject.row;
+        writer.beginObject();
+        if (fieldNames == null || fieldNames.contains("name")) {
+            writer.name("name");
+            writer.value(row.getString(columnInfo.nameIndex));
+        }
+        if (fieldNames == null || fieldNames.contains("age")) {
+            writer.name("age");
+            writer.value(row.getLong(columnInfo.ageIndex));
+        }
+        writer.endObject();
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation will add an index over several fields of a class. The index keeps track of the combined values of
+ * its fields and is updated when a write transaction is committed. A query having {@code equalTo()} conditions on the
+ * first fields of the index, in the order they are listed, only evaluates its remaining conditions for the objects
+ * having these values. E.g. {@code @CompositeIndex({"owner", "date"})} makes both
+ * {@code equalTo("owner", owner)} and {@code equalTo("owner", owner).between("date", from, to)} faster at the expense
+ * of a larger Realm file and slower commits.
+ * <p>
+ * NOTICE: Only String, integer, boolean and Date fields can be part of a composite index and at least two fields must
+ * be given. Further composite indexes can be added using {@code RealmObjectSchema.addCompositeIndex()}.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface CompositeIndex {
+
+    /**
+     * The names of the indexed fields, in index order.
+     */
+    String[] value();
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation will add a full-text index to the field. The index keeps track of all the 3-character sequences
+ * (trigrams) found in the field and is updated when a write transaction is committed. It makes
+ * {@code contains()}, {@code beginsWith()}, {@code endsWith()} and case insensitive {@code equalTo()} queries on
+ * the field faster at the expense of a larger Realm file and slower commits.
+ * <p>
+ * NOTICE: Only String fields can have a full-text index. Query values shorter than 3 characters can not use the
+ * index.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface FullTextIndex {
+
+}
@@ -26,9 +26,31 @@ import java.lang.annotation.Target;
  * Realm file larger and inserts slower but queries will be faster. 
  * <p>
  * NOTICE: Only String, int, byte, short, long, boolean and Date fields can be indexed.
+ * <p>
+ * Setting {@link #type()} to {@link IndexType#ORDERED} adds an ordered index instead, which serves range queries like
+ * {@code between()} and ascending {@code findAllSorted()} on the field. Only int, byte, short, long, float, double
+ * and Date fields can have an ordered index.
+ * <p>
+ * String fields can additionally be indexed by their case folded value by setting {@link #caseInsensitive()}. This
+ * allows case insensitive {@code equalTo()} and {@code beginsWith()} queries to use the index instead of checking
+ * every object. Case insensitive {@code equalTo()} queries on such fields also match values which only differ by the
+ * case of letters other than English ones, e.g. "STRASSE" and "stra&szlig;e".
  */
 @Retention(RetentionPolicy.CLASS)
 @Target(ElementType.FIELD)
 public @interface Index {
 
+    /**
+     * Also index the case folded value of the field. Only String fields can have a case insensitive index.
+     *
+     * @return {@code true} if a case insensitive index should be added, {@code false} otherwise.
+     */
+    boolean caseInsensitive() default false;
+
+    /**
+     * The kind of index to add to the field.
+     *
+     * @return the type of the index, {@link IndexType#SEARCH} by default.
+     */
+    IndexType type() default IndexType.SEARCH;
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+/**
+ * The kinds of index which can be added to a field using {@link Index}.
+ */
+public enum IndexType {
+
+    /**
+     * A search index, making equality queries faster.
+     */
+    SEARCH,
+
+    /**
+     * An index keeping the values in order, making range queries and sorting in ascending order faster. The index is
+     * updated when a write transaction is committed.
+     */
+    ORDERED
+}
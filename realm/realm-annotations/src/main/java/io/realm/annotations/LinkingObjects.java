@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation declares the inverse of a relationship. It is put on a {@code RealmResults<Origin>} field and names
+ * the field of class {@code Origin} linking to this class. The getter of the field returns all {@code Origin} objects
+ * currently linking to this object:
+ *
+ * <pre>
+ * {@code
+ * public class Order extends RealmObject {
+ *     private Customer customer;
+ *     // getter and setter
+ * }
+ *
+ * public class Customer extends RealmObject {
+ *     {@literal @}LinkingObjects("customer")
+ *     private RealmResults<Order> orders;
+ *
+ *     public RealmResults<Order> getOrders() { return orders; }
+ * }
+ * }
+ * </pre>
+ *
+ * A backlink index is kept for the named field, so the objects are looked up directly instead of checking all
+ * {@code Origin} objects. The same index is used by {@code RealmQuery.linksTo()} on that field. Updating the index
+ * makes changes to the field slightly slower.
+ * <p>
+ * NOTICE: The field is read-only and must not have a setter. Only {@code RealmObject} fields can be named, not
+ * {@code RealmList} fields.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface LinkingObjects {
+
+    /**
+     * The name of the field in the class of the {@code RealmResults} which links to this class.
+     */
+    String value();
+}
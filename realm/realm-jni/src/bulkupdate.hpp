@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_BULKUPDATE_HPP
+#define REALM_JAVA_BULKUPDATE_HPP
+
+#include <jni.h>
+#include <realm.hpp>
+
+#include "util.hpp"
+#include "statistics.hpp" // TableRowSource and ViewRowSource
+
+// Updates a column of all rows of a table or view in one call. The row sources only map positions to row indexes in
+// the table, so a view is not synced while its rows are being changed. Removed rows of a view are skipped.
+
+template <class RowSource, class Setter>
+void update_all(const RowSource& rows, Setter set)
+{
+    const size_t size = rows.size();
+    for (size_t i = 0; i < size; ++i) {
+        if (!rows.is_attached(i)) continue;
+        set(rows.row_index(i));
+    }
+}
+
+// Returns false (with a pending Java exception) if null can't be stored in the column.
+inline bool check_nullable(JNIEnv* env, realm::Table& table, size_t columnIndex)
+{
+    if (!table.is_nullable(columnIndex)) {
+        ThrowNullValueException(env, &table, columnIndex);
+        return false;
+    }
+    return true;
+}
+
+template <class RowSource>
+void set_long_for_all(realm::Table& table, const RowSource& rows, size_t col, int64_t value)
+{
+    update_all(rows, [&](size_t row) { table.set_int(col, row, value); });
+}
+
+template <class RowSource>
+void set_bool_for_all(realm::Table& table, const RowSource& rows, size_t col, bool value)
+{
+    update_all(rows, [&](size_t row) { table.set_bool(col, row, value); });
+}
+
+template <class RowSource>
+void set_float_for_all(realm::Table& table, const RowSource& rows, size_t col, float value)
+{
+    update_all(rows, [&](size_t row) { table.set_float(col, row, value); });
+}
+
+template <class RowSource>
+void set_double_for_all(realm::Table& table, const RowSource& rows, size_t col, double value)
+{
+    update_all(rows, [&](size_t row) { table.set_double(col, row, value); });
+}
+
+template <class RowSource>
+void set_datetime_for_all(realm::Table& table, const RowSource& rows, size_t col, int64_t value)
+{
+    update_all(rows, [&](size_t row) { table.set_datetime(col, row, realm::DateTime(value)); });
+}
+
+template <class RowSource>
+void set_string_for_all(JNIEnv* env, realm::Table& table, const RowSource& rows, size_t col, jstring value)
+{
+    if (value == NULL && !check_nullable(env, table, col)) {
+        return;
+    }
+    JStringAccessor accessor(env, value); // throws
+    realm::StringData data = accessor;
+    update_all(rows, [&](size_t row) { table.set_string(col, row, data); });
+}
+
+template <class RowSource>
+void set_null_for_all(JNIEnv* env, realm::Table& table, const RowSource& rows, size_t col)
+{
+    if (!check_nullable(env, table, col)) {
+        return;
+    }
+    update_all(rows, [&](size_t row) { table.set_null(col, row); });
+}
+
+// null values are left unchanged.
+template <class RowSource>
+void increment_long_for_all(realm::Table& table, const RowSource& rows, size_t col, int64_t delta)
+{
+    const bool nullable = table.is_nullable(col);
+    update_all(rows, [&](size_t row) {
+        if (nullable && table.is_null(col, row)) return;
+        table.set_int(col, row, table.get_int(col, row) + delta);
+    });
+}
+
+// Supports both float and double columns. null values are left unchanged.
+template <class RowSource>
+void increment_double_for_all(realm::Table& table, const RowSource& rows, size_t col, double delta)
+{
+    const bool nullable = table.is_nullable(col);
+    if (table.get_column_type(col) == realm::type_Float) {
+        update_all(rows, [&](size_t row) {
+            if (nullable && table.is_null(col, row)) return;
+            table.set_float(col, row, static_cast<float>(table.get_float(col, row) + delta));
+        });
+    } else {
+        update_all(rows, [&](size_t row) {
+            if (nullable && table.is_null(col, row)) return;
+            table.set_double(col, row, table.get_double(col, row) + delta);
+        });
+    }
+}
+
+#endif // REALM_JAVA_BULKUPDATE_HPP
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <vector>
+
+#include "util.hpp"
+#include "io_realm_internal_BacklinkIndex.h"
+
+using namespace realm;
+
+// Layout of the index tables. Must be kept in sync with io.realm.internal.BacklinkIndex.
+static const size_t TARGET_COLUMN_INDEX = 0;
+static const size_t ORIGINS_COLUMN_INDEX = 1;
+
+// The key row of a target row is the only row of the index table linking to it, so it is found using the backlinks
+// stored for the target column instead of a search.
+static size_t find_key_row(Table* indexTable, const Table& target, size_t targetRow)
+{
+    if (target.get_backlink_count(targetRow, *indexTable, TARGET_COLUMN_INDEX) == 0) {
+        return realm::not_found;
+    }
+    return target.get_backlink(targetRow, *indexTable, TARGET_COLUMN_INDEX, 0);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_BacklinkIndex_nativeUpdate
+  (JNIEnv* env, jclass, jlong nativeIndexTablePtr, jlong originRowIndex, jlong targetRowIndex)
+{
+    TR_ENTER_PTR(nativeIndexTablePtr)
+    Table* indexTable = TBL(nativeIndexTablePtr);
+    if (!TABLE_VALID(env, indexTable)) {
+        return;
+    }
+    try {
+        TableRef origin = indexTable->get_link_target(ORIGINS_COLUMN_INDEX);
+        size_t row = S(originRowIndex);
+
+        // The key rows listing this row are backlinks from the index table. Collect them up front as the backlinks
+        // change while the LinkLists are modified.
+        std::vector<size_t> keyRows;
+        size_t backlinks = origin->get_backlink_count(row, *indexTable, ORIGINS_COLUMN_INDEX);
+        keyRows.reserve(backlinks);
+        for (size_t i = 0; i < backlinks; ++i) {
+            keyRows.push_back(origin->get_backlink(row, *indexTable, ORIGINS_COLUMN_INDEX, i));
+        }
+        for (size_t keyRow : keyRows) {
+            LinkViewRef origins = indexTable->get_linklist(ORIGINS_COLUMN_INDEX, keyRow);
+            size_t pos = origins->find(row);
+            if (pos != realm::not_found) {
+                origins->remove(pos);
+            }
+        }
+
+        if (targetRowIndex < 0) {
+            return;
+        }
+        TableRef target = indexTable->get_link_target(TARGET_COLUMN_INDEX);
+        size_t keyRow = find_key_row(indexTable, *target, S(targetRowIndex));
+        if (keyRow == realm::not_found) {
+            keyRow = indexTable->add_empty_row();
+            indexTable->set_link(TARGET_COLUMN_INDEX, keyRow, S(targetRowIndex));
+        }
+        indexTable->get_linklist(ORIGINS_COLUMN_INDEX, keyRow)->add(row);
+    } CATCH_STD()
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_BacklinkIndex_nativeFindKeyRow
+  (JNIEnv* env, jclass, jlong nativeIndexTablePtr, jlong targetRowIndex)
+{
+    TR_ENTER_PTR(nativeIndexTablePtr)
+    Table* indexTable = TBL(nativeIndexTablePtr);
+    if (!TABLE_VALID(env, indexTable)) {
+        return -1;
+    }
+    try {
+        TableRef target = indexTable->get_link_target(TARGET_COLUMN_INDEX);
+        size_t keyRow = find_key_row(indexTable, *target, S(targetRowIndex));
+        return (keyRow == realm::not_found) ? -1 : static_cast<jlong>(keyRow);
+    } CATCH_STD()
+    return -1;
+}
@@ -14,6 +14,8 @@
  * limitations under the License.
  */
 
+#include <unordered_set>
+
 #include "io_realm_internal_LinkView.h"
 #include "tablequery.hpp"
 #include "util.hpp"
@@ -176,3 +178,140 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_LinkView_nativeIsAttached
     } CATCH_STD()
     return 0;
 }
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetOriginRowIndex
+  (JNIEnv *env, jobject, jlong nativeLinkViewPtr)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        if (!LV(nativeLinkViewPtr)->is_attached()) {
+            ThrowException(env, TableInvalid, "The RealmList is no longer valid.");
+            return 0;
+        }
+        return static_cast<jlong>(LV(nativeLinkViewPtr)->get_origin_row_index());
+    } CATCH_STD()
+    return 0;
+}
+
+// Batch operations. Each takes all row indexes in one call.
+
+// Returns false (with a pending Java exception) if any row index is outside of the target table.
+static bool target_rows_valid(JNIEnv* env, LinkView* lv, JniLongArray& rowIndexes)
+{
+    size_t target_size = lv->get_target_table().size();
+    for (jsize i = 0; i < rowIndexes.len(); ++i) {
+        if (rowIndexes[i] < 0 || size_t(rowIndexes[i]) >= target_size) {
+            ThrowException(env, IndexOutOfBounds,
+                "Row index " + num_to_string(rowIndexes[i]) + " is outside of the target table of size " +
+                num_to_string(target_size) + ".");
+            return false;
+        }
+    }
+    return true;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeInsertAll
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong pos, jlongArray rowIndexes)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        LinkView *lv = LV(nativeLinkViewPtr);
+        JniLongArray rows(env, rowIndexes);
+        if (pos < 0 || size_t(pos) > lv->size()) {
+            ThrowException(env, IndexOutOfBounds,
+                "Position must be within range [0, " + num_to_string(lv->size()) + "]. " +
+                "Yours was " + num_to_string(pos) + ".");
+            return;
+        }
+        if (!target_rows_valid(env, lv, rows)) {
+            return;
+        }
+        for (jsize i = 0; i < rows.len(); ++i) {
+            lv->insert(S(pos) + i, S(rows[i]));
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeSetAll
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlongArray rowIndexes)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        LinkView *lv = LV(nativeLinkViewPtr);
+        JniLongArray rows(env, rowIndexes);
+        if (!target_rows_valid(env, lv, rows)) {
+            return;
+        }
+        // Only links which differ are changed, so replacing a list by a similar one doesn't rewrite it entirely
+        size_t new_size = S(rows.len());
+        size_t common = std::min(lv->size(), new_size);
+        for (size_t i = 0; i < common; ++i) {
+            if (lv->get(i).get_index() != S(rows[i])) {
+                lv->set(i, S(rows[i]));
+            }
+        }
+        while (lv->size() > new_size) {
+            lv->remove(lv->size() - 1);
+        }
+        for (size_t i = common; i < new_size; ++i) {
+            lv->add(S(rows[i]));
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeRemoveRange
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong fromPos, jlong toPos)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        LinkView *lv = LV(nativeLinkViewPtr);
+        size_t size = lv->size();
+        if (fromPos < 0 || toPos < fromPos || size_t(toPos) > size) {
+            ThrowException(env, IndexOutOfBounds,
+                "Range must be within [0, " + num_to_string(size) + "]. " +
+                "Yours was [" + num_to_string(fromPos) + ", " + num_to_string(toPos) + "[.");
+            return;
+        }
+        // Removing from the end doesn't move the links still to be removed
+        for (size_t i = S(toPos); i > S(fromPos); --i) {
+            lv->remove(i - 1);
+        }
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeSort
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex, jboolean ascending)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        LinkView *lv = LV(nativeLinkViewPtr);
+        if (!COL_INDEX_VALID(env, &lv->get_target_table(), columnIndex)) {
+            return;
+        }
+        lv->sort(S(columnIndex), ascending != 0);
+    } CATCH_STD()
+}
+
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_LinkView_nativeRemoveTargets
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlongArray rowIndexes, jboolean retain)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        LinkView *lv = LV(nativeLinkViewPtr);
+        JniLongArray rows(env, rowIndexes);
+        std::unordered_set<size_t> targets;
+        for (jsize i = 0; i < rows.len(); ++i) {
+            targets.insert(S(rows[i]));
+        }
+        bool changed = false;
+        for (size_t i = lv->size(); i > 0; --i) {
+            bool found = targets.count(lv->get(i - 1).get_index()) != 0;
+            if (found != (retain != 0)) {
+                lv->remove(i - 1);
+                changed = true;
+            }
+        }
+        return changed ? JNI_TRUE : JNI_FALSE;
+    } CATCH_STD()
+    return JNI_FALSE;
+}
@@ -111,6 +111,54 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeWhere
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_LinkView_nativeIsAttached
         (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeGetOriginRowIndex
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetOriginRowIndex
+        (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeInsertAll
+ * Signature: (JJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeInsertAll
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeSetAll
+ * Signature: (J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeSetAll
+  (JNIEnv *, jobject, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeRemoveRange
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeRemoveRange
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeSort
+ * Signature: (JJZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeSort
+  (JNIEnv *, jobject, jlong, jlong, jboolean);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeRemoveTargets
+ * Signature: (J[JZ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_LinkView_nativeRemoveTargets
+  (JNIEnv *, jobject, jlong, jlongArray, jboolean);
+
 #ifdef __cplusplus
 }
 #endif
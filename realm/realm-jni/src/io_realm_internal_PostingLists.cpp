@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <cmath>
+#include <set>
+#include <stdexcept>
+#include <string>
+#include <vector>
+
+#include "util.hpp"
+#include "io_realm_internal_PostingLists.h"
+
+using namespace realm;
+
+// Layout of the index tables. Must be kept in sync with io.realm.internal.PostingLists.
+static const size_t KEY_COLUMN_INDEX = 0;
+static const size_t TARGETS_COLUMN_INDEX = 1;
+
+static std::set<std::string> to_key_set(JNIEnv* env, jobjectArray keys)
+{
+    std::set<std::string> result;
+    jsize length = env->GetArrayLength(keys);
+    for (jsize i = 0; i < length; ++i) {
+        jstring key = static_cast<jstring>(env->GetObjectArrayElement(keys, i));
+        JStringAccessor accessor(env, key); // throws
+        StringData data = accessor;
+        result.insert(std::string(data.data(), data.size()));
+        env->DeleteLocalRef(key);
+    }
+    return result;
+}
+
+// Orders the values of a numeric or date column. NaN is ordered after all other values.
+static bool value_less(const Table& table, size_t column, size_t a, size_t b)
+{
+    switch (table.get_column_type(column)) {
+        case type_Int:
+            return table.get_int(column, a) < table.get_int(column, b);
+        case type_Float: {
+            float x = table.get_float(column, a);
+            float y = table.get_float(column, b);
+            return !std::isnan(x) && (std::isnan(y) || x < y);
+        }
+        case type_Double: {
+            double x = table.get_double(column, a);
+            double y = table.get_double(column, b);
+            return !std::isnan(x) && (std::isnan(y) || x < y);
+        }
+        case type_DateTime:
+            return table.get_datetime(column, a).get_datetime() < table.get_datetime(column, b).get_datetime();
+        default:
+            throw std::invalid_argument("Only numeric and date columns can be ordered.");
+    }
+}
+
+// Inserts a row after all rows with a smaller or equal value, so the LinkList stays sorted.
+static void insert_ordered(LinkViewRef postings, const Table& target, size_t sortColumn, size_t row)
+{
+    size_t low = 0;
+    size_t high = postings->size();
+    while (low < high) {
+        size_t mid = low + (high - low) / 2;
+        if (value_less(target, sortColumn, row, postings->get(mid).get_index())) {
+            high = mid;
+        }
+        else {
+            low = mid + 1;
+        }
+    }
+    postings->insert(low, row);
+}
+
+// Lists a row under the given keys only. If sortColumn is given, the LinkLists are kept sorted by the values of that
+// column, so a row whose value changed is moved even if its keys are the same.
+static void update_postings(Table* indexTable, size_t row, std::set<std::string> newKeys, size_t sortColumn)
+{
+    TableRef target = indexTable->get_link_target(TARGETS_COLUMN_INDEX);
+    bool ordered = sortColumn != realm::npos;
+
+    // Every key row listing this row is a backlink from the index table. Collect them up front as the
+    // backlinks change while the LinkLists are modified.
+    std::vector<size_t> keyRows;
+    size_t backlinks = target->get_backlink_count(row, *indexTable, TARGETS_COLUMN_INDEX);
+    keyRows.reserve(backlinks);
+    for (size_t i = 0; i < backlinks; ++i) {
+        keyRows.push_back(target->get_backlink(row, *indexTable, TARGETS_COLUMN_INDEX, i));
+    }
+
+    // Keep the keys which are still present, unlink the rest. Empty key rows are kept as queries
+    // might be attached to their LinkList.
+    for (size_t keyRow : keyRows) {
+        StringData key = indexTable->get_string(KEY_COLUMN_INDEX, keyRow);
+        if (ordered || newKeys.erase(std::string(key.data(), key.size())) == 0) {
+            LinkViewRef postings = indexTable->get_linklist(TARGETS_COLUMN_INDEX, keyRow);
+            size_t pos = postings->find(row);
+            if (pos != realm::not_found) {
+                postings->remove(pos);
+            }
+        }
+    }
+
+    for (const std::string& key : newKeys) {
+        StringData value(key.data(), key.size());
+        size_t keyRow = indexTable->find_first_string(KEY_COLUMN_INDEX, value);
+        if (keyRow == realm::not_found) {
+            keyRow = indexTable->add_empty_row();
+            indexTable->set_string(KEY_COLUMN_INDEX, keyRow, value);
+        }
+        LinkViewRef postings = indexTable->get_linklist(TARGETS_COLUMN_INDEX, keyRow);
+        if (ordered) {
+            insert_ordered(postings, *target, sortColumn, row);
+        }
+        else {
+            postings->add(row);
+        }
+    }
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_PostingLists_nativeUpdate
+  (JNIEnv* env, jclass, jlong nativeIndexTablePtr, jlong rowIndex, jobjectArray keys)
+{
+    TR_ENTER_PTR(nativeIndexTablePtr)
+    Table* indexTable = TBL(nativeIndexTablePtr);
+    if (!TABLE_VALID(env, indexTable)) {
+        return;
+    }
+    try {
+        update_postings(indexTable, S(rowIndex), to_key_set(env, keys), realm::npos);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_PostingLists_nativeUpdateOrdered
+  (JNIEnv* env, jclass, jlong nativeIndexTablePtr, jlong rowIndex, jobjectArray keys, jlong sortColumnIndex)
+{
+    TR_ENTER_PTR(nativeIndexTablePtr)
+    Table* indexTable = TBL(nativeIndexTablePtr);
+    if (!TABLE_VALID(env, indexTable)) {
+        return;
+    }
+    try {
+        update_postings(indexTable, S(rowIndex), to_key_set(env, keys), S(sortColumnIndex));
+    } CATCH_STD()
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_PostingLists_nativeFindSmallest
+  (JNIEnv* env, jclass, jlong nativeIndexTablePtr, jobjectArray keys)
+{
+    TR_ENTER_PTR(nativeIndexTablePtr)
+    Table* indexTable = TBL(nativeIndexTablePtr);
+    if (!TABLE_VALID(env, indexTable)) {
+        return -1;
+    }
+    try {
+        size_t smallestRow = realm::not_found;
+        size_t smallestSize = 0;
+        jsize length = env->GetArrayLength(keys);
+        for (jsize i = 0; i < length; ++i) {
+            jstring key = static_cast<jstring>(env->GetObjectArrayElement(keys, i));
+            JStringAccessor value(env, key); // throws
+            size_t keyRow = indexTable->find_first_string(KEY_COLUMN_INDEX, value);
+            env->DeleteLocalRef(key);
+            if (keyRow == realm::not_found) {
+                return -1;
+            }
+            size_t size = indexTable->get_linklist(TARGETS_COLUMN_INDEX, keyRow)->size();
+            if (size == 0) {
+                return -1;
+            }
+            if (smallestRow == realm::not_found || size < smallestSize) {
+                smallestRow = keyRow;
+                smallestSize = size;
+            }
+        }
+        return (smallestRow == realm::not_found) ? -1 : static_cast<jlong>(smallestRow);
+    } CATCH_STD()
+    return -1;
+}
@@ -589,6 +589,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeMaximumDate
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeMinimumDate
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeStatistics
+ * Signature: (JJZ[J[D)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeStatistics
+  (JNIEnv *, jobject, jlong, jlong, jboolean, jlongArray, jdoubleArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeCountLong
@@ -805,6 +813,78 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeRowToString
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeHasSameSchema
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLongForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetBooleanForAll
+ * Signature: (JJZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleanForAll
+  (JNIEnv *, jobject, jlong, jlong, jboolean);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetFloatForAll
+ * Signature: (JJF)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloatForAll
+  (JNIEnv *, jobject, jlong, jlong, jfloat);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDoubleForAll
+ * Signature: (JJD)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubleForAll
+  (JNIEnv *, jobject, jlong, jlong, jdouble);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDateTimeValueForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDateTimeValueForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetStringForAll
+ * Signature: (JJLjava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStringForAll
+  (JNIEnv *, jobject, jlong, jlong, jstring);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetNullForAll
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetNullForAll
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeIncrementLongForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeIncrementLongForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeIncrementDoubleForAll
+ * Signature: (JJD)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeIncrementDoubleForAll
+  (JNIEnv *, jobject, jlong, jlong, jdouble);
+
 #ifdef __cplusplus
 }
 #endif
@@ -20,6 +20,7 @@
 #include "util.hpp"
 #include "io_realm_internal_TableQuery.h"
 #include "tablequery.hpp"
+#include "statistics.hpp"
 
 using namespace realm;
 
@@ -60,6 +61,21 @@ JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery
     return NULL;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRestrictToLinkView
+(JNIEnv *env, jobject, jlong nativeQueryPtr, jlong nativeLinkViewPtr)
+{
+    TR_ENTER_PTR(nativeQueryPtr)
+    try {
+        LinkView* lv = LV(nativeLinkViewPtr);
+        // The query holds a reference to the LinkView, so it stays valid as long as the query is alive.
+        Query query = lv->get_target_table().where(LinkViewRef(lv));
+        query.and_query(*Q(nativeQueryPtr));
+        TableQuery* queryPtr = new TableQuery(query);
+        return reinterpret_cast<jlong>(queryPtr);
+    } CATCH_STD()
+    return 0;
+}
+
 
 // helper functions
 
@@ -893,25 +909,26 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFind(
     return -1;
 }
 
+// Moves the read transaction of the background SharedGroup to the version an object was handed over at, so it can be
+// imported, and returns the version the transaction was at before. Advancing back to that version after importing
+// keeps everything a task imports at the version it started with, even if other threads commit in the meantime.
+static SharedGroup::VersionID begin_read_at_handover_version(jlong bgSharedGroupPtr,
+                                                             const SharedGroup::VersionID& handoverVersion)
+{
+    SharedGroup::VersionID currentVersion = SG(bgSharedGroupPtr)->get_version_of_current_transaction();
+    SG(bgSharedGroupPtr)->end_read();
+    SG(bgSharedGroupPtr)->begin_read(handoverVersion);
+    return currentVersion;
+}
+
 std::unique_ptr<Query> getHandoverQuery (jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr)
 {
     SharedGroup::Handover<Query> *handoverQueryPtr = HO(Query, queryPtr);
     std::unique_ptr<SharedGroup::Handover<Query>> handoverQuery(handoverQueryPtr);
 
-    SG(bgSharedGroupPtr)->end_read();
-
-    SharedGroup::VersionID currentVersion = SG(bgSharedGroupPtr)->get_version_of_current_transaction();
-    bool isDifferentVersions = (currentVersion != handoverQuery->version);
-    if (isDifferentVersions) {
-        SG(bgSharedGroupPtr)->begin_read(handoverQuery->version);
-    } else {
-        SG(bgSharedGroupPtr)->begin_read();
-    }
-
+    SharedGroup::VersionID currentVersion = begin_read_at_handover_version(bgSharedGroupPtr, handoverQuery->version);
     std::unique_ptr<Query> query = SG(bgSharedGroupPtr)->import_from_handover(std::move(handoverQuery));
-    if (isDifferentVersions) {
-        LangBindHelper::advance_read(*SG(bgSharedGroupPtr), *CH(replicationPtr));
-    }
+    LangBindHelper::advance_read(*SG(bgSharedGroupPtr), *CH(replicationPtr), currentVersion);
 
     return query;
 }
@@ -936,12 +953,14 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
             return 0;
         }
 
-        size_t r = query->find(S(fromTableRow));
-        if (r == not_found) {
+        // find() returns a position within the rows the query is restricted to, e.g. the candidates of an index,
+        // while find_all() always returns rows of the table.
+        TableView tv = query->find_all(S(fromTableRow), size_t(-1), 1);
+        if (tv.size() == 0) {
             return 0;
         } else {
             // handover the result
-            Row row = (*table)[r];
+            Row row = (*table)[tv.get_source_ndx(0)];
             std::unique_ptr<SharedGroup::Handover<Row>> handover = SG(
                     bgSharedGroupPtr)->export_for_handover(row);
             return reinterpret_cast<jlong>(handover.release());
@@ -1411,6 +1430,26 @@ JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMinimumDate(
     return NULL;
 }
 
+// Statistics
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeStatistics(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong columnIndex, jboolean computeVariance,
+    jlong start, jlong end, jlong limit, jlongArray longResults, jdoubleArray doubleResults)
+{
+    Query* pQuery = Q(nativeQueryPtr);
+    Table* pTable = pQuery->get_table().get();
+    if (!QUERY_VALID(env, pQuery) ||
+        !COL_INDEX_VALID(env, pTable, columnIndex) ||
+        !ROW_INDEXES_VALID(env, pTable, start, end, limit))
+        return;
+    try {
+        // Matching rows are collected once, all aggregates are then computed in a single pass over them.
+        TableView view = pQuery->find_all(S(start), S(end), S(limit));
+        compute_statistics(env, *pTable, ViewRowSource(view), S(columnIndex), computeVariance != 0,
+                           longResults, doubleResults);
+    } CATCH_STD()
+}
+
 // Count, Remove
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeCount(
@@ -1586,6 +1625,196 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseQueryHandove
     delete HO(Query, nativeHandoverQuery);
   }
 
+// handoverTableViewPtr would be owned and released by this function
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_TableQuery_nativeIsInSyncWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong handoverTableViewPtr)
+  {
+    TR_ENTER_PTR(handoverTableViewPtr)
+    try {
+        std::unique_ptr<SharedGroup::Handover<TableView>> handoverTableView(HO(TableView, handoverTableViewPtr));
+
+        SharedGroup::VersionID currentVersion = begin_read_at_handover_version(bgSharedGroupPtr,
+                                                                               handoverTableView->version);
+        std::unique_ptr<TableView> tableView = SG(bgSharedGroupPtr)->import_from_handover(
+                std::move(handoverTableView));
+        // Advancing replays the changes of all later commits up to the version of the task, which puts the view out
+        // of sync if they changed any table it depends on.
+        LangBindHelper::advance_read(*SG(bgSharedGroupPtr), *CH(replicationPtr), currentVersion);
+        return tableView->is_attached() && tableView->is_in_sync();
+    } CATCH_STD()
+    return false;
+  }
+
+// FNV-1a, only used to detect rows whose values have changed between two versions.
+static inline void hash_bytes(uint64_t& hash, const char* data, size_t size)
+{
+    for (size_t i = 0; i < size; ++i) {
+        hash ^= static_cast<unsigned char>(data[i]);
+        hash *= 1099511628211ULL;
+    }
+}
+
+template <typename T>
+static inline void hash_value(uint64_t& hash, T value)
+{
+    hash_bytes(hash, reinterpret_cast<const char*>(&value), sizeof(T));
+}
+
+static uint64_t hash_row(const Table& table, size_t row)
+{
+    uint64_t hash = 14695981039346656037ULL;
+    size_t column_count = table.get_column_count();
+    for (size_t col = 0; col < column_count; ++col) {
+        if (table.is_nullable(col) && table.is_null(col, row)) {
+            hash_value(hash, -1);
+            continue;
+        }
+        switch (table.get_column_type(col)) {
+            case type_Int:
+                hash_value(hash, table.get_int(col, row));
+                break;
+            case type_Bool:
+                hash_value(hash, table.get_bool(col, row));
+                break;
+            case type_Float:
+                hash_value(hash, table.get_float(col, row));
+                break;
+            case type_Double:
+                hash_value(hash, table.get_double(col, row));
+                break;
+            case type_DateTime:
+                hash_value(hash, table.get_datetime(col, row).get_datetime());
+                break;
+            case type_String: {
+                StringData value = table.get_string(col, row);
+                hash_value(hash, value.size());
+                hash_bytes(hash, value.data(), value.size());
+                break;
+            }
+            case type_Binary: {
+                BinaryData value = table.get_binary(col, row);
+                hash_value(hash, value.size());
+                hash_bytes(hash, value.data(), value.size());
+                break;
+            }
+            case type_Link:
+                hash_value(hash, table.is_null_link(col, row) ? npos : table.get_link(col, row));
+                break;
+            case type_LinkList: {
+                ConstLinkViewRef links = table.get_linklist(col, row);
+                size_t size = links->size();
+                hash_value(hash, size);
+                for (size_t i = 0; i < size; ++i) {
+                    hash_value(hash, links->get(i).get_index());
+                }
+                break;
+            }
+            case type_Table:
+                hash_value(hash, table.get_subtable_size(col, row));
+                break;
+            default:
+                // Mixed columns are not used by RealmObjects.
+                break;
+        }
+    }
+    return hash;
+}
+
+static std::vector<uint64_t> get_hashes(const TableView& tableView)
+{
+    std::vector<uint64_t> hashes(tableView.size());
+    for (size_t i = 0; i < hashes.size(); ++i) {
+        if (tableView.is_row_attached(i)) {
+            hashes[i] = hash_row(*tableView.get_parent(), tableView.get_source_ndx(i));
+        }
+    }
+    return hashes;
+}
+
+// Returns the source row index of each row of the view, or -1 if the row has been removed, followed by the hash of the
+// values of the row. The first `offset` elements are left for the caller.
+static jlongArray get_rows_and_hashes(JNIEnv* env, const TableView& tableView, const std::vector<uint64_t>& hashes,
+                                      size_t offset)
+{
+    std::vector<jlong> values(offset + 2 * hashes.size());
+    for (size_t i = 0; i < hashes.size(); ++i) {
+        bool removed = !tableView.is_row_attached(i);
+        values[offset + 2 * i] = removed ? -1 : static_cast<jlong>(tableView.get_source_ndx(i));
+        values[offset + 2 * i + 1] = removed ? 0 : static_cast<jlong>(hashes[i]);
+    }
+
+    jlongArray result = env->NewLongArray(values.size());
+    if (result == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the rows of the TableView.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(result, 0, values.size(), values.data());
+    return result;
+}
+
+// handoverTableViewPtr would be owned and released by this function
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeGetChangedRowsWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong handoverTableViewPtr)
+  {
+    TR_ENTER_PTR(handoverTableViewPtr)
+    try {
+        std::unique_ptr<SharedGroup::Handover<TableView>> handoverTableView(HO(TableView, handoverTableViewPtr));
+
+        SharedGroup::VersionID currentVersion = begin_read_at_handover_version(bgSharedGroupPtr,
+                                                                               handoverTableView->version);
+        std::unique_ptr<TableView> tableView = SG(bgSharedGroupPtr)->import_from_handover(
+                std::move(handoverTableView));
+        std::vector<uint64_t> hashes = get_hashes(*tableView);
+
+        // Advancing to the version of the task moves the rows of the view along with the rows of the table and
+        // detaches removed rows. The hashes from before advancing are reported, so changed rows can be detected.
+        LangBindHelper::advance_read(*SG(bgSharedGroupPtr), *CH(replicationPtr), currentVersion);
+        if (!tableView->is_attached() || tableView->is_in_sync()) {
+            return NULL;
+        }
+        return get_rows_and_hashes(env, *tableView, hashes, 0);
+    } CATCH_STD()
+    return NULL;
+  }
+
+// handoverTableViewPtr would be owned and released by this function
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeGetRowsWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong handoverTableViewPtr)
+  {
+    TR_ENTER_PTR(handoverTableViewPtr)
+    try {
+        std::unique_ptr<SharedGroup::Handover<TableView>> handoverTableView(HO(TableView, handoverTableViewPtr));
+        std::unique_ptr<TableView> tableView = SG(bgSharedGroupPtr)->import_from_handover(
+                std::move(handoverTableView));
+
+        jlongArray result = get_rows_and_hashes(env, *tableView, get_hashes(*tableView), 1);
+        if (result == NULL) {
+            return NULL;
+        }
+        // hand the view over again, its pointer is the first element
+        std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(bgSharedGroupPtr)->export_for_handover(
+                *tableView, MutableSourcePayload::Move);
+        jlong handoverPtr = reinterpret_cast<jlong>(handover.release());
+        env->SetLongArrayRegion(result, 0, 1, &handoverPtr);
+        return result;
+    } CATCH_STD()
+    return NULL;
+  }
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseTableViewHandover
+  (JNIEnv *, jobject, jlong nativeHandoverTableView)
+  {
+    TR_ENTER_PTR(nativeHandoverTableView)
+    delete HO(TableView, nativeHandoverTableView);
+  }
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseRowHandover
+  (JNIEnv *, jobject, jlong nativeHandoverRow)
+  {
+    TR_ENTER_PTR(nativeHandoverRow)
+    delete HO(Row, nativeHandoverRow);
+  }
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsNotNull
   (JNIEnv *env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes) {
     JniLongArray arr(env, columnIndexes);
@@ -1666,6 +1895,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsNotNull
     } CATCH_STD()
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLinksTo
+  (JNIEnv *env, jobject, jlong nativeQueryPtr, jlong columnIndex, jlong targetRowIndex) {
+    TR_ENTER_PTR(nativeQueryPtr)
+    Query* pQuery = Q(nativeQueryPtr);
+    try {
+        TableRef table_ref = pQuery->get_table();
+        if (!COL_INDEX_AND_TYPE_VALID(env, table_ref.get(), columnIndex, type_Link)) {
+            return;
+        }
+        if (!ROW_INDEX_VALID(env, table_ref->get_link_target(S(columnIndex)).get(), targetRowIndex)) {
+            return;
+        }
+        pQuery->links_to(S(columnIndex), S(targetRowIndex));
+    } CATCH_STD()
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsEmpty
     (JNIEnv *env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes) {
 
@@ -23,6 +23,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeClose
 JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeRestrictToLinkView
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRestrictToLinkView
+  (JNIEnv *, jobject, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeTableview
@@ -543,6 +551,14 @@ JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMaximumDate
 JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeMinimumDate
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeStatistics
+ * Signature: (JJZJJJ[J[D)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeStatistics
+  (JNIEnv *, jobject, jlong, jlong, jboolean, jlong, jlong, jlong, jlongArray, jdoubleArray);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeIsNull
@@ -567,6 +583,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsEmpty
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIsNotNull
   (JNIEnv *, jobject, jlong, jlongArray);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeLinksTo
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeLinksTo
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeCount
@@ -591,6 +615,46 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeRemove
 JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseQueryHandover
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeIsInSyncWithHandover
+ * Signature: (JJJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_TableQuery_nativeIsInSyncWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeGetChangedRowsWithHandover
+ * Signature: (JJJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeGetChangedRowsWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeGetRowsWithHandover
+ * Signature: (JJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableQuery_nativeGetRowsWithHandover
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCloseTableViewHandover
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseTableViewHandover
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeCloseRowHandover
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeCloseRowHandover
+  (JNIEnv *, jobject, jlong);
+
 #ifdef __cplusplus
 }
 #endif
@@ -31,6 +31,54 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSize
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndex
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeCreateSnapshot
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCreateSnapshot
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeIsInSync
+ * Signature: (J)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_TableView_nativeIsInSync
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetSourceRowIndices
+ * Signature: (J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndices
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetSnapshotSize
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSnapshotSize
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetSnapshotSourceRowIndex
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSnapshotSourceRowIndex
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeHandover
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeHandover
+  (JNIEnv *, jobject, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeGetColumnCount
@@ -479,6 +527,14 @@ JNIEXPORT jobject JNICALL Java_io_realm_internal_TableView_nativeMaximumDate
 JNIEXPORT jobject JNICALL Java_io_realm_internal_TableView_nativeMinimumDate
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeStatistics
+ * Signature: (JJZ[J[D)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeStatistics
+  (JNIEnv *, jobject, jlong, jlong, jboolean, jlongArray, jdoubleArray);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeSort
@@ -551,6 +607,78 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetLongForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetLongForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetBooleanForAll
+ * Signature: (JJZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetBooleanForAll
+  (JNIEnv *, jobject, jlong, jlong, jboolean);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetFloatForAll
+ * Signature: (JJF)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetFloatForAll
+  (JNIEnv *, jobject, jlong, jlong, jfloat);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetDoubleForAll
+ * Signature: (JJD)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDoubleForAll
+  (JNIEnv *, jobject, jlong, jlong, jdouble);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetDateTimeValueForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDateTimeValueForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetStringForAll
+ * Signature: (JJLjava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetStringForAll
+  (JNIEnv *, jobject, jlong, jlong, jstring);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetNullForAll
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetNullForAll
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeIncrementLongForAll
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeIncrementLongForAll
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeIncrementDoubleForAll
+ * Signature: (JJD)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeIncrementDoubleForAll
+  (JNIEnv *, jobject, jlong, jlong, jdouble);
+
 #ifdef __cplusplus
 }
 #endif
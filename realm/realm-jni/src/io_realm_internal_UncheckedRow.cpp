@@ -399,3 +399,18 @@ JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetNull
     TR_ENTER_PTR(nativeRowPtr)
     ROW(nativeRowPtr)->set_null(columnIndex);
 }
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeHandover
+  (JNIEnv* env, jobject, jlong callerSharedGroupPtr, jlong nativeRowPtr)
+{
+    TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return 0;
+
+    try {
+        std::unique_ptr<SharedGroup::Handover<Row>> handover = SG(callerSharedGroupPtr)->export_for_handover(
+                *ROW(nativeRowPtr));
+        return reinterpret_cast<jlong>(handover.release());
+    } CATCH_STD()
+    return 0;
+}
@@ -25,6 +25,8 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "statistics.hpp"
+#include "bulkupdate.hpp"
 
 using namespace std;
 using namespace realm;
@@ -1074,6 +1076,122 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeMinimumDate(
     return 0;
 }
 
+//---------------------- Statistics
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeStatistics(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jboolean computeVariance,
+    jlongArray longResults, jdoubleArray doubleResults)
+{
+    if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+        return;
+    try {
+        Table* table = TBL(nativeTablePtr);
+        compute_statistics(env, *table, TableRowSource(*table), S(columnIndex), computeVariance != 0,
+                           longResults, doubleResults);
+    } CATCH_STD()
+}
+
+// Bulk updates
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong value)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        set_long_for_all(*table, TableRowSource(*table), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleanForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jboolean value)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        set_bool_for_all(*table, TableRowSource(*table), S(columnIndex), value != 0);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloatForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jfloat value)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        set_float_for_all(*table, TableRowSource(*table), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubleForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jdouble value)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        set_double_for_all(*table, TableRowSource(*table), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDateTimeValueForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong dateTimeValue)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        set_datetime_for_all(*table, TableRowSource(*table), S(columnIndex), dateTimeValue);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStringForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jstring value)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        set_string_for_all(env, *table, TableRowSource(*table), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetNullForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        set_null_for_all(env, *table, TableRowSource(*table), S(columnIndex));
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeIncrementLongForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong delta)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        increment_long_for_all(*table, TableRowSource(*table), S(columnIndex), delta);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeIncrementDoubleForAll(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jdouble delta)
+{
+    try {
+        if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex))
+            return;
+        Table* table = TBL(nativeTablePtr);
+        increment_double_for_all(*table, TableRowSource(*table), S(columnIndex), delta);
+    } CATCH_STD()
+}
+
 //---------------------- Count
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeCountLong(
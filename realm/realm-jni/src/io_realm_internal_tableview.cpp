@@ -19,6 +19,8 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "statistics.hpp"
+#include "bulkupdate.hpp"
 #include "realm/array.hpp"
 #include <ostream>
 
@@ -113,6 +115,102 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndex
     return TV(nativeViewPtr)->get_source_ndx(S(rowIndex));   // noexcept
 }
 
+// Snapshots are never synced. The storage engine keeps adjusting the row indexes of a TableView when rows are moved
+// and detaches the rows which are removed, even if the TableView is out of sync.
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeCreateSnapshot
+(JNIEnv *env, jobject, jlong nativeViewPtr)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return 0;
+        return reinterpret_cast<jlong>(new TableView(*TV(nativeViewPtr)));
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSnapshotSize
+(JNIEnv *env, jobject, jlong nativeViewPtr)
+{
+    if (!TV(nativeViewPtr)->is_attached()) {
+        ThrowException(env, TableInvalid, "Table is closed, and no longer valid to operate on.");
+        return 0;
+    }
+    return TV(nativeViewPtr)->size();   // noexcept
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSnapshotSourceRowIndex
+(JNIEnv *env, jobject, jlong nativeViewPtr, jlong rowIndex)
+{
+    try {
+        if (!TV(nativeViewPtr)->is_attached()) {
+            ThrowException(env, TableInvalid, "Table is closed, and no longer valid to operate on.");
+            return 0;
+        }
+        if (!ROW_INDEX_VALID(env, TV(nativeViewPtr), rowIndex))
+            return 0;
+        if (!TV(nativeViewPtr)->is_row_attached(S(rowIndex)))
+            return -1;
+    } CATCH_STD()
+    return TV(nativeViewPtr)->get_source_ndx(S(rowIndex));   // noexcept
+}
+
+// Doesn't sync the view. The handover keeps track of whether the view was in sync when exported, so the receiver can
+// tell if any table it depends on has changed since.
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeHandover
+(JNIEnv *env, jobject, jlong callerSharedGroupPtr, jlong nativeViewPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    if (!TV(nativeViewPtr)->is_attached()) {
+        ThrowException(env, TableInvalid, "Table is closed, and no longer valid to operate on.");
+        return 0;
+    }
+    try {
+        std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(callerSharedGroupPtr)->export_for_handover(
+                *TV(nativeViewPtr), ConstSourcePayload::Copy);
+        return reinterpret_cast<jlong>(handover.release());
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_TableView_nativeIsInSync
+(JNIEnv *env, jobject, jlong nativeViewPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    if (!TV(nativeViewPtr)->is_attached()) {
+        ThrowException(env, TableInvalid, "Table is closed, and no longer valid to operate on.");
+        return JNI_FALSE;
+    }
+    try {
+        return TV(nativeViewPtr)->is_in_sync() ? JNI_TRUE : JNI_FALSE;
+    } CATCH_STD()
+    return JNI_FALSE;
+}
+
+// Removed rows are returned as -1.
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndices
+(JNIEnv *env, jobject, jlong nativeViewPtr)
+{
+    TR_ENTER_PTR(nativeViewPtr)
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        std::vector<jlong> indices(size);
+        for (size_t i = 0; i < size; ++i) {
+            indices[i] = tv->is_row_attached(i) ? static_cast<jlong>(tv->get_source_ndx(i)) : -1;
+        }
+        jlongArray result = env->NewLongArray(size);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory to return the rows of the TableView.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, size, indices.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetColumnCount
   (JNIEnv *env, jobject, jlong nativeViewPtr)
 {
@@ -858,6 +956,132 @@ JNIEXPORT jobject JNICALL Java_io_realm_internal_TableView_nativeMinimumDate(
     return NULL;
 }
 
+// statistics
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeStatistics(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jboolean computeVariance,
+    jlongArray longResults, jdoubleArray doubleResults)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        compute_statistics(env, view->get_parent(), ViewRowSource(*view), S(columnIndex), computeVariance != 0,
+                           longResults, doubleResults);
+    } CATCH_STD()
+}
+
+// Bulk updates
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetLongForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        set_long_for_all(view->get_parent(), ViewRowSource(*view), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetBooleanForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jboolean value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        set_bool_for_all(view->get_parent(), ViewRowSource(*view), S(columnIndex), value != 0);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetFloatForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jfloat value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        set_float_for_all(view->get_parent(), ViewRowSource(*view), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDoubleForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jdouble value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        set_double_for_all(view->get_parent(), ViewRowSource(*view), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetDateTimeValueForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong dateTimeValue)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        set_datetime_for_all(view->get_parent(), ViewRowSource(*view), S(columnIndex), dateTimeValue);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetStringForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jstring value)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        set_string_for_all(env, view->get_parent(), ViewRowSource(*view), S(columnIndex), value);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetNullForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        set_null_for_all(env, view->get_parent(), ViewRowSource(*view), S(columnIndex));
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeIncrementLongForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong delta)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        increment_long_for_all(view->get_parent(), ViewRowSource(*view), S(columnIndex), delta);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeIncrementDoubleForAll(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jdouble delta)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex))
+            return;
+        TableView* view = TV(nativeViewPtr);
+        increment_double_for_all(view->get_parent(), ViewRowSource(*view), S(columnIndex), delta);
+    } CATCH_STD()
+}
+
 // sort
 
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSort(
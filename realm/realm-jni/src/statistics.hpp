@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef REALM_JAVA_STATISTICS_HPP
+#define REALM_JAVA_STATISTICS_HPP
+
+#include <jni.h>
+#include <realm.hpp>
+
+#include "util.hpp"
+
+// Layout of the result arrays. Must be kept in sync with the STATS_* constants in io.realm.internal.TableOrView.
+#define STATS_LONG_COUNT     0
+#define STATS_LONG_MIN       1
+#define STATS_LONG_MAX       2
+#define STATS_LONG_SUM       3
+#define STATS_LONG_SIZE      4
+
+#define STATS_DOUBLE_MIN      0
+#define STATS_DOUBLE_MAX      1
+#define STATS_DOUBLE_SUM      2
+#define STATS_DOUBLE_AVERAGE  3
+#define STATS_DOUBLE_VARIANCE 4
+#define STATS_DOUBLE_SIZE     5
+
+// Row sources the statistics can be computed over. Both map a position to a row index in the parent table.
+struct TableRowSource {
+    const realm::Table& table;
+
+    TableRowSource(const realm::Table& t) : table(t) {}
+
+    size_t size() const { return table.size(); }
+    bool is_attached(size_t) const { return true; }
+    size_t row_index(size_t i) const { return i; }
+};
+
+struct ViewRowSource {
+    const realm::TableView& view;
+
+    ViewRowSource(const realm::TableView& v) : view(v) {}
+
+    size_t size() const { return view.size(); }
+    bool is_attached(size_t i) const { return view.is_row_attached(i); }
+    size_t row_index(size_t i) const { return view.get_source_ndx(i); }
+};
+
+// Accumulates count, min, max, sum and (optionally) the running mean and sum of squared deviations
+// (Welford's method) so everything is collected by reading each value exactly once.
+class StatisticsAccumulator {
+public:
+    StatisticsAccumulator(bool compute_variance)
+        : m_compute_variance(compute_variance)
+        , m_count(0)
+        , m_long_min(0), m_long_max(0), m_long_sum(0)
+        , m_min(0), m_max(0), m_sum(0)
+        , m_mean(0), m_m2(0) {}
+
+    inline void add(int64_t value)
+    {
+        if (m_count == 0 || value < m_long_min) {
+            m_long_min = value;
+        }
+        if (m_count == 0 || value > m_long_max) {
+            m_long_max = value;
+        }
+        m_long_sum += value;
+        add(static_cast<double>(value));
+    }
+
+    inline void add(double value)
+    {
+        if (m_count == 0 || value < m_min) {
+            m_min = value;
+        }
+        if (m_count == 0 || value > m_max) {
+            m_max = value;
+        }
+        m_sum += value;
+        ++m_count;
+        if (m_compute_variance) {
+            double delta = value - m_mean;
+            m_mean += delta / m_count;
+            m_m2 += delta * (value - m_mean);
+        }
+    }
+
+    void write(JNIEnv* env, jlongArray longResults, jdoubleArray doubleResults) const
+    {
+        jlong longs[STATS_LONG_SIZE];
+        longs[STATS_LONG_COUNT] = static_cast<jlong>(m_count);
+        longs[STATS_LONG_MIN] = m_long_min;
+        longs[STATS_LONG_MAX] = m_long_max;
+        longs[STATS_LONG_SUM] = m_long_sum;
+
+        jdouble doubles[STATS_DOUBLE_SIZE];
+        doubles[STATS_DOUBLE_MIN] = m_min;
+        doubles[STATS_DOUBLE_MAX] = m_max;
+        doubles[STATS_DOUBLE_SUM] = m_sum;
+        doubles[STATS_DOUBLE_AVERAGE] = (m_count == 0) ? 0 : m_sum / m_count;
+        doubles[STATS_DOUBLE_VARIANCE] = (m_count == 0 || !m_compute_variance) ? 0 : m_m2 / m_count;
+
+        env->SetLongArrayRegion(longResults, 0, STATS_LONG_SIZE, longs);
+        env->SetDoubleArrayRegion(doubleResults, 0, STATS_DOUBLE_SIZE, doubles);
+    }
+
+private:
+    const bool m_compute_variance;
+    size_t m_count;
+    int64_t m_long_min;
+    int64_t m_long_max;
+    int64_t m_long_sum;
+    double m_min;
+    double m_max;
+    double m_sum;
+    double m_mean;
+    double m_m2;
+};
+
+// Computes all aggregates of a column in one pass over the rows. null values are skipped.
+// Returns false (with a pending Java exception) if the column type is not supported.
+template <class RowSource>
+bool compute_statistics(JNIEnv* env, const realm::Table& table, const RowSource& rows, size_t columnIndex,
+                        bool computeVariance, jlongArray longResults, jdoubleArray doubleResults)
+{
+    if (env->GetArrayLength(longResults) < STATS_LONG_SIZE ||
+        env->GetArrayLength(doubleResults) < STATS_DOUBLE_SIZE) {
+        ThrowException(env, IllegalArgument, "Result arrays are too small.");
+        return false;
+    }
+
+    StatisticsAccumulator accumulator(computeVariance);
+    const bool nullable = table.is_nullable(columnIndex);
+    const size_t size = rows.size();
+
+    switch (table.get_column_type(columnIndex)) {
+        case realm::type_Int:
+            for (size_t i = 0; i < size; ++i) {
+                if (!rows.is_attached(i)) continue;
+                size_t row = rows.row_index(i);
+                if (nullable && table.is_null(columnIndex, row)) continue;
+                accumulator.add(table.get_int(columnIndex, row));
+            }
+            break;
+        case realm::type_Float:
+            for (size_t i = 0; i < size; ++i) {
+                if (!rows.is_attached(i)) continue;
+                size_t row = rows.row_index(i);
+                if (nullable && table.is_null(columnIndex, row)) continue;
+                accumulator.add(static_cast<double>(table.get_float(columnIndex, row)));
+            }
+            break;
+        case realm::type_Double:
+            for (size_t i = 0; i < size; ++i) {
+                if (!rows.is_attached(i)) continue;
+                size_t row = rows.row_index(i);
+                if (nullable && table.is_null(columnIndex, row)) continue;
+                accumulator.add(table.get_double(columnIndex, row));
+            }
+            break;
+        case realm::type_DateTime:
+            for (size_t i = 0; i < size; ++i) {
+                if (!rows.is_attached(i)) continue;
+                size_t row = rows.row_index(i);
+                if (nullable && table.is_null(columnIndex, row)) continue;
+                accumulator.add(static_cast<int64_t>(table.get_datetime(columnIndex, row).get_datetime()));
+            }
+            break;
+        default:
+            ThrowException(env, IllegalArgument, "Invalid type - Only int, float, double and Date are supported.");
+            return false;
+    }
+
+    accumulator.write(env, longResults, doubleResults);
+    return true;
+}
+
+#endif // REALM_JAVA_STATISTICS_HPP
@@ -26,6 +26,7 @@ import io.realm.entities.AllJavaTypes;
 import io.realm.entities.AllTypes;
 import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
+import io.realm.entities.FullTextIndexed;
 import io.realm.entities.NullTypes;
 
 import static io.realm.internal.test.ExtraTests.assertArrayEquals;
@@ -697,4 +698,166 @@ public class DynamicRealmObjectTest extends AndroidTestCase {
         assertTrue(str.startsWith("class_AllJavaTypes = ["));
         assertTrue(str.endsWith("}]"));
     }
+
+    public void testGetWithFieldHandle() {
+        RealmObjectSchema schema = realm.getSchema().get("AllJavaTypes");
+        assertEquals("str", dObj.getString(schema.getFieldHandle(AllJavaTypes.FIELD_STRING)));
+        assertEquals(1, dObj.getShort(schema.getFieldHandle(AllJavaTypes.FIELD_SHORT)));
+        assertEquals(1, dObj.getInt(schema.getFieldHandle(AllJavaTypes.FIELD_INT)));
+        assertEquals(1, dObj.getLong(schema.getFieldHandle(AllJavaTypes.FIELD_LONG)));
+        assertEquals(4, dObj.getByte(schema.getFieldHandle(AllJavaTypes.FIELD_BYTE)));
+        assertEquals(1.23f, dObj.getFloat(schema.getFieldHandle(AllJavaTypes.FIELD_FLOAT)));
+        assertEquals(1.234d, dObj.getDouble(schema.getFieldHandle(AllJavaTypes.FIELD_DOUBLE)));
+        assertArrayEquals(new byte[]{1, 2, 3}, dObj.getBlob(schema.getFieldHandle(AllJavaTypes.FIELD_BINARY)));
+        assertTrue(dObj.getBoolean(schema.getFieldHandle(AllJavaTypes.FIELD_BOOLEAN)));
+        assertEquals(new Date(1000), dObj.getDate(schema.getFieldHandle(AllJavaTypes.FIELD_DATE)));
+        assertEquals(dObj, dObj.getObject(schema.getFieldHandle(AllJavaTypes.FIELD_OBJECT)));
+        assertEquals(1, dObj.getList(schema.getFieldHandle(AllJavaTypes.FIELD_LIST)).size());
+        assertEquals("str", dObj.get(schema.getFieldHandle(AllJavaTypes.FIELD_STRING)));
+        assertFalse(dObj.isNull(schema.getFieldHandle(AllJavaTypes.FIELD_OBJECT)));
+    }
+
+    public void testSetWithFieldHandle() {
+        FieldHandle stringField = dObj.getFieldHandle(AllJavaTypes.FIELD_STRING);
+        FieldHandle longField = dObj.getFieldHandle(AllJavaTypes.FIELD_LONG);
+        FieldHandle dateField = dObj.getFieldHandle(AllJavaTypes.FIELD_DATE);
+        FieldHandle objectField = dObj.getFieldHandle(AllJavaTypes.FIELD_OBJECT);
+        assertEquals(RealmFieldType.STRING, stringField.getType());
+        assertEquals("AllJavaTypes", stringField.getClassName());
+        assertEquals(AllJavaTypes.FIELD_STRING, stringField.getFieldName());
+
+        realm.beginTransaction();
+        dObj.setString(stringField, "foo");
+        dObj.setLong(longField, 42);
+        dObj.setDate(dateField, new Date(2000));
+        dObj.set(longField, "43");
+        dObj.setNull(objectField);
+        realm.commitTransaction();
+
+        assertEquals("foo", typedObj.getFieldString());
+        assertEquals(43, typedObj.getFieldLong());
+        assertEquals(new Date(2000), typedObj.getFieldDate());
+        assertTrue(dObj.isNull(objectField));
+    }
+
+    public void testSetWithFieldHandleUpdatesIndex() {
+        realm.beginTransaction();
+        FullTextIndexed obj = realm.createObject(FullTextIndexed.class);
+        obj.setName("Banana");
+        DynamicRealmObject dynamicObj = new DynamicRealmObject(obj);
+        FieldHandle nameField = dynamicObj.getFieldHandle(FullTextIndexed.FIELD_NAME);
+        dynamicObj.setString(nameField, "Apple pie");
+        realm.commitTransaction();
+
+        assertEquals(1, realm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).count());
+        assertEquals(0, realm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "banana", Case.INSENSITIVE).count());
+    }
+
+    public void testFieldHandleUsedWithOtherObjectsOfClass() {
+        realm.beginTransaction();
+        AllJavaTypes other = realm.createObject(AllJavaTypes.class);
+        other.setFieldLong(2);
+        realm.commitTransaction();
+
+        FieldHandle longField = dObj.getFieldHandle(AllJavaTypes.FIELD_LONG);
+        assertEquals(2, new DynamicRealmObject(other).getLong(longField));
+        // Objects of a RealmList have Table instances of their own
+        assertEquals(1, dObj.getList(AllJavaTypes.FIELD_LIST).first().getLong(longField));
+    }
+
+    public void testFieldHandleOfOtherClassThrows() {
+        realm.beginTransaction();
+        DynamicRealmObject dog = new DynamicRealmObject(realm.createObject(Dog.class));
+        realm.commitTransaction();
+
+        FieldHandle nameField = dog.getFieldHandle("name");
+        try {
+            dObj.getString(nameField);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            dObj.getString((FieldHandle) null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            dObj.getFieldHandle("foo");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testFieldHandleThrowsAfterSchemaChange() {
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(realm.getConfiguration());
+        try {
+            FieldHandle stringField = dynamicRealm.getFieldHandle("AllJavaTypes", AllJavaTypes.FIELD_STRING);
+            DynamicRealmObject obj = dynamicRealm.where("AllJavaTypes").findFirst();
+            assertEquals("str", obj.getString(stringField));
+
+            dynamicRealm.beginTransaction();
+            dynamicRealm.getSchema().get("AllJavaTypes").addFullTextIndex(AllJavaTypes.FIELD_STRING);
+            // Writing through the old handle would skip the new index
+            try {
+                obj.setString(stringField, "Apple pie");
+                fail();
+            } catch (IllegalStateException ignored) {
+            }
+            try {
+                dynamicRealm.where("AllJavaTypes").equalTo(stringField, "str");
+                fail();
+            } catch (IllegalStateException ignored) {
+            }
+
+            stringField = dynamicRealm.getFieldHandle("AllJavaTypes", AllJavaTypes.FIELD_STRING);
+            obj.setString(stringField, "Apple pie");
+            dynamicRealm.commitTransaction();
+
+            assertEquals(1, dynamicRealm.where("AllJavaTypes")
+                    .contains(AllJavaTypes.FIELD_STRING, "apple", Case.INSENSITIVE).count());
+            // The handle is still valid on other instances of the Realm
+            realm.refresh();
+            assertEquals("Apple pie", dObj.getString(stringField));
+        } finally {
+            dynamicRealm.close();
+        }
+    }
+
+    public void testQueryWithFieldHandle() {
+        realm.beginTransaction();
+        AllJavaTypes other = realm.createObject(AllJavaTypes.class);
+        other.setFieldString("other");
+        other.setFieldLong(2);
+        realm.commitTransaction();
+
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(realm.getConfiguration());
+        try {
+            FieldHandle stringField = dynamicRealm.getFieldHandle("AllJavaTypes", AllJavaTypes.FIELD_STRING);
+            FieldHandle longField = dynamicRealm.getFieldHandle("AllJavaTypes", AllJavaTypes.FIELD_LONG);
+
+            RealmResults<DynamicRealmObject> results = dynamicRealm.where("AllJavaTypes")
+                    .equalTo(stringField, "other").findAll();
+            assertEquals(1, results.size());
+            assertEquals(2, results.first().getLong(longField));
+
+            results = dynamicRealm.where("AllJavaTypes").findAllSorted(longField, Sort.DESCENDING);
+            assertEquals(2, results.size());
+            assertEquals("other", results.first().getString(stringField));
+
+            try {
+                dynamicRealm.where("AllJavaTypes").equalTo(longField, "other");
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+            try {
+                dynamicRealm.where("Dog").equalTo(longField, 2L);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        } finally {
+            dynamicRealm.close();
+        }
+    }
 }
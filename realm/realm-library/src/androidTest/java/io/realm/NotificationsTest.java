@@ -407,6 +407,114 @@ public class NotificationsTest extends AndroidTestCase {
         assertTrue(success.get());
     }
 
+    public void testClassChangeListenerOnlyNotifiedForItsClass() {
+        final AtomicInteger dogChanges = new AtomicInteger(0);
+        realm = Realm.getInstance(getContext());
+        realm.addChangeListener(Dog.class, new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogChanges.incrementAndGet();
+            }
+        });
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+        assertEquals(0, dogChanges.get());
+
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        assertEquals(1, dogChanges.get());
+
+        realm.beginTransaction();
+        realm.allObjects(Dog.class).first().setName("Fido");
+        realm.commitTransaction();
+        assertEquals(2, dogChanges.get());
+    }
+
+    public void testRemoveClassChangeListener() {
+        final AtomicInteger dogChanges = new AtomicInteger(0);
+        RealmChangeListener listener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogChanges.incrementAndGet();
+            }
+        };
+        realm = Realm.getInstance(getContext());
+        realm.addChangeListener(Dog.class, listener);
+        realm.removeChangeListener(Dog.class, listener);
+
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        assertEquals(0, dogChanges.get());
+
+        realm.addChangeListener(Dog.class, listener);
+        realm.removeAllChangeListeners();
+
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        assertEquals(0, dogChanges.get());
+    }
+
+    public void testAddClassChangeListenerNullThrows() {
+        realm = Realm.getInstance(getContext());
+        try {
+            realm.addChangeListener(Dog.class, null);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testRealmResultsListenerOnlyNotifiedForItsClass() {
+        final AtomicInteger dogsChanges = new AtomicInteger(0);
+        realm = Realm.getInstance(getContext());
+        RealmResults<Dog> dogs = realm.allObjects(Dog.class);
+        dogs.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogsChanges.incrementAndGet();
+            }
+        });
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+        assertEquals(0, dogsChanges.get());
+
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        assertEquals(1, dogsChanges.get());
+        assertEquals(1, dogs.size());
+    }
+
+    public void testRealmObjectListenerOnlyNotifiedForItsClass() {
+        final AtomicInteger dogChanges = new AtomicInteger(0);
+        realm = Realm.getInstance(getContext());
+        realm.beginTransaction();
+        Dog dog = realm.createObject(Dog.class);
+        realm.commitTransaction();
+        dog.addChangeListener(new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogChanges.incrementAndGet();
+            }
+        });
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+        assertEquals(0, dogChanges.get());
+
+        realm.beginTransaction();
+        dog.setAge(5);
+        realm.commitTransaction();
+        assertEquals(1, dogChanges.get());
+    }
+
     public void testAddRemoveListenerConcurrency() {
         final AtomicInteger counter1 = new AtomicInteger(0);
         final AtomicInteger counter2 = new AtomicInteger(0);
@@ -694,6 +802,58 @@ public class NotificationsTest extends AndroidTestCase {
         mainThread.quit();
     }
 
+    public void testCommitRemovesHandlerOfDeadThread() throws InterruptedException {
+        realm = Realm.getInstance(getContext());
+        HandlerThread handlerThread = new HandlerThread("handlerThread");
+        handlerThread.start();
+        Realm.getHandlers().add(realm.getPath(), new Handler(handlerThread.getLooper()));
+        assertEquals(2, Realm.getHandlers().size());
+        handlerThread.quit();
+        handlerThread.join();
+
+        realm.beginTransaction();
+        realm.commitTransaction();
+        assertEquals(1, Realm.getHandlers().size());
+    }
+
+    public void testCoalescedCommitCount() throws InterruptedException {
+        realm = Realm.getInstance(getContext());
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        assertEquals(1, realm.getNotificationCount());
+        assertEquals(0, realm.getCoalescedCommitCount());
+
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                Realm realm = Realm.getInstance(getContext());
+                for (int i = 0; i < 3; i++) {
+                    realm.beginTransaction();
+                    realm.createObject(Dog.class);
+                    realm.commitTransaction();
+                }
+                realm.close();
+            }
+        };
+        thread.start();
+        thread.join();
+
+        // One notification for all three commits
+        realm.refresh();
+        assertEquals(2, realm.getNotificationCount());
+        assertEquals(2, realm.getCoalescedCommitCount());
+    }
+
+    public void testSetNotificationIntervalNegativeThrows() {
+        realm = Realm.getInstance(getContext());
+        try {
+            realm.setNotificationInterval(-1, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
     private void awaitOrThrow(CountDownLatch latch) {
         try {
             if (!latch.await(5, TimeUnit.SECONDS)) {
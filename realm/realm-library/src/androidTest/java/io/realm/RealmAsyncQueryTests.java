@@ -25,6 +25,7 @@ import android.test.InstrumentationTestCase;
 import junit.framework.AssertionFailedError;
 
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.Map;
@@ -39,6 +40,7 @@ import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Dog;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
+import io.realm.entities.StringOnly;
 import io.realm.instrumentation.MockActivityManager;
 import io.realm.internal.log.RealmLog;
 import io.realm.proxy.HandlerProxy;
@@ -2389,8 +2391,188 @@ public class RealmAsyncQueryTests extends InstrumentationTestCase {
         exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
     }
 
+    // async queries are not run again after a commit which doesn't change any table they depend on
+    public void testFindAllAsyncSkipsUnchangedQueries() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testFindAllAsyncSkipsUnchangedQueries");
+                    populateTestRealm(realm, 10);
+                    final RealmConfiguration configuration = realm.getConfiguration();
+                    final AtomicInteger resultsChanges = new AtomicInteger(0);
+                    final AtomicInteger realmChanges = new AtomicInteger(0);
+                    final RealmResults<AllTypes> realmResults = realm.where(AllTypes.class)
+                            .between("columnLong", 0, 4)
+                            .findAllAsync();
+
+                    realmResults.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            if (resultsChanges.incrementAndGet() == 1) {
+                                // only change a table the query doesn't depend on
+                                commitInBackground(configuration, new Realm.Transaction() {
+                                    @Override
+                                    public void execute(Realm realm) {
+                                        realm.createObject(StringOnly.class).setChars("unrelated");
+                                    }
+                                });
+                            }
+                        }
+                    });
+
+                    realm.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                if (realmChanges.incrementAndGet() == 1) {
+                                    assertEquals(1, resultsChanges.get());
+                                    assertEquals(5, realmResults.size());
+                                    commitInBackground(configuration, new Realm.Transaction() {
+                                        @Override
+                                        public void execute(Realm realm) {
+                                            realm.createObject(AllTypes.class).setColumnLong(2);
+                                        }
+                                    });
+                                } else {
+                                    assertEquals(2, resultsChanges.get());
+                                    assertEquals(6, realmResults.size());
+                                    signalCallbackFinished.countDown();
+                                }
+                            } catch (Throwable e) {
+                                threadAssertionError[0] = e;
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
+    public void testFindAllAsyncWithChangeSetListener() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final CountDownLatch signalClosedRealm = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Looper[] backgroundLooper = new Looper[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testFindAllAsyncWithChangeSetListener");
+                    populateTestRealm(realm, 10);
+                    final RealmConfiguration configuration = realm.getConfiguration();
+                    final AtomicInteger numberOfInvocation = new AtomicInteger(0);
+                    final RealmResults<AllTypes> realmResults = realm.where(AllTypes.class)
+                            .between("columnLong", 0, 4)
+                            .findAllAsync();
+
+                    realmResults.addChangeSetListener(new RealmChangeSetListener() {
+                        @Override
+                        public void onChange(RealmChangeSet changes) {
+                            try {
+                                switch (numberOfInvocation.incrementAndGet()) {
+                                    case 1:
+                                        // all objects are inserted once loaded
+                                        assertEquals(5, changes.getInsertions().length);
+                                        assertEquals(0, changes.getDeletions().length);
+                                        commitInBackground(configuration, new Realm.Transaction() {
+                                            @Override
+                                            public void execute(Realm realm) {
+                                                realm.where(AllTypes.class).equalTo("columnLong", 2).findFirst()
+                                                        .setColumnString("modified");
+                                                realm.where(AllTypes.class).equalTo("columnLong", 4).findFirst()
+                                                        .setColumnLong(42);
+                                                realm.createObject(AllTypes.class).setColumnLong(3);
+                                            }
+                                        });
+                                        break;
+                                    case 2:
+                                        assertEquals(5, realmResults.size());
+                                        assertTrue(Arrays.equals(new int[] {4}, changes.getDeletions()));
+                                        assertTrue(Arrays.equals(new int[] {4}, changes.getInsertions()));
+                                        assertTrue(Arrays.equals(new int[] {2}, changes.getModifications()));
+                                        assertEquals(0, changes.getMovesFrom().length);
+                                        signalCallbackFinished.countDown();
+                                        break;
+                                }
+                            } catch (Throwable e) {
+                                threadAssertionError[0] = e;
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                    signalClosedRealm.countDown();
+                }
+            }
+        });
+
+        exitOrThrow(executorService, signalCallbackFinished, signalClosedRealm, backgroundLooper, threadAssertionError);
+    }
+
     // *** Helper methods ***
 
+    // commits a transaction from another thread and waits for it to complete
+    private void commitInBackground(final RealmConfiguration configuration, final Realm.Transaction transaction) {
+        java.lang.Thread thread = new java.lang.Thread() {
+            @Override
+            public void run() {
+                Realm realm = Realm.getInstance(configuration);
+                realm.executeTransaction(transaction);
+                realm.close();
+            }
+        };
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     // This could be done from #setUp but then we can't control
     // which Looper we want to associate this Realm instance with
     private Realm openRealmInstance(String name) {
@@ -28,6 +28,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.StringOnly;
@@ -280,4 +281,69 @@ public class RealmCacheTest extends AndroidTestCase {
         RealmCache.release(dynamicRealmA);
         assertNull(realmA.sharedGroupManager);
     }
+
+    public void testCachedInstanceDoesNotTakeCacheLock() throws InterruptedException {
+        final Realm realm = Realm.getInstance(defaultConfig);
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicBoolean unlocked = new AtomicBoolean(false);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (RealmCache.class) {
+                    locked.countDown();
+                    try {
+                        done.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ignored) {
+                    }
+                    unlocked.set(true);
+                }
+            }
+        });
+        thread.start();
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        // Getting and releasing another reference in this thread only updates the thread-local counter
+        Realm cachedRealm = Realm.getInstance(defaultConfig);
+        cachedRealm.close();
+        assertFalse(unlocked.get());
+        assertSame(realm, cachedRealm);
+        assertFalse(realm.isClosed());
+
+        done.countDown();
+        thread.join();
+        realm.close();
+        RealmCache.invokeWithGlobalRefCount(defaultConfig, new TestHelper.ExpectedCountCallback(this, 0));
+    }
+
+    public void testOpeningOtherFileDoesNotWaitForCacheLock() throws InterruptedException {
+        final RealmConfiguration otherConfig = TestHelper.createConfiguration(getContext(), "other.realm");
+        Realm.deleteRealm(otherConfig);
+        final CountDownLatch opened = new CountDownLatch(1);
+        final AtomicBoolean openedWhileLocked = new AtomicBoolean(false);
+
+        // Holds the class lock and the lock of the cache of the default Realm while the other Realm is opened
+        RealmCache.invokeWithGlobalRefCount(defaultConfig, new RealmCache.Callback() {
+            @Override
+            public void onResult(int count) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Realm realm = Realm.getInstance(otherConfig);
+                        realm.close();
+                        opened.countDown();
+                    }
+                });
+                thread.start();
+                try {
+                    openedWhileLocked.set(opened.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+
+        assertTrue(openedWhileLocked.get());
+        RealmCache.invokeWithGlobalRefCount(otherConfig, new TestHelper.ExpectedCountCallback(this, 0));
+        Realm.deleteRealm(otherConfig);
+    }
 }
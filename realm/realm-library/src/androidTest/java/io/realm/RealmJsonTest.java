@@ -25,6 +25,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -1089,4 +1090,228 @@ public class RealmJsonTest extends AndroidTestCase {
         assertEquals(1, owners.get(1).getId());
         assertEquals("bar", owners.get(1).getName());
     }
+
+    public void testExportToJson() throws JSONException, IOException {
+        testRealm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            AllTypes obj = testRealm.createObject(AllTypes.class);
+            obj.setColumnString("String " + i);
+            obj.setColumnLong(i);
+            obj.setColumnFloat(1.5f);
+            obj.setColumnDouble(2.5d);
+            obj.setColumnBoolean(true);
+            obj.setColumnDate(new Date(1000));
+            obj.setColumnBinary(new byte[] {1, 2, 3});
+        }
+        testRealm.commitTransaction();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testRealm.exportToJson(testRealm.allObjectsSorted(AllTypes.class, "columnLong", Sort.ASCENDING), out, 0);
+        JSONArray array = new JSONArray(out.toString("UTF-8"));
+
+        assertEquals(3, array.length());
+        for (int i = 0; i < 3; i++) {
+            JSONObject json = array.getJSONObject(i);
+            assertEquals("String " + i, json.getString("columnString"));
+            assertEquals(i, json.getLong("columnLong"));
+            assertEquals(1.5d, json.getDouble("columnFloat"));
+            assertEquals(2.5d, json.getDouble("columnDouble"));
+            assertTrue(json.getBoolean("columnBoolean"));
+            assertEquals(1000, json.getLong("columnDate"));
+            assertArrayEquals(new byte[] {1, 2, 3}, Base64.decode(json.getString("columnBinary"), Base64.DEFAULT));
+            // Links are beyond the depth
+            assertFalse(json.has("columnRealmObject"));
+            assertFalse(json.has("columnRealmList"));
+        }
+    }
+
+    public void testExportToJsonCanBeImported() throws IOException {
+        testRealm.beginTransaction();
+        AllTypes obj = testRealm.createObject(AllTypes.class);
+        obj.setColumnString("Foo");
+        obj.setColumnDate(new Date(1000));
+        obj.setColumnBinary(new byte[] {1, 2, 3});
+        testRealm.commitTransaction();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testRealm.exportToJson(testRealm.allObjects(AllTypes.class), out, 0);
+
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        testRealm.createAllFromJson(AllTypes.class, new ByteArrayInputStream(out.toByteArray()));
+        testRealm.commitTransaction();
+
+        AllTypes imported = testRealm.allObjects(AllTypes.class).first();
+        assertEquals("Foo", imported.getColumnString());
+        assertEquals(new Date(1000), imported.getColumnDate());
+        assertArrayEquals(new byte[] {1, 2, 3}, imported.getColumnBinary());
+    }
+
+    public void testExportToJsonNonFiniteValues() throws JSONException, IOException {
+        testRealm.beginTransaction();
+        AllTypes obj = testRealm.createObject(AllTypes.class);
+        obj.setColumnFloat(Float.NaN);
+        obj.setColumnDouble(Double.NEGATIVE_INFINITY);
+        testRealm.commitTransaction();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testRealm.exportToJson(testRealm.allObjects(AllTypes.class), out, 0);
+        JSONObject json = new JSONArray(out.toString("UTF-8")).getJSONObject(0);
+        assertEquals("NaN", json.getString("columnFloat"));
+        assertEquals("-Infinity", json.getString("columnDouble"));
+
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        testRealm.createAllFromJson(AllTypes.class, new ByteArrayInputStream(out.toByteArray()));
+        testRealm.commitTransaction();
+
+        AllTypes imported = testRealm.allObjects(AllTypes.class).first();
+        assertTrue(Float.isNaN(imported.getColumnFloat()));
+        assertEquals(Double.NEGATIVE_INFINITY, imported.getColumnDouble());
+    }
+
+    public void testExportToJsonWithDepthAndFields() throws JSONException, IOException {
+        testRealm.beginTransaction();
+        AllTypes obj = testRealm.createObject(AllTypes.class);
+        obj.setColumnString("Foo");
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setName("Fido");
+        obj.setColumnRealmObject(dog);
+        obj.getColumnRealmList().add(dog);
+        testRealm.commitTransaction();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testRealm.exportToJson(testRealm.allObjects(AllTypes.class), out, 1, "columnString", "columnRealmObject",
+                "columnRealmList");
+        JSONObject json = new JSONArray(out.toString("UTF-8")).getJSONObject(0);
+
+        assertEquals(3, json.length());
+        assertEquals("Foo", json.getString("columnString"));
+        assertEquals("Fido", json.getJSONObject("columnRealmObject").getString("name"));
+        assertEquals(1, json.getJSONArray("columnRealmList").length());
+        assertEquals("Fido", json.getJSONArray("columnRealmList").getJSONObject(0).getString("name"));
+    }
+
+    public void testExportToJsonUnknownFieldThrows() throws IOException {
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class);
+        testRealm.commitTransaction();
+
+        try {
+            testRealm.exportToJson(testRealm.allObjects(AllTypes.class), new ByteArrayOutputStream(), 0, "foo");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    // Creates a JSON array of AllTypes objects, with the dates as strings
+    private InputStream createAllTypesArray(int count) {
+        return new ByteArrayInputStream(createAllTypesJson(count).getBytes());
+    }
+
+    private String createAllTypesJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(",\n");
+            }
+            json.append("{ \"columnString\": \"String [").append(i).append("] \\\"{\"")
+                    .append(", \"columnLong\": ").append(i)
+                    .append(", \"columnDate\": \"/Date(").append(i * 1000L).append(")/\" }");
+        }
+        json.append("]");
+        return json.toString();
+    }
+
+    public void testImportAllFromJson() throws IOException {
+        testRealm.importAllFromJson(AllTypes.class, createAllTypesArray(2500));
+
+        assertFalse(testRealm.isInTransaction());
+        RealmResults<AllTypes> result = testRealm.allObjectsSorted(AllTypes.class, "columnLong", Sort.ASCENDING);
+        assertEquals(2500, result.size());
+        for (int i = 0; i < 2500; i++) {
+            AllTypes obj = result.get(i);
+            assertEquals(i, obj.getColumnLong());
+            assertEquals("String [" + i + "] \"{", obj.getColumnString());
+            assertEquals(new Date(i * 1000L), obj.getColumnDate());
+        }
+    }
+
+    public void testImportAllFromJsonEmptyArray() throws IOException {
+        testRealm.importAllFromJson(AllTypes.class, new ByteArrayInputStream(" [ ] ".getBytes()));
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testImportOrUpdateAllFromJson() throws IOException {
+        testRealm.beginTransaction();
+        AllTypesPrimaryKey obj = testRealm.createObject(AllTypesPrimaryKey.class);
+        obj.setColumnLong(1);
+        obj.setColumnString("Foo");
+        testRealm.commitTransaction();
+
+        testRealm.importOrUpdateAllFromJson(AllTypesPrimaryKey.class, new ByteArrayInputStream(
+                "[{ \"columnLong\": 1, \"columnString\": \"Bar\" }, { \"columnLong\": 2 }]".getBytes()));
+
+        assertEquals(2, testRealm.allObjects(AllTypesPrimaryKey.class).size());
+        assertEquals("Bar", testRealm.where(AllTypesPrimaryKey.class).equalTo("columnLong", 1).findFirst()
+                .getColumnString());
+    }
+
+    public void testImportAllFromJsonInvalidInputThrows() throws IOException {
+        try {
+            testRealm.importAllFromJson(AllTypes.class, new ByteArrayInputStream(
+                    "[{ \"columnLong\": 1 }, { \"columnLong\": ".getBytes()));
+            fail();
+        } catch (RealmException expected) {
+        }
+        assertFalse(testRealm.isInTransaction());
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testImportAllFromJsonIsAtomic() throws IOException {
+        // The error is in the third batch
+        String json = createAllTypesJson(2500);
+        json = json.substring(0, json.length() - 1) + ", { \"columnLong\": ";
+        try {
+            testRealm.importAllFromJson(AllTypes.class, new ByteArrayInputStream(json.getBytes()));
+            fail();
+        } catch (RealmException expected) {
+        }
+        assertFalse(testRealm.isInTransaction());
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testImportAllFromJsonCommitsEachBatch() throws IOException {
+        String json = createAllTypesJson(250);
+        json = json.substring(0, json.length() - 1) + ", { \"columnLong\": ";
+        try {
+            testRealm.importAllFromJson(AllTypes.class, new ByteArrayInputStream(json.getBytes()), 100);
+            fail();
+        } catch (RealmException expected) {
+        }
+        assertFalse(testRealm.isInTransaction());
+        // The batches before the error are kept
+        RealmResults<AllTypes> result = testRealm.allObjectsSorted(AllTypes.class, "columnLong", Sort.ASCENDING);
+        assertEquals(200, result.size());
+        assertEquals(199, result.last().getColumnLong());
+    }
+
+    public void testImportAllFromJsonInvalidObjectsPerTransactionThrows() throws IOException {
+        try {
+            testRealm.importAllFromJson(AllTypes.class, createAllTypesArray(1), 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testImportAllFromJsonInsideTransactionThrows() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.importAllFromJson(AllTypes.class, createAllTypesArray(1));
+            fail();
+        } catch (IllegalStateException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
 }
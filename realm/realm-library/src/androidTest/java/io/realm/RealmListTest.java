@@ -18,7 +18,10 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -807,4 +810,188 @@ public class RealmListTest extends AndroidTestCase {
 
         assertEquals(1, two.getObjects().size());
     }
+
+    public void testAddAll_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        list.addAll(Arrays.asList(new Dog("Foo"), new Dog("Bar")));
+        list.addAll(0, Collections.singletonList(new Dog("Baz")));
+
+        assertEquals(TEST_OBJECTS + 3, list.size());
+        assertEquals("Baz", list.first().getName());
+        assertEquals("Bar", list.last().getName());
+    }
+
+    public void testAddAllNullThrows_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        try {
+            list.addAll(Arrays.asList(new Dog("Foo"), null));
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        assertEquals(TEST_OBJECTS, list.size());
+    }
+
+    public void testSetAllAndRemoveRange_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        list.removeRange(2, TEST_OBJECTS);
+        assertEquals(2, list.size());
+
+        list.setAll(Collections.singletonList(new Dog("Foo")));
+        assertEquals(1, list.size());
+        assertEquals("Foo", list.first().getName());
+    }
+
+    public void testSortThrows_nonManagedMode() {
+        RealmList<Dog> list = createNonManagedDogList();
+        try {
+            list.sort("name");
+            fail();
+        } catch (RealmException ignored) {
+        }
+    }
+
+    public void testAddAll() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        Dog managedDog = dogs.first();
+
+        testRealm.beginTransaction();
+        dogs.addAll(Arrays.asList(new Dog("Foo"), managedDog));
+        dogs.addAll(1, Collections.singletonList(new Dog("Bar")));
+        testRealm.commitTransaction();
+
+        assertEquals(TEST_OBJECTS + 3, dogs.size());
+        assertEquals("Bar", dogs.get(1).getName());
+        assertEquals("Foo", dogs.get(TEST_OBJECTS + 1).getName());
+        assertEquals(managedDog, dogs.last());
+        assertEquals(TEST_OBJECTS + 2, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testSetAll() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        List<Dog> reversed = new ArrayList<Dog>(dogs);
+        Collections.reverse(reversed);
+
+        testRealm.beginTransaction();
+        dogs.setAll(reversed);
+        testRealm.commitTransaction();
+        assertEquals(TEST_OBJECTS, dogs.size());
+        for (int i = 0; i < TEST_OBJECTS; i++) {
+            assertEquals("Dog " + (TEST_OBJECTS - 1 - i), dogs.get(i).getName());
+        }
+
+        testRealm.beginTransaction();
+        dogs.setAll(reversed.subList(0, 2));
+        testRealm.commitTransaction();
+        assertEquals(2, dogs.size());
+        assertEquals(TEST_OBJECTS, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testRemoveRange() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+
+        testRealm.beginTransaction();
+        dogs.removeRange(1, TEST_OBJECTS - 1);
+        testRealm.commitTransaction();
+
+        assertEquals(2, dogs.size());
+        assertEquals("Dog 0", dogs.first().getName());
+        assertEquals("Dog " + (TEST_OBJECTS - 1), dogs.last().getName());
+        assertEquals(TEST_OBJECTS, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testRemoveRangeOutOfBoundsThrows() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+
+        testRealm.beginTransaction();
+        try {
+            dogs.removeRange(0, TEST_OBJECTS + 1);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testSort() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+
+        testRealm.beginTransaction();
+        dogs.sort("name", Sort.DESCENDING);
+        testRealm.commitTransaction();
+
+        // The order is stored
+        RealmList<Dog> sortedDogs = testRealm.where(Owner.class).findFirst().getDogs();
+        for (int i = 0; i < TEST_OBJECTS; i++) {
+            assertEquals("Dog " + (TEST_OBJECTS - 1 - i), sortedDogs.get(i).getName());
+        }
+    }
+
+    public void testSortInvalidFieldThrows() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+
+        testRealm.beginTransaction();
+        try {
+            dogs.sort("foo");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testRetainAll() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        List<Object> kept = new ArrayList<Object>(dogs.subList(0, 3));
+        kept.add(owner); // Objects of another type are ignored
+        kept.add("Dog 5");
+
+        testRealm.beginTransaction();
+        assertTrue(dogs.retainAll(kept));
+        assertFalse(dogs.retainAll(kept));
+        testRealm.commitTransaction();
+
+        assertEquals(3, dogs.size());
+        assertEquals("Dog 2", dogs.last().getName());
+        assertEquals(TEST_OBJECTS, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testRemoveAll() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+
+        testRealm.beginTransaction();
+        assertTrue(dogs.removeAll(testRealm.where(Dog.class).beginsWith("name", "Dog 1").findAll()));
+        assertFalse(dogs.removeAll(Collections.singletonList(new Dog("Dog 2"))));
+        testRealm.commitTransaction();
+
+        assertEquals(TEST_OBJECTS - 1, dogs.size());
+        assertEquals("Dog 2", dogs.get(1).getName());
+    }
+
+    public void testBatchMethodsOutsideTransactionThrow() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        List<Dog> someDogs = new ArrayList<Dog>(dogs.subList(0, 2));
+        for (int i = 0; i < 5; i++) {
+            try {
+                switch (i) {
+                    case 0: dogs.addAll(someDogs); break;
+                    case 1: dogs.setAll(someDogs); break;
+                    case 2: dogs.removeRange(0, 1); break;
+                    case 3: dogs.retainAll(someDogs); break;
+                    case 4: dogs.sort("name"); break;
+                }
+                fail();
+            } catch (IllegalStateException ignored) {
+            }
+        }
+        assertEquals(TEST_OBJECTS, dogs.size());
+    }
 }
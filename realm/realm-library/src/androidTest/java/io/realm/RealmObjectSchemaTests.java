@@ -372,6 +372,184 @@ public class RealmObjectSchemaTests extends AndroidTestCase {
         }
     }
 
+    public void testAddRemoveFullTextIndex() {
+        String fieldName = "foo";
+        schema.addField(fieldName, String.class);
+        assertFalse(schema.hasFullTextIndex(fieldName));
+        schema.addFullTextIndex(fieldName);
+        assertTrue(schema.hasFullTextIndex(fieldName));
+        try {
+            schema.addFullTextIndex(fieldName);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        schema.removeFullTextIndex(fieldName);
+        assertFalse(schema.hasFullTextIndex(fieldName));
+        try {
+            schema.removeFullTextIndex(fieldName);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testAddFullTextIndex_nonStringFieldThrows() {
+        String fieldName = "foo";
+        schema.addField(fieldName, int.class);
+        try {
+            schema.addFullTextIndex(fieldName);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testFullTextIndex_followsRenames() {
+        schema.addField("foo", String.class).addFullTextIndex("foo");
+        schema.renameField("foo", "bar");
+        assertTrue(schema.hasFullTextIndex("bar"));
+        schema.setClassName("RenamedClass");
+        assertTrue(schema.hasFullTextIndex("bar"));
+        // Index tables are not part of the schema
+        assertNull(realmSchema.get("fts_RenamedClass.bar"));
+        schema.removeField("bar");
+        assertFalse(realm.sharedGroupManager.hasTable("fts_RenamedClass.bar"));
+    }
+
+    public void testAddRemoveCaseInsensitiveIndex() {
+        String fieldName = "foo";
+        schema.addField(fieldName, String.class);
+        assertFalse(schema.hasIndex(fieldName, Case.INSENSITIVE));
+        schema.addIndex(fieldName, Case.INSENSITIVE);
+        assertTrue(schema.hasIndex(fieldName, Case.INSENSITIVE));
+        // Also adds a normal index
+        assertTrue(schema.hasIndex(fieldName));
+        try {
+            schema.addIndex(fieldName, Case.INSENSITIVE);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        schema.removeIndex(fieldName);
+        assertFalse(schema.hasIndex(fieldName));
+        assertFalse(schema.hasIndex(fieldName, Case.INSENSITIVE));
+    }
+
+    public void testAddCaseInsensitiveIndex_nonStringFieldThrows() {
+        String fieldName = "foo";
+        schema.addField(fieldName, int.class);
+        try {
+            schema.addIndex(fieldName, Case.INSENSITIVE);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testCaseInsensitiveIndex_followsRenames() {
+        schema.addField("foo", String.class).addIndex("foo", Case.INSENSITIVE);
+        schema.renameField("foo", "bar");
+        assertTrue(schema.hasIndex("bar", Case.INSENSITIVE));
+        schema.setClassName("RenamedClass");
+        assertTrue(schema.hasIndex("bar", Case.INSENSITIVE));
+        assertNull(realmSchema.get("ci_RenamedClass.bar"));
+        schema.removeField("bar");
+        assertFalse(realm.sharedGroupManager.hasTable("ci_RenamedClass.bar"));
+    }
+
+    public void testAddRemoveOrderedIndex() {
+        String fieldName = "foo";
+        schema.addField(fieldName, double.class);
+        assertFalse(schema.hasOrderedIndex(fieldName));
+        schema.addOrderedIndex(fieldName);
+        assertTrue(schema.hasOrderedIndex(fieldName));
+        try {
+            schema.addOrderedIndex(fieldName);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        schema.renameField(fieldName, "bar");
+        assertTrue(schema.hasOrderedIndex("bar"));
+        schema.removeOrderedIndex("bar");
+        assertFalse(schema.hasOrderedIndex("bar"));
+    }
+
+    public void testAddOrderedIndex_invalidTypeThrows() {
+        schema.addField("foo", String.class).addField("bar", boolean.class);
+        for (String fieldName : new String[] {"foo", "bar"}) {
+            try {
+                schema.addOrderedIndex(fieldName);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    public void testAddRemoveBacklinkIndex() {
+        schema.addRealmObjectField("foo", DOG_SCHEMA);
+        assertFalse(schema.hasBacklinkIndex("foo"));
+        schema.addBacklinkIndex("foo");
+        assertTrue(schema.hasBacklinkIndex("foo"));
+        try {
+            schema.addBacklinkIndex("foo");
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        schema.renameField("foo", "bar");
+        assertTrue(schema.hasBacklinkIndex("bar"));
+        schema.setClassName("RenamedClass");
+        assertTrue(schema.hasBacklinkIndex("bar"));
+        assertNull(realmSchema.get("bl_RenamedClass.bar"));
+        schema.removeBacklinkIndex("bar");
+        assertFalse(schema.hasBacklinkIndex("bar"));
+    }
+
+    public void testAddBacklinkIndex_invalidTypeThrows() {
+        schema.addField("foo", String.class).addRealmListField("bar", DOG_SCHEMA);
+        for (String fieldName : new String[] {"foo", "bar"}) {
+            try {
+                schema.addBacklinkIndex(fieldName);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    public void testAddRemoveCompositeIndex() {
+        schema.addField("foo", String.class).addField("bar", long.class);
+        assertFalse(schema.hasCompositeIndex("foo", "bar"));
+        schema.addCompositeIndex("foo", "bar");
+        assertTrue(schema.hasCompositeIndex("foo", "bar"));
+        // The order of the fields matters
+        assertFalse(schema.hasCompositeIndex("bar", "foo"));
+        try {
+            schema.addCompositeIndex("foo", "bar");
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        schema.removeCompositeIndex("foo", "bar");
+        assertFalse(schema.hasCompositeIndex("foo", "bar"));
+    }
+
+    public void testAddCompositeIndex_invalidFieldsThrows() {
+        schema.addField("foo", String.class).addField("bar", double.class);
+        String[][] invalidFields = {{"foo"}, {"foo", "foo"}, {"foo", "bar"}, {"foo", "missing"}};
+        for (String[] fieldNames : invalidFields) {
+            try {
+                schema.addCompositeIndex(fieldNames);
+                fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    public void testCompositeIndex_followsRenames() {
+        schema.addField("foo", String.class).addField("bar", long.class).addCompositeIndex("foo", "bar");
+        schema.renameField("foo", "baz");
+        assertTrue(schema.hasCompositeIndex("baz", "bar"));
+        schema.setClassName("RenamedClass");
+        assertTrue(schema.hasCompositeIndex("baz", "bar"));
+        assertNull(realmSchema.get("cx_RenamedClass.baz.bar"));
+        schema.removeField("bar");
+        assertFalse(realm.sharedGroupManager.hasTable("cx_RenamedClass.baz.bar"));
+    }
+
     public void testSetRemoveNullable() {
         for (FieldType fieldType : FieldType.values()) {
             String fieldName = "foo";
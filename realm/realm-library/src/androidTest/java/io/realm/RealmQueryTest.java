@@ -27,12 +27,18 @@ import java.util.concurrent.TimeUnit;
 
 import io.realm.entities.AllJavaTypes;
 import io.realm.entities.AllTypes;
+import io.realm.entities.CaseInsensitiveIndexed;
+import io.realm.entities.CompositeIndexed;
+import io.realm.entities.Customer;
 import io.realm.entities.Cat;
 import io.realm.entities.CatOwner;
 import io.realm.entities.Dog;
+import io.realm.entities.FullTextIndexed;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.NullTypes;
+import io.realm.entities.OrderedIndexed;
 import io.realm.entities.Owner;
+import io.realm.entities.Purchase;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmError;
 
@@ -116,6 +122,647 @@ public class RealmQueryTest extends AndroidTestCase {
                 new Date(DECADE_MILLIS * 50)).count());
     }
 
+    public void testStats() {
+        final int TEST_OBJECTS_COUNT = 200;
+        populateTestRealm(TEST_OBJECTS_COUNT);
+
+        RealmQuery<AllTypes> query = testRealm.where(AllTypes.class).between(FIELD_LONG, 10, 19);
+        RealmStatistics stats = query.stats(FIELD_LONG);
+        assertEquals(10, stats.getCount());
+        assertEquals(10, stats.getMinAsLong());
+        assertEquals(19, stats.getMaxAsLong());
+        assertEquals(145, stats.getSumAsLong());
+        assertEquals(14.5, stats.getAverage(), 0d);
+
+        stats = testRealm.where(AllTypes.class).between(FIELD_LONG, 10, 19).stats(FIELD_FLOAT);
+        assertEquals(testRealm.where(AllTypes.class).between(FIELD_LONG, 10, 19).sum(FIELD_FLOAT).doubleValue(),
+                stats.getSum(), 0.0001);
+    }
+
+    private void populateFullTextIndexed(String... names) {
+        testRealm.beginTransaction();
+        testRealm.clear(FullTextIndexed.class);
+        for (int i = 0; i < names.length; i++) {
+            FullTextIndexed obj = testRealm.createObject(FullTextIndexed.class);
+            obj.setId(i);
+            obj.setName(names[i]);
+        }
+        testRealm.commitTransaction();
+    }
+
+    public void testFullTextIndex_contains() {
+        populateFullTextIndexed("Apple juice", "Pineapple", "Banana", "APPLESAUCE", null, "ap");
+
+        assertEquals(1, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple").count());
+        assertEquals(3, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).findAll().size());
+        assertEquals(2, testRealm.where(FullTextIndexed.class)
+                .beginsWith(FullTextIndexed.FIELD_NAME, "app", Case.INSENSITIVE).findAll().size());
+        assertEquals(1, testRealm.where(FullTextIndexed.class)
+                .endsWith(FullTextIndexed.FIELD_NAME, "ANA", Case.INSENSITIVE).findAll().size());
+        assertEquals(1, testRealm.where(FullTextIndexed.class)
+                .equalTo(FullTextIndexed.FIELD_NAME, "banana", Case.INSENSITIVE).findAll().size());
+        assertEquals(0, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "cherry").findAll().size());
+        // Values too short for the index
+        assertEquals(4, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "ap", Case.INSENSITIVE).findAll().size());
+    }
+
+    public void testFullTextIndex_combinedWithOtherConditions() {
+        populateFullTextIndexed("Apple juice", "Pineapple", "Banana", "APPLESAUCE");
+
+        assertEquals(1, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE)
+                .greaterThan(FullTextIndexed.FIELD_ID, 1).findAll().size());
+        assertEquals(3, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "juice")
+                .or().equalTo(FullTextIndexed.FIELD_ID, 2)
+                .or().equalTo(FullTextIndexed.FIELD_ID, 3).findAll().size());
+        assertEquals(3, testRealm.where(FullTextIndexed.class)
+                .not().contains(FullTextIndexed.FIELD_NAME, "juice").findAll().size());
+        assertEquals(2, testRealm.where(FullTextIndexed.class)
+                .beginGroup()
+                    .contains(FullTextIndexed.FIELD_NAME, "banana", Case.INSENSITIVE)
+                    .or().equalTo(FullTextIndexed.FIELD_ID, 0)
+                .endGroup().findAll().size());
+        assertEquals(1, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE)
+                .contains(FullTextIndexed.FIELD_NAME, "sauce", Case.INSENSITIVE).findAll().size());
+        RealmResults<FullTextIndexed> sorted = testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE)
+                .findAllSorted(FullTextIndexed.FIELD_ID);
+        assertEquals(3, sorted.size());
+        assertEquals(0, sorted.first().getId());
+        assertEquals(3, sorted.last().getId());
+    }
+
+    public void testFullTextIndex_updatedOnCommit() {
+        populateFullTextIndexed("Apple", "Banana", "Cherry");
+        RealmResults<FullTextIndexed> apples = testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).findAll();
+        assertEquals(1, apples.size());
+
+        testRealm.beginTransaction();
+        testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_ID, 1).findFirst().setName("Pineapple");
+        testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_ID, 0).findFirst().removeFromRealm();
+        // Changes are visible to queries inside the transaction
+        assertEquals(1, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple").count());
+        testRealm.commitTransaction();
+
+        assertEquals(1, apples.size());
+        assertEquals("Pineapple", apples.first().getName());
+        assertEquals(0, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "banana", Case.INSENSITIVE).count());
+
+        testRealm.beginTransaction();
+        testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_ID, 2).findFirst().setName("Applecherry");
+        testRealm.cancelTransaction();
+        assertEquals(1, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).count());
+    }
+
+    public void testFullTextIndex_updatedByBulkSet() {
+        populateFullTextIndexed("Apple", "Banana", "Cherry");
+
+        testRealm.beginTransaction();
+        testRealm.where(FullTextIndexed.class).greaterThan(FullTextIndexed.FIELD_ID, 0)
+                .set(FullTextIndexed.FIELD_NAME, "Pineapple");
+        testRealm.commitTransaction();
+
+        assertEquals(3, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).count());
+        assertEquals(0, testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "banana", Case.INSENSITIVE).count());
+    }
+
+    public void testFullTextIndex_findFirstAfterCount() {
+        populateFullTextIndexed("Banana", "Cherry", "Apple juice");
+
+        RealmQuery<FullTextIndexed> query = testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE);
+        assertEquals(1, query.count());
+        // The query is now restricted to the candidates of the index
+        FullTextIndexed first = query.findFirst();
+        assertNotNull(first);
+        assertEquals(2, first.getId());
+    }
+
+    public void testFullTextIndex_resultsInTableOrder() {
+        populateFullTextIndexed("Banana", "Cherry", "Apple");
+        testRealm.beginTransaction();
+        testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_ID, 0).findFirst().setName("Apple pie");
+        testRealm.commitTransaction();
+
+        RealmResults<FullTextIndexed> apples = testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).findAll();
+        assertEquals(2, apples.size());
+        assertEquals(0, apples.get(0).getId());
+        assertEquals(2, apples.get(1).getId());
+
+        // The order is restored each time the results are updated
+        testRealm.beginTransaction();
+        testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_ID, 1).findFirst().setName("Apple");
+        testRealm.commitTransaction();
+        assertEquals(3, apples.size());
+        for (int i = 0; i < apples.size(); i++) {
+            assertEquals(i, apples.get(i).getId());
+        }
+    }
+
+    public void testFullTextIndex_removeAndQueryResultsInTableOrder() {
+        populateFullTextIndexed("Banana", "Apple", "Apple");
+        testRealm.beginTransaction();
+        testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_ID, 0).findFirst().setName("Apple pie");
+        testRealm.commitTransaction();
+
+        RealmResults<FullTextIndexed> apples = testRealm.where(FullTextIndexed.class)
+                .contains(FullTextIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).findAll();
+        assertEquals(3, apples.size());
+        RealmResults<FullTextIndexed> greater = apples.where().greaterThan(FullTextIndexed.FIELD_ID, 0).findAll();
+        assertEquals(1, greater.get(0).getId());
+        assertEquals(2, greater.get(1).getId());
+
+        // The first row in the order of the table is removed, the other rows may be moved
+        testRealm.beginTransaction();
+        apples.remove(0);
+        testRealm.commitTransaction();
+        assertEquals(2, apples.size());
+        assertEquals(0, testRealm.where(FullTextIndexed.class).equalTo(FullTextIndexed.FIELD_ID, 0).count());
+        assertTrue(apples.get(0).row.getIndex() < apples.get(1).row.getIndex());
+    }
+
+    private void populateCaseInsensitiveIndexed(String... names) {
+        testRealm.beginTransaction();
+        testRealm.clear(CaseInsensitiveIndexed.class);
+        for (int i = 0; i < names.length; i++) {
+            CaseInsensitiveIndexed obj = testRealm.createObject(CaseInsensitiveIndexed.class);
+            obj.setId(i);
+            obj.setName(names[i]);
+        }
+        testRealm.commitTransaction();
+    }
+
+    public void testCaseInsensitiveIndex_equalTo() {
+        populateCaseInsensitiveIndexed("John", "JOHN", "johnny", "Jane", null, "");
+
+        assertEquals(2, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "john", Case.INSENSITIVE).count());
+        assertEquals(1, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "JANE", Case.INSENSITIVE).findAll().size());
+        assertEquals(1, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "", Case.INSENSITIVE).findAll().size());
+        assertEquals(0, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "joe", Case.INSENSITIVE).findAll().size());
+        assertEquals(1, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "john", Case.INSENSITIVE)
+                .greaterThan(CaseInsensitiveIndexed.FIELD_ID, 0).findAll().size());
+        assertEquals(3, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "john", Case.INSENSITIVE)
+                .or().equalTo(CaseInsensitiveIndexed.FIELD_ID, 3).findAll().size());
+        assertEquals(4, testRealm.where(CaseInsensitiveIndexed.class)
+                .not().equalTo(CaseInsensitiveIndexed.FIELD_NAME, "john", Case.INSENSITIVE).findAll().size());
+
+        RealmResults<CaseInsensitiveIndexed> sorted = testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "john", Case.INSENSITIVE)
+                .findAllSorted(CaseInsensitiveIndexed.FIELD_ID, Sort.DESCENDING);
+        assertEquals(2, sorted.size());
+        assertEquals(1, sorted.first().getId());
+    }
+
+    public void testCaseInsensitiveIndex_equalToFoldsAllLetters() {
+        populateCaseInsensitiveIndexed("stra\u00dfe", "STRASSE", "Strasse", "\u00c5se", "\u00e5se", "ase");
+
+        assertEquals(3, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "strasse", Case.INSENSITIVE).findAll().size());
+        assertEquals(3, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "STRA\u00dfE", Case.INSENSITIVE).count());
+        assertEquals(2, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "\u00c5SE", Case.INSENSITIVE).findAll().size());
+        // The same values match when the index can't be used
+        assertEquals(4, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "strasse", Case.INSENSITIVE)
+                .or().equalTo(CaseInsensitiveIndexed.FIELD_ID, 5).findAll().size());
+        assertEquals(3, testRealm.where(CaseInsensitiveIndexed.class)
+                .not().equalTo(CaseInsensitiveIndexed.FIELD_NAME, "strasse", Case.INSENSITIVE).findAll().size());
+    }
+
+    public void testCaseInsensitiveIndex_beginsWith() {
+        populateCaseInsensitiveIndexed("John", "JOHN", "johnny", "Jane", null);
+
+        assertEquals(1, testRealm.where(CaseInsensitiveIndexed.class)
+                .beginsWith(CaseInsensitiveIndexed.FIELD_NAME, "JOHNN", Case.INSENSITIVE).findAll().size());
+        assertEquals(3, testRealm.where(CaseInsensitiveIndexed.class)
+                .beginsWith(CaseInsensitiveIndexed.FIELD_NAME, "jo", Case.INSENSITIVE).findAll().size());
+        assertEquals(4, testRealm.where(CaseInsensitiveIndexed.class)
+                .beginsWith(CaseInsensitiveIndexed.FIELD_NAME, "J", Case.INSENSITIVE).count());
+        assertEquals(0, testRealm.where(CaseInsensitiveIndexed.class)
+                .beginsWith(CaseInsensitiveIndexed.FIELD_NAME, "k", Case.INSENSITIVE).findAll().size());
+        // The index is a superset of case sensitive matches
+        assertEquals(1, testRealm.where(CaseInsensitiveIndexed.class)
+                .beginsWith(CaseInsensitiveIndexed.FIELD_NAME, "JOH").findAll().size());
+    }
+
+    public void testCaseInsensitiveIndex_findFirstAfterCount() {
+        populateCaseInsensitiveIndexed("Jane", "Kim", "JOHN", "john");
+
+        RealmQuery<CaseInsensitiveIndexed> query = testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "john", Case.INSENSITIVE)
+                .equalTo(CaseInsensitiveIndexed.FIELD_ID, 3);
+        assertEquals(1, query.count());
+        CaseInsensitiveIndexed first = query.findFirst();
+        assertNotNull(first);
+        assertEquals("john", first.getName());
+    }
+
+    public void testCaseInsensitiveIndex_resultsStayLive() {
+        populateCaseInsensitiveIndexed("John", "Jane");
+        RealmResults<CaseInsensitiveIndexed> johns = testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "john", Case.INSENSITIVE).findAll();
+        RealmResults<CaseInsensitiveIndexed> kims = testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "kim", Case.INSENSITIVE).findAll();
+        RealmResults<CaseInsensitiveIndexed> jos = testRealm.where(CaseInsensitiveIndexed.class)
+                .beginsWith(CaseInsensitiveIndexed.FIELD_NAME, "jo", Case.INSENSITIVE).findAll();
+        assertEquals(1, johns.size());
+        assertEquals(0, kims.size());
+        assertEquals(1, jos.size());
+
+        testRealm.beginTransaction();
+        for (String name : new String[] {"JOHN", "Kim", "Joe"}) {
+            testRealm.createObject(CaseInsensitiveIndexed.class).setName(name);
+        }
+        testRealm.commitTransaction();
+
+        assertEquals(2, johns.size());
+        assertEquals(1, kims.size());
+        assertEquals(3, jos.size());
+    }
+
+    public void testCaseInsensitiveIndex_updatedOnCommit() {
+        populateCaseInsensitiveIndexed("Apple", "Banana", "Cherry");
+        RealmResults<CaseInsensitiveIndexed> apples = testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).findAll();
+        assertEquals(1, apples.size());
+
+        testRealm.beginTransaction();
+        testRealm.where(CaseInsensitiveIndexed.class).equalTo(CaseInsensitiveIndexed.FIELD_ID, 1).findFirst()
+                .setName("APPLE");
+        testRealm.where(CaseInsensitiveIndexed.class).equalTo(CaseInsensitiveIndexed.FIELD_ID, 0).findFirst()
+                .removeFromRealm();
+        CaseInsensitiveIndexed obj = testRealm.createObject(CaseInsensitiveIndexed.class);
+        obj.setId(3);
+        obj.setName("aPPle");
+        // Changes are visible to queries inside the transaction
+        assertEquals(2, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).count());
+        testRealm.commitTransaction();
+
+        assertEquals(2, apples.size());
+        assertEquals(0, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "banana", Case.INSENSITIVE).count());
+
+        testRealm.beginTransaction();
+        testRealm.where(CaseInsensitiveIndexed.class).equalTo(CaseInsensitiveIndexed.FIELD_ID, 2).findFirst()
+                .setName("Apple");
+        testRealm.cancelTransaction();
+        assertEquals(2, testRealm.where(CaseInsensitiveIndexed.class)
+                .equalTo(CaseInsensitiveIndexed.FIELD_NAME, "apple", Case.INSENSITIVE).count());
+    }
+
+    private void populateCompositeIndexed(String[] owners, int ranksPerOwner) {
+        testRealm.beginTransaction();
+        testRealm.clear(CompositeIndexed.class);
+        for (String owner : owners) {
+            for (int rank = 0; rank < ranksPerOwner; rank++) {
+                CompositeIndexed obj = testRealm.createObject(CompositeIndexed.class);
+                obj.setOwner(owner);
+                obj.setRank(rank);
+            }
+        }
+        testRealm.commitTransaction();
+    }
+
+    public void testCompositeIndex_equalityPrefixAndRange() {
+        populateCompositeIndexed(new String[] {"alice", "bob", null}, 10);
+
+        assertEquals(10, testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_OWNER, "bob").count());
+        assertEquals(1, testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_OWNER, "bob").equalTo(CompositeIndexed.FIELD_RANK, 3).count());
+        assertEquals(4, testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_OWNER, "alice").between(CompositeIndexed.FIELD_RANK, 2, 5)
+                .findAll().size());
+        assertEquals(3, testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_OWNER, (String) null).lessThan(CompositeIndexed.FIELD_RANK, 3)
+                .findAll().size());
+        assertEquals(0, testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_OWNER, "carol").count());
+        // Equality on the second field only cannot use the index, but must still work.
+        assertEquals(3, testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_RANK, 7).count());
+        // A top level or() disables the index.
+        assertEquals(12, testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_OWNER, "bob").or().equalTo(CompositeIndexed.FIELD_RANK, 0)
+                .findAll().size());
+    }
+
+    public void testCompositeIndex_resultsStayLive() {
+        populateCompositeIndexed(new String[] {"alice", "bob"}, 5);
+        RealmResults<CompositeIndexed> results = testRealm.where(CompositeIndexed.class)
+                .equalTo(CompositeIndexed.FIELD_OWNER, "alice").greaterThan(CompositeIndexed.FIELD_RANK, 2).findAll();
+        assertEquals(2, results.size());
+
+        testRealm.beginTransaction();
+        CompositeIndexed obj = testRealm.createObject(CompositeIndexed.class);
+        obj.setOwner("alice");
+        obj.setRank(10);
+        // Moves a row of bob into the results
+        testRealm.where(CompositeIndexed.class).equalTo(CompositeIndexed.FIELD_OWNER, "bob")
+                .equalTo(CompositeIndexed.FIELD_RANK, 4).findFirst().setOwner("alice");
+        // Moves a row of alice out of the results
+        testRealm.where(CompositeIndexed.class).equalTo(CompositeIndexed.FIELD_OWNER, "alice")
+                .equalTo(CompositeIndexed.FIELD_RANK, 3).findFirst().setRank(0);
+        testRealm.commitTransaction();
+
+        assertEquals(3, results.size());
+        assertEquals(4, testRealm.where(CompositeIndexed.class).equalTo(CompositeIndexed.FIELD_OWNER, "bob").count());
+    }
+
+    private void populateOrderedIndexed(int size) {
+        testRealm.beginTransaction();
+        testRealm.clear(OrderedIndexed.class);
+        // Insert in descending order, so the table order differs from the value order.
+        for (int i = size - 1; i >= 0; i--) {
+            OrderedIndexed obj = testRealm.createObject(OrderedIndexed.class);
+            obj.setTime(i * 100);
+            obj.setScore(i % 10 == 0 ? null : i * 0.5 - 100);
+        }
+        testRealm.commitTransaction();
+    }
+
+    public void testOrderedIndex_ranges() {
+        populateOrderedIndexed(1000);
+
+        assertEquals(11, testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_TIME, 25000, 26000).count());
+        assertEquals(10, testRealm.where(OrderedIndexed.class)
+                .greaterThan(OrderedIndexed.FIELD_TIME, 25000).lessThanOrEqualTo(OrderedIndexed.FIELD_TIME, 26000)
+                .findAll().size());
+        // Ranges crossing bucket boundaries
+        assertEquals(3, testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_TIME, 65500, 65700).count());
+        assertEquals(1000, testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_TIME, Long.MIN_VALUE, Long.MAX_VALUE).count());
+        assertEquals(0, testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_TIME, 25001, 25099).count());
+        // Negative values and nulls
+        assertEquals(10, testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_SCORE, -1.0, 4.0).count());
+        assertEquals(4, testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_SCORE, -0.0, 2.0).count());
+    }
+
+    public void testOrderedIndex_findAllSortedWithoutSorting() {
+        populateOrderedIndexed(100);
+
+        RealmResults<OrderedIndexed> all = testRealm.where(OrderedIndexed.class)
+                .findAllSorted(OrderedIndexed.FIELD_TIME, Sort.ASCENDING);
+        RealmResults<OrderedIndexed> range = testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_TIME, 1000, 2000).findAllSorted(OrderedIndexed.FIELD_TIME);
+        RealmResults<OrderedIndexed> descending = testRealm.where(OrderedIndexed.class)
+                .findAllSorted(OrderedIndexed.FIELD_TIME, Sort.DESCENDING);
+        assertEquals(100, all.size());
+        assertEquals(11, range.size());
+        assertSorted(all, Sort.ASCENDING);
+        assertSorted(range, Sort.ASCENDING);
+        assertSorted(descending, Sort.DESCENDING);
+
+        testRealm.beginTransaction();
+        testRealm.createObject(OrderedIndexed.class).setTime(1550);
+        testRealm.where(OrderedIndexed.class).equalTo(OrderedIndexed.FIELD_TIME, 9900).findFirst().setTime(-1);
+        testRealm.commitTransaction();
+
+        assertEquals(101, all.size());
+        assertEquals(12, range.size());
+        assertEquals(-1, all.first().getTime());
+        assertSorted(all, Sort.ASCENDING);
+        assertSorted(range, Sort.ASCENDING);
+        assertSorted(descending, Sort.DESCENDING);
+    }
+
+    private void assertSorted(RealmResults<OrderedIndexed> results, Sort sortOrder) {
+        for (int i = 1; i < results.size(); i++) {
+            long previous = results.get(i - 1).getTime();
+            long current = results.get(i).getTime();
+            assertTrue(sortOrder == Sort.ASCENDING ? previous <= current : previous >= current);
+        }
+    }
+
+    private Customer[] populatePurchases(int customers, int purchases) {
+        testRealm.beginTransaction();
+        Customer[] result = new Customer[customers];
+        for (int i = 0; i < customers; i++) {
+            result[i] = testRealm.createObject(Customer.class);
+            result[i].setName("Customer " + i);
+        }
+        for (int i = 0; i < purchases; i++) {
+            Purchase purchase = testRealm.createObject(Purchase.class);
+            purchase.setAmount(i);
+            purchase.setCustomer(result[i % customers]);
+        }
+        testRealm.commitTransaction();
+        return result;
+    }
+
+    public void testLinkingObjects() {
+        Customer[] customers = populatePurchases(3, 30);
+
+        RealmResults<Purchase> purchases = customers[1].getPurchases();
+        assertEquals(10, purchases.size());
+        for (Purchase purchase : purchases) {
+            assertEquals(1, purchase.getAmount() % 3);
+        }
+        testRealm.beginTransaction();
+        assertEquals(0, testRealm.createObject(Customer.class).getPurchases().size());
+        testRealm.cancelTransaction();
+    }
+
+    public void testLinkingObjects_live() {
+        Customer[] customers = populatePurchases(3, 30);
+        RealmResults<Purchase> purchases = customers[1].getPurchases();
+
+        testRealm.beginTransaction();
+        Purchase added = testRealm.createObject(Purchase.class);
+        added.setAmount(100);
+        added.setCustomer(customers[1]);
+        testRealm.where(Purchase.class).equalTo(Purchase.FIELD_AMOUNT, 0).findFirst().setCustomer(customers[1]);
+        testRealm.where(Purchase.class).equalTo(Purchase.FIELD_AMOUNT, 1).findFirst().setCustomer(null);
+        testRealm.where(Purchase.class).equalTo(Purchase.FIELD_AMOUNT, 4).findFirst().removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertEquals(10, purchases.size());
+        assertEquals(10, testRealm.where(Purchase.class).linksTo(Purchase.FIELD_CUSTOMER, customers[1]).count());
+        assertEquals(9, customers[0].getPurchases().size());
+    }
+
+    public void testLinksTo_backlinkIndex() {
+        Customer[] customers = populatePurchases(10, 100);
+
+        QueryEstimate plan = testRealm.where(Purchase.class).linksTo(Purchase.FIELD_CUSTOMER, customers[2])
+                .greaterThan(Purchase.FIELD_AMOUNT, 50).estimate();
+        assertEquals("backlink index on 'customer'", plan.getIndex());
+        assertEquals(10, plan.getEstimatedRowsScanned());
+        assertEquals(5, plan.getRowsMatched());
+    }
+
+    public void testLinksTo_withoutIndex() {
+        testRealm.beginTransaction();
+        Owner owner = testRealm.createObject(Owner.class);
+        for (int i = 0; i < 10; i++) {
+            testRealm.createObject(Dog.class).setOwner(i % 2 == 0 ? owner : null);
+        }
+        testRealm.commitTransaction();
+
+        QueryEstimate plan = testRealm.where(Dog.class).linksTo("owner", owner).estimate();
+        assertNull(plan.getIndex());
+        assertEquals(5, plan.getRowsMatched());
+    }
+
+    public void testLinksTo_invalidArguments() {
+        Customer[] customers = populatePurchases(1, 1);
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        testRealm.commitTransaction();
+
+        Object[][] invalid = {
+                {Purchase.FIELD_AMOUNT, customers[0]},
+                {Purchase.FIELD_CUSTOMER, null},
+                {Purchase.FIELD_CUSTOMER, new Customer()},
+                {Purchase.FIELD_CUSTOMER, dog},
+                {"customer.name", customers[0]}
+        };
+        for (Object[] arguments : invalid) {
+            try {
+                testRealm.where(Purchase.class).linksTo((String) arguments[0], (RealmObject) arguments[1]);
+                fail("linksTo" + Arrays.toString(arguments));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    private void populateDogs(Realm realm, int size) {
+        realm.beginTransaction();
+        for (int i = 0; i < size; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + (i % 5));
+            dog.setAge(i);
+        }
+        realm.commitTransaction();
+    }
+
+    public void testEstimate_fullScan() {
+        populateTestRealm(200);
+
+        QueryEstimate plan = testRealm.where(AllTypes.class)
+                .greaterThan(AllTypes.FIELD_LONG, 9)
+                .beginGroup()
+                    .equalTo(AllTypes.FIELD_STRING, "test data 20")
+                    .or()
+                    .not().equalTo(AllTypes.FIELD_BOOLEAN, true)
+                .endGroup()
+                .estimate();
+
+        assertEquals("AllTypes", plan.getClassName());
+        assertEquals("greaterThan(columnLong, 9) AND (equalTo(columnString, \"test data 20\", SENSITIVE) " +
+                "OR NOT equalTo(columnBoolean, true))", plan.getDescription());
+        assertNull(plan.getIndex());
+        assertEquals(200, plan.getEstimatedRowsScanned());
+        assertEquals(127, plan.getRowsMatched());
+    }
+
+    public void testEstimate_indexes() {
+        populateDogs(testRealm, 10);
+        populateOrderedIndexed(100);
+
+        QueryEstimate plan = testRealm.where(Dog.class).equalTo("name", "Dog 1").greaterThan("age", 5).estimate();
+        assertEquals("search index on 'name'", plan.getIndex());
+        assertEquals(2, plan.getEstimatedRowsScanned());
+        assertEquals(1, plan.getRowsMatched());
+
+        // The range is within the bucket of 1024 to 1279, holding 1100 and 1200.
+        plan = testRealm.where(OrderedIndexed.class).between(OrderedIndexed.FIELD_TIME, 1030, 1150).estimate();
+        assertEquals("ordered index on 'time'", plan.getIndex());
+        assertEquals(2, plan.getEstimatedRowsScanned());
+        assertEquals(1, plan.getRowsMatched());
+
+        // Indexes aren't used for conditions combined using OR.
+        plan = testRealm.where(Dog.class).equalTo("name", "Dog 1").or().equalTo("name", "Dog 2").estimate();
+        assertNull(plan.getIndex());
+        assertEquals(4, plan.getRowsMatched());
+    }
+
+    public void testEstimate_queryCanBeUsedAfterwards() {
+        populateOrderedIndexed(100);
+
+        RealmQuery<OrderedIndexed> query = testRealm.where(OrderedIndexed.class)
+                .between(OrderedIndexed.FIELD_TIME, 1000, 2000);
+        assertEquals(11, query.estimate().getRowsMatched());
+        RealmResults<OrderedIndexed> results = query.findAllSorted(OrderedIndexed.FIELD_TIME);
+        assertEquals(11, results.size());
+        assertSorted(results, Sort.ASCENDING);
+    }
+
+    public void testQueryProfileListener() {
+        final List<QueryProfile> profiles = new ArrayList<QueryProfile>();
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .name("profiled.realm")
+                .queryProfileListener(new QueryProfileListener() {
+                    @Override
+                    public void onQueryProfiled(QueryProfile profile) {
+                        profiles.add(profile);
+                    }
+                })
+                .build();
+        Realm.deleteRealm(config);
+        Realm realm = Realm.getInstance(config);
+        try {
+            populateDogs(realm, 10);
+
+            realm.where(Dog.class).equalTo("name", "Dog 1").findAll();
+            realm.where(Dog.class).greaterThan("age", 4).findAllSorted("name");
+            realm.where(Dog.class).findFirst();
+            realm.where(Dog.class).count();
+
+            assertEquals(4, profiles.size());
+            for (QueryProfile profile : profiles) {
+                assertEquals("Dog", profile.getClassName());
+                assertFalse(profile.isAsync());
+                assertTrue(profile.getFilterNanos() >= 0);
+                assertEquals(QueryProfile.NOT_MEASURED, profile.getHandoverExportNanos());
+                assertEquals(QueryProfile.NOT_MEASURED, profile.getHandoverImportNanos());
+            }
+
+            QueryProfile findAll = profiles.get(0);
+            assertEquals("equalTo(name, \"Dog 1\", SENSITIVE)", findAll.getDescription());
+            assertEquals("search index on 'name'", findAll.getIndex());
+            assertEquals(QueryProfile.NOT_MEASURED, findAll.getSortNanos());
+            assertEquals(2, findAll.getResultSize());
+
+            QueryProfile findAllSorted = profiles.get(1);
+            assertTrue(findAllSorted.getSortNanos() >= 0);
+            assertEquals(findAllSorted.getFilterNanos() + findAllSorted.getSortNanos(),
+                    findAllSorted.getTotalNanos());
+            assertEquals(5, findAllSorted.getResultSize());
+
+            assertEquals(1, profiles.get(2).getResultSize());
+            assertEquals(10, profiles.get(3).getResultSize());
+        } finally {
+            realm.close();
+        }
+    }
+
     public void testRealmQueryGreaterThan() {
         final int TEST_OBJECTS_COUNT = 200;
         populateTestRealm(TEST_OBJECTS_COUNT);
@@ -430,6 +430,207 @@ public class RealmResultsTest extends AndroidTestCase {
         assertEquals(1.5, resultList.average(NullTypes.FIELD_DOUBLE_NULL), 0d);
     }
 
+    public void testStats() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        double N = (double) TEST_DATA_SIZE;
+
+        RealmStatistics stats = resultList.stats(FIELD_LONG, true);
+        assertEquals(TEST_DATA_SIZE, stats.getCount());
+        assertEquals(0, stats.getMinAsLong());
+        assertEquals(TEST_DATA_SIZE - 1, stats.getMaxAsLong());
+        assertEquals((TEST_DATA_SIZE - 1) * TEST_DATA_SIZE / 2, stats.getSumAsLong());
+        assertEquals(0.5 * (N - 1), stats.getAverage(), 0.0001);
+        // Variance of 0, 1, ..., N-1: (N^2 - 1)/12
+        assertEquals((N * N - 1) / 12, stats.getVariance(), 0.0001);
+
+        stats = resultList.stats(FIELD_DOUBLE);
+        assertEquals(3.1415, stats.getMin(), 0.0001);
+        assertEquals(3.1415 + N - 1, stats.getMax(), 0.0001);
+        assertEquals(3.1415 + (N - 1.0) * 0.5, stats.getAverage(), 0.0001);
+        assertFalse(stats.hasVariance());
+
+        stats = resultList.stats(FIELD_DATE);
+        assertEquals(resultList.minDate(FIELD_DATE), stats.getMinDate());
+        assertEquals(resultList.maxDate(FIELD_DATE), stats.getMaxDate());
+    }
+
+    public void testStatsForPartialNullRows() {
+        populatePartialNullRowsForNumericTesting();
+        RealmResults<NullTypes> resultList = testRealm.where(NullTypes.class).findAll();
+
+        RealmStatistics stats = resultList.stats(NullTypes.FIELD_INTEGER_NULL);
+        assertEquals(2, stats.getCount());
+        assertEquals(0, stats.getMinAsLong());
+        assertEquals(1, stats.getMaxAsLong());
+        assertEquals(0.5, stats.getAverage(), 0d);
+
+        stats = resultList.stats(NullTypes.FIELD_DOUBLE_NULL);
+        assertEquals(2, stats.getCount());
+        assertEquals(3d, stats.getSum(), 0d);
+    }
+
+    public void testStatsForAllNullRows() {
+        TestHelper.populateAllNullRowsForNumericTesting(testRealm);
+        RealmResults<NullTypes> resultList = testRealm.where(NullTypes.class).findAll();
+
+        RealmStatistics stats = resultList.stats(NullTypes.FIELD_DATE_NULL);
+        assertEquals(0, stats.getCount());
+        assertNull(stats.getMinDate());
+        assertNull(stats.getMaxDate());
+    }
+
+    public void testStatsOnNonNumericFieldThrows() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        try {
+            resultList.stats(FIELD_STRING);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testSetForAll() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        Date date = new Date(YEAR_MILLIS);
+        testRealm.beginTransaction();
+        resultList.set(FIELD_STRING, "updated");
+        resultList.set(FIELD_LONG, 42);
+        resultList.set(FIELD_FLOAT, 1.5f);
+        resultList.set(FIELD_DOUBLE, 2.5d);
+        resultList.set(FIELD_DATE, date);
+        testRealm.commitTransaction();
+
+        assertEquals(TEST_DATA_SIZE, resultList.size());
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class)
+                .equalTo(FIELD_STRING, "updated")
+                .equalTo(FIELD_LONG, 42)
+                .equalTo(FIELD_FLOAT, 1.5f)
+                .equalTo(FIELD_DOUBLE, 2.5d)
+                .equalTo(FIELD_DATE, date)
+                .count());
+    }
+
+    public void testSetForAllRemovesObjectsNoLongerMatching() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).equalTo(FIELD_BOOLEAN, true).findAll();
+        assertEquals(TEST_DATA_SIZE / 2, resultList.size());
+
+        testRealm.beginTransaction();
+        resultList.set(FIELD_BOOLEAN, false);
+        testRealm.commitTransaction();
+
+        assertEquals(0, resultList.size());
+        assertEquals(TEST_DATA_SIZE, testRealm.where(AllTypes.class).equalTo(FIELD_BOOLEAN, false).count());
+    }
+
+    public void testQuerySetForAll() {
+        testRealm.beginTransaction();
+        testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).set(FIELD_STRING, "first");
+        testRealm.commitTransaction();
+
+        assertEquals(10, testRealm.where(AllTypes.class).equalTo(FIELD_STRING, "first").count());
+    }
+
+    public void testIncrementForAll() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        long longSum = resultList.sum(FIELD_LONG).longValue();
+        double doubleSum = resultList.sum(FIELD_DOUBLE).doubleValue();
+
+        testRealm.beginTransaction();
+        resultList.increment(FIELD_LONG, 10);
+        resultList.increment(FIELD_DOUBLE, -0.5d);
+        testRealm.commitTransaction();
+
+        assertEquals(longSum + 10 * TEST_DATA_SIZE, resultList.sum(FIELD_LONG).longValue());
+        assertEquals(doubleSum - 0.5d * TEST_DATA_SIZE, resultList.sum(FIELD_DOUBLE).doubleValue(), 0.001d);
+        assertEquals(10, resultList.first().getColumnLong());
+    }
+
+    public void testIncrementForAllSkipsNullValues() {
+        populatePartialNullRowsForNumericTesting();
+        RealmResults<NullTypes> results = testRealm.where(NullTypes.class).findAll();
+
+        testRealm.beginTransaction();
+        results.increment(NullTypes.FIELD_INTEGER_NULL, 1);
+        results.increment(NullTypes.FIELD_FLOAT_NULL, 1);
+        testRealm.commitTransaction();
+
+        assertEquals(9, results.sum(NullTypes.FIELD_INTEGER_NULL).intValue());
+        assertEquals(11f, results.sum(NullTypes.FIELD_FLOAT_NULL).floatValue(), 0f);
+        assertEquals(1, testRealm.where(NullTypes.class).isNull(NullTypes.FIELD_INTEGER_NULL).count());
+    }
+
+    public void testSetNullForAll() {
+        populatePartialNullRowsForNumericTesting();
+        RealmResults<NullTypes> results = testRealm.where(NullTypes.class).findAll();
+
+        testRealm.beginTransaction();
+        results.setNull(NullTypes.FIELD_INTEGER_NULL);
+        results.set(NullTypes.FIELD_STRING_NULL, (String) null);
+        results.set(NullTypes.FIELD_DATE_NULL, (Date) null);
+        testRealm.commitTransaction();
+
+        assertEquals(3, testRealm.where(NullTypes.class)
+                .isNull(NullTypes.FIELD_INTEGER_NULL)
+                .isNull(NullTypes.FIELD_STRING_NULL)
+                .isNull(NullTypes.FIELD_DATE_NULL)
+                .count());
+    }
+
+    public void testSetNullForAllOnNotNullableFieldThrows() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        testRealm.beginTransaction();
+        try {
+            resultList.setNull(FIELD_STRING);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testSetForAllInvalidFieldThrows() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        testRealm.beginTransaction();
+        try {
+            resultList.set(FIELD_STRING, true);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.increment(FIELD_LONG, 1.5d);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            resultList.set("foo", "bar");
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testSetForAllPrimaryKeyThrows() {
+        populatePartialNullRowsForNumericTesting();
+        RealmResults<NullTypes> results = testRealm.where(NullTypes.class).findAll();
+        testRealm.beginTransaction();
+        try {
+            results.set("id", 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testSetForAllOutsideTransactionThrows() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        try {
+            resultList.set(FIELD_LONG, 1);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
     public void testRemove() {
         RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
         testRealm.beginTransaction();
@@ -1126,4 +1327,115 @@ public class RealmResultsTest extends AndroidTestCase {
         testRealm.close();
         assertFalse(results.isValid());
     }
+
+    public void testSnapshot_notUpdated() {
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+        RealmResults<AllTypes> snapshot = results.snapshot();
+        assertTrue(snapshot.isSnapshot());
+        assertFalse(results.isSnapshot());
+        assertEquals(10, snapshot.size());
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnLong(5);
+        testRealm.commitTransaction();
+
+        assertEquals(11, results.size());
+        assertEquals(10, snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(i, snapshot.get(i).getColumnLong());
+        }
+    }
+
+    public void testSnapshot_ofAllObjects() {
+        RealmResults<AllTypes> snapshot = testRealm.allObjects(AllTypes.class).snapshot();
+        assertEquals(TEST_DATA_SIZE, snapshot.size());
+        assertEquals(0, snapshot.first().getColumnLong());
+        assertEquals(TEST_DATA_SIZE - 1, snapshot.last().getColumnLong());
+    }
+
+    public void testSnapshot_iterateWhileChanging() {
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+        RealmResults<AllTypes> snapshot = results.snapshot();
+
+        testRealm.beginTransaction();
+        for (AllTypes allTypes : snapshot) {
+            // The object no longer matches the query.
+            allTypes.setColumnLong(allTypes.getColumnLong() + 100);
+        }
+        testRealm.commitTransaction();
+
+        assertEquals(0, results.size());
+        assertEquals(10, snapshot.size());
+        assertEquals(100, snapshot.first().getColumnLong());
+        assertEquals(109, snapshot.last().getColumnLong());
+    }
+
+    public void testSnapshot_removedObjectsAreInvalid() {
+        RealmResults<AllTypes> snapshot = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll()
+                .snapshot();
+
+        testRealm.beginTransaction();
+        testRealm.where(AllTypes.class).equalTo(FIELD_LONG, 0).findFirst().removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertEquals(10, snapshot.size());
+        assertFalse(snapshot.get(0).isValid());
+        for (int i = 1; i < snapshot.size(); i++) {
+            assertTrue(snapshot.get(i).isValid());
+            assertEquals(i, snapshot.get(i).getColumnLong());
+        }
+    }
+
+    public void testSnapshot_unsupportedMethodsThrow() {
+        RealmResults<AllTypes> snapshot = testRealm.allObjects(AllTypes.class).snapshot();
+        assertSame(snapshot, snapshot.snapshot());
+
+        try {
+            snapshot.where();
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            snapshot.sort(FIELD_LONG);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            snapshot.sum(FIELD_LONG);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            snapshot.addChangeListener(new RealmChangeListener() {
+                @Override
+                public void onChange() {
+                }
+            });
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+
+        testRealm.beginTransaction();
+        try {
+            snapshot.clear();
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+        assertEquals(TEST_DATA_SIZE, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testAddChangeSetListener_syncResultsThrows() {
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        try {
+            results.addChangeSetListener(new RealmChangeSetListener() {
+                @Override
+                public void onChange(RealmChangeSet changes) {
+                }
+            });
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
 }
@@ -64,6 +64,9 @@ import io.realm.entities.PrimaryKeyMix;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.SharedGroup;
 import io.realm.internal.Table;
 import io.realm.internal.log.RealmLog;
 
@@ -1547,6 +1550,110 @@ public class RealmTest extends AndroidTestCase {
         assertEquals(1, testRealm.allObjects(DogPrimaryKey.class).size());
     }
 
+    public void testCopyFromRealm() {
+        populateTestRealm();
+        AllTypes realmObject = testRealm.where(AllTypes.class).equalTo("columnLong", 3).findFirst();
+
+        AllTypes standaloneObject = testRealm.copyFromRealm(realmObject);
+        assertFalse(standaloneObject instanceof RealmObjectProxy);
+        assertFalse(standaloneObject.isValid());
+        assertEquals(realmObject.getColumnString(), standaloneObject.getColumnString());
+        assertEquals(realmObject.getColumnLong(), standaloneObject.getColumnLong());
+        assertEquals(realmObject.getColumnFloat(), standaloneObject.getColumnFloat());
+        assertEquals(realmObject.getColumnDouble(), standaloneObject.getColumnDouble());
+        assertEquals(realmObject.isColumnBoolean(), standaloneObject.isColumnBoolean());
+        assertEquals(realmObject.getColumnDate(), standaloneObject.getColumnDate());
+        assertArrayEquals(realmObject.getColumnBinary(), standaloneObject.getColumnBinary());
+    }
+
+    public void testCopyFromRealmCyclicObjectGraph() {
+        testRealm.beginTransaction();
+        CyclicType parent = testRealm.createObject(CyclicType.class);
+        parent.setName("Parent");
+        CyclicType child = testRealm.createObject(CyclicType.class);
+        child.setName("Child");
+        child.setObject(parent);
+        parent.setObject(child);
+        parent.getObjects().add(child);
+        parent.getObjects().add(parent);
+        testRealm.commitTransaction();
+
+        CyclicType standaloneParent = testRealm.copyFromRealm(parent);
+        assertEquals("Parent", standaloneParent.getName());
+        CyclicType standaloneChild = standaloneParent.getObject();
+        assertEquals("Child", standaloneChild.getName());
+        // Objects reachable through several paths are copied once
+        assertSame(standaloneParent, standaloneChild.getObject());
+        assertEquals(2, standaloneParent.getObjects().size());
+        assertSame(standaloneChild, standaloneParent.getObjects().get(0));
+        assertSame(standaloneParent, standaloneParent.getObjects().get(1));
+    }
+
+    public void testCopyFromRealmWithDepth() {
+        testRealm.beginTransaction();
+        CyclicType first = testRealm.createObject(CyclicType.class);
+        first.setName("1");
+        CyclicType second = testRealm.createObject(CyclicType.class);
+        second.setName("2");
+        CyclicType third = testRealm.createObject(CyclicType.class);
+        third.setName("3");
+        first.setObject(second);
+        first.getObjects().add(second);
+        second.setObject(third);
+        testRealm.commitTransaction();
+
+        CyclicType copy = testRealm.copyFromRealm(first, 0);
+        assertEquals("1", copy.getName());
+        assertNull(copy.getObject());
+        assertNull(copy.getObjects());
+
+        copy = testRealm.copyFromRealm(first, 1);
+        assertEquals("2", copy.getObject().getName());
+        assertEquals(1, copy.getObjects().size());
+        assertNull(copy.getObject().getObject());
+    }
+
+    public void testCopyFromRealmIterable() {
+        populateTestRealm();
+        RealmResults<AllTypes> results = testRealm.allObjectsSorted(AllTypes.class, "columnLong", Sort.ASCENDING);
+
+        List<AllTypes> standaloneObjects = testRealm.copyFromRealm(results);
+        assertEquals(TEST_DATA_SIZE, standaloneObjects.size());
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            assertEquals(i, standaloneObjects.get(i).getColumnLong());
+            assertFalse(standaloneObjects.get(i).isValid());
+        }
+    }
+
+    public void testCopyFromRealmInvalidArgumentsThrows() {
+        populateTestRealm();
+        AllTypes realmObject = testRealm.where(AllTypes.class).findFirst();
+        try {
+            testRealm.copyFromRealm(realmObject, -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            testRealm.copyFromRealm(new AllTypes());
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            testRealm.copyFromRealm((AllTypes) null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        testRealm.beginTransaction();
+        realmObject.removeFromRealm();
+        testRealm.commitTransaction();
+        try {
+            testRealm.copyFromRealm(realmObject);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     public void testOpeningOfEncryptedRealmWithDifferentKeyInstances() {
         byte[] key1 = TestHelper.getRandomKey(42);
         byte[] key2 = TestHelper.getRandomKey(42);
@@ -2006,6 +2113,320 @@ public class RealmTest extends AndroidTestCase {
         bgClosedLatch.await();
     }
 
+    // Resolves a reference on another thread and returns the result of reading it there
+    private <T, R> R resolveOnOtherThread(final ThreadSafeReference<T> ref, final ResolvedReader<T, R> reader)
+            throws ExecutionException, InterruptedException {
+        final RealmConfiguration configuration = testRealm.getConfiguration();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            return executorService.submit(new Callable<R>() {
+                @Override
+                public R call() throws Exception {
+                    Realm realm = Realm.getInstance(configuration);
+                    try {
+                        return reader.read(ref.resolve(realm));
+                    } finally {
+                        realm.close();
+                    }
+                }
+            }).get();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private interface ResolvedReader<T, R> {
+        R read(T resolved);
+    }
+
+    public void testThreadSafeReferenceToObject() throws ExecutionException, InterruptedException {
+        populateTestRealm();
+        AllTypes object = testRealm.where(AllTypes.class).equalTo("columnLong", 7).findFirst();
+        ThreadSafeReference<AllTypes> ref = ThreadSafeReference.create(object);
+        assertTrue(ref.isResolvable());
+
+        long value = resolveOnOtherThread(ref, new ResolvedReader<AllTypes, Long>() {
+            @Override
+            public Long read(AllTypes resolved) {
+                return resolved.getColumnLong();
+            }
+        });
+        assertEquals(7, value);
+        assertFalse(ref.isResolvable());
+    }
+
+    public void testThreadSafeReferenceResolvedAtLaterVersion() throws ExecutionException, InterruptedException {
+        populateTestRealm();
+        AllTypes object = testRealm.where(AllTypes.class).equalTo("columnLong", 7).findFirst();
+        ThreadSafeReference<AllTypes> ref = ThreadSafeReference.create(object);
+
+        // Removing rows moves the row of the object
+        testRealm.beginTransaction();
+        testRealm.where(AllTypes.class).lessThan("columnLong", 5).findAll().clear();
+        testRealm.commitTransaction();
+
+        long value = resolveOnOtherThread(ref, new ResolvedReader<AllTypes, Long>() {
+            @Override
+            public Long read(AllTypes resolved) {
+                return resolved.getColumnLong();
+            }
+        });
+        assertEquals(7, value);
+    }
+
+    public void testThreadSafeReferenceToDeletedObjectResolvesToNull() throws ExecutionException, InterruptedException {
+        populateTestRealm();
+        AllTypes object = testRealm.where(AllTypes.class).equalTo("columnLong", 7).findFirst();
+        ThreadSafeReference<AllTypes> ref = ThreadSafeReference.create(object);
+
+        testRealm.beginTransaction();
+        object.removeFromRealm();
+        testRealm.commitTransaction();
+
+        boolean isNull = resolveOnOtherThread(ref, new ResolvedReader<AllTypes, Boolean>() {
+            @Override
+            public Boolean read(AllTypes resolved) {
+                return resolved == null;
+            }
+        });
+        assertTrue(isNull);
+    }
+
+    public void testThreadSafeReferenceToResults() throws ExecutionException, InterruptedException {
+        populateTestRealm();
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class)
+                .greaterThanOrEqualTo("columnLong", 5).findAllSorted("columnLong", Sort.DESCENDING);
+        ThreadSafeReference<RealmResults<AllTypes>> ref = ThreadSafeReference.create(results);
+
+        List<Long> values = resolveOnOtherThread(ref, new ResolvedReader<RealmResults<AllTypes>, List<Long>>() {
+            @Override
+            public List<Long> read(RealmResults<AllTypes> resolved) {
+                List<Long> values = new ArrayList<Long>();
+                for (AllTypes object : resolved) {
+                    values.add(object.getColumnLong());
+                }
+                return values;
+            }
+        });
+        assertEquals(TEST_DATA_SIZE - 5, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(TEST_DATA_SIZE - 1 - i, values.get(i).longValue());
+        }
+    }
+
+    public void testThreadSafeReferenceToAllObjects() throws ExecutionException, InterruptedException {
+        populateTestRealm();
+        ThreadSafeReference<RealmResults<AllTypes>> ref =
+                ThreadSafeReference.create(testRealm.allObjects(AllTypes.class));
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class);
+        testRealm.commitTransaction();
+
+        int size = resolveOnOtherThread(ref, new ResolvedReader<RealmResults<AllTypes>, Integer>() {
+            @Override
+            public Integer read(RealmResults<AllTypes> resolved) {
+                return resolved.size();
+            }
+        });
+        assertEquals(TEST_DATA_SIZE + 1, size);
+    }
+
+    public void testThreadSafeReferencesAtSameVersion() {
+        populateTestRealm();
+        ThreadSafeReference<AllTypes> first = ThreadSafeReference.create(testRealm.where(AllTypes.class).findFirst());
+        ThreadSafeReference<AllTypes> second = ThreadSafeReference.create(testRealm.where(AllTypes.class)
+                .equalTo("columnLong", 1).findFirst());
+        // Closing one reference must keep the version of the other
+        first.close();
+        assertFalse(first.isResolvable());
+        assertTrue(second.isResolvable());
+        assertEquals(1, second.resolve(testRealm).getColumnLong());
+    }
+
+    public void testThreadSafeReferenceToList() throws ExecutionException, InterruptedException {
+        testRealm.beginTransaction();
+        AllTypes object = testRealm.createObject(AllTypes.class);
+        for (int i = 0; i < 3; i++) {
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            object.getColumnRealmList().add(dog);
+        }
+        testRealm.commitTransaction();
+        ThreadSafeReference<RealmList<Dog>> ref = ThreadSafeReference.create(object.getColumnRealmList());
+
+        List<String> names = resolveOnOtherThread(ref, new ResolvedReader<RealmList<Dog>, List<String>>() {
+            @Override
+            public List<String> read(RealmList<Dog> resolved) {
+                List<String> names = new ArrayList<String>();
+                for (Dog dog : resolved) {
+                    names.add(dog.getName());
+                }
+                return names;
+            }
+        });
+        assertEquals(Arrays.asList("Dog 0", "Dog 1", "Dog 2"), names);
+    }
+
+    public void testThreadSafeReferenceCanOnlyBeResolvedOnce() {
+        populateTestRealm();
+        ThreadSafeReference<AllTypes> ref = ThreadSafeReference.create(testRealm.where(AllTypes.class).findFirst());
+        assertEquals(0, ref.resolve(testRealm).getColumnLong());
+        try {
+            ref.resolve(testRealm);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    public void testThreadSafeReferenceClose() {
+        populateTestRealm();
+        ThreadSafeReference<AllTypes> ref = ThreadSafeReference.create(testRealm.where(AllTypes.class).findFirst());
+        ref.close();
+        assertFalse(ref.isResolvable());
+        try {
+            ref.resolve(testRealm);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    public void testThreadSafeReferenceInsideTransactionThrows() {
+        populateTestRealm();
+        AllTypes object = testRealm.where(AllTypes.class).findFirst();
+        testRealm.beginTransaction();
+        try {
+            ThreadSafeReference.create(object);
+            fail();
+        } catch (IllegalStateException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testObjectIdentityDisabledByDefault() {
+        populateTestRealm();
+        assertFalse(testRealm.isObjectIdentityEnabled());
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        assertNotSame(results.get(0), results.get(0));
+    }
+
+    public void testObjectIdentity() {
+        populateTestRealm();
+        testRealm.setObjectIdentityEnabled(true);
+        assertTrue(testRealm.isObjectIdentityEnabled());
+
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        AllTypes first = results.get(0);
+        assertSame(first, results.get(0));
+        assertSame(first, testRealm.where(AllTypes.class).equalTo("columnLong", 0).findFirst());
+        assertNotSame(first, results.get(1));
+
+        // A write transaction might move rows, so objects are no longer reused
+        testRealm.beginTransaction();
+        AllTypes inTransaction = results.get(0);
+        assertNotSame(first, inTransaction);
+        assertNotSame(inTransaction, results.get(0));
+        testRealm.cancelTransaction();
+
+        AllTypes afterTransaction = results.get(0);
+        assertNotSame(first, afterTransaction);
+        assertSame(afterTransaction, results.get(0));
+
+        testRealm.setObjectIdentityEnabled(false);
+        assertNotSame(results.get(0), results.get(0));
+    }
+
+    public void testSchemaHashIsStoredWhenOpened() {
+        long schemaHash = testConfig.getSchemaMediator().getSchemaHash();
+        assertTrue(testRealm.hasSchemaHash(schemaHash));
+
+        // Opening the Realm again uses the stored hash instead of validating the tables
+        testRealm.close();
+        testRealm = Realm.getInstance(testConfig);
+        assertTrue(testRealm.hasSchemaHash(schemaHash));
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnString("foo");
+        testRealm.commitTransaction();
+        assertEquals(1, testRealm.where(AllTypes.class).equalTo("columnString", "foo").count());
+    }
+
+    public void testOpenDoesNotWaitForWriteLock() throws InterruptedException {
+        testRealm.close();
+        testRealm = null;
+
+        final CountDownLatch writeLocked = new CountDownLatch(1);
+        final CountDownLatch opened = new CountDownLatch(1);
+        final AtomicBoolean released = new AtomicBoolean(false);
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                SharedGroup sharedGroup = new SharedGroup(testConfig.getPath(), true, SharedGroup.Durability.FULL, null);
+                ImplicitTransaction transaction = sharedGroup.beginImplicitTransaction();
+                transaction.promoteToWrite();
+                writeLocked.countDown();
+                try {
+                    opened.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+                released.set(true);
+                transaction.rollbackAndContinueAsRead();
+                transaction.endRead();
+                sharedGroup.close();
+            }
+        });
+        writer.start();
+        awaitOrFail(writeLocked);
+
+        testRealm = Realm.getInstance(testConfig);
+        assertFalse(released.get());
+        opened.countDown();
+        writer.join();
+        assertEquals(0, testRealm.where(AllTypes.class).count());
+    }
+
+    public void testDynamicRealmTransactionKeepsSchemaHash() {
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(testConfig);
+        dynamicRealm.beginTransaction();
+        dynamicRealm.createObject("AllTypes");
+        dynamicRealm.commitTransaction();
+        dynamicRealm.close();
+
+        testRealm.refresh();
+        assertTrue(testRealm.hasSchemaHash(testConfig.getSchemaMediator().getSchemaHash()));
+    }
+
+    public void testSchemaChangeClearsSchemaHash() {
+        long schemaHash = testConfig.getSchemaMediator().getSchemaHash();
+        DynamicRealm dynamicRealm = DynamicRealm.getInstance(testConfig);
+        dynamicRealm.beginTransaction();
+        dynamicRealm.getSchema().get("AllTypes").addField("newField", String.class);
+        dynamicRealm.commitTransaction();
+        dynamicRealm.close();
+
+        testRealm.refresh();
+        assertFalse(testRealm.hasSchemaHash(schemaHash));
+    }
+
+    public void testSchemaHashesOfDifferentModulesAreKept() {
+        long schemaHash = testConfig.getSchemaMediator().getSchemaHash();
+        testRealm.close();
+        RealmConfiguration subsetConfig = new RealmConfiguration.Builder(getContext())
+                .name(testConfig.getRealmFileName())
+                .schema(StringOnly.class)
+                .build();
+
+        // Opening the Realm with another module set doesn't force the first one to validate the tables again
+        Realm subsetRealm = Realm.getInstance(subsetConfig);
+        assertTrue(subsetRealm.hasSchemaHash(subsetConfig.getSchemaMediator().getSchemaHash()));
+        assertTrue(subsetRealm.hasSchemaHash(schemaHash));
+        subsetRealm.close();
+
+        testRealm = Realm.getInstance(testConfig);
+        assertTrue(testRealm.hasSchemaHash(schemaHash));
+    }
+
     private void awaitOrFail(CountDownLatch latch) {
         try {
             if (!latch.await(5, TimeUnit.SECONDS)) {
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+public class RowDiffTest extends TestCase {
+
+    // Builds the rows as returned by the native methods, with the row index as hash unless given in hashes.
+    private static long[] rows(int offset, long[] rowIndices, long... hashes) {
+        long[] rows = new long[offset + 2 * rowIndices.length];
+        for (int i = 0; i < rowIndices.length; i++) {
+            rows[offset + 2 * i] = rowIndices[i];
+            rows[offset + 2 * i + 1] = (hashes.length > 0) ? hashes[i] : rowIndices[i];
+        }
+        return rows;
+    }
+
+    private static void assertChanges(int[][] changes, int[] deletions, int[] insertions, int[] modifications,
+                                      int[] movesFrom, int[] movesTo) {
+        assertTrue(Arrays.equals(deletions, changes[RowDiff.DELETIONS]));
+        assertTrue(Arrays.equals(insertions, changes[RowDiff.INSERTIONS]));
+        assertTrue(Arrays.equals(modifications, changes[RowDiff.MODIFICATIONS]));
+        assertTrue(Arrays.equals(movesFrom, changes[RowDiff.MOVES_FROM]));
+        assertTrue(Arrays.equals(movesTo, changes[RowDiff.MOVES_TO]));
+    }
+
+    public void testUnchanged() {
+        long[] oldRows = rows(0, new long[] {3, 1, 2});
+        long[] newRows = rows(1, new long[] {3, 1, 2});
+        int[][] changes = RowDiff.compute(oldRows, 0, newRows, 1);
+        assertChanges(changes, new int[0], new int[0], new int[0], new int[0], new int[0]);
+    }
+
+    public void testInsertionsAndDeletions() {
+        // row 1 was removed from the table, row 2 no longer matches, rows 5 and 0 were added
+        long[] oldRows = rows(0, new long[] {3, -1, 2, 4});
+        long[] newRows = rows(0, new long[] {0, 3, 4, 5});
+        int[][] changes = RowDiff.compute(oldRows, 0, newRows, 0);
+        assertChanges(changes, new int[] {1, 2}, new int[] {0, 3}, new int[0], new int[0], new int[0]);
+    }
+
+    public void testModifications() {
+        long[] oldRows = rows(0, new long[] {1, 2, 3}, 10, 20, 30);
+        long[] newRows = rows(0, new long[] {1, 2, 3}, 10, 21, 30);
+        int[][] changes = RowDiff.compute(oldRows, 0, newRows, 0);
+        assertChanges(changes, new int[0], new int[0], new int[] {1}, new int[0], new int[0]);
+    }
+
+    public void testMoves() {
+        // row 4 moved from the end to the front, the others keep their relative order
+        long[] oldRows = rows(0, new long[] {1, 2, 3, 4});
+        long[] newRows = rows(0, new long[] {4, 1, 2, 3});
+        int[][] changes = RowDiff.compute(oldRows, 0, newRows, 0);
+        assertChanges(changes, new int[0], new int[0], new int[0], new int[] {3}, new int[] {0});
+    }
+
+    public void testMovesOrderedByNewIndex() {
+        // rows 5 and 4 moved to the front in reverse order, the old indices follow the new ones
+        long[] oldRows = rows(0, new long[] {1, 2, 3, 4, 5});
+        long[] newRows = rows(0, new long[] {5, 4, 1, 2, 3});
+        int[][] changes = RowDiff.compute(oldRows, 0, newRows, 0);
+        assertChanges(changes, new int[0], new int[0], new int[0], new int[] {4, 3}, new int[] {0, 1});
+    }
+
+    public void testReload() {
+        int[][] changes = RowDiff.reload(2, 3);
+        assertChanges(changes, new int[] {0, 1}, new int[] {0, 1, 2}, new int[0], new int[0], new int[0]);
+    }
+}
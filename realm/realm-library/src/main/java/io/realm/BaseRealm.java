@@ -30,14 +30,18 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import io.realm.exceptions.RealmMigrationNeededException;
+import io.realm.internal.InvalidRow;
+import io.realm.internal.PendingIndexUpdates;
+import io.realm.internal.Row;
 import io.realm.internal.SharedGroupManager;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.TableView;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.android.DebugAndroidLogger;
@@ -52,6 +56,7 @@ import io.realm.internal.log.RealmLog;
  */
 abstract class BaseRealm implements Closeable {
     protected static final long UNVERSIONED = -1;
+    private static final long NOT_NOTIFIED = -1;
     private static final String INCORRECT_THREAD_CLOSE_MESSAGE = "Realm access from incorrect thread. Realm instance can only be closed on the thread it was created.";
     private static final String INCORRECT_THREAD_MESSAGE = "Realm access from incorrect thread. Realm objects can only be accessed on the thread they were created.";
     private static final String CLOSED_REALM_MESSAGE = "This Realm instance has already been closed, making it unusable.";
@@ -65,8 +70,8 @@ abstract class BaseRealm implements Closeable {
     // Reference count on currently open Realm instances (both normal and dynamic).
     protected static final Map<String, Integer> globalRealmFileReferenceCounter = new HashMap<String, Integer>();
 
-    // Map between a Handler and the canonical path to a Realm file
-    protected static final Map<Handler, String> handlers = new ConcurrentHashMap<Handler, String>();
+    // Handlers of all threads with an auto-refreshing Realm, by the canonical path to the Realm file
+    protected static final HandlerRegistry handlers = new HandlerRegistry();
 
     // Thread pool for all async operations (Query & transaction)
     static final RealmThreadPoolExecutor asyncQueryExecutor = RealmThreadPoolExecutor.getInstance();
@@ -88,6 +93,21 @@ abstract class BaseRealm implements Closeable {
     RealmSchema schema;
     Handler handler;
     HandlerController handlerController;
+    // Listeners, RealmResults and RealmObjects only notified when their table changed
+    final TableChangeListeners tableChangeListeners = new TableChangeListeners();
+    // Objects already created for rows of the current version, or null if the identity map is disabled
+    private ObjectIdentityMap identityMap;
+    // Minimum time between handling two REALM_CHANGED messages, in milliseconds
+    long notificationInterval = 0;
+    // Version the listeners were last notified about, to count the commits notified together
+    private long notifiedVersion = NOT_NOTIFIED;
+    private long notificationCount = 0;
+    private long coalescedCommitCount = 0;
+    // Changes to fields with a full-text or case insensitive index in the current write transaction
+    final PendingIndexUpdates pendingIndexUpdates = new PendingIndexUpdates();
+    // The schema generation of the file, read at most once per transaction, see getSchemaGeneration()
+    private long schemaGeneration;
+    private long schemaGenerationTransaction = -1;
 
     static {
         RealmLog.add(BuildConfig.DEBUG ? new DebugAndroidLogger() : new ReleaseAndroidLogger());
@@ -120,7 +140,7 @@ abstract class BaseRealm implements Closeable {
         if (autoRefresh && !this.autoRefresh) { // Switch it on
             handlerController = new HandlerController(this);
             handler = new Handler(handlerController);
-            handlers.put(handler, configuration.getPath());
+            handlers.add(configuration.getPath(), handler);
         } else if (!autoRefresh && this.autoRefresh && handler != null) { // Switch it off
             removeHandler();
         }
@@ -136,6 +156,44 @@ abstract class BaseRealm implements Closeable {
         return autoRefresh;
     }
 
+    /**
+     * Enables or disables the object identity map of this Realm instance.
+     * <p>
+     * If enabled, getting the same object again from a {@link RealmResults}, a {@link RealmList} or a link field
+     * returns the same instance as long as the Realm stays at the same version, instead of creating a new one every
+     * time. The map is cleared when the Realm is refreshed or a write transaction is started, and objects are not
+     * reused inside write transactions. Objects are only weakly referenced by the map.
+     *
+     * @param enabled {@code true} to reuse the objects created for a row, {@code false} to create new objects.
+     */
+    public void setObjectIdentityEnabled(boolean enabled) {
+        checkIfValid();
+        if (enabled && identityMap == null) {
+            identityMap = new ObjectIdentityMap();
+        } else if (!enabled) {
+            identityMap = null;
+        }
+    }
+
+    /**
+     * Checks if the object identity map is enabled.
+     *
+     * @return {@code true} if objects created for a row are reused, {@code false} otherwise.
+     * @see #setObjectIdentityEnabled(boolean)
+     */
+    public boolean isObjectIdentityEnabled() {
+        return identityMap != null;
+    }
+
+    /**
+     * Forgets all objects registered in the identity map. Must be called before the Realm moves to another version.
+     */
+    void clearIdentityMap() {
+        if (identityMap != null) {
+            identityMap.clear();
+        }
+    }
+
     /**
      * Checks if the Realm is currently in a transaction.
      *
@@ -146,6 +204,47 @@ abstract class BaseRealm implements Closeable {
         return !sharedGroupManager.isImmutable();
     }
 
+    /**
+     * Sets the minimum time between two updates of this Realm instance caused by commits on other threads. All commits
+     * within the interval are coalesced into one update: the Realm is advanced to the latest version and its async
+     * queries are updated once, after which the listeners are notified once. Commits on the thread of this Realm
+     * instance always notify its listeners immediately.
+     *
+     * @param interval the minimum time between two updates, or {@code 0} to update as soon as possible, which is the
+     *                 default.
+     * @param unit the unit of {@code interval}.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    public void setNotificationInterval(long interval, TimeUnit unit) {
+        checkIfValid();
+        if (interval < 0) {
+            throw new IllegalArgumentException("The notification interval cannot be negative: " + interval);
+        }
+        notificationInterval = unit.toMillis(interval);
+    }
+
+    /**
+     * Returns how many times the listeners of this Realm instance have been notified.
+     *
+     * @return the number of notifications.
+     */
+    public long getNotificationCount() {
+        checkIfValid();
+        return notificationCount;
+    }
+
+    /**
+     * Returns how many commits didn't cause a notification of their own because they were coalesced with a later
+     * commit, either due to {@link #setNotificationInterval(long, TimeUnit)} or because the thread of this Realm
+     * instance was busy while they were committed.
+     *
+     * @return the number of coalesced commits.
+     */
+    public long getCoalescedCommitCount() {
+        checkIfValid();
+        return coalescedCommitCount;
+    }
+
     /**
      * Adds a change listener to the Realm.
      * <p>
@@ -169,6 +268,34 @@ abstract class BaseRealm implements Closeable {
         changeListeners.addIfAbsent(listener);
     }
 
+    /**
+     * Adds a change listener which is only notified when the given table has changed, e.g. by adding, removing or
+     * modifying objects of its class. It is notified at the same times as the listeners added using
+     * {@link #addChangeListener(RealmChangeListener)}, but only if the table has changed since the previous
+     * notification.
+     *
+     * @param table the table to observe.
+     * @param listener the change listener.
+     */
+    void addTableChangeListener(Table table, RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        checkIfValid();
+        tableChangeListeners.addListener(table, listener);
+    }
+
+    /**
+     * Removes a change listener added using {@link #addTableChangeListener(Table, RealmChangeListener)}.
+     */
+    void removeTableChangeListener(Table table, RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        checkIfValid();
+        tableChangeListeners.removeListener(table, listener);
+    }
+
     /**
      * For internal use only.
      * Sometimes we don't know when to unregister listeners (ex: {@link RealmBaseAdapter}). Using
@@ -188,7 +315,7 @@ abstract class BaseRealm implements Closeable {
     }
 
     /**
-     * Removes the specified change listener.
+     * Removes the specified change listener, including where it was added for a class.
      *
      * @param listener the change listener to be removed.
      * @see io.realm.RealmChangeListener
@@ -197,10 +324,11 @@ abstract class BaseRealm implements Closeable {
     public void removeChangeListener(RealmChangeListener listener) {
         checkIfValid();
         changeListeners.remove(listener);
+        tableChangeListeners.removeListener(listener);
     }
 
     /**
-     * Removes all user-defined change listeners.
+     * Removes all user-defined change listeners, including the ones added for a class.
      *
      * @see io.realm.RealmChangeListener
      * @see #addChangeListener(RealmChangeListener)
@@ -208,12 +336,13 @@ abstract class BaseRealm implements Closeable {
     public void removeAllChangeListeners() {
         checkIfValid();
         changeListeners.clear();
+        tableChangeListeners.removeAllListeners();
     }
 
     void setHandler (Handler handler) {
         // remove the old one
-        handlers.remove(this.handler);
-        handlers.put(handler, configuration.getPath());
+        handlers.remove(configuration.getPath(), this.handler);
+        handlers.add(configuration.getPath(), handler);
         this.handler = handler;
     }
 
@@ -221,13 +350,14 @@ abstract class BaseRealm implements Closeable {
      * Removes and stops the current thread handler as gracefully as possible.
      */
     protected void removeHandler() {
-        handlers.remove(handler);
+        handlers.remove(configuration.getPath(), handler);
         // Warning: This only clears the Looper queue. Handler.Callback is not removed.
         handler.removeCallbacksAndMessages(null);
         this.handler = null;
     }
 
     protected void sendNotifications() {
+        countNotification();
         // notify strong reference listener
         Iterator<RealmChangeListener> iteratorStrongListeners = changeListeners.iterator();
         while (iteratorStrongListeners.hasNext()) {
@@ -252,6 +382,18 @@ abstract class BaseRealm implements Closeable {
         if (toRemoveList != null) {
             weakChangeListeners.removeAll(toRemoveList);
         }
+        // notify listeners, RealmResults and RealmObjects whose table has changed
+        tableChangeListeners.notifyChanged();
+    }
+
+    // Every version since the last notified one was created by a commit notified by this notification.
+    private void countNotification() {
+        long version = sharedGroupManager.getVersion().getVersion();
+        if (notifiedVersion != NOT_NOTIFIED && version > notifiedVersion + 1) {
+            coalescedCommitCount += version - notifiedVersion - 1;
+        }
+        notifiedVersion = version;
+        notificationCount++;
     }
 
     /**
@@ -300,6 +442,7 @@ abstract class BaseRealm implements Closeable {
         if (isInTransaction()) {
             throw new IllegalStateException(BaseRealm.CANNOT_REFRESH_INSIDE_OF_TRANSACTION_MESSAGE);
         }
+        clearIdentityMap();
         sharedGroupManager.advanceRead();
         sendNotifications();
     }
@@ -317,7 +460,10 @@ abstract class BaseRealm implements Closeable {
      */
     public void beginTransaction() {
         checkIfValid();
+        clearIdentityMap();
         sharedGroupManager.promoteToWrite();
+        // Other Realm instances may have changed the schema since the last transaction.
+        pendingIndexUpdates.invalidateCaches();
     }
 
     /**
@@ -328,33 +474,17 @@ abstract class BaseRealm implements Closeable {
      */
     public void commitTransaction() {
         checkIfValid();
+        applyIndexUpdates();
+        pendingIndexUpdates.invalidateCaches();
+        clearIdentityMap();
         sharedGroupManager.commitAndContinueAsRead();
 
-        for (Map.Entry<Handler, String> handlerIntegerEntry : handlers.entrySet()) {
-            Handler handler = handlerIntegerEntry.getKey();
-            String realmPath = handlerIntegerEntry.getValue();
-
-            // Notify at once on thread doing the commit
-            if (handler.equals(this.handler)) {
-                sendNotifications();
-                continue;
-            }
-
-            // For all other threads, use the Handler
-            // Note there is a race condition with handler.hasMessages() and handler.sendEmptyMessage()
-            // as the target thread consumes messages at the same time. In this case it is not a problem as worst
-            // case we end up with two REALM_CHANGED messages in the queue.
-            if (
-                    realmPath.equals(configuration.getPath())            // It's the right realm
-                            && !handler.hasMessages(HandlerController.REALM_CHANGED)       // The right message
-                            && handler.getLooper().getThread().isAlive() // The receiving thread is alive
-                    ) {
-                if (!handler.sendEmptyMessage(HandlerController.REALM_CHANGED)) {
-                    RealmLog.w("Cannot update Looper threads when the Looper has quit. Use realm.setAutoRefresh(false) " +
-                            "to prevent this.");
-                }
-            }
+        // Notify at once on thread doing the commit
+        if (handler != null) {
+            sendNotifications();
         }
+        // For all other threads, use the Handler
+        handlers.notifyOtherThreads(configuration.getPath(), handler);
     }
 
     /**
@@ -367,9 +497,70 @@ abstract class BaseRealm implements Closeable {
      */
     public void cancelTransaction() {
         checkIfValid();
+        pendingIndexUpdates.clear();
+        pendingIndexUpdates.invalidateCaches();
+        clearIdentityMap();
         sharedGroupManager.rollbackAndContinueAsRead();
     }
 
+    /**
+     * Registers that a field with a full-text or case insensitive index was changed. The indexes are updated before the
+     * write transaction is committed or before a query uses them.
+     *
+     * @param row the changed row.
+     * @param columnIndex the index of the changed column.
+     */
+    void scheduleIndexUpdate(Row row, long columnIndex) {
+        pendingIndexUpdates.add(row, columnIndex);
+    }
+
+    /**
+     * Checks if changes to a column must be registered, as it has an auxiliary index. The indexes of a table are looked
+     * up once per write transaction.
+     *
+     * @param table the table of the column.
+     * @param columnIndex the index of the column.
+     * @return {@code true} if the column has an index which must be updated, {@code false} otherwise.
+     */
+    boolean hasIndexToUpdate(Table table, long columnIndex) {
+        return pendingIndexUpdates.isIndexed(sharedGroupManager.getTransaction(), table, columnIndex);
+    }
+
+    /**
+     * Registers that a row was added, so its default values get indexed by any full-text or case insensitive index.
+     *
+     * @param table the table the row was added to.
+     * @param rowIndex the index of the new row.
+     */
+    void scheduleIndexUpdate(Table table, long rowIndex) {
+        pendingIndexUpdates.addNewRow(sharedGroupManager.getTransaction(), table, rowIndex);
+    }
+
+    /**
+     * Called by {@link RealmSchema} and {@link RealmObjectSchema} after they have changed the schema in the current
+     * write transaction.
+     */
+    void onSchemaChanged() {
+        pendingIndexUpdates.invalidateCaches();
+        clearSchemaHashes();
+        incrementSchemaGeneration();
+    }
+
+    /**
+     * Updates the full-text and case insensitive indexes with all changes done so far in the current write transaction.
+     */
+    void applyIndexUpdates() {
+        if (pendingIndexUpdates.isEmpty()) {
+            return;
+        }
+        if (isInTransaction()) {
+            pendingIndexUpdates.apply(sharedGroupManager.getTransaction());
+        } else {
+            // Left behind by setters called outside a transaction, which failed anyway.
+            pendingIndexUpdates.clear();
+        }
+    }
+
     /**
      * Checks if a Realm's underlying resources are still available or not getting accessed from the wrong thread.
      */
@@ -437,6 +628,8 @@ abstract class BaseRealm implements Closeable {
      */
     void doClose() {
         if (sharedGroupManager != null) {
+            tableChangeListeners.close();
+            clearIdentityMap();
             sharedGroupManager.close();
             sharedGroupManager = null;
         }
@@ -482,6 +675,85 @@ abstract class BaseRealm implements Closeable {
         metadataTable.setLong(0, 0, version);
     }
 
+    /**
+     * Checks if the tables were validated against model classes with the given schema hash. The hashes of all module
+     * sets the Realm was opened with are kept, so configurations with different modules don't validate the tables
+     * again each time they are opened.
+     *
+     * @param schemaHash the hash of the model classes.
+     * @return {@code true} if the tables match the model classes, {@code false} if they must be validated.
+     * @see RealmProxyMediator#getSchemaHash()
+     */
+    boolean hasSchemaHash(long schemaHash) {
+        if (!sharedGroupManager.hasTable(Table.SCHEMA_HASH_TABLE_NAME)) {
+            return false;
+        }
+        Table hashTable = sharedGroupManager.getTable(Table.SCHEMA_HASH_TABLE_NAME);
+        return hashTable.getColumnCount() != 0 && hashTable.findFirstLong(0, schemaHash) != TableOrView.NO_MATCH;
+    }
+
+    /**
+     * Stores the schema hash after the tables have been validated. Must be called inside a write transaction.
+     */
+    void addSchemaHash(long schemaHash) {
+        Table hashTable = sharedGroupManager.getTable(Table.SCHEMA_HASH_TABLE_NAME);
+        if (hashTable.getColumnCount() == 0) {
+            hashTable.addColumn(RealmFieldType.INTEGER, "hash");
+        }
+        if (hashTable.findFirstLong(0, schemaHash) == TableOrView.NO_MATCH) {
+            hashTable.setLong(0, hashTable.addEmptyRow(), schemaHash);
+        }
+    }
+
+    /**
+     * Forces the tables to be validated the next time a typed Realm is opened, after the schema has been changed.
+     * Must be called inside a write transaction.
+     */
+    private void clearSchemaHashes() {
+        if (sharedGroupManager.hasTable(Table.SCHEMA_HASH_TABLE_NAME)) {
+            Table hashTable = sharedGroupManager.getTable(Table.SCHEMA_HASH_TABLE_NAME);
+            if (!hashTable.isEmpty()) {
+                hashTable.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns a counter which is stored in the file and incremented each time the schema is changed, so anything
+     * depending on column indices, like a {@link FieldHandle}, can tell if it is still valid. It is only read again
+     * from the file when the Realm has moved to another version.
+     *
+     * @return the schema generation of the version this Realm is at.
+     */
+    long getSchemaGeneration() {
+        long transaction = sharedGroupManager.getTransactionCount();
+        if (transaction != schemaGenerationTransaction) {
+            schemaGeneration = 0;
+            if (sharedGroupManager.hasTable(Table.SCHEMA_GENERATION_TABLE_NAME)) {
+                Table generationTable = sharedGroupManager.getTable(Table.SCHEMA_GENERATION_TABLE_NAME);
+                if (!generationTable.isEmpty()) {
+                    schemaGeneration = generationTable.getLong(0, 0);
+                }
+            }
+            schemaGenerationTransaction = transaction;
+        }
+        return schemaGeneration;
+    }
+
+    // Must be called inside a write transaction.
+    private void incrementSchemaGeneration() {
+        long generation = getSchemaGeneration() + 1;
+        Table generationTable = sharedGroupManager.getTable(Table.SCHEMA_GENERATION_TABLE_NAME);
+        if (generationTable.getColumnCount() == 0) {
+            generationTable.addColumn(RealmFieldType.INTEGER, "generation");
+        }
+        if (generationTable.isEmpty()) {
+            generationTable.addEmptyRow();
+        }
+        generationTable.setLong(0, 0, generation);
+        schemaGeneration = generation;
+    }
+
     /**
      * Sort a table using the given field names and sorting directions. If a field name does not
      * exist in the table an {@link IllegalArgumentException} will be thrown.
@@ -525,33 +797,68 @@ abstract class BaseRealm implements Closeable {
 
     <E extends RealmObject> E get(Class<E> clazz, long rowIndex) {
         Table table = schema.getTable(clazz);
+        E result = getFromIdentityMap(table, rowIndex, false);
+        if (result != null) {
+            return result;
+        }
         UncheckedRow row = table.getUncheckedRow(rowIndex);
-        E result = configuration.getSchemaMediator().newInstance(clazz, schema.getColumnInfo(clazz));
+        result = configuration.getSchemaMediator().newInstance(clazz, schema.getColumnInfo(clazz));
         result.row = row;
         result.realm = this;
+        putInIdentityMap(table, rowIndex, result);
         return result;
     }
 
     // Used by RealmList/RealmResults
     // Invariant: if dynamicClassName != null -> clazz == DynamicRealmObject
+    // A rowIndex of TableOrView.NO_MATCH returns an object which is no longer valid, used for the removed rows of
+    // snapshots.
     <E extends RealmObject> E get(Class<E> clazz, String dynamicClassName, long rowIndex) {
         Table table;
         E result;
         if (dynamicClassName != null) {
             table = schema.getTable(dynamicClassName);
+            result = getFromIdentityMap(table, rowIndex, true);
+            if (result != null) {
+                return result;
+            }
             @SuppressWarnings("unchecked")
             E dynamicObj = (E) new DynamicRealmObject();
             result = dynamicObj;
         } else {
             table = schema.getTable(clazz);
+            result = getFromIdentityMap(table, rowIndex, false);
+            if (result != null) {
+                return result;
+            }
             result = configuration.getSchemaMediator().newInstance(clazz, schema.getColumnInfo(clazz));
         }
-        UncheckedRow row = table.getUncheckedRow(rowIndex);
-        result.row = row;
+        result.row = (rowIndex == TableOrView.NO_MATCH) ? InvalidRow.INSTANCE : table.getUncheckedRow(rowIndex);
         result.realm = this;
+        putInIdentityMap(table, rowIndex, result);
         return result;
     }
 
+    // Returns the object already created for a row, if the identity map is enabled and the Realm isn't in a write
+    // transaction, as removing rows changes the index of other rows.
+    @SuppressWarnings("unchecked")
+    private <E extends RealmObject> E getFromIdentityMap(Table table, long rowIndex, boolean dynamic) {
+        if (identityMap == null || rowIndex == TableOrView.NO_MATCH || !sharedGroupManager.isImmutable()) {
+            return null;
+        }
+        RealmObject object = identityMap.get(table.getName(), rowIndex);
+        if (object == null || (object instanceof DynamicRealmObject) != dynamic || !object.row.isAttached()) {
+            return null;
+        }
+        return (E) object;
+    }
+
+    private void putInIdentityMap(Table table, long rowIndex, RealmObject object) {
+        if (identityMap != null && rowIndex != TableOrView.NO_MATCH && sharedGroupManager.isImmutable()) {
+            identityMap.put(table.getName(), rowIndex, object);
+        }
+    }
+
     /**
      * Deletes the Realm file defined by the given configuration.
      */
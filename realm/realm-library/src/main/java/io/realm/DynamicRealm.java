@@ -74,6 +74,7 @@ public final class DynamicRealm extends BaseRealm {
         checkIfValid();
         Table table = schema.getTable(className);
         long rowIndex = table.addEmptyRow();
+        scheduleIndexUpdate(table, rowIndex);
         return get(DynamicRealmObject.class, className, rowIndex);
     }
 
@@ -89,6 +90,7 @@ public final class DynamicRealm extends BaseRealm {
     public DynamicRealmObject createObject(String className, Object primaryKeyValue) {
         Table table = schema.getTable(className);
         long index = table.addEmptyRowWithPrimaryKey(primaryKeyValue);
+        scheduleIndexUpdate(table, index);
         return new DynamicRealmObject(this, table.getCheckedRow(index));
     }
 
@@ -108,6 +110,26 @@ public final class DynamicRealm extends BaseRealm {
         return RealmQuery.createDynamicQuery(this, className);
     }
 
+    /**
+     * Returns a handle for a field of a class, which can be used to access the field of {@link DynamicRealmObject}s
+     * and to query it without looking up its name again.
+     *
+     * @param className the class of the field.
+     * @param fieldName the name of the field.
+     * @return the handle of the field.
+     * @throws IllegalArgumentException if the class or the field doesn't exist.
+     * @see FieldHandle
+     */
+    public FieldHandle getFieldHandle(String className, String fieldName) {
+        checkIfValid();
+        Table table = schema.getTable(className);
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        return new FieldHandle(this, table, fieldName, columnIndex);
+    }
+
     /**
      * Removes all objects of the specified class.
      *
@@ -280,6 +302,32 @@ public final class DynamicRealm extends BaseRealm {
         return where(className).distinctAsync(columnIndex);
     }
 
+    /**
+     * Adds a change listener which is only notified when objects of the given class have been added, removed or
+     * modified.
+     *
+     * @param className the class to observe.
+     * @param listener the change listener.
+     * @throws IllegalArgumentException if the class doesn't exist or the listener is {@code null}.
+     * @see Realm#addChangeListener(Class, RealmChangeListener)
+     */
+    public void addChangeListener(String className, RealmChangeListener listener) {
+        checkIfValid();
+        addTableChangeListener(schema.getTable(className), listener);
+    }
+
+    /**
+     * Removes a change listener added for the given class.
+     *
+     * @param className the class the listener was added for.
+     * @param listener the change listener to be removed.
+     * @throws IllegalArgumentException if the class doesn't exist or the listener is {@code null}.
+     */
+    public void removeChangeListener(String className, RealmChangeListener listener) {
+        checkIfValid();
+        removeTableChangeListener(schema.getTable(className), listener);
+    }
+
     /**
      * Encapsulates a Realm transaction.
      * <p>
@@ -71,9 +71,25 @@ public final class DynamicRealmObject extends RealmObject {
      * @return the field value.
      * @throws ClassCastException if the field doesn't contain a field of the defined return type.
      */
-    @SuppressWarnings("unchecked")
     public <E> E get(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return get(row.getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the value for the given field.
+     *
+     * @param field the handle of the field.
+     * @return the field value.
+     * @throws IllegalArgumentException if the field belongs to another class.
+     * @throws ClassCastException if the field doesn't contain a field of the defined return type.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public <E> E get(FieldHandle field) {
+        return get(getColumnIndex(field));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> E get(long columnIndex) {
         RealmFieldType type = row.getColumnType(columnIndex);
         switch (type) {
             case BOOLEAN: return (E) Boolean.valueOf(row.getBoolean(columnIndex));
@@ -83,8 +99,8 @@ public final class DynamicRealmObject extends RealmObject {
             case STRING: return (E) row.getString(columnIndex);
             case BINARY: return (E) row.getBinaryByteArray(columnIndex);
             case DATE: return (E) row.getDate(columnIndex);
-            case OBJECT: return (E) getObject(fieldName);
-            case LIST: return (E) getList(fieldName);
+            case OBJECT: return (E) getObject(columnIndex);
+            case LIST: return (E) getList(columnIndex);
             case UNSUPPORTED_TABLE:
             case UNSUPPORTED_MIXED:
             default:
@@ -107,6 +123,19 @@ public final class DynamicRealmObject extends RealmObject {
         return row.getBoolean(columnIndex);
     }
 
+    /**
+     * Returns the {@code boolean} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the boolean value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain booleans.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public boolean getBoolean(FieldHandle field) {
+        return row.getBoolean(getColumnIndex(field));
+    }
+
     /**
      * Returns the {@code int} value for a given field.
      * If the field is nullable use {@link #isNull(String)} to check for {@code null} instead of using
@@ -121,6 +150,19 @@ public final class DynamicRealmObject extends RealmObject {
         return (int) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code int} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the int value. Integer values exceeding {@code Integer.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public int getInt(FieldHandle field) {
+        return (int) getLong(field);
+    }
+
     /**
      * Returns the {@code short} value for a given field.
      * If the field is nullable use {@link #isNull(String)} to check for {@code null} instead of using
@@ -135,6 +177,19 @@ public final class DynamicRealmObject extends RealmObject {
         return (short) getLong(fieldName);
     }
 
+    /**
+     * Returns the {@code short} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the short value. Integer values exceeding {@code Short.MAX_VALUE} will wrap.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public short getShort(FieldHandle field) {
+        return (short) getLong(field);
+    }
+
     /**
      * Returns the {@code long} value for a given field.
      * If the field is nullable use {@link #isNull(String)} to check for {@code null} instead of using
@@ -150,6 +205,19 @@ public final class DynamicRealmObject extends RealmObject {
         return row.getLong(columnIndex);
     }
 
+    /**
+     * Returns the {@code long} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the long value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public long getLong(FieldHandle field) {
+        return row.getLong(getColumnIndex(field));
+    }
+
     /**
      * Returns the {@code byte} value for a given field.
      * If the field is nullable use {@link #isNull(String)} to check for {@code null} instead of using
@@ -165,6 +233,19 @@ public final class DynamicRealmObject extends RealmObject {
         return (byte) row.getLong(columnIndex);
     }
 
+    /**
+     * Returns the {@code byte} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the byte value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain integers.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public byte getByte(FieldHandle field) {
+        return (byte) getLong(field);
+    }
+
     /**
      * Returns the {@code float} value for a given field.
      * If the field is nullable use {@link #isNull(String)} to check for {@code null} instead of using
@@ -180,6 +261,19 @@ public final class DynamicRealmObject extends RealmObject {
         return row.getFloat(columnIndex);
     }
 
+    /**
+     * Returns the {@code float} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the float value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain floats.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public float getFloat(FieldHandle field) {
+        return row.getFloat(getColumnIndex(field));
+    }
+
     /**
      * Returns the {@code double} value for a given field.
      * If the field is nullable use {@link #isNull(String)} to check for {@code null} instead of using
@@ -195,6 +289,19 @@ public final class DynamicRealmObject extends RealmObject {
         return row.getDouble(columnIndex);
     }
 
+    /**
+     * Returns the {@code double} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the double value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain doubles.
+     * @throws io.realm.exceptions.RealmException if the return value would be {@code null}.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public double getDouble(FieldHandle field) {
+        return row.getDouble(getColumnIndex(field));
+    }
+
     /**
      * Returns the {@code byte[]} value for a given field.
      *
@@ -207,6 +314,18 @@ public final class DynamicRealmObject extends RealmObject {
         return row.getBinaryByteArray(columnIndex);
     }
 
+    /**
+     * Returns the {@code byte[]} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the byte[] value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain binary data.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public byte[] getBlob(FieldHandle field) {
+        return row.getBinaryByteArray(getColumnIndex(field));
+    }
+
     /**
      * Returns the {@code String} value for a given field.
      *
@@ -219,6 +338,18 @@ public final class DynamicRealmObject extends RealmObject {
         return row.getString(columnIndex);
     }
 
+    /**
+     * Returns the {@code String} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the String value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain Strings.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public String getString(FieldHandle field) {
+        return row.getString(getColumnIndex(field));
+    }
+
     /**
      * Returns the {@code Date} value for a given field.
      *
@@ -227,7 +358,22 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain Dates.
      */
     public Date getDate(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getDate(row.getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@code Date} value for a given field.
+     *
+     * @param field the handle of the field.
+     * @return the Date value.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain Dates.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public Date getDate(FieldHandle field) {
+        return getDate(getColumnIndex(field));
+    }
+
+    private Date getDate(long columnIndex) {
         if (row.isNull(columnIndex)) {
             return null;
         } else {
@@ -243,7 +389,23 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain links to other objects.
      */
     public DynamicRealmObject getObject(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getObject(row.getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the object being linked to from this field.
+     *
+     * @param field the handle of the field.
+     * @return the {@link DynamicRealmObject} representation of the linked object or {@code null} if no object is linked.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain links to other
+     * objects.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public DynamicRealmObject getObject(FieldHandle field) {
+        return getObject(getColumnIndex(field));
+    }
+
+    private DynamicRealmObject getObject(long columnIndex) {
         if (row.isNullLink(columnIndex)) {
             return null;
         } else {
@@ -261,7 +423,22 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists or it doesn't contain a list of links.
      */
     public RealmList<DynamicRealmObject> getList(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return getList(row.getColumnIndex(fieldName));
+    }
+
+    /**
+     * Returns the {@link RealmList} of objects being linked to from this field.
+     *
+     * @param field the handle of the field.
+     * @return the {@link RealmList} data for this field.
+     * @throws IllegalArgumentException if the field belongs to another class or doesn't contain a list of links.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmList<DynamicRealmObject> getList(FieldHandle field) {
+        return getList(getColumnIndex(field));
+    }
+
+    private RealmList<DynamicRealmObject> getList(long columnIndex) {
         LinkView linkView = row.getLinkList(columnIndex);
         String className = linkView.getTable().getName().substring(Table.TABLE_PREFIX.length());
         return new RealmList<DynamicRealmObject>(className, linkView, realm);
@@ -276,7 +453,22 @@ public final class DynamicRealmObject extends RealmObject {
      * @throws IllegalArgumentException if field name doesn't exists.
      */
     public boolean isNull(String fieldName) {
-        long columnIndex = row.getColumnIndex(fieldName);
+        return isNull(row.getColumnIndex(fieldName));
+    }
+
+    /**
+     * Checks if the value of a given field is {@code null}.
+     *
+     * @param field the handle of the field.
+     * @return {@code true} if field value is null, {@code false} otherwise.
+     * @throws IllegalArgumentException if the field belongs to another class.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public boolean isNull(FieldHandle field) {
+        return isNull(getColumnIndex(field));
+    }
+
+    private boolean isNull(long columnIndex) {
         RealmFieldType type = row.getColumnType(columnIndex);
         switch (type) {
             case OBJECT:
@@ -335,13 +527,33 @@ public final class DynamicRealmObject extends RealmObject {
      * to the appropriate input type.
      * @throws NumberFormatException if a String based number cannot be converted properly.
      */
-    @SuppressWarnings("unchecked")
     public void set(String fieldName, Object value) {
+        long columnIndex = row.getColumnIndex(fieldName);
+        set(columnIndex, fieldName, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Set the value for the given field. Values given as {@code String} are converted like
+     * {@link #set(String, Object)} does.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or if the input value cannot be
+     * converted to the appropriate input type.
+     * @throws NumberFormatException if a String based number cannot be converted properly.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void set(FieldHandle field, Object value) {
+        set(getColumnIndex(field), field.fieldName, value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void set(long columnIndex, String fieldName, Object value) {
         boolean isString = (value instanceof String);
         String strValue = isString ? (String) value : null;
 
         // Do implicit conversion if needed
-        long columnIndex = row.getColumnIndex(fieldName);
         RealmFieldType type = row.getColumnType(columnIndex);
         if (isString && type != RealmFieldType.STRING) {
             switch(type) {
@@ -358,41 +570,41 @@ public final class DynamicRealmObject extends RealmObject {
         }
 
         if (value == null) {
-            setNull(fieldName);
+            setNull(columnIndex);
         } else {
-            setValue(fieldName, value);
+            setValue(columnIndex, value);
         }
     }
 
     // Automatically finds the appropriate setter based on the objects type
-    private void setValue(String fieldName, Object value) {
+    private void setValue(long columnIndex, Object value) {
         Class<?> valueClass = value.getClass();
         if (valueClass == Boolean.class) {
-            setBoolean(fieldName, (Boolean) value);
+            setBoolean(columnIndex, (Boolean) value);
         } else if (valueClass == Short.class) {
-            setShort(fieldName, (Short) value);
+            setLong(columnIndex, (Short) value);
         } else if (valueClass == Integer.class) {
-            setInt(fieldName, (Integer) value);
+            setLong(columnIndex, (Integer) value);
         } else if (valueClass == Long.class) {
-            setLong(fieldName, (Long) value);
+            setLong(columnIndex, (Long) value);
         } else if (valueClass == Byte.class) {
-            setByte(fieldName, (Byte) value);
+            setLong(columnIndex, (Byte) value);
         } else if (valueClass == Float.class) {
-            setFloat(fieldName, (Float) value);
+            setFloat(columnIndex, (Float) value);
         } else if (valueClass == Double.class) {
-            setDouble(fieldName, (Double) value);
+            setDouble(columnIndex, (Double) value);
         } else if (valueClass == String.class) {
-            setString(fieldName, (String) value);
+            setString(columnIndex, (String) value);
         } else if (value instanceof Date) {
-            setDate(fieldName, (Date) value);
+            setDate(columnIndex, (Date) value);
         } else if (value instanceof byte[]) {
-            setBlob(fieldName, (byte[]) value);
+            row.setBinaryByteArray(columnIndex, (byte[]) value);
         } else if (valueClass == DynamicRealmObject.class) {
-            setObject(fieldName, (DynamicRealmObject) value);
+            setObject(columnIndex, (DynamicRealmObject) value);
         } else if (valueClass == RealmList.class) {
             @SuppressWarnings("unchecked")
             RealmList<RealmObject> list = (RealmList<RealmObject>) value;
-            setList(fieldName, list);
+            setList(columnIndex, list);
         } else {
             throw new IllegalArgumentException("Value is of an type not supported: " + value.getClass());
         }
@@ -407,6 +619,24 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setBoolean(String fieldName, boolean value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setBoolean(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code boolean} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't a boolean field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setBoolean(FieldHandle field, boolean value) {
+        setBoolean(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void setBoolean(long columnIndex, boolean value) {
         row.setBoolean(columnIndex, value);
     }
 
@@ -419,7 +649,21 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setShort(String fieldName, short value) {
         long columnIndex = row.getColumnIndex(fieldName);
-        row.setLong(columnIndex, value);
+        setLong(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code short} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't an integer field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setShort(FieldHandle field, short value) {
+        setLong(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
     }
 
     /**
@@ -431,7 +675,21 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setInt(String fieldName, int value) {
         long columnIndex = row.getColumnIndex(fieldName);
-        row.setLong(columnIndex, value);
+        setLong(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code int} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't an integer field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setInt(FieldHandle field, int value) {
+        setLong(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
     }
 
     /**
@@ -443,6 +701,24 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setLong(String fieldName, long value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setLong(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code long} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't an integer field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setLong(FieldHandle field, long value) {
+        setLong(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void setLong(long columnIndex, long value) {
         row.setLong(columnIndex, value);
     }
 
@@ -455,7 +731,21 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setByte(String fieldName, byte value) {
         long columnIndex = row.getColumnIndex(fieldName);
-        row.setLong(columnIndex, value);
+        setLong(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code byte} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't an integer field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setByte(FieldHandle field, byte value) {
+        setLong(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
     }
 
     /**
@@ -467,6 +757,24 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setFloat(String fieldName, float value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setFloat(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code float} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't a float field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setFloat(FieldHandle field, float value) {
+        setFloat(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void setFloat(long columnIndex, float value) {
         row.setFloat(columnIndex, value);
     }
 
@@ -479,6 +787,24 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setDouble(String fieldName, double value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setDouble(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code double} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't a double field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setDouble(FieldHandle field, double value) {
+        setDouble(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void setDouble(long columnIndex, double value) {
         row.setDouble(columnIndex, value);
     }
 
@@ -491,6 +817,24 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setString(String fieldName, String value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setString(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code String} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't a String field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setString(FieldHandle field, String value) {
+        setString(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void setString(long columnIndex, String value) {
         row.setString(columnIndex, value);
     }
 
@@ -506,6 +850,18 @@ public final class DynamicRealmObject extends RealmObject {
         row.setBinaryByteArray(columnIndex, value);
     }
 
+    /**
+     * Sets the binary value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't a binary field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setBlob(FieldHandle field, byte[] value) {
+        row.setBinaryByteArray(getColumnIndex(field), value);
+    }
+
     /**
      * Sets the {@code Date} value of the given field.
      *
@@ -515,6 +871,24 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setDate(String fieldName, Date value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setDate(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the {@code Date} value of the given field.
+     *
+     * @param field the handle of the field.
+     * @param value value to insert.
+     * @throws IllegalArgumentException if the field belongs to another class or isn't a Date field.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setDate(FieldHandle field, Date value) {
+        setDate(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void setDate(long columnIndex, Date value) {
         if (value == null) {
             row.setNull(columnIndex);
         } else {
@@ -532,6 +906,25 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setObject(String fieldName, DynamicRealmObject value) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setObject(columnIndex, value);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets a reference to another object on the given field.
+     *
+     * @param field the handle of the field.
+     * @param value object to link to.
+     * @throws IllegalArgumentException if the field belongs to another class, it doesn't link to other Realm objects,
+     * or the type of DynamicRealmObject doesn't match.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setObject(FieldHandle field, DynamicRealmObject value) {
+        setObject(getColumnIndex(field), value);
+        scheduleIndexUpdate(field);
+    }
+
+    private void setObject(long columnIndex, DynamicRealmObject value) {
         if (value == null) {
             row.nullifyLink(columnIndex);
         } else {
@@ -563,7 +956,26 @@ public final class DynamicRealmObject extends RealmObject {
         if (list == null) {
             throw new IllegalArgumentException("Null values not allowed for lists");
         }
+        setList(row.getColumnIndex(fieldName), list);
+    }
+
+    /**
+     * Sets the reference to a {@link RealmList} on the given field.
+     *
+     * @param field the handle of the field.
+     * @param list list of references.
+     * @throws IllegalArgumentException if the field belongs to another class, it is not a list field or the type
+     * of the object represented by the DynamicRealmObject doesn't match.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setList(FieldHandle field, RealmList<? extends RealmObject> list) {
+        if (list == null) {
+            throw new IllegalArgumentException("Null values not allowed for lists");
+        }
+        setList(getColumnIndex(field), list);
+    }
 
+    private void setList(long columnIndex, RealmList<? extends RealmObject> list) {
         String tableName = row.getTable().getName();
         boolean typeValidated;
         if (list.className == null && list.clazz == null) {
@@ -579,7 +991,6 @@ public final class DynamicRealmObject extends RealmObject {
             typeValidated = true;
         }
 
-        long columnIndex = row.getColumnIndex(fieldName);
         LinkView links = row.getLinkList(columnIndex);
         links.clear();
         for (int i = 0; i < list.size(); i++) {
@@ -603,6 +1014,23 @@ public final class DynamicRealmObject extends RealmObject {
      */
     public void setNull(String fieldName) {
         long columnIndex = row.getColumnIndex(fieldName);
+        setNull(columnIndex);
+        scheduleIndexUpdate(columnIndex);
+    }
+
+    /**
+     * Sets the value to {@code null} for the given field.
+     *
+     * @param field the handle of the field.
+     * @throws IllegalArgumentException if the field belongs to another class, or the field isn't nullable.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public void setNull(FieldHandle field) {
+        setNull(getColumnIndex(field));
+        scheduleIndexUpdate(field);
+    }
+
+    private void setNull(long columnIndex) {
         RealmFieldType type = row.getColumnType(columnIndex);
         if (type == RealmFieldType.OBJECT) {
             row.nullifyLink(columnIndex);
@@ -611,6 +1039,31 @@ public final class DynamicRealmObject extends RealmObject {
         }
     }
 
+    // Resolves a field handle without looking up the name of the field
+    private long getColumnIndex(FieldHandle field) {
+        if (field == null) {
+            throw new IllegalArgumentException("Non-null field handle required.");
+        }
+        field.check(realm, row.getTable());
+        return field.columnIndex;
+    }
+
+    // Unlike the generated proxies, dynamic objects don't know which fields are covered by an auxiliary index. The
+    // Realm looks this up once per table and write transaction.
+    private void scheduleIndexUpdate(long columnIndex) {
+        if (realm.hasIndexToUpdate(row.getTable(), columnIndex)) {
+            realm.scheduleIndexUpdate(row, columnIndex);
+        }
+    }
+
+    // A field handle knows if the field is covered by an auxiliary index since it was created, and is rejected by
+    // getColumnIndex(FieldHandle) once indexes have been added or removed.
+    private void scheduleIndexUpdate(FieldHandle field) {
+        if (field.indexed) {
+            realm.scheduleIndexUpdate(row, field.columnIndex);
+        }
+    }
+
     /**
      * Return the type of object. This will normally correspond to the name of a class that is extending
      * {@link RealmObject}.
@@ -631,6 +1084,22 @@ public final class DynamicRealmObject extends RealmObject {
         return row.getColumnType(columnIndex);
     }
 
+    /**
+     * Returns a handle for a field of this object. The handle can also be used with other objects of the same class.
+     *
+     * @param fieldName the name of the field.
+     * @return the handle of the field.
+     * @throws IllegalArgumentException if field name doesn't exists.
+     * @see FieldHandle
+     */
+    public FieldHandle getFieldHandle(String fieldName) {
+        long columnIndex = row.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        return new FieldHandle(realm, row.getTable(), fieldName, columnIndex);
+    }
+
     @Override
     public int hashCode() {
         String realmName = realm.getPath();
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import io.realm.internal.Table;
+
+/**
+ * A field of a Realm class which has already been looked up by name. Accessing a {@link DynamicRealmObject} or
+ * querying a {@link DynamicRealm} through a handle avoids resolving the field name again for every access, which
+ * matters when the same fields are accessed on many objects, e.g. in a {@link RealmMigration}.
+ * <p>
+ * Handles are obtained from {@link RealmObjectSchema#getFieldHandle(String)} or
+ * {@link DynamicRealm#getFieldHandle(String, String)}. A handle stays valid until the schema of the Realm is changed,
+ * e.g. by removing fields or adding indexes, after which using it throws an {@link IllegalStateException} and it must
+ * be obtained again.
+ */
+public final class FieldHandle {
+
+    final Table table;
+    final String tableName;
+    final String fieldName;
+    final long columnIndex;
+    final RealmFieldType type;
+    // True if changing the field requires updating an auxiliary index. Indexes are only added or removed by changing
+    // the schema, so this is known as long as the handle is valid.
+    final boolean indexed;
+    // The schema generation the column index and the index flag were looked up in.
+    private final long schemaGeneration;
+
+    // The last other Table instance found to be of the same class. Reference writes are atomic, so a handle used by
+    // several threads at worst compares the names again.
+    private Table matchedTable;
+
+    FieldHandle(BaseRealm realm, Table table, String fieldName, long columnIndex) {
+        this.table = table;
+        this.tableName = table.getName();
+        this.fieldName = fieldName;
+        this.columnIndex = columnIndex;
+        this.type = table.getColumnType(columnIndex);
+        this.indexed = realm.hasIndexToUpdate(table, columnIndex);
+        this.schemaGeneration = realm.getSchemaGeneration();
+    }
+
+    /**
+     * Returns the name of the class the field belongs to.
+     *
+     * @return the class name.
+     */
+    public String getClassName() {
+        return tableName.substring(Table.TABLE_PREFIX.length());
+    }
+
+    /**
+     * Returns the name of the field.
+     *
+     * @return the field name.
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Returns the type used by the underlying storage engine to represent the field.
+     *
+     * @return the field type.
+     */
+    public RealmFieldType getType() {
+        return type;
+    }
+
+    /**
+     * Checks that the handle is still valid and the field belongs to the given table.
+     *
+     * @param realm the Realm of the object or query the field is used with.
+     * @param other the table of the object or query the field is used with.
+     * @throws IllegalStateException if the schema has been changed since the handle was created.
+     * @throws IllegalArgumentException if the field belongs to another class.
+     */
+    void check(BaseRealm realm, Table other) {
+        if (realm.getSchemaGeneration() != schemaGeneration) {
+            throw new IllegalStateException(String.format("The handle of field '%s' of class '%s' is no longer valid " +
+                    "as the schema has been changed. Get a new handle.", fieldName, getClassName()));
+        }
+        // Objects of the same class mostly share one Table instance, so the names are rarely compared.
+        if (other == table || other == matchedTable) {
+            return;
+        }
+        String otherName = other.getName();
+        if (!tableName.equals(otherName)) {
+            throw new IllegalArgumentException(String.format("Field '%s' of class '%s' cannot be used with class '%s'.",
+                    fieldName, getClassName(), otherName.substring(Table.TABLE_PREFIX.length())));
+        }
+        matchedTable = other;
+    }
+
+    @Override
+    public String toString() {
+        return getClassName() + "." + fieldName;
+    }
+}
@@ -18,6 +18,7 @@ package io.realm;
 
 import android.os.Handler;
 import android.os.Message;
+import android.os.SystemClock;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
@@ -45,6 +46,8 @@ public class HandlerController implements Handler.Callback {
     final BaseRealm realm;
     // pending update of async queries
     private Future updateAsyncQueriesTask;
+    // uptime of the last REALM_CHANGED handled, in milliseconds
+    private long lastRealmChangedTime = 0;
 
     final ReferenceQueue<RealmResults<? extends RealmObject>> referenceQueue = new ReferenceQueue<RealmResults<? extends RealmObject>>();
     // keep a WeakReference list to RealmResults obtained asynchronously in order to update them
@@ -86,8 +89,11 @@ public class HandlerController implements Handler.Callback {
                 iterator.remove();
 
             } else {
+                // the worker only runs the query again if the current results are out of date
                 realmResultsQueryStep = updateQueryStep.add(weakReference,
                         entry.getValue().handoverQueryPointer(),
+                        realmResults.handoverTableViewPointer(),
+                        realmResults.hasChangeSetListeners(),
                         entry.getValue().getArgument());
             }
 
@@ -129,6 +135,7 @@ public class HandlerController implements Handler.Callback {
                         realmResults.swapTableViewPointer(result.updatedTableViews.get(weakRealmResults));
                         // notify callbacks
                         realmResults.notifyChangeListeners();
+                        realmResults.notifyChangeSetListeners(null);
                     } else {
                         RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY "+ weakRealmResults + "] , realm:"+ HandlerController.this + " ignoring result the RealmResults (is already loaded)");
                     }
@@ -196,11 +203,13 @@ public class HandlerController implements Handler.Callback {
                 // refresh the Realm to the version provided by the worker thread
                 // (advanceRead to the latest version may cause a version mismatch error) preventing us
                 // from importing correctly the handover table view
+                realm.clearIdentityMap();
                 realm.sharedGroupManager.advanceRead(result.versionID);
             }
 
             ArrayList<RealmResults<? extends RealmObject>> callbacksToNotify = new ArrayList<RealmResults<? extends RealmObject>>(result.updatedTableViews.size());
             // use updated TableViews pointers for the existing async RealmResults
+            // RealmResults which are still up to date are not part of the result and keep their TableView
             for (Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, Long> query : result.updatedTableViews.entrySet()) {
                 WeakReference<RealmResults<? extends RealmObject>> weakRealmResults = query.getKey();
                 RealmResults<? extends RealmObject> realmResults = weakRealmResults.get();
@@ -213,8 +222,8 @@ public class HandlerController implements Handler.Callback {
                     // the pointers, because the callback may use another RealmResults not updated yet
                     // this is why we defer the notification until we're done updating all pointers
 
-                    // TODO find a way to only notify callbacks if the underlying data changed compared
-                    //      to the existing value(s) for this RealmResults (use a hashCode?)
+                    // Note: the query is only run again if a table it depends on has changed, which
+                    //       doesn't mean the results did.
                     callbacksToNotify.add(realmResults);
 
                     RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:"+ HandlerController.this + " updating RealmResults " + weakRealmResults);
@@ -226,6 +235,12 @@ public class HandlerController implements Handler.Callback {
             for (RealmResults<? extends RealmObject> query : callbacksToNotify) {
                 query.notifyChangeListeners();
             }
+            for (Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, Long> query : result.updatedTableViews.entrySet()) {
+                RealmResults<? extends RealmObject> realmResults = query.getKey().get();
+                if (realmResults != null) {
+                    realmResults.notifyChangeSetListeners(result.changeSets.get(query.getKey()));
+                }
+            }
 
             // notify listeners only when we advanced
             if (compare != 0) {
@@ -284,11 +299,23 @@ public class HandlerController implements Handler.Callback {
         if (realm.sharedGroupManager != null) {
             switch (message.what) {
                 case REALM_CHANGED: {
+                    long delay = lastRealmChangedTime + realm.notificationInterval - SystemClock.uptimeMillis();
+                    if (realm.notificationInterval > 0 && delay > 0) {
+                        // Coalesce all commits until the interval has passed. Other threads don't post another
+                        // REALM_CHANGED while this one is pending.
+                        if (!realm.handler.hasMessages(REALM_CHANGED)) {
+                            realm.handler.sendEmptyMessageDelayed(REALM_CHANGED, delay);
+                        }
+                        break;
+                    }
+                    lastRealmChangedTime = SystemClock.uptimeMillis();
+
                     if (threadContainsAsyncQueries()) {
                         updateAsyncQueries();
 
                     } else {
                         RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " no async queries, advance_read");
+                        realm.clearIdentityMap();
                         realm.sharedGroupManager.advanceRead();
                         realm.sendNotifications();
                     }
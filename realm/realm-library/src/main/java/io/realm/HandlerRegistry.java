@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * The Handlers of all Looper threads having an auto-refreshing Realm, indexed by the canonical path of the Realm file.
+ * <p>
+ * Notifying about a commit only visits the Handlers of the committed file. Reading is lock-free, while registering
+ * and removing Handlers is synchronized so an empty set is never removed while a Handler is being added to it.
+ * Handlers of threads which have died without closing their Realm are removed when found.
+ */
+final class HandlerRegistry {
+
+    private final Map<String, Set<Handler>> handlersByPath = new ConcurrentHashMap<String, Set<Handler>>();
+
+    /**
+     * Registers the Handler of a thread which must be notified about commits to a Realm file.
+     */
+    synchronized void add(String path, Handler handler) {
+        Set<Handler> handlers = handlersByPath.get(path);
+        if (handlers == null) {
+            handlers = new CopyOnWriteArraySet<Handler>();
+            handlersByPath.put(path, handlers);
+        }
+        handlers.add(handler);
+    }
+
+    /**
+     * Removes a Handler. Nothing happens if it wasn't registered.
+     */
+    synchronized void remove(String path, Handler handler) {
+        Set<Handler> handlers = handlersByPath.get(path);
+        if (handlers != null) {
+            handlers.remove(handler);
+            if (handlers.isEmpty()) {
+                handlersByPath.remove(path);
+            }
+        }
+    }
+
+    /**
+     * Sends {@link HandlerController#REALM_CHANGED} to all threads with a Realm of the given file, except the calling
+     * one.
+     *
+     * @param path the canonical path of the Realm file which was committed to.
+     * @param callerHandler the Handler of the calling thread, or {@code null} if it has none.
+     */
+    void notifyOtherThreads(String path, Handler callerHandler) {
+        Set<Handler> handlers = handlersByPath.get(path);
+        if (handlers == null) {
+            return;
+        }
+        for (Handler handler : handlers) {
+            if (handler == callerHandler) {
+                continue;
+            }
+            if (!handler.getLooper().getThread().isAlive()) {
+                remove(path, handler);
+                continue;
+            }
+            // Note there is a race condition with handler.hasMessages() and handler.sendEmptyMessage()
+            // as the target thread consumes messages at the same time. In this case it is not a problem as worst
+            // case we end up with two REALM_CHANGED messages in the queue.
+            if (!handler.hasMessages(HandlerController.REALM_CHANGED)
+                    && !handler.sendEmptyMessage(HandlerController.REALM_CHANGED)) {
+                RealmLog.w("Cannot update Looper threads when the Looper has quit. Use realm.setAutoRefresh(false) " +
+                        "to prevent this.");
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of registered Handlers. For internal testing purpose only.
+     */
+    int size() {
+        int size = 0;
+        for (Set<Handler> handlers : handlersByPath.values()) {
+            size += handlers.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.Table;
+import io.realm.internal.android.JsonUtils;
+
+/**
+ * Imports a JSON array of objects in batches, with the parsing done by worker threads and only the writes by the
+ * thread of the Realm.
+ * <p>
+ * A reader thread splits the array into batches of elements, without parsing them. Each batch is parsed by a task of
+ * its own, which also converts the dates of the top level objects so the writer doesn't have to. The writer applies
+ * the parsed batches in the order of the array. The rows of a batch are added in a single insert and then filled,
+ * unless the class has a primary key, which has to be checked for each object. All batches are written in one
+ * transaction, or each in a transaction of its own if partial commits were requested, so the write lock is only held
+ * while objects are created and not while waiting for the input.
+ * <p>
+ * The parse tasks run on an executor of their own, so a large import doesn't delay async queries and isn't stalled by
+ * them. The reader has a thread of its own, as it blocks while the writer is behind and would otherwise hold a worker
+ * the parse tasks may be waiting for.
+ */
+final class JsonImporter {
+
+    static final int DEFAULT_BATCH_SIZE = 1000;
+
+    // Number of batches which may be read ahead of the writer
+    private static final int BATCHES_AHEAD = 4;
+
+    // Marks the end of the array in the queue of batches
+    private static final Future<List<JSONObject>> END = new EndOfArray();
+
+    // Parses the batches of all imports. Each import has at most BATCHES_AHEAD + 1 batches queued, so the queue is not
+    // bounded. Idle threads are stopped.
+    private static final ThreadPoolExecutor parseExecutor;
+    static {
+        int threads = Runtime.getRuntime().availableProcessors();
+        parseExecutor = new ThreadPoolExecutor(threads, threads, 1L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        // Moves the thread into the background, like the workers of async queries
+                        android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }
+                }, "RealmJsonParser");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        parseExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    private final Realm realm;
+    private final Class<? extends RealmObject> clazz;
+    private final boolean update;
+    private final int batchSize;
+    private final boolean commitBatches;
+    private final List<String> dateFields = new ArrayList<String>();
+    private final BlockingQueue<Future<List<JSONObject>>> batches =
+            new ArrayBlockingQueue<Future<List<JSONObject>>>(BATCHES_AHEAD);
+
+    JsonImporter(Realm realm, Class<? extends RealmObject> clazz, boolean update, int batchSize,
+                 boolean commitBatches) {
+        this.realm = realm;
+        this.clazz = clazz;
+        this.update = update;
+        this.batchSize = batchSize;
+        this.commitBatches = commitBatches;
+
+        // The schema is only available on the thread of the Realm, so the date fields are looked up in advance
+        Table table = realm.getTable(clazz);
+        for (long i = 0; i < table.getColumnCount(); i++) {
+            if (table.getColumnType(i) == RealmFieldType.DATE) {
+                dateFields.add(table.getColumnName(i));
+            }
+        }
+    }
+
+    /**
+     * Imports all objects of the array. Must be called outside of a transaction. Nothing is written if the import
+     * fails, unless each batch is committed.
+     *
+     * @param in the JSON array. It is closed when all objects have been imported.
+     * @throws IOException if reading the input failed.
+     */
+    void run(final InputStream in) throws IOException {
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                read(in);
+            }
+        }, "RealmJsonReader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            if (!commitBatches) {
+                realm.beginTransaction();
+            }
+            while (true) {
+                List<JSONObject> batch = getBatch(batches.take());
+                if (batch == null) {
+                    break;
+                }
+                if (commitBatches) {
+                    realm.beginTransaction();
+                }
+                write(batch);
+                if (commitBatches) {
+                    realm.commitTransaction();
+                }
+            }
+            if (!commitBatches) {
+                realm.commitTransaction();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RealmException("Interrupted while importing Json", e);
+        } finally {
+            if (realm.isInTransaction()) {
+                realm.cancelTransaction();
+            }
+            reader.interrupt();
+            Future<List<JSONObject>> pending;
+            while ((pending = batches.poll()) != null) {
+                pending.cancel(true);
+            }
+        }
+    }
+
+    // Creates the objects of a batch in the rows added for it
+    private void write(List<JSONObject> batch) {
+        RealmProxyMediator mediator = realm.configuration.getSchemaMediator();
+        if (!update) {
+            realm.reserveRows(clazz, batch.size());
+        }
+        try {
+            for (JSONObject json : batch) {
+                mediator.createOrUpdateUsingJsonObject(clazz, realm, json, update);
+            }
+        } catch (JSONException e) {
+            throw new RealmException("Could not map Json", e);
+        } finally {
+            realm.releaseReservedRows();
+        }
+    }
+
+    // Returns the objects of a batch, or null at the end of the array
+    private static List<JSONObject> getBatch(Future<List<JSONObject>> batch) throws IOException, InterruptedException {
+        try {
+            return batch.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new RealmException("Could not map Json", cause);
+            }
+        }
+    }
+
+    // Runs on the reader thread. Errors are passed on to the writer as failed batches.
+    private void read(InputStream in) {
+        Reader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+            if (skipWhitespace(reader) != '[') {
+                throw new RealmException("Json input is not an array");
+            }
+            StringBuilder batch = new StringBuilder().append('[');
+            int count = 0;
+            while (readElement(reader, batch)) {
+                count++;
+                if (count == batchSize) {
+                    submit(batch.append(']').toString());
+                    batch.setLength(1);
+                    count = 0;
+                } else {
+                    batch.append(',');
+                }
+            }
+            if (count > 0) {
+                batch.setCharAt(batch.length() - 1, ']'); // Replaces the separator after the last element
+                submit(batch.toString());
+            }
+            batches.put(END);
+        } catch (InterruptedException e) {
+            // The writer has stopped
+        } catch (Exception e) {
+            try {
+                batches.put(new FailedBatch(e));
+            } catch (InterruptedException ignored) {
+                // The writer has stopped
+            }
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void submit(final String json) throws InterruptedException {
+        Callable<List<JSONObject>> task = new Callable<List<JSONObject>>() {
+            @Override
+            public List<JSONObject> call() throws JSONException {
+                return parse(json);
+            }
+        };
+        batches.put(parseExecutor.submit(task));
+    }
+
+    private List<JSONObject> parse(String json) throws JSONException {
+        JSONArray array = new JSONArray(json);
+        List<JSONObject> objects = new ArrayList<JSONObject>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject object = array.getJSONObject(i);
+            for (String field : dateFields) {
+                if (!object.isNull(field) && object.get(field) instanceof String) {
+                    object.put(field, JsonUtils.stringToDate(object.getString(field)).getTime());
+                }
+            }
+            objects.add(object);
+        }
+        return objects;
+    }
+
+    /**
+     * Appends the next object of the array to the builder, which doesn't require parsing it: only strings and the
+     * nesting of objects and arrays have to be tracked to find its end.
+     *
+     * @return {@code false} if the end of the array was reached instead.
+     */
+    private static boolean readElement(Reader reader, StringBuilder out) throws IOException {
+        int c = skipWhitespace(reader);
+        if (c == ',') {
+            c = skipWhitespace(reader);
+        }
+        if (c == ']') {
+            return false;
+        }
+        if (c != '{') {
+            throw new RealmException("Json array must only contain objects");
+        }
+        int depth = 0;
+        boolean inString = false;
+        while (true) {
+            if (c == -1) {
+                throw new RealmException("Json array is not terminated");
+            }
+            if (inString) {
+                if (c == '\\') {
+                    out.append((char) c);
+                    c = reader.read();
+                    if (c == -1) {
+                        continue;
+                    }
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+            out.append((char) c);
+            if (!inString && depth == 0) {
+                return true;
+            }
+            c = reader.read();
+        }
+    }
+
+    private static int skipWhitespace(Reader reader) throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+        return c;
+    }
+
+    private static class EndOfArray extends CompletedBatch {
+        @Override
+        public List<JSONObject> get() {
+            return null;
+        }
+    }
+
+    private static class FailedBatch extends CompletedBatch {
+        private final Exception cause;
+
+        FailedBatch(Exception cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public List<JSONObject> get() throws ExecutionException {
+            throw new ExecutionException(cause);
+        }
+    }
+
+    private abstract static class CompletedBatch implements Future<List<JSONObject>> {
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public List<JSONObject> get(long timeout, TimeUnit unit) throws ExecutionException {
+            return get();
+        }
+
+        @Override
+        public abstract List<JSONObject> get() throws ExecutionException;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the rows of a Realm to the objects created for them, so accessing the same row again returns the same object.
+ * <p>
+ * Row indices are only stable within one version of the Realm, so the map must be cleared whenever the Realm advances
+ * to another version or starts a write transaction, in which removing a row moves the last row of its table. Objects
+ * are only weakly referenced, their entries are removed once they have been garbage collected.
+ */
+final class ObjectIdentityMap {
+
+    private final Map<String, Map<Long, ObjectReference>> objects = new HashMap<String, Map<Long, ObjectReference>>();
+    private final ReferenceQueue<RealmObject> queue = new ReferenceQueue<RealmObject>();
+
+    private static class ObjectReference extends WeakReference<RealmObject> {
+        final String tableName;
+        final long rowIndex;
+
+        ObjectReference(RealmObject object, String tableName, long rowIndex, ReferenceQueue<RealmObject> queue) {
+            super(object, queue);
+            this.tableName = tableName;
+            this.rowIndex = rowIndex;
+        }
+    }
+
+    /**
+     * Returns the object created for a row.
+     *
+     * @param tableName the name of the table of the row.
+     * @param rowIndex the index of the row.
+     * @return the object or {@code null} if there is none or it has been garbage collected.
+     */
+    RealmObject get(String tableName, long rowIndex) {
+        Map<Long, ObjectReference> rows = objects.get(tableName);
+        if (rows == null) {
+            return null;
+        }
+        ObjectReference ref = rows.get(rowIndex);
+        return (ref == null) ? null : ref.get();
+    }
+
+    /**
+     * Registers the object created for a row.
+     */
+    void put(String tableName, long rowIndex, RealmObject object) {
+        expungeStaleEntries();
+        Map<Long, ObjectReference> rows = objects.get(tableName);
+        if (rows == null) {
+            rows = new HashMap<Long, ObjectReference>();
+            objects.put(tableName, rows);
+        }
+        rows.put(rowIndex, new ObjectReference(object, tableName, rowIndex, queue));
+    }
+
+    /**
+     * Removes all objects. Must be called before the row indices might change.
+     */
+    void clear() {
+        objects.clear();
+        // The references are no longer in the map, but the ones already enqueued have to be drained.
+        while (queue.poll() != null) {
+            // Nothing to do
+        }
+    }
+
+    private void expungeStaleEntries() {
+        ObjectReference ref;
+        while ((ref = (ObjectReference) queue.poll()) != null) {
+            Map<Long, ObjectReference> rows = objects.get(ref.tableName);
+            // The row might have been registered again for another object in the meantime
+            if (rows != null && rows.get(ref.rowIndex) == ref) {
+                rows.remove(ref.rowIndex);
+                if (rows.isEmpty()) {
+                    objects.remove(ref.tableName);
+                }
+            }
+        }
+    }
+}
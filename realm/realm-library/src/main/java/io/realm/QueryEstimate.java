@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Estimates the work of a {@link RealmQuery}, as returned by {@link RealmQuery#estimate()}.
+ * <p>
+ * This is not a plan reported by the storage engine, which doesn't expose how it evaluates a query. The description
+ * lists the conditions as they were added to the query, combined by {@code AND}, {@code OR}, {@code NOT} and
+ * parentheses, not in the order the storage engine evaluates them. The index is the full-text, case insensitive,
+ * ordered, backlink or composite index Realm uses to narrow down the objects before handing the query to the storage
+ * engine, or the search index the storage engine is expected to use for an equality condition. Without an index all
+ * objects of the class, or of the queried {@link RealmResults} or {@link RealmList}, are scanned.
+ */
+public final class QueryEstimate {
+
+    private final String className;
+    private final String description;
+    private final String index;
+    private final long estimatedRowsScanned;
+    private final long rowsMatched;
+
+    QueryEstimate(String className, String description, String index, long estimatedRowsScanned, long rowsMatched) {
+        this.className = className;
+        this.description = description;
+        this.index = index;
+        this.estimatedRowsScanned = estimatedRowsScanned;
+        this.rowsMatched = rowsMatched;
+    }
+
+    /**
+     * Returns the name of the queried class.
+     *
+     * @return the class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the conditions of the query, e.g. {@code equalTo(name, "John") AND (age > 18 OR NOT isNull(email))}.
+     *
+     * @return the query conditions or an empty string if the query has no conditions.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the index expected to narrow down the objects to evaluate the conditions for, e.g.
+     * {@code "search index on 'name'"} or {@code "composite index on ['owner', 'rank']"}.
+     *
+     * @return the index or {@code null} if all objects are scanned.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the number of objects the conditions are expected to be evaluated for. This is the size of the
+     * candidates given by the chosen index, the number of objects having the value looked up in a search index, or
+     * the number of objects queried. The storage engine doesn't report how many objects it actually evaluates, so this
+     * is derived from the index and not counted while running the query.
+     *
+     * @return the estimated number of objects scanned.
+     */
+    public long getEstimatedRowsScanned() {
+        return estimatedRowsScanned;
+    }
+
+    /**
+     * Returns the number of objects matching the query, counted by running it.
+     *
+     * @return the number of results.
+     */
+    public long getRowsMatched() {
+        return rowsMatched;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryEstimate{" +
+                "class: " + className +
+                ", conditions: " + description +
+                ", index: " + (index != null ? index : "none (full scan)") +
+                ", estimated rows scanned: " + estimatedRowsScanned +
+                ", rows matched: " + rowsMatched +
+                "}";
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timings of a single query, as reported to a {@link QueryProfileListener}.
+ * <p>
+ * All durations are measured in nanoseconds using {@link System#nanoTime()}. A phase which didn't happen, like sorting
+ * for {@code findAll()} or the handover between threads for a synchronous query, is reported as
+ * {@link #NOT_MEASURED}.
+ * <p>
+ * For an asynchronous query the filter time is measured on the worker thread and also includes importing the query
+ * and sorting the results, as these are done in a single call to the storage engine.
+ */
+public final class QueryProfile {
+
+    /**
+     * The value of a duration or size which wasn't measured.
+     */
+    public static final long NOT_MEASURED = -1;
+
+    private final String className;
+    private final String description;
+    private final String index;
+    private final boolean async;
+    // Asynchronous queries are measured on several threads.
+    private volatile long filterNanos = NOT_MEASURED;
+    private volatile long sortNanos = NOT_MEASURED;
+    private volatile long handoverExportNanos = NOT_MEASURED;
+    private volatile long handoverImportNanos = NOT_MEASURED;
+    private volatile long resultSize = NOT_MEASURED;
+
+    QueryProfile(String className, String description, String index, boolean async) {
+        this.className = className;
+        this.description = description;
+        this.index = index;
+        this.async = async;
+    }
+
+    /**
+     * Returns the name of the queried class.
+     *
+     * @return the class name.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Returns the conditions of the query, like {@link QueryEstimate#getDescription()}.
+     *
+     * @return the query conditions.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the index used to narrow down the objects scanned, like {@link QueryEstimate#getIndex()}.
+     *
+     * @return the index or {@code null} if all objects were scanned.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * Checks if the query was run on a worker thread.
+     *
+     * @return {@code true} for asynchronous queries, {@code false} otherwise.
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Returns the time spent finding the matching objects.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getFilterNanos() {
+        return filterNanos;
+    }
+
+    /**
+     * Returns the time spent sorting the results.
+     *
+     * @return the duration in nanoseconds or {@link #NOT_MEASURED} if the results weren't sorted separately.
+     */
+    public long getSortNanos() {
+        return sortNanos;
+    }
+
+    /**
+     * Returns the time spent exporting the query for the worker thread.
+     *
+     * @return the duration in nanoseconds or {@link #NOT_MEASURED} for synchronous queries.
+     */
+    public long getHandoverExportNanos() {
+        return handoverExportNanos;
+    }
+
+    /**
+     * Returns the time spent importing the results of the worker thread.
+     *
+     * @return the duration in nanoseconds or {@link #NOT_MEASURED} for synchronous queries.
+     */
+    public long getHandoverImportNanos() {
+        return handoverImportNanos;
+    }
+
+    /**
+     * Returns the total time of all measured phases.
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (long nanos : new long[] {filterNanos, sortNanos, handoverExportNanos, handoverImportNanos}) {
+            if (nanos != NOT_MEASURED) {
+                total += nanos;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of results, or 1 or 0 for {@code findFirst()}.
+     *
+     * @return the number of objects found.
+     */
+    public long getResultSize() {
+        return resultSize;
+    }
+
+    void setFilterNanos(long filterNanos) {
+        this.filterNanos = filterNanos;
+    }
+
+    void setSortNanos(long sortNanos) {
+        this.sortNanos = sortNanos;
+    }
+
+    void setHandoverExportNanos(long handoverExportNanos) {
+        this.handoverExportNanos = handoverExportNanos;
+    }
+
+    void setHandoverImportNanos(long handoverImportNanos) {
+        this.handoverImportNanos = handoverImportNanos;
+    }
+
+    void setResultSize(long resultSize) {
+        this.resultSize = resultSize;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryProfile{" +
+                "class: " + className +
+                ", conditions: " + description +
+                ", index: " + (index != null ? index : "none (full scan)") +
+                ", async: " + async +
+                ", filter: " + toMicros(filterNanos) +
+                ", sort: " + toMicros(sortNanos) +
+                ", handover export: " + toMicros(handoverExportNanos) +
+                ", handover import: " + toMicros(handoverImportNanos) +
+                ", results: " + resultSize +
+                "}";
+    }
+
+    private static String toMicros(long nanos) {
+        return (nanos == NOT_MEASURED) ? "-" : TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+    }
+}
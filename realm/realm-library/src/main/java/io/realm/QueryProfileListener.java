@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Receives the timings of queries when query profiling is enabled using
+ * {@link RealmConfiguration.Builder#queryProfileListener(QueryProfileListener)}.
+ * <p>
+ * The listener is called on the thread which created the query: right after a synchronous query has finished and, for
+ * an asynchronous query, when its first results are delivered to the {@link RealmResults}. The same listener may thus
+ * be called from several threads at once.
+ */
+public interface QueryProfileListener {
+
+    /**
+     * Called when a query has finished.
+     *
+     * @param profile the timings of the query.
+     */
+    void onQueryProfiled(QueryProfile profile);
+}
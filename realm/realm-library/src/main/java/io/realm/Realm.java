@@ -19,23 +19,28 @@ package io.realm;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.os.Build;
-import android.os.Handler;
 import android.os.Looper;
 import android.util.JsonReader;
+import android.util.JsonWriter;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -48,6 +53,7 @@ import io.realm.exceptions.RealmIOException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
@@ -119,6 +125,11 @@ public final class Realm extends BaseRealm {
 
     private static RealmConfiguration defaultConfiguration;
 
+    // Rows added in one go by the JSON importer, which createObject() uses before adding rows one by one
+    private Table reservedRowsTable;
+    private long nextReservedRow;
+    private long reservedRowsEnd;
+
     /**
      * The constructor is private to enforce the use of the static one.
      *
@@ -269,26 +280,35 @@ public final class Realm extends BaseRealm {
     @SuppressWarnings("unchecked")
     private static void initializeRealm(Realm realm) {
         long version = realm.getVersion();
+        RealmProxyMediator mediator = realm.configuration.getSchemaMediator();
+        long schemaHash = mediator.getSchemaHash();
+
+        // If the tables were validated against the same schema before, only the column indices have to be read. This
+        // doesn't need the write lock, so opening the Realm doesn't wait for transactions on other threads.
+        if (version != UNVERSIONED && realm.hasSchemaHash(schemaHash)) {
+            realm.schema.columnIndices = createColumnIndices(realm, mediator, false);
+            return;
+        }
+
         boolean commitNeeded = false;
         try {
             realm.beginTransaction();
+            // Another thread or process might have initialized the Realm while waiting for the write lock
+            version = realm.getVersion();
+            if (version != UNVERSIONED && realm.hasSchemaHash(schemaHash)) {
+                realm.schema.columnIndices = createColumnIndices(realm, mediator, false);
+                return;
+            }
             if (version == UNVERSIONED) {
                 commitNeeded = true;
                 realm.setVersion(realm.configuration.getSchemaVersion());
-            }
-
-            RealmProxyMediator mediator = realm.configuration.getSchemaMediator();
-            final Set<Class<? extends RealmObject>> modelClasses = mediator.getModelClasses();
-            final Map<Class<? extends RealmObject>, ColumnInfo> columnInfoMap;
-            columnInfoMap = new HashMap<Class<? extends RealmObject>, ColumnInfo>(modelClasses.size());
-            for (Class<? extends RealmObject> modelClass : modelClasses) {
-                // Create and validate table
-                if (version == UNVERSIONED) {
+                for (Class<? extends RealmObject> modelClass : mediator.getModelClasses()) {
                     mediator.createTable(modelClass, realm.sharedGroupManager.getTransaction());
                 }
-                columnInfoMap.put(modelClass, mediator.validateTable(modelClass, realm.sharedGroupManager.getTransaction()));
             }
-            realm.schema.columnIndices = new ColumnIndices(columnInfoMap);
+            realm.schema.columnIndices = createColumnIndices(realm, mediator, true);
+            commitNeeded = true;
+            realm.addSchemaHash(schemaHash);
         } finally {
             if (commitNeeded) {
                 realm.commitTransaction();
@@ -298,6 +318,26 @@ public final class Realm extends BaseRealm {
         }
     }
 
+    private static ColumnIndices createColumnIndices(Realm realm, RealmProxyMediator mediator, boolean validate) {
+        final Set<Class<? extends RealmObject>> modelClasses = mediator.getModelClasses();
+        final Map<Class<? extends RealmObject>, ColumnInfo> columnInfoMap;
+        columnInfoMap = new HashMap<Class<? extends RealmObject>, ColumnInfo>(modelClasses.size());
+        ImplicitTransaction transaction = realm.sharedGroupManager.getTransaction();
+        for (Class<? extends RealmObject> modelClass : modelClasses) {
+            if (validate) {
+                columnInfoMap.put(modelClass, mediator.validateTable(modelClass, transaction));
+            } else {
+                columnInfoMap.put(modelClass, mediator.createColumnInfo(modelClass, transaction));
+            }
+        }
+        // Backlink indexes are added while validating the classes linked to, so they are only looked up afterwards.
+        for (Map.Entry<Class<? extends RealmObject>, ColumnInfo> entry : columnInfoMap.entrySet()) {
+            Table table = transaction.getTable(mediator.getTableName(entry.getKey()));
+            entry.getValue().resolveBacklinkIndexes(transaction, table);
+        }
+        return new ColumnIndices(columnInfoMap);
+    }
+
     /**
      * Creates a Realm object for each object in a JSON array. This must be done within a transaction.
      * JSON properties with a null value will map to the default value for the data type in Realm and unknown properties
@@ -458,6 +498,112 @@ public final class Realm extends BaseRealm {
         }
     }
 
+    /**
+     * Creates a Realm object for each object in a JSON array, like {@link #createAllFromJson(Class, InputStream)}, but
+     * is meant for large inputs. The array is parsed by worker threads in batches of
+     * {@value JsonImporter#DEFAULT_BATCH_SIZE} objects, while the calling thread creates the objects of the batches
+     * parsed so far. The rows of each batch are added in a single insert, unless the class has a primary key.
+     * <p>
+     * All objects are written in a single transaction, so nothing is written if the import fails. The write lock is
+     * held for the whole import; use {@link #importAllFromJson(Class, InputStream, int)} to commit in between.
+     * <p>
+     * This must be called outside of a transaction.
+     *
+     * @param clazz type of Realm objects created.
+     * @param inputStream the JSON array as a InputStream. All objects in the array must be of the specified class. It is
+     * closed when the import has finished.
+     * @throws IllegalStateException if the Realm is in a transaction.
+     * @throws RealmException if mapping from JSON fails.
+     * @throws IOException if something was wrong with the input stream.
+     */
+    public <E extends RealmObject> void importAllFromJson(Class<E> clazz, InputStream inputStream) throws IOException {
+        importAllFromJson(clazz, inputStream, false, JsonImporter.DEFAULT_BATCH_SIZE, false);
+    }
+
+    /**
+     * Creates a Realm object for each object in a JSON array like {@link #importAllFromJson(Class, InputStream)}, but
+     * commits each batch of objects in a transaction of its own. The write lock is only held while a batch is written,
+     * so other threads can write in between. The import is not atomic: if it fails, the batches already committed are
+     * kept.
+     * <p>
+     * This must be called outside of a transaction.
+     *
+     * @param clazz type of Realm objects created.
+     * @param inputStream the JSON array as a InputStream. All objects in the array must be of the specified class. It is
+     * closed when the import has finished.
+     * @param objectsPerTransaction the number of objects committed together.
+     * @throws IllegalArgumentException if {@code objectsPerTransaction} isn't positive.
+     * @throws IllegalStateException if the Realm is in a transaction.
+     * @throws RealmException if mapping from JSON fails.
+     * @throws IOException if something was wrong with the input stream.
+     */
+    public <E extends RealmObject> void importAllFromJson(Class<E> clazz, InputStream inputStream,
+                                                          int objectsPerTransaction) throws IOException {
+        importAllFromJson(clazz, inputStream, false, objectsPerTransaction, true);
+    }
+
+    /**
+     * Creates or updates a Realm object for each object in a JSON array in a single transaction, like
+     * {@link #importAllFromJson(Class, InputStream)}. Objects are identified by their primary key, as in
+     * {@link #createOrUpdateAllFromJson(Class, InputStream)}.
+     * <p>
+     * This must be called outside of a transaction.
+     *
+     * @param clazz type of {@link io.realm.RealmObject} to create or update. It must have a primary key defined.
+     * @param inputStream the JSON array as a InputStream. It is closed when the import has finished.
+     * @throws java.lang.IllegalArgumentException if trying to update a class without a
+     * {@link io.realm.annotations.PrimaryKey}.
+     * @throws IllegalStateException if the Realm is in a transaction.
+     * @throws IOException if something was wrong with the input stream.
+     * @see #importAllFromJson(Class, InputStream)
+     */
+    public <E extends RealmObject> void importOrUpdateAllFromJson(Class<E> clazz, InputStream inputStream)
+            throws IOException {
+        if (clazz != null) {
+            checkHasPrimaryKey(clazz);
+        }
+        importAllFromJson(clazz, inputStream, true, JsonImporter.DEFAULT_BATCH_SIZE, false);
+    }
+
+    /**
+     * Creates or updates a Realm object for each object in a JSON array like
+     * {@link #importOrUpdateAllFromJson(Class, InputStream)}, but commits each batch of objects in a transaction of its
+     * own. The import is not atomic: if it fails, the batches already committed are kept.
+     * <p>
+     * This must be called outside of a transaction.
+     *
+     * @param clazz type of {@link io.realm.RealmObject} to create or update. It must have a primary key defined.
+     * @param inputStream the JSON array as a InputStream. It is closed when the import has finished.
+     * @param objectsPerTransaction the number of objects committed together.
+     * @throws java.lang.IllegalArgumentException if trying to update a class without a
+     * {@link io.realm.annotations.PrimaryKey} or if {@code objectsPerTransaction} isn't positive.
+     * @throws IllegalStateException if the Realm is in a transaction.
+     * @throws IOException if something was wrong with the input stream.
+     * @see #importAllFromJson(Class, InputStream, int)
+     */
+    public <E extends RealmObject> void importOrUpdateAllFromJson(Class<E> clazz, InputStream inputStream,
+                                                                  int objectsPerTransaction) throws IOException {
+        if (clazz != null) {
+            checkHasPrimaryKey(clazz);
+        }
+        importAllFromJson(clazz, inputStream, true, objectsPerTransaction, true);
+    }
+
+    private <E extends RealmObject> void importAllFromJson(Class<E> clazz, InputStream inputStream, boolean update,
+                                                           int batchSize, boolean commitBatches) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The number of objects per transaction must be positive: " + batchSize);
+        }
+        if (clazz == null || inputStream == null) {
+            return;
+        }
+        checkIfValid();
+        if (isInTransaction()) {
+            throw new IllegalStateException("JSON can only be imported outside of a transaction.");
+        }
+        new JsonImporter(this, clazz, update, batchSize, commitBatches).run(inputStream);
+    }
+
     /**
      * Creates a Realm object pre-filled with data from a JSON object. This must be done inside a transaction. JSON
      * properties with a null value will map to the default value for the data type in Realm and unknown properties will
@@ -636,6 +782,90 @@ public final class Realm extends BaseRealm {
         return new Scanner(in, "UTF-8").useDelimiter("\\A");
     }
 
+    /**
+     * Writes RealmObjects as a JSON array to a stream. The objects are written one at a time while iterating over
+     * them, so the memory used doesn't depend on the number of objects, and the output can be read again by
+     * {@link #createAllFromJson(Class, InputStream)}. Dates are written as milliseconds since the epoch, byte arrays
+     * Base64 encoded, and NaN and infinite floating point values as the strings {@code "NaN"}, {@code "Infinity"} and
+     * {@code "-Infinity"}.
+     *
+     * @param realmObjects the RealmObjects to write, e.g. a {@link RealmResults} or a {@link RealmList}.
+     * @param outputStream the stream to write the UTF-8 encoded JSON to. It is flushed but not closed.
+     * @param maxDepth the depth of linked objects to write. The fields of the objects themselves have depth 0, so with
+     * a depth of 0 all their RealmObject and RealmList fields are omitted. As linked objects are written in place,
+     * cyclic object graphs are repeated up to this depth.
+     * @param fieldNames the fields of the objects to write. All fields are written if none are given. Linked objects
+     * are always written with all their fields.
+     * @throws IllegalArgumentException if {@code maxDepth < 0}, a field doesn't exist, or any of the RealmObjects is
+     * {@code null}, no longer accessible or a {@link DynamicRealmObject}.
+     * @throws IOException if writing to the stream fails.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public <E extends RealmObject> void exportToJson(Iterable<E> realmObjects, OutputStream outputStream, int maxDepth,
+                                                     String... fieldNames) throws IOException {
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream, "UTF-8")));
+        exportToJson(realmObjects, writer, maxDepth, fieldNames);
+        writer.flush();
+    }
+
+    /**
+     * Writes RealmObjects as a JSON array.
+     *
+     * @param realmObjects the RealmObjects to write, e.g. a {@link RealmResults} or a {@link RealmList}.
+     * @param writer the writer to write the JSON array to.
+     * @param maxDepth the depth of linked objects to write.
+     * @param fieldNames the fields of the objects to write. All fields are written if none are given.
+     * @throws IllegalArgumentException if {@code maxDepth < 0}, a field doesn't exist, or any of the RealmObjects is
+     * {@code null}, no longer accessible or a {@link DynamicRealmObject}.
+     * @throws IOException if writing fails.
+     * @see #exportToJson(Iterable, OutputStream, int, String...)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public <E extends RealmObject> void exportToJson(Iterable<E> realmObjects, JsonWriter writer, int maxDepth,
+                                                     String... fieldNames) throws IOException {
+        checkIfValid();
+        checkMaxDepth(maxDepth);
+        Set<String> exportedFields = getExportedFields(fieldNames);
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        Class<? extends RealmObject> checkedClass = null;
+
+        writer.beginArray();
+        for (E object : realmObjects) {
+            checkValidManagedObject(object, "exported to JSON");
+            if (exportedFields != null && object.getClass() != checkedClass) {
+                checkedClass = object.getClass();
+                checkExportedFields(Util.getOriginalModelClass(checkedClass), exportedFields);
+            }
+            mediator.exportToJson(writer, object, maxDepth, exportedFields);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Writes a RealmObject as a JSON object.
+     *
+     * @param realmObject the RealmObject to write.
+     * @param writer the writer to write the JSON object to.
+     * @param maxDepth the depth of linked objects to write.
+     * @param fieldNames the fields of the object to write. All fields are written if none are given.
+     * @throws IllegalArgumentException if {@code maxDepth < 0}, a field doesn't exist, or the RealmObject is
+     * {@code null}, no longer accessible or a {@link DynamicRealmObject}.
+     * @throws IOException if writing fails.
+     * @see #exportToJson(Iterable, OutputStream, int, String...)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public <E extends RealmObject> void exportToJson(E realmObject, JsonWriter writer, int maxDepth,
+                                                     String... fieldNames) throws IOException {
+        checkIfValid();
+        checkMaxDepth(maxDepth);
+        checkValidManagedObject(realmObject, "exported to JSON");
+        Set<String> exportedFields = getExportedFields(fieldNames);
+        if (exportedFields != null) {
+            checkExportedFields(Util.getOriginalModelClass(realmObject.getClass()), exportedFields);
+        }
+        configuration.getSchemaMediator().exportToJson(writer, realmObject, maxDepth, exportedFields);
+    }
+
     /**
      * Instantiates and adds a new object to the Realm.
      *
@@ -646,10 +876,49 @@ public final class Realm extends BaseRealm {
     public <E extends RealmObject> E createObject(Class<E> clazz) {
         checkIfValid();
         Table table = getTable(clazz);
-        long rowIndex = table.addEmptyRow();
+        long rowIndex;
+        if (table == reservedRowsTable && nextReservedRow < reservedRowsEnd) {
+            rowIndex = nextReservedRow++;
+        } else {
+            rowIndex = table.addEmptyRow();
+        }
+        scheduleIndexUpdate(table, rowIndex);
         return get(clazz, rowIndex);
     }
 
+    /**
+     * Adds empty rows for objects of a class without a primary key in a single insert. They are used by
+     * {@link #createObject(Class)} until all have been used. Must be called inside a transaction and followed by
+     * {@link #releaseReservedRows()} before the transaction ends.
+     *
+     * @param clazz the class of the objects.
+     * @param count the number of rows to add.
+     */
+    void reserveRows(Class<? extends RealmObject> clazz, long count) {
+        Table table = getTable(clazz);
+        if (count < 1 || table.hasPrimaryKey()) {
+            return;
+        }
+        nextReservedRow = table.addEmptyRows(count);
+        reservedRowsEnd = nextReservedRow + count;
+        reservedRowsTable = table;
+    }
+
+    /**
+     * Removes the rows added by {@link #reserveRows(Class, long)} which haven't been used. They are the last rows of
+     * the table, as no other rows are added to it before all reserved rows have been used.
+     */
+    void releaseReservedRows() {
+        if (reservedRowsTable != null && isInTransaction()) {
+            for (long rowIndex = reservedRowsEnd - 1; rowIndex >= nextReservedRow; rowIndex--) {
+                reservedRowsTable.moveLastOver(rowIndex);
+            }
+        }
+        reservedRowsTable = null;
+        nextReservedRow = 0;
+        reservedRowsEnd = 0;
+    }
+
     /**
      * Creates a new object inside the Realm with the Primary key value initially set.
      * If the value violates the primary key constraint, no object will be added and a {@link RealmException} will be
@@ -663,6 +932,7 @@ public final class Realm extends BaseRealm {
     <E extends RealmObject> E createObject(Class<E> clazz, Object primaryKeyValue) {
         Table table = getTable(clazz);
         long rowIndex = table.addEmptyRowWithPrimaryKey(primaryKeyValue);
+        scheduleIndexUpdate(table, rowIndex);
         return get(clazz, rowIndex);
     }
 
@@ -746,6 +1016,82 @@ public final class Realm extends BaseRealm {
         return realmObjects;
     }
 
+    /**
+     * Makes a standalone in-memory copy of an already persisted RealmObject. This is a deep copy that will copy all
+     * referenced objects.
+     * <p>
+     * The copied object is detached from Realm, so it can be read and changed on any thread and passed on to other
+     * layers like serializers. Changes to it will not be persisted, use {@link #copyToRealmOrUpdate(RealmObject)} to
+     * store them. The fields are read directly from the storage engine, which is considerably faster than calling each
+     * getter.
+     *
+     * @param realmObject the {@link RealmObject} to copy.
+     * @return a standalone copy of the managed RealmObject.
+     * @throws IllegalArgumentException if the RealmObject is no longer accessible or it is a {@link DynamicRealmObject}.
+     * @see #copyFromRealm(RealmObject, int)
+     */
+    public <E extends RealmObject> E copyFromRealm(E realmObject) {
+        return copyFromRealm(realmObject, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Makes a standalone in-memory copy of an already persisted RealmObject, copying referenced objects up to the given
+     * depth. Objects reachable through several paths of the object graph, including cycles, are only copied once.
+     *
+     * @param realmObject the {@link RealmObject} to copy.
+     * @param maxDepth the depth of the object graph to copy. The fields of the object itself have depth 0, so with a
+     * depth of 0 all its RealmObject and RealmList fields are {@code null}.
+     * @return a standalone copy of the managed RealmObject.
+     * @throws IllegalArgumentException if {@code maxDepth < 0}, the RealmObject is no longer accessible or it is a
+     * {@link DynamicRealmObject}.
+     */
+    public <E extends RealmObject> E copyFromRealm(E realmObject, int maxDepth) {
+        checkMaxDepth(maxDepth);
+        checkValidManagedObject(realmObject, "copied from Realm");
+        return createDetachedCopy(realmObject, maxDepth, new HashMap<RealmObject, RealmObjectProxy.CacheData<RealmObject>>());
+    }
+
+    /**
+     * Makes a standalone in-memory copy of already persisted RealmObjects. This is a deep copy that will copy all
+     * referenced objects.
+     *
+     * @param realmObjects the RealmObjects to copy, e.g. a {@link RealmResults} or a {@link RealmList}.
+     * @return a list of standalone copies in the same order.
+     * @throws IllegalArgumentException if any of the RealmObjects is {@code null}, no longer accessible or a
+     * {@link DynamicRealmObject}.
+     * @see #copyFromRealm(Iterable, int)
+     */
+    public <E extends RealmObject> List<E> copyFromRealm(Iterable<E> realmObjects) {
+        return copyFromRealm(realmObjects, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Makes a standalone in-memory copy of already persisted RealmObjects, copying referenced objects up to the given
+     * depth. Objects referenced by several of them are only copied once.
+     *
+     * @param realmObjects the RealmObjects to copy, e.g. a {@link RealmResults} or a {@link RealmList}.
+     * @param maxDepth the depth of the object graph to copy, see {@link #copyFromRealm(RealmObject, int)}.
+     * @return a list of standalone copies in the same order.
+     * @throws IllegalArgumentException if {@code maxDepth < 0} or any of the RealmObjects is {@code null}, no longer
+     * accessible or a {@link DynamicRealmObject}.
+     */
+    public <E extends RealmObject> List<E> copyFromRealm(Iterable<E> realmObjects, int maxDepth) {
+        checkMaxDepth(maxDepth);
+        if (realmObjects == null) {
+            return new ArrayList<E>(0);
+        }
+
+        ArrayList<E> standaloneObjects = new ArrayList<E>();
+        // The cache is shared, so objects referenced by several of the objects are only copied once
+        Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache = new HashMap<RealmObject, RealmObjectProxy.CacheData<RealmObject>>();
+        for (E object : realmObjects) {
+            checkValidManagedObject(object, "copied from Realm");
+            standaloneObjects.add(createDetachedCopy(object, maxDepth, cache));
+        }
+
+        return standaloneObjects;
+    }
+
     boolean contains(Class<? extends RealmObject> clazz) {
         return configuration.getSchemaMediator().getModelClasses().contains(clazz);
     }
@@ -910,6 +1256,36 @@ public final class Realm extends BaseRealm {
         return where(clazz).distinctAsync(columnIndex);
     }
 
+    /**
+     * Adds a change listener which is only notified when objects of the given class have been added, removed or
+     * modified. Listeners added using {@link #addChangeListener(RealmChangeListener)} are notified about changes to
+     * any class instead.
+     * <p>
+     * Listeners are stored as a strong reference, you need to remove the added listeners using
+     * {@link #removeChangeListener(Class, RealmChangeListener)}, {@link #removeChangeListener(RealmChangeListener)}
+     * or {@link #removeAllChangeListeners()}.
+     *
+     * @param clazz the class to observe.
+     * @param listener the change listener.
+     * @throws IllegalArgumentException if the listener is {@code null}.
+     */
+    public void addChangeListener(Class<? extends RealmObject> clazz, RealmChangeListener listener) {
+        checkIfValid();
+        addTableChangeListener(getTable(clazz), listener);
+    }
+
+    /**
+     * Removes a change listener added for the given class.
+     *
+     * @param clazz the class the listener was added for.
+     * @param listener the change listener to be removed.
+     * @throws IllegalArgumentException if the listener is {@code null}.
+     */
+    public void removeChangeListener(Class<? extends RealmObject> clazz, RealmChangeListener listener) {
+        checkIfValid();
+        removeTableChangeListener(getTable(clazz), listener);
+    }
+
     /**
      * Returns change listeners.
      * For internal testing purpose only.
@@ -1041,6 +1417,50 @@ public final class Realm extends BaseRealm {
         return configuration.getSchemaMediator().copyOrUpdate(this, object, update, new HashMap<RealmObject, RealmObjectProxy>());
     }
 
+    private <E extends RealmObject> E createDetachedCopy(E object, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        checkIfValid();
+        return configuration.getSchemaMediator().createDetachedCopy(object, maxDepth, cache);
+    }
+
+    private void checkMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be >= 0. It was: " + maxDepth);
+        }
+    }
+
+    // Checks that an object can be read by copyFromRealm() or exportToJson(), which is described by the operation.
+    private <E extends RealmObject> void checkValidManagedObject(E realmObject, String operation) {
+        if (realmObject == null) {
+            throw new IllegalArgumentException("Null objects cannot be " + operation + ".");
+        }
+        if (!realmObject.isValid()) {
+            throw new IllegalArgumentException("RealmObject is not valid, so it cannot be " + operation + ".");
+        }
+        if (realmObject instanceof DynamicRealmObject) {
+            throw new IllegalArgumentException("DynamicRealmObject cannot be " + operation + ".");
+        }
+        if (realmObject.realm != this) {
+            throw new IllegalArgumentException("Only objects of this Realm can be " + operation + ".");
+        }
+    }
+
+    private Set<String> getExportedFields(String[] fieldNames) {
+        if (fieldNames == null || fieldNames.length == 0) {
+            return null;
+        }
+        return new HashSet<String>(Arrays.asList(fieldNames));
+    }
+
+    private void checkExportedFields(Class<? extends RealmObject> clazz, Set<String> fieldNames) {
+        List<String> classFieldNames = configuration.getSchemaMediator().getFieldNames(clazz);
+        for (String fieldName : fieldNames) {
+            if (!classFieldNames.contains(fieldName)) {
+                throw new IllegalArgumentException(String.format("Field '%s' does not exist in %s.", fieldName,
+                        clazz.getSimpleName()));
+            }
+        }
+    }
+
     private <E extends RealmObject> void checkNotNullObject(E object) {
         if (object == null) {
             throw new IllegalArgumentException("Null objects cannot be copied into Realm.");
@@ -1115,7 +1535,7 @@ public final class Realm extends BaseRealm {
     }
 
     // Return all handlers registered for this Realm
-    static Map<Handler, String> getHandlers() {
+    static HandlerRegistry getHandlers() {
         return handlers;
     }
 
@@ -17,8 +17,8 @@ package io.realm;
 
 import java.util.Arrays;
 import java.util.EnumMap;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.log.RealmLog;
@@ -29,6 +29,10 @@ import io.realm.internal.log.RealmLog;
  * {@link RealmConfiguration}.
  * One {@link RealmCache} is created for each {@link RealmConfiguration}, and it caches all the {@link Realm} and
  * {@link DynamicRealm} instances which are created from the same {@link RealmConfiguration}.
+ * <p>
+ * Getting or releasing an instance the current thread already holds more references to only updates thread-local
+ * counters and takes no lock. Creating and closing instances is synchronized on the {@link RealmCache} of the path, so
+ * threads opening different Realm files don't wait for each other.
  */
 class RealmCache {
 
@@ -41,7 +45,7 @@ class RealmCache {
         private final ThreadLocal<BaseRealm> localRealm = new ThreadLocal<BaseRealm>();
         // How many references to this Realm instance in this thread.
         private final ThreadLocal<Integer> localCount = new ThreadLocal<Integer>();
-        // How many threads have instances refer to this configuration.
+        // How many threads have instances refer to this configuration. Guarded by the RealmCache.
         private int globalCount = 0;
     }
     private enum RealmCacheType {
@@ -61,7 +65,16 @@ class RealmCache {
     // Separated references and counters for typed Realm and dynamic Realm.
     private final EnumMap<RealmCacheType, RefAndCount> refAndCountMap;
 
-    final private RealmConfiguration configuration;
+    // Replaced by the configuration of the next instance while no instance is open. Guarded by the RealmCache.
+    private RealmConfiguration configuration;
+
+    // Set when the cache has been removed from the map, so threads which were waiting for its lock look it up again.
+    // Guarded by the RealmCache.
+    private boolean removed;
+
+    // How many instances are being created on the thread holding the lock. Opening a Realm may migrate it first,
+    // which runs with a count of 0 but must not remove the cache. Guarded by the RealmCache.
+    private int openingCount;
 
     // Column indices are cached to speed up opening typed Realm. If a Realm instance is created in one thread, creating
     // Realm instances in other threads doesn't have to initialize the column indices again.
@@ -69,7 +82,9 @@ class RealmCache {
 
     // Realm path will be used as the key to store different RealmCaches. Different Realm configurations with same path
     // are not allowed and an exception will be thrown when trying to add it to the cache map.
-    private static Map<String, RealmCache> cachesMap = new HashMap<String, RealmCache>();
+    // A cache is added without holding any lock and only removed while holding its own lock once no instances refer
+    // to it.
+    private static final ConcurrentMap<String, RealmCache> cachesMap = new ConcurrentHashMap<String, RealmCache>();
 
     private static final String DIFFERENT_KEY_MESSAGE = "Wrong key used to decrypt Realm.";
     private static final String WRONG_REALM_CLASS_MESSAGE = "The type of Realm class must be Realm or DynamicRealm.";
@@ -89,21 +104,72 @@ class RealmCache {
      * @param realmClass class of {@link Realm} or {@link DynamicRealm} to be created in or gotten from the cache.
      * @return the {@link Realm} or {@link DynamicRealm} instance.
      */
-    static synchronized <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
-                                                        Class<E> realmClass) {
-        boolean isCacheInMap = true;
+    static <E extends BaseRealm> E createRealmOrGetFromCache(RealmConfiguration configuration,
+                                                             Class<E> realmClass) {
+        // Fast path: the current thread holds the instance already. The cache can't be removed from the map until
+        // this thread has released it.
         RealmCache cache = cachesMap.get(configuration.getPath());
+        if (cache != null) {
+            RefAndCount refAndCount = cache.refAndCountMap.get(RealmCacheType.valueOf(realmClass));
+            Integer refCount = refAndCount.localCount.get();
+            if (refCount != null && refCount > 0) {
+                cache.validateConfiguration(configuration);
+                refAndCount.localCount.set(refCount + 1);
+                @SuppressWarnings("unchecked")
+                E realm = (E) refAndCount.localRealm.get();
+                return realm;
+            }
+        }
+        return createRealmOrGetFromCacheLocked(configuration, realmClass);
+    }
+
+    private static <E extends BaseRealm> E createRealmOrGetFromCacheLocked(RealmConfiguration configuration,
+                                                                           Class<E> realmClass) {
+        while (true) {
+            RealmCache cache = getOrAddCache(configuration);
+            synchronized (cache) {
+                if (cache.removed) {
+                    // Removed by the last thread releasing it while this thread was waiting
+                    continue;
+                }
+                cache.openingCount++;
+                try {
+                    return cache.createRealmOrGet(configuration, realmClass);
+                } finally {
+                    cache.openingCount--;
+                    // Don't keep the cache if the instance couldn't be created
+                    cache.removeIfUnused();
+                }
+            }
+        }
+    }
+
+    // Returns the cache for the path of the configuration, adding an empty one if there is none yet. The caller must
+    // lock the cache and check that it hasn't been removed before using it.
+    private static RealmCache getOrAddCache(RealmConfiguration configuration) {
+        String path = configuration.getPath();
+        RealmCache cache = cachesMap.get(path);
         if (cache == null) {
-            // Create a new cache
-            cache = new RealmCache(configuration);
-            // The new cache should be added to the map later.
-            isCacheInMap = false;
+            RealmCache newCache = new RealmCache(configuration);
+            cache = cachesMap.putIfAbsent(path, newCache);
+            if (cache == null) {
+                cache = newCache;
+            }
+        }
+        return cache;
+    }
+
+    // Must be called while holding the lock of this cache.
+    private <E extends BaseRealm> E createRealmOrGet(RealmConfiguration configuration, Class<E> realmClass) {
+        if (getTotalGlobalCount() == 0) {
+            // No instance is open, so the new configuration can't clash with any other.
+            this.configuration = configuration;
         } else {
             // Throw the exception if validation failed.
-            cache.validateConfiguration(configuration);
+            validateConfiguration(configuration);
         }
 
-        RefAndCount refAndCount = cache.refAndCountMap.get(RealmCacheType.valueOf(realmClass));
+        RefAndCount refAndCount = refAndCountMap.get(RealmCacheType.valueOf(realmClass));
 
         if (refAndCount.localRealm.get() == null) {
             // Create a new local Realm instance
@@ -111,19 +177,14 @@ class RealmCache {
 
             if (realmClass == Realm.class) {
                 // RealmMigrationNeededException might be thrown here.
-                realm = Realm.createInstance(configuration, cache.typedColumnIndices);
+                realm = Realm.createInstance(configuration, typedColumnIndices);
             } else if (realmClass == DynamicRealm.class) {
                 realm = DynamicRealm.createInstance(configuration);
             } else {
                 throw new IllegalArgumentException(WRONG_REALM_CLASS_MESSAGE);
             }
 
-            // The Realm instance has been created without exceptions. Cache and reference count can be updated now.
-
-            // The cache is not in the map yet. Add it to the map after the Realm instance created successfully.
-            if (!isCacheInMap) {
-                cachesMap.put(configuration.getPath(), cache);
-            }
+            // The Realm instance has been created without exceptions. The reference count can be updated now.
             refAndCount.localRealm.set(realm);
             refAndCount.localCount.set(0);
         }
@@ -131,7 +192,7 @@ class RealmCache {
         Integer refCount = refAndCount.localCount.get();
         if (refCount == 0) {
             if (realmClass == Realm.class && refAndCount.globalCount == 0) {
-                cache.typedColumnIndices = refAndCount.localRealm.get().schema.columnIndices;
+                typedColumnIndices = refAndCount.localRealm.get().schema.columnIndices;
             }
             // This is the first instance in current thread, increase the global count.
             refAndCount.globalCount++;
@@ -143,22 +204,62 @@ class RealmCache {
         return realm;
     }
 
+    // Must be called while holding the lock of this cache.
+    private int getTotalGlobalCount() {
+        int totalRefCount = 0;
+        for (RealmCacheType type : RealmCacheType.values()) {
+            totalRefCount += refAndCountMap.get(type).globalCount;
+        }
+        return totalRefCount;
+    }
+
+    // Removes this cache from the map if no instance refers to it anymore. Must be called while holding the lock of
+    // this cache.
+    private void removeIfUnused() {
+        if (!removed && openingCount == 0 && getTotalGlobalCount() == 0) {
+            cachesMap.remove(configuration.getPath(), this);
+            removed = true;
+        }
+    }
+
     /**
      * Releases a given {@link Realm} or {@link DynamicRealm} from cache. The instance will be closed by this method
      * if there is no more local reference to this Realm instance in current Thread.
      *
      * @param realm Realm instance to be released from cache.
      */
-    static synchronized void release(BaseRealm realm) {
+    static void release(BaseRealm realm) {
+        // Fast path: the current thread still holds other references, so the instance stays open.
+        RealmCache cache = cachesMap.get(realm.getPath());
+        if (cache != null) {
+            RefAndCount refAndCount = cache.refAndCountMap.get(RealmCacheType.valueOf(realm.getClass()));
+            Integer refCount = refAndCount.localCount.get();
+            if (refCount != null && refCount > 1) {
+                refAndCount.localCount.set(refCount - 1);
+                return;
+            }
+        }
+        releaseLocked(realm);
+    }
+
+    private static void releaseLocked(BaseRealm realm) {
         String canonicalPath = realm.getPath();
         RealmCache cache = cachesMap.get(canonicalPath);
-        Integer refCount = null;
-        RefAndCount refAndCount = null;
-
-        if (cache != null) {
-            refAndCount = cache.refAndCountMap.get(RealmCacheType.valueOf(realm.getClass()));
-            refCount = refAndCount.localCount.get();
+        if (cache == null) {
+            RealmLog.w("Realm " + canonicalPath + " has been closed already.");
+            return;
+        }
+        // The cache can't be removed while this thread holds an instance, and if it doesn't, there is nothing to do.
+        synchronized (cache) {
+            cache.releaseInstance(realm);
         }
+    }
+
+    // Must be called while holding the lock of this cache.
+    private void releaseInstance(BaseRealm realm) {
+        String canonicalPath = realm.getPath();
+        RefAndCount refAndCount = refAndCountMap.get(RealmCacheType.valueOf(realm.getClass()));
+        Integer refCount = refAndCount.localCount.get();
         if (refCount == null) {
             refCount = 0;
         }
@@ -178,8 +279,7 @@ class RealmCache {
             refAndCount.localRealm.set(null);
 
             // Clear global counter
-            refAndCount.globalCount--;
-            if (refAndCount.globalCount < 0) {
+            if (--refAndCount.globalCount < 0) {
                 // Should never happen.
                 throw new IllegalStateException("Global reference counter of Realm" + canonicalPath +
                         " got corrupted.");
@@ -188,17 +288,11 @@ class RealmCache {
             // Clear the column indices cache if needed
             if (realm instanceof Realm && refAndCount.globalCount == 0) {
                 // All typed Realm instances of this file are cleared from cache
-                cache.typedColumnIndices = null;
+                typedColumnIndices = null;
             }
 
-            int totalRefCount = 0;
-            for (RealmCacheType type : RealmCacheType.values()) {
-                totalRefCount += cache.refAndCountMap.get(type).globalCount;
-            }
             // No more instance of typed Realm and dynamic Realm. Remove the configuration from cache.
-            if (totalRefCount == 0) {
-                cachesMap.remove(canonicalPath);
-            }
+            removeIfUnused();
 
             // No more local reference to this Realm in current thread, close the instance.
             realm.doClose();
@@ -231,21 +325,30 @@ class RealmCache {
 
     /**
      * Runs the callback function with the total reference count of {@link Realm} and {@link DynamicRealm} who refer to
-     * the given {@link RealmConfiguration}.
+     * the given {@link RealmConfiguration}. No instance of the Realm file can be opened or closed while the callback
+     * runs, and the callbacks of different files don't run concurrently either.
      *
      * @param configuration the {@link RealmConfiguration} of {@link Realm} or {@link DynamicRealm}.
      * @param callback the callback will be executed with the global reference count.
      */
-    static synchronized void invokeWithGlobalRefCount(RealmConfiguration configuration, Callback callback) {
-        RealmCache cache = cachesMap.get(configuration.getPath());
-        if (cache == null) {
-            callback.onResult(0);
-            return;
-        }
-        int totalRefCount = 0;
-        for (RealmCacheType type : RealmCacheType.values()) {
-            totalRefCount += cache.refAndCountMap.get(type).globalCount;
+    static void invokeWithGlobalRefCount(RealmConfiguration configuration, Callback callback) {
+        while (true) {
+            RealmCache cache = getOrAddCache(configuration);
+            // The class lock is always taken after the lock of the cache, as the callback of a migration needed while
+            // opening a Realm runs while holding the lock of its cache.
+            synchronized (cache) {
+                if (cache.removed) {
+                    continue;
+                }
+                synchronized (RealmCache.class) {
+                    try {
+                        callback.onResult(cache.getTotalGlobalCount());
+                    } finally {
+                        cache.removeIfUnused();
+                    }
+                }
+                return;
+            }
         }
-        callback.onResult(totalRefCount);
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import io.realm.internal.async.RowDiff;
+
+/**
+ * Describes how the objects of a {@link RealmResults} changed since the previous notification, so a list UI can update
+ * only the affected items instead of rebinding all of them.
+ * <p>
+ * Deletions are indices in the previous results. Insertions and modifications are indices in the current results.
+ * Applying the deletions and then the insertions, both in ascending order, to the previous results gives the current
+ * results, except for the order of the objects which moved. Objects which are both moved and modified appear in both.
+ * Deletions, insertions, modifications and {@link #getMovesTo()} are sorted in ascending order. {@link #getMovesFrom()}
+ * is in the same order as {@link #getMovesTo()}, so it is not necessarily sorted.
+ *
+ * @see RealmResults#addChangeSetListener(RealmChangeSetListener)
+ */
+public final class RealmChangeSet {
+
+    private final int[] deletions;
+    private final int[] insertions;
+    private final int[] modifications;
+    private final int[] movesFrom;
+    private final int[] movesTo;
+
+    RealmChangeSet(int[][] changes) {
+        this.deletions = changes[RowDiff.DELETIONS];
+        this.insertions = changes[RowDiff.INSERTIONS];
+        this.modifications = changes[RowDiff.MODIFICATIONS];
+        this.movesFrom = changes[RowDiff.MOVES_FROM];
+        this.movesTo = changes[RowDiff.MOVES_TO];
+    }
+
+    /**
+     * Returns the indices of the removed objects and of the objects which no longer match the query, in the previous
+     * results.
+     */
+    public int[] getDeletions() {
+        return deletions.clone();
+    }
+
+    /**
+     * Returns the indices of the added objects and of the objects which now match the query, in the current results.
+     */
+    public int[] getInsertions() {
+        return insertions.clone();
+    }
+
+    /**
+     * Returns the indices of the objects whose values have changed, in the current results. Changes to objects they
+     * link to are not included.
+     */
+    public int[] getModifications() {
+        return modifications.clone();
+    }
+
+    /**
+     * Returns the indices in the previous results of the objects which moved. The new index of each is at the same
+     * position in {@link #getMovesTo()}, so the indices are ordered by the new index rather than sorted.
+     */
+    public int[] getMovesFrom() {
+        return movesFrom.clone();
+    }
+
+    /**
+     * Returns the indices in the current results of the objects which moved. The previous index of each is at the same
+     * position in {@link #getMovesFrom()}.
+     */
+    public int[] getMovesTo() {
+        return movesTo.clone();
+    }
+
+    /**
+     * Checks if nothing has changed.
+     *
+     * @return {@code true} if there are no deletions, insertions, modifications or moves, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return deletions.length == 0 && insertions.length == 0 && modifications.length == 0 && movesFrom.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RealmChangeSet{deletions=" + deletions.length + ", insertions=" + insertions.length
+                + ", modifications=" + modifications.length + ", moves=" + movesFrom.length + "}";
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * RealmChangeSetListener can be registered with a {@link RealmResults} of an asynchronous query to be told which of
+ * its objects were inserted, deleted, modified or moved by a commit.
+ * <p>
+ * The changes are computed on the background thread updating the asynchronous queries. Listeners are not called if
+ * nothing changed.
+ *
+ * @see RealmResults#addChangeSetListener(RealmChangeSetListener)
+ */
+public interface RealmChangeSetListener {
+
+    /**
+     * Called when the results have changed. The first call, once the results are loaded, lists all objects as
+     * inserted.
+     *
+     * @param changes the changes since the previous call.
+     */
+    void onChange(RealmChangeSet changes);
+}
@@ -77,6 +77,7 @@ public class RealmConfiguration {
     private final boolean deleteRealmIfMigrationNeeded;
     private final SharedGroup.Durability durability;
     private final RealmProxyMediator schemaMediator;
+    private final QueryProfileListener queryProfileListener;
 
     private RealmConfiguration(Builder builder) {
         this.realmFolder = builder.folder;
@@ -88,6 +89,7 @@ public class RealmConfiguration {
         this.migration = builder.migration;
         this.durability = builder.durability;
         this.schemaMediator = createSchemaMediator(builder);
+        this.queryProfileListener = builder.queryProfileListener;
     }
 
     public File getRealmFolder() {
@@ -118,6 +120,16 @@ public class RealmConfiguration {
         return durability;
     }
 
+    /**
+     * Returns the listener receiving the timings of all queries, if query profiling is enabled.
+     *
+     * @return the listener or {@code null} if queries aren't profiled.
+     * @see Builder#queryProfileListener(QueryProfileListener)
+     */
+    public QueryProfileListener getQueryProfileListener() {
+        return queryProfileListener;
+    }
+
     /**
      * Returns the mediator instance of schema which is defined by this configuration.
      * This method is left public by mistake and will be removed.
@@ -158,6 +170,7 @@ public class RealmConfiguration {
         if (!Arrays.equals(key, that.key)) return false;
         if (!durability.equals(that.durability)) return false;
         if (migration != null ? !migration.equals(that.migration) : that.migration != null) return false;
+        if (queryProfileListener != null ? !queryProfileListener.equals(that.queryProfileListener) : that.queryProfileListener != null) return false;
         return schemaMediator.equals(that.schemaMediator);
     }
 
@@ -172,6 +185,7 @@ public class RealmConfiguration {
         result = 31 * result + (deleteRealmIfMigrationNeeded ? 1 : 0);
         result = 31 * result + schemaMediator.hashCode();
         result = 31 * result + durability.hashCode();
+        result = 31 * result + (queryProfileListener != null ? queryProfileListener.hashCode() : 0);
 
         return result;
     }
@@ -244,6 +258,8 @@ public class RealmConfiguration {
         stringBuilder.append("\n");
         stringBuilder.append("durability: "); stringBuilder.append(durability);
         stringBuilder.append("\n");
+        stringBuilder.append("queryProfileListener: "); stringBuilder.append(queryProfileListener);
+        stringBuilder.append("\n");
         stringBuilder.append("schemaMediator: "); stringBuilder.append(schemaMediator);
 
         return stringBuilder.toString();
@@ -260,6 +276,7 @@ public class RealmConfiguration {
         private RealmMigration migration;
         private boolean deleteRealmIfMigrationNeeded;
         private SharedGroup.Durability durability;
+        private QueryProfileListener queryProfileListener;
         private HashSet<Object> modules = new HashSet<Object>();
         private HashSet<Class<? extends RealmObject>> debugSchema = new HashSet<Class<? extends RealmObject>>();
 
@@ -307,6 +324,7 @@ public class RealmConfiguration {
             this.migration = null;
             this.deleteRealmIfMigrationNeeded = false;
             this.durability = SharedGroup.Durability.FULL;
+            this.queryProfileListener = null;
             if (DEFAULT_MODULE != null) {
                 this.modules.add(DEFAULT_MODULE);
             }
@@ -381,6 +399,23 @@ public class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Enables query profiling. The listener is called with the timings of every query run using
+         * {@code findAll()}, {@code findAllSorted()}, {@code findFirst()} and {@code count()} of a {@link RealmQuery}
+         * and of {@code findAllAsync()} and {@code findAllSortedAsync()}, on the thread which created the query. Profiling adds two clock reads
+         * per measured phase, so it should only be enabled while investigating performance.
+         *
+         * @param listener the listener receiving a {@link QueryProfile} for each query.
+         * @see RealmQuery#estimate()
+         */
+        public Builder queryProfileListener(QueryProfileListener listener) {
+            if (listener == null) {
+                throw new IllegalArgumentException("A non-null listener must be provided");
+            }
+            this.queryProfileListener = listener;
+            return this;
+        }
+
         /**
          * Setting this will create an in-memory Realm instead of saving it to disk. In-memory Realms might still use
          * disk space if memory is running low, but all files created by an in-memory Realm will be deleted when the
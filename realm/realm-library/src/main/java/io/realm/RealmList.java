@@ -18,11 +18,14 @@ package io.realm;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import io.realm.exceptions.RealmException;
 import io.realm.internal.LinkView;
+import io.realm.internal.Table;
 
 /**
  * RealmList is used to model one-to-many relationships in a {@link io.realm.RealmObject}.
@@ -212,10 +215,236 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
         return object;
     }
 
+    /**
+     * Adds all objects of a collection at the end of this List. In managed mode all links are added in a single native
+     * call. Objects which are not managed by the Realm of this list are copied to it, as in {@link #add(RealmObject)}.
+     *
+     * @param objects the objects to add.
+     * @return {@code true} if this List was changed.
+     * @throws IllegalArgumentException if the collection contains {@code null}.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> objects) {
+        if (managedMode) {
+            checkValidView();
+            view.addAll(getRowIndexes(objects));
+        } else {
+            checkValidObjects(objects);
+            nonManagedList.addAll(objects);
+        }
+        return !objects.isEmpty();
+    }
+
+    /**
+     * Inserts all objects of a collection into this List at the specified location. In managed mode all links are
+     * inserted in a single native call.
+     *
+     * @param location the index at which to insert.
+     * @param objects the objects to insert.
+     * @return {@code true} if this List was changed.
+     * @throws IllegalArgumentException if the collection contains {@code null}.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     * @throws IndexOutOfBoundsException if {@code location < 0 || location > size()}.
+     * @see #addAll(Collection)
+     */
+    @Override
+    public boolean addAll(int location, Collection<? extends E> objects) {
+        if (managedMode) {
+            checkValidView();
+            view.insertAll(location, getRowIndexes(objects));
+        } else {
+            checkValidObjects(objects);
+            nonManagedList.addAll(location, objects);
+        }
+        return !objects.isEmpty();
+    }
+
+    /**
+     * Replaces all elements of this List by the objects of a collection. In managed mode this is done in a single
+     * native call, which only changes the positions holding another object than before.
+     *
+     * @param objects the new elements.
+     * @throws IllegalArgumentException if the collection contains {@code null}.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     * @see #addAll(Collection)
+     */
+    public void setAll(Collection<? extends E> objects) {
+        if (managedMode) {
+            checkValidView();
+            view.setAll(getRowIndexes(objects));
+        } else {
+            checkValidObjects(objects);
+            nonManagedList.clear();
+            nonManagedList.addAll(objects);
+        }
+    }
+
+    /**
+     * Removes the elements from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive. The objects are only
+     * removed from this List, not from the Realm.
+     *
+     * @param fromIndex the index of the first element to remove.
+     * @param toIndex the index after the last element to remove.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || toIndex > size() || toIndex < fromIndex}.
+     */
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (managedMode) {
+            checkValidView();
+            view.removeRange(fromIndex, toIndex);
+        } else {
+            if (fromIndex < 0 || toIndex > nonManagedList.size() || toIndex < fromIndex) {
+                throw new IndexOutOfBoundsException("Invalid range [" + fromIndex + ", " + toIndex + "[, size is " +
+                        nonManagedList.size());
+            }
+            nonManagedList.subList(fromIndex, toIndex).clear();
+        }
+    }
+
+    /**
+     * Removes all elements which are contained in a collection. In managed mode this is done in a single native call.
+     * The objects are only removed from this List, not from the Realm.
+     *
+     * @param objects the objects to remove.
+     * @return {@code true} if this List was changed.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     */
+    @Override
+    public boolean removeAll(Collection<?> objects) {
+        if (managedMode) {
+            checkValidView();
+            return view.removeAll(getContainedRowIndexes(objects));
+        } else {
+            return nonManagedList.removeAll(objects);
+        }
+    }
+
+    /**
+     * Removes all elements which are not contained in a collection. In managed mode this is done in a single native
+     * call. The objects are only removed from this List, not from the Realm.
+     *
+     * @param objects the objects to keep.
+     * @return {@code true} if this List was changed.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     */
+    @Override
+    public boolean retainAll(Collection<?> objects) {
+        if (managedMode) {
+            checkValidView();
+            return view.retainAll(getContainedRowIndexes(objects));
+        } else {
+            return nonManagedList.retainAll(objects);
+        }
+    }
+
+    /**
+     * Sorts the elements of this List in ascending order by a field. Unlike {@link RealmResults#sort(String)} the new
+     * order is stored in the Realm, so this must be done within a transaction.
+     *
+     * @param fieldName the field to sort by. Only fields of type boolean, short, int, long, float, double, Date and
+     *                  String are supported.
+     * @throws IllegalArgumentException if the field does not exist or cannot be sorted by.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     * @throws RealmException if the list is not managed.
+     */
+    public void sort(String fieldName) {
+        sort(fieldName, Sort.ASCENDING);
+    }
+
+    /**
+     * Sorts the elements of this List by a field. The new order is stored in the Realm, so this must be done within a
+     * transaction.
+     *
+     * @param fieldName the field to sort by. Only fields of type boolean, short, int, long, float, double, Date and
+     *                  String are supported.
+     * @param sortOrder the direction to sort by.
+     * @throws IllegalArgumentException if the field does not exist or cannot be sorted by.
+     * @throws IllegalStateException if Realm instance has been closed or parent object has been removed.
+     * @throws RealmException if the list is not managed.
+     * @see #sort(String)
+     */
+    public void sort(String fieldName, Sort sortOrder) {
+        if (!managedMode) {
+            throw new RealmException(ONLY_IN_MANAGED_MODE_MESSAGE);
+        }
+        if (fieldName == null || sortOrder == null) {
+            throw new IllegalArgumentException("Non-null 'fieldName' and 'sortOrder' required.");
+        }
+        checkValidView();
+        Table table = view.getTable();
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        switch (table.getColumnType(columnIndex)) {
+            case BOOLEAN:
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+            case STRING:
+            case DATE:
+                view.sort(columnIndex, sortOrder);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Field '%s' cannot be sorted by.", fieldName));
+        }
+    }
+
+    // Returns the row indexes of all objects, copying them to the Realm of this list if needed.
+    private long[] getRowIndexes(Collection<? extends E> objects) {
+        checkValidObjects(objects);
+        long[] rowIndexes = new long[objects.size()];
+        int i = 0;
+        for (E object : objects) {
+            rowIndexes[i++] = copyToRealmIfNeeded(object).row.getIndex();
+        }
+        return rowIndexes;
+    }
+
+    // Returns the row indexes of the objects which can be in this list, i.e. are managed by its Realm and are of its
+    // type. All other objects are ignored.
+    private long[] getContainedRowIndexes(Collection<?> objects) {
+        String targetTableName = view.getTable().getName();
+        Table lastTable = null;
+        boolean lastTableMatches = false;
+        long[] rowIndexes = new long[objects.size()];
+        int count = 0;
+        for (Object object : objects) {
+            if (!(object instanceof RealmObject)) {
+                continue;
+            }
+            RealmObject realmObject = (RealmObject) object;
+            if (realmObject.row == null || !realmObject.row.isAttached()
+                    || !(realmObject.realm == realm || realmObject.realm.getPath().equals(realm.getPath()))) {
+                continue;
+            }
+            Table table = realmObject.row.getTable();
+            if (table != lastTable) {
+                lastTable = table;
+                lastTableMatches = table.getName().equals(targetTableName);
+            }
+            if (lastTableMatches) {
+                rowIndexes[count++] = realmObject.row.getIndex();
+            }
+        }
+        return (count == rowIndexes.length) ? rowIndexes : Arrays.copyOf(rowIndexes, count);
+    }
+
+    private void checkValidObjects(Collection<? extends E> objects) {
+        if (objects == null) {
+            throw new IllegalArgumentException("Non-null 'objects' required.");
+        }
+        for (E object : objects) {
+            checkValidObject(object);
+        }
+    }
+
     // Transparently copies a standalone object or managed object from another Realm to the Realm backing this RealmList.
     private E copyToRealmIfNeeded(E object) {
         // Object is already in this realm
-        if (object.row != null && object.realm.getPath().equals(realm.getPath())) {
+        if (object.row != null && (object.realm == realm || object.realm.getPath().equals(realm.getPath()))) {
             return object;
         }
 
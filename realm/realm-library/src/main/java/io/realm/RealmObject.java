@@ -194,12 +194,16 @@ public abstract class RealmObject {
             long nativeRowPointer = TableQuery.nativeImportHandoverRowIntoSharedGroup(handoverRowPointer, realm.sharedGroupManager.getNativePointer());
             Table table = realm.schema.getTable(getClass());
             this.row = table.getUncheckedRowByPointer(nativeRowPointer);
+            if (!listeners.isEmpty()) {
+                registerTableChangeListener();
+            }
             notifyChangeListeners();
         }// else: already loaded query no need to import again the pointer
     }
 
     /**
-     * Adds a change listener to this RealmObject.
+     * Adds a change listener to this RealmObject. It is notified when an asynchronous query has loaded the object
+     * and afterwards when objects of its class have been changed. Changes to other classes don't notify it.
      *
      * @param listener the change listener to be notified.
      */
@@ -215,6 +219,9 @@ public abstract class RealmObject {
         if (!listeners.contains(listener)) {
             listeners.add(listener);
         }
+        if (isLoaded()) {
+            registerTableChangeListener();
+        }
     }
 
     /**
@@ -246,6 +253,13 @@ public abstract class RealmObject {
         listeners.clear();
     }
 
+    // Listeners are notified when the table of this object has changed. Async queries register once loaded.
+    private void registerTableChangeListener() {
+        if (row.isAttached()) {
+            realm.tableChangeListeners.addObject(row.getTable(), this);
+        }
+    }
+
     /**
      * Notifies all registered listeners.
      */
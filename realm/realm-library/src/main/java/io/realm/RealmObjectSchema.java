@@ -25,7 +25,12 @@ import java.util.Map;
 import java.util.Set;
 
 import io.realm.annotations.Required;
+import io.realm.internal.BacklinkIndex;
+import io.realm.internal.CaseInsensitiveIndex;
+import io.realm.internal.CompositeIndex;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.OrderedIndex;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 
@@ -109,7 +114,17 @@ public final class RealmObjectSchema {
         if (transaction.hasTable(internalTableName)) {
             throw new IllegalArgumentException("Class already exists: " + className);
         }
+        String oldClassName = getClassName();
+        for (long i = 0; i < table.getColumnCount(); i++) {
+            String fieldName = table.getColumnName(i);
+            FullTextIndex.renameIndex(transaction, oldClassName, fieldName, className, fieldName);
+            CaseInsensitiveIndex.renameIndex(transaction, oldClassName, fieldName, className, fieldName);
+            OrderedIndex.renameIndex(transaction, oldClassName, fieldName, className, fieldName);
+            BacklinkIndex.renameIndex(transaction, oldClassName, fieldName, className, fieldName);
+        }
+        CompositeIndex.renameClass(transaction, oldClassName, className);
         transaction.renameTable(table.getName(), internalTableName);
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -150,6 +165,7 @@ public final class RealmObjectSchema {
             table.removeColumn(columnIndex);
             throw e;
         }
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -165,6 +181,7 @@ public final class RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.OBJECT, fieldName, transaction.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -180,6 +197,7 @@ public final class RealmObjectSchema {
         checkLegalName(fieldName);
         checkFieldNameIsAvailable(fieldName);
         table.addColumnLink(RealmFieldType.LIST, fieldName, transaction.getTable(Table.TABLE_PREFIX + objectSchema.getClassName()));
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -199,7 +217,13 @@ public final class RealmObjectSchema {
         if (table.getPrimaryKey() == columnIndex) {
             table.setPrimaryKey(null);
         }
+        FullTextIndex.removeIndex(transaction, table, columnIndex);
+        CaseInsensitiveIndex.removeIndex(transaction, table, columnIndex);
+        OrderedIndex.removeIndex(transaction, table, columnIndex);
+        BacklinkIndex.removeIndex(transaction, table, columnIndex);
+        CompositeIndex.removeIndexes(transaction, table, columnIndex);
         table.removeColumn(columnIndex);
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -217,7 +241,13 @@ public final class RealmObjectSchema {
         checkLegalName(newFieldName);
         checkFieldNameIsAvailable(newFieldName);
         long columnIndex = getColumnIndex(currentFieldName);
+        FullTextIndex.renameIndex(transaction, getClassName(), currentFieldName, getClassName(), newFieldName);
+        CaseInsensitiveIndex.renameIndex(transaction, getClassName(), currentFieldName, getClassName(), newFieldName);
+        OrderedIndex.renameIndex(transaction, getClassName(), currentFieldName, getClassName(), newFieldName);
+        BacklinkIndex.renameIndex(transaction, getClassName(), currentFieldName, getClassName(), newFieldName);
+        CompositeIndex.renameField(transaction, getClassName(), currentFieldName, newFieldName);
         table.renameColumn(columnIndex, newFieldName);
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -248,6 +278,38 @@ public final class RealmObjectSchema {
             throw new IllegalStateException(fieldName + " already has an index.");
         }
         table.addSearchIndex(columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Adds an index to a given field. Using {@link Case#INSENSITIVE} also indexes the case folded values of a String
+     * field, so case insensitive {@code equalTo()} and {@code beginsWith()} queries can use the index. This is the
+     * equivalent of adding {@code @Index(caseInsensitive = true)} on the field.
+     *
+     * @param fieldName field to add index to.
+     * @param casing {@link Case#SENSITIVE} to add a normal index, {@link Case#INSENSITIVE} to add a case insensitive
+     * index as well.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists or the field cannot be indexed.
+     * @throws IllegalStateException if the field already has the requested index.
+     * @see io.realm.annotations.Index#caseInsensitive()
+     */
+    public RealmObjectSchema addIndex(String fieldName, Case casing) {
+        if (casing == Case.SENSITIVE) {
+            return addIndex(fieldName);
+        }
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (CaseInsensitiveIndex.hasIndex(transaction, table, columnIndex)) {
+            throw new IllegalStateException(fieldName + " already has a case insensitive index.");
+        }
+        CaseInsensitiveIndex.addIndex(transaction, table, columnIndex);
+        if (!table.hasSearchIndex(columnIndex)) {
+            table.addSearchIndex(columnIndex);
+        }
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -264,9 +326,27 @@ public final class RealmObjectSchema {
         return table.hasSearchIndex(table.getColumnIndex(fieldName));
     }
 
+    /**
+     * Checks if a given field has an index defined for the given casing.
+     *
+     * @param fieldName existing field name to check.
+     * @param casing {@link Case#INSENSITIVE} to check for a case insensitive index.
+     * @return {@code true} if field is indexed, {@code false} otherwise.
+     * @see io.realm.annotations.Index#caseInsensitive()
+     */
+    public boolean hasIndex(String fieldName, Case casing) {
+        if (casing == Case.SENSITIVE) {
+            return hasIndex(fieldName);
+        }
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return CaseInsensitiveIndex.hasIndex(transaction, table, getColumnIndex(fieldName));
+    }
+
 
     /**
      * Removes an index from a given field. This is the same as removing the {@code @Index} annotation on the field.
+     * A case insensitive index is removed as well.
      *
      * @param fieldName field to remove index from.
      * @return the updated schema.
@@ -280,6 +360,234 @@ public final class RealmObjectSchema {
             throw new IllegalStateException("Field is not indexed: " + fieldName);
         }
         table.removeSearchIndex(columnIndex);
+        CaseInsensitiveIndex.removeIndex(transaction, table, columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Adds a full-text index to a given field and indexes all existing values. This is the equivalent of adding the
+     * {@link io.realm.annotations.FullTextIndex} annotation on the field.
+     *
+     * @param fieldName field to add the full-text index to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists or the field isn't a String field.
+     * @throws IllegalStateException if the field already has a full-text index.
+     */
+    public RealmObjectSchema addFullTextIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (FullTextIndex.hasIndex(transaction, table, columnIndex)) {
+            throw new IllegalStateException(fieldName + " already has a full-text index.");
+        }
+        FullTextIndex.addIndex(transaction, table, columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Checks if a given field has a full-text index defined.
+     *
+     * @param fieldName existing field name to check.
+     * @return {@code true} if field has a full-text index, {@code false} otherwise.
+     * @see io.realm.annotations.FullTextIndex
+     */
+    public boolean hasFullTextIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return FullTextIndex.hasIndex(transaction, table, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Removes the full-text index from a given field. This is the same as removing the {@code @FullTextIndex}
+     * annotation on the field.
+     *
+     * @param fieldName field to remove the full-text index from.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists.
+     * @throws IllegalStateException if the field doesn't have a full-text index.
+     */
+    public RealmObjectSchema removeFullTextIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (!FullTextIndex.hasIndex(transaction, table, columnIndex)) {
+            throw new IllegalStateException("Field doesn't have a full-text index: " + fieldName);
+        }
+        FullTextIndex.removeIndex(transaction, table, columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Adds an ordered index to a given field and indexes all existing values. This is the equivalent of adding the
+     * {@link io.realm.annotations.Index} annotation with {@code type = IndexType.ORDERED} on the field.
+     * <p>
+     * {@code between()} queries and {@code greaterThan()} combined with {@code lessThan()} on the field only evaluate
+     * the objects in a bucket of the index holding the range. {@code findAllSorted()} in ascending order of the field
+     * doesn't need to sort if the field is required or the candidates are taken from the index.
+     *
+     * @param fieldName field to add the ordered index to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists or the field isn't an integer, float, double or
+     * Date field.
+     * @throws IllegalStateException if the field already has an ordered index.
+     */
+    public RealmObjectSchema addOrderedIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (OrderedIndex.hasIndex(transaction, table, columnIndex)) {
+            throw new IllegalStateException(fieldName + " already has an ordered index.");
+        }
+        OrderedIndex.addIndex(transaction, table, columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Checks if a given field has an ordered index defined.
+     *
+     * @param fieldName existing field name to check.
+     * @return {@code true} if field has an ordered index, {@code false} otherwise.
+     * @see io.realm.annotations.IndexType#ORDERED
+     */
+    public boolean hasOrderedIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return OrderedIndex.hasIndex(transaction, table, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Removes the ordered index from a given field. This is the same as removing the {@code @Index} annotation with
+     * {@code type = IndexType.ORDERED} on the field.
+     *
+     * @param fieldName field to remove the ordered index from.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists.
+     * @throws IllegalStateException if the field doesn't have an ordered index.
+     */
+    public RealmObjectSchema removeOrderedIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (!OrderedIndex.hasIndex(transaction, table, columnIndex)) {
+            throw new IllegalStateException("Field doesn't have an ordered index: " + fieldName);
+        }
+        OrderedIndex.removeIndex(transaction, table, columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Adds a backlink index to a given {@link RealmObject} field and indexes all existing links. This is done for
+     * every field referred to by a {@link io.realm.annotations.LinkingObjects} annotation in the class linked to.
+     * <p>
+     * {@code linksTo()} queries on the field only evaluate the objects linking to the given object.
+     *
+     * @param fieldName field to add the backlink index to.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists or the field isn't a {@link RealmObject} field.
+     * @throws IllegalStateException if the field already has a backlink index.
+     */
+    public RealmObjectSchema addBacklinkIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (BacklinkIndex.hasIndex(transaction, table, columnIndex)) {
+            throw new IllegalStateException(fieldName + " already has a backlink index.");
+        }
+        BacklinkIndex.addIndex(transaction, table, columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Checks if a given field has a backlink index defined.
+     *
+     * @param fieldName existing field name to check.
+     * @return {@code true} if field has a backlink index, {@code false} otherwise.
+     * @see io.realm.annotations.LinkingObjects
+     */
+    public boolean hasBacklinkIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        return BacklinkIndex.hasIndex(transaction, table, getColumnIndex(fieldName));
+    }
+
+    /**
+     * Removes the backlink index from a given field. This is the same as removing the
+     * {@code @LinkingObjects} field referring to it from the class linked to.
+     *
+     * @param fieldName field to remove the backlink index from.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if field name doesn't exists.
+     * @throws IllegalStateException if the field doesn't have a backlink index.
+     */
+    public RealmObjectSchema removeBacklinkIndex(String fieldName) {
+        checkLegalName(fieldName);
+        checkFieldExists(fieldName);
+        long columnIndex = getColumnIndex(fieldName);
+        if (!BacklinkIndex.hasIndex(transaction, table, columnIndex)) {
+            throw new IllegalStateException("Field doesn't have a backlink index: " + fieldName);
+        }
+        BacklinkIndex.removeIndex(transaction, table, columnIndex);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Adds a composite index over several fields and indexes all existing objects. This is the equivalent of adding the
+     * {@link io.realm.annotations.CompositeIndex} annotation on the class.
+     * <p>
+     * Queries having {@code equalTo()} conditions on the first fields of the index, in index order, only evaluate the
+     * rest of the query for the objects having these values. E.g. an index over {@code ("owner", "date")} serves both
+     * {@code equalTo("owner", owner)} and {@code equalTo("owner", owner).between("date", from, to)}.
+     *
+     * @param fieldNames the fields to index, in index order. Only String, integer, boolean and Date fields can be
+     * indexed.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if a field name doesn't exists, less than two or duplicated fields are given or
+     * a field cannot be indexed.
+     * @throws IllegalStateException if the fields already have a composite index in that order.
+     */
+    public RealmObjectSchema addCompositeIndex(String... fieldNames) {
+        long[] columnIndices = getIndexedColumns(fieldNames);
+        if (CompositeIndex.hasIndex(transaction, table, columnIndices)) {
+            throw new IllegalStateException("Fields already have a composite index: " + Arrays.toString(fieldNames));
+        }
+        CompositeIndex.addIndex(transaction, table, columnIndices);
+        realm.onSchemaChanged();
+        return this;
+    }
+
+    /**
+     * Checks if the given fields have a composite index in that order.
+     *
+     * @param fieldNames existing field names to check.
+     * @return {@code true} if the fields have a composite index, {@code false} otherwise.
+     * @see io.realm.annotations.CompositeIndex
+     */
+    public boolean hasCompositeIndex(String... fieldNames) {
+        return CompositeIndex.hasIndex(transaction, table, getIndexedColumns(fieldNames));
+    }
+
+    /**
+     * Removes a composite index. This is the same as removing the {@code @CompositeIndex} annotation on the class.
+     *
+     * @param fieldNames the indexed fields, in index order.
+     * @return the updated schema.
+     * @throws IllegalArgumentException if a field name doesn't exists.
+     * @throws IllegalStateException if the fields don't have a composite index in that order.
+     */
+    public RealmObjectSchema removeCompositeIndex(String... fieldNames) {
+        long[] columnIndices = getIndexedColumns(fieldNames);
+        if (!CompositeIndex.hasIndex(transaction, table, columnIndices)) {
+            throw new IllegalStateException("Fields don't have a composite index: " + Arrays.toString(fieldNames));
+        }
+        CompositeIndex.removeIndex(transaction, table, columnIndices);
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -299,6 +607,7 @@ public final class RealmObjectSchema {
             throw new IllegalStateException("A primary key is already defined");
         }
         table.setPrimaryKey(fieldName);
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -314,6 +623,7 @@ public final class RealmObjectSchema {
             throw new IllegalStateException(getClassName() + " doesn't have a primary key.");
         }
         table.setPrimaryKey("");
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -351,6 +661,7 @@ public final class RealmObjectSchema {
         } else {
             table.convertColumnToNullable(columnIndex);
         }
+        realm.onSchemaChanged();
         return this;
     }
 
@@ -418,6 +729,19 @@ public final class RealmObjectSchema {
         return columnNames;
     }
 
+    /**
+     * Returns a handle for a field, which can be used to access the field of {@link DynamicRealmObject}s and to query
+     * it without looking up its name again.
+     *
+     * @param fieldName name of the field.
+     * @return the handle of the field.
+     * @throws IllegalArgumentException if the field doesn't exist.
+     * @see FieldHandle
+     */
+    public FieldHandle getFieldHandle(String fieldName) {
+        return new FieldHandle(realm, table, fieldName, getColumnIndex(fieldName));
+    }
+
     /**
      * Runs a transformation function on each RealmObject instance of the current class. The object will be represented
      * as a {@link DynamicRealmObject}.
@@ -512,6 +836,16 @@ public final class RealmObjectSchema {
         return columnIndex;
     }
 
+    private long[] getIndexedColumns(String[] fieldNames) {
+        long[] columnIndices = new long[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            checkLegalName(fieldNames[i]);
+            checkFieldExists(fieldNames[i]);
+            columnIndices[i] = getColumnIndex(fieldNames[i]);
+        }
+        return columnIndices;
+    }
+
     private void checkEmpty(String str) {
         if (str == null || str.isEmpty()) {
             throw new IllegalArgumentException("Null or empty class names are not allowed");
@@ -21,7 +21,9 @@ import android.os.Handler;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -30,10 +32,17 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
 import io.realm.annotations.Required;
+import io.realm.internal.BacklinkIndex;
+import io.realm.internal.CaseInsensitiveIndex;
+import io.realm.internal.CompositeIndex;
+import io.realm.internal.FullTextIndex;
+import io.realm.internal.Group;
 import io.realm.internal.LinkView;
+import io.realm.internal.OrderedIndex;
 import io.realm.internal.Row;
 import io.realm.internal.SharedGroup;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 import io.realm.internal.async.ArgumentsHolder;
@@ -66,12 +75,40 @@ public class RealmQuery<E extends RealmObject> {
     private Table table;
     private RealmObjectSchema schema;
     private LinkView view;
+    private TableOrView results;
     private TableQuery query;
     private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
 
     private final static Long INVALID_NATIVE_POINTER = 0L;
+    private final static long NO_SORT_COLUMN = -1;
     private ArgumentsHolder argumentsHolder;
 
+    // Conditions which can be answered using a full-text, case insensitive, composite, ordered or backlink index. They are only collected
+    // for queries on a whole table and only used as long as they are combined with the rest of the query using AND.
+    private boolean indexesAllowed;
+    private int groupDepth;
+    private List<Long> indexedConditionColumns;
+    private List<Object> indexedConditionValues;
+    private List<IndexedCondition> indexedConditionTypes;
+    // The candidates chosen by applyIndexes() or null if it hasn't run yet.
+    private Candidates plan;
+
+    // The conditions and operators as added by the user, for estimate() and query profiling. They are only formatted
+    // when a description is needed. A condition is its name, field name and arguments, an operator its name only.
+    private final List<Object[]> descriptionParts = new ArrayList<Object[]>();
+
+    private enum IndexedCondition {
+        EQUAL_TO,
+        BEGINS_WITH,
+        SUBSTRING,
+        // Case sensitive equality of any type, including null.
+        VALUE_EQUAL_TO,
+        LOWER_BOUND,
+        UPPER_BOUND,
+        // A link to the row with the given index.
+        LINKS_TO
+    }
+
     /**
      * Creates a query for objects of a given class from a {@link Realm}.
      *
@@ -136,6 +173,7 @@ public class RealmQuery<E extends RealmObject> {
         this.table = schema.table;
         this.view = null;
         this.query = table.where();
+        this.indexesAllowed = true;
     }
 
     private RealmQuery(RealmResults<E> queryResults, Class<E> clazz) {
@@ -144,7 +182,8 @@ public class RealmQuery<E extends RealmObject> {
         this.schema = realm.schema.getSchemaForClass(clazz);
         this.table = schema.table;
         this.view = null;
-        this.query = queryResults.getTable().where();
+        this.results = queryResults.getTable();
+        this.query = results.where();
     }
 
     private RealmQuery(BaseRealm realm, LinkView view, Class<E> clazz) {
@@ -162,6 +201,7 @@ public class RealmQuery<E extends RealmObject> {
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
         this.query = table.where();
+        this.indexesAllowed = true;
     }
 
     private RealmQuery(RealmResults<DynamicRealmObject> queryResults, String className) {
@@ -169,7 +209,8 @@ public class RealmQuery<E extends RealmObject> {
         this.className = className;
         this.schema = realm.schema.getSchemaForClass(className);
         this.table = schema.table;
-        this.query = queryResults.getTable().where();
+        this.results = queryResults.getTable();
+        this.query = results.where();
     }
 
     private RealmQuery(BaseRealm realm, LinkView view, String className) {
@@ -215,6 +256,24 @@ public class RealmQuery<E extends RealmObject> {
 
         // checking that fieldName has the correct type is done in C++
         this.query.isNull(columnIndices);
+        describe("isNull", fieldName);
+        return this;
+    }
+
+    /**
+     * Tests if a field is {@code null}. Only works for nullable fields.
+     *
+     * @param field the handle of the field.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class or is not nullable.
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmQuery<E> isNull(FieldHandle field) {
+        long columnIndices[] = getColumnIndices(field);
+
+        // checking that the field has the correct type is done in C++
+        this.query.isNull(columnIndices);
+        describe("isNull", field.fieldName);
         return this;
     }
 
@@ -231,6 +290,24 @@ public class RealmQuery<E extends RealmObject> {
 
         // checking that fieldName has the correct type is done in C++
         this.query.isNotNull(columnIndices);
+        describe("isNotNull", fieldName);
+        return this;
+    }
+
+    /**
+     * Tests if a field is not {@code null}. Only works for nullable fields.
+     *
+     * @param field the handle of the field.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class or is not nullable.
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmQuery<E> isNotNull(FieldHandle field) {
+        long columnIndices[] = getColumnIndices(field);
+
+        // checking that the field has the correct type is done in C++
+        this.query.isNotNull(columnIndices);
+        describe("isNotNull", field.fieldName);
         return this;
     }
 
@@ -253,13 +330,39 @@ public class RealmQuery<E extends RealmObject> {
      *
      * @param fieldName the field to compare.
      * @param value the value to compare with.
-     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only works for English locale characters.
+     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only folds the case of English
+     *                   letters, unless the field has a case insensitive index. Then all values which are equal when
+     *                   folded using the Unicode case mappings match, e.g. "STRASSE" matches "stra&szlig;e".
      * @return the query object.
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
     public RealmQuery<E> equalTo(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
-        this.query.equalTo(columnIndices, value, casing);
+        return equalTo(columnIndices, fieldName, value, casing);
+    }
+
+    /**
+     * Equal-to comparison.
+     *
+     * @param field the handle of the field to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class or isn't a String field.
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmQuery<E> equalTo(FieldHandle field, String value) {
+        return equalTo(getColumnIndices(field, RealmFieldType.STRING), field.fieldName, value, Case.SENSITIVE);
+    }
+
+    private RealmQuery<E> equalTo(long[] columnIndices, String fieldName, String value, Case casing) {
+        if (casing == Case.INSENSITIVE) {
+            equalToIgnoringCase(columnIndices, value);
+            addIndexedCondition(columnIndices, value, IndexedCondition.EQUAL_TO);
+        } else {
+            this.query.equalTo(columnIndices, value, casing);
+            addValueEqualToCondition(columnIndices, value);
+        }
+        describe("equalTo", fieldName, value, casing);
         return this;
     }
 
@@ -278,6 +381,8 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.equalTo(columnIndices, value);
         }
+        addValueEqualToCondition(columnIndices, value);
+        describe("equalTo", fieldName, value);
         return this;
     }
 
@@ -296,6 +401,8 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.equalTo(columnIndices, value);
         }
+        addValueEqualToCondition(columnIndices, value);
+        describe("equalTo", fieldName, value);
         return this;
     }
 
@@ -314,6 +421,8 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.equalTo(columnIndices, value);
         }
+        addValueEqualToCondition(columnIndices, value);
+        describe("equalTo", fieldName, value);
         return this;
     }
 
@@ -326,12 +435,30 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
     public RealmQuery<E> equalTo(String fieldName, Long value) {
-        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
+        return equalTo(schema.getColumnIndices(fieldName, RealmFieldType.INTEGER), fieldName, value);
+    }
+
+    /**
+     * Equal-to comparison.
+     *
+     * @param field the handle of the field to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class or the type doesn't match.
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmQuery<E> equalTo(FieldHandle field, Long value) {
+        return equalTo(getColumnIndices(field, RealmFieldType.INTEGER), field.fieldName, value);
+    }
+
+    private RealmQuery<E> equalTo(long[] columnIndices, String fieldName, Long value) {
         if (value == null) {
             this.query.isNull(columnIndices);
         } else {
             this.query.equalTo(columnIndices, value);
         }
+        addValueEqualToCondition(columnIndices, value);
+        describe("equalTo", fieldName, value);
         return this;
     }
     /**
@@ -343,12 +470,29 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
     public RealmQuery<E> equalTo(String fieldName, Double value) {
-        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
+        return equalTo(schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE), fieldName, value);
+    }
+
+    /**
+     * Equal-to comparison.
+     *
+     * @param field the handle of the field to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class or the type doesn't match.
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmQuery<E> equalTo(FieldHandle field, Double value) {
+        return equalTo(getColumnIndices(field, RealmFieldType.DOUBLE), field.fieldName, value);
+    }
+
+    private RealmQuery<E> equalTo(long[] columnIndices, String fieldName, Double value) {
         if (value == null) {
             this.query.isNull(columnIndices);
         } else {
             this.query.equalTo(columnIndices, value);
         }
+        describe("equalTo", fieldName, value);
         return this;
     }
 
@@ -367,6 +511,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.equalTo(columnIndices, value);
         }
+        describe("equalTo", fieldName, value);
         return this;
     }
 
@@ -379,12 +524,30 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
     public RealmQuery<E> equalTo(String fieldName, Boolean value) {
-        long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.BOOLEAN);
+        return equalTo(schema.getColumnIndices(fieldName, RealmFieldType.BOOLEAN), fieldName, value);
+    }
+
+    /**
+     * Equal-to comparison.
+     *
+     * @param field the handle of the field to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class or the type doesn't match.
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmQuery<E> equalTo(FieldHandle field, Boolean value) {
+        return equalTo(getColumnIndices(field, RealmFieldType.BOOLEAN), field.fieldName, value);
+    }
+
+    private RealmQuery<E> equalTo(long[] columnIndices, String fieldName, Boolean value) {
         if (value == null) {
             this.query.isNull(columnIndices);
         } else {
             this.query.equalTo(columnIndices, value);
         }
+        addValueEqualToCondition(columnIndices, value);
+        describe("equalTo", fieldName, value);
         return this;
     }
 
@@ -397,8 +560,26 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
     public RealmQuery<E> equalTo(String fieldName, Date value) {
-        long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
+        return equalTo(schema.getColumnIndices(fieldName, RealmFieldType.DATE), fieldName, value);
+    }
+
+    /**
+     * Equal-to comparison.
+     *
+     * @param field the handle of the field to compare.
+     * @param value the value to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class or isn't a Date field.
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmQuery<E> equalTo(FieldHandle field, Date value) {
+        return equalTo(getColumnIndices(field, RealmFieldType.DATE), field.fieldName, value);
+    }
+
+    private RealmQuery<E> equalTo(long[] columnIndices, String fieldName, Date value) {
         this.query.equalTo(columnIndices, value);
+        addValueEqualToCondition(columnIndices, value);
+        describe("equalTo", fieldName, value);
         return this;
     }
 
@@ -421,7 +602,8 @@ public class RealmQuery<E extends RealmObject> {
      *
      * @param fieldName the field to compare.
      * @param value the value to compare with.
-     * @param casing     How casing is handled. {@link Case#INSENSITIVE} works only for the English locale characters.
+     * @param casing     How casing is handled. {@link Case#INSENSITIVE} only folds the case of English letters, also if
+     *                   the field has a case insensitive index.
      * @return the query object.
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
@@ -431,6 +613,7 @@ public class RealmQuery<E extends RealmObject> {
             throw new IllegalArgumentException("Link queries cannot be case insensitive - coming soon.");
         }
         this.query.notEqualTo(columnIndices, value, casing);
+        describe("notEqualTo", fieldName, value, casing);
         return this;
     }
 
@@ -449,6 +632,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.notEqualTo(columnIndices, value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -467,6 +651,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.notEqualTo(columnIndices, value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -485,6 +670,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.notEqualTo(columnIndices, value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -503,6 +689,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.notEqualTo(columnIndices, value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -521,6 +708,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.notEqualTo(columnIndices, value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -539,6 +727,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.notEqualTo(columnIndices, value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -557,6 +746,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.equalTo(columnIndices, !value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -575,6 +765,7 @@ public class RealmQuery<E extends RealmObject> {
         } else {
             this.query.notEqualTo(columnIndices, value);
         }
+        describe("notEqualTo", fieldName, value);
         return this;
     }
 
@@ -591,6 +782,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, int value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.greaterThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThan", fieldName, value);
         return this;
     }
 
@@ -605,6 +798,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, long value) {
         long[] columnIndices = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.greaterThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThan", fieldName, value);
         return this;
     }
 
@@ -619,6 +814,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
         this.query.greaterThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThan", fieldName, value);
         return this;
     }
 
@@ -633,6 +830,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
         this.query.greaterThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThan", fieldName, value);
         return this;
     }
 
@@ -647,6 +846,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
         this.query.greaterThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThan", fieldName, value);
         return this;
     }
 
@@ -661,6 +862,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.greaterThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -675,6 +878,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.greaterThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -689,6 +894,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
         this.query.greaterThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -703,6 +910,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
         this.query.greaterThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -717,6 +926,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
         this.query.greaterThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.LOWER_BOUND);
+        describe("greaterThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -733,6 +944,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, int value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.lessThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThan", fieldName, value);
         return this;
     }
 
@@ -747,6 +960,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, long value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.lessThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThan", fieldName, value);
         return this;
     }
 
@@ -761,6 +976,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
         this.query.lessThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThan", fieldName, value);
         return this;
     }
 
@@ -775,6 +992,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
         this.query.lessThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThan", fieldName, value);
         return this;
     }
 
@@ -789,6 +1008,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
         this.query.lessThan(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThan", fieldName, value);
         return this;
     }
 
@@ -803,6 +1024,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.lessThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -817,6 +1040,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.lessThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -831,6 +1056,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
         this.query.lessThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -845,6 +1072,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
         this.query.lessThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -859,6 +1088,8 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
         this.query.lessThanOrEqual(columnIndices, value);
+        addIndexedCondition(columnIndices, value, IndexedCondition.UPPER_BOUND);
+        describe("lessThanOrEqualTo", fieldName, value);
         return this;
     }
 
@@ -876,6 +1107,9 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, int from, int to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.between(columnIndices, from, to);
+        addIndexedCondition(columnIndices, from, IndexedCondition.LOWER_BOUND);
+        addIndexedCondition(columnIndices, to, IndexedCondition.UPPER_BOUND);
+        describe("between", fieldName, from, to);
         return this;
     }
 
@@ -891,6 +1125,9 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, long from, long to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.INTEGER);
         this.query.between(columnIndices, from, to);
+        addIndexedCondition(columnIndices, from, IndexedCondition.LOWER_BOUND);
+        addIndexedCondition(columnIndices, to, IndexedCondition.UPPER_BOUND);
+        describe("between", fieldName, from, to);
         return this;
     }
 
@@ -906,6 +1143,9 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, double from, double to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DOUBLE);
         this.query.between(columnIndices, from, to);
+        addIndexedCondition(columnIndices, from, IndexedCondition.LOWER_BOUND);
+        addIndexedCondition(columnIndices, to, IndexedCondition.UPPER_BOUND);
+        describe("between", fieldName, from, to);
         return this;
     }
 
@@ -921,6 +1161,9 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, float from, float to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.FLOAT);
         this.query.between(columnIndices, from, to);
+        addIndexedCondition(columnIndices, from, IndexedCondition.LOWER_BOUND);
+        addIndexedCondition(columnIndices, to, IndexedCondition.UPPER_BOUND);
+        describe("between", fieldName, from, to);
         return this;
     }
 
@@ -936,6 +1179,9 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, Date from, Date to) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.DATE);
         this.query.between(columnIndices, from, to);
+        addIndexedCondition(columnIndices, from, IndexedCondition.LOWER_BOUND);
+        addIndexedCondition(columnIndices, to, IndexedCondition.UPPER_BOUND);
+        describe("between", fieldName, from, to);
         return this;
     }
 
@@ -959,13 +1205,16 @@ public class RealmQuery<E extends RealmObject> {
      *
      * @param fieldName the field to compare.
      * @param value the substring.
-     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only works for English locale characters.
+     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only folds the case of English
+     *                   letters, also if the field has a case insensitive index.
      * @return The query object.
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
     public RealmQuery<E> contains(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
         this.query.contains(columnIndices, value, casing);
+        addIndexedCondition(columnIndices, value, IndexedCondition.SUBSTRING);
+        describe("contains", fieldName, value, casing);
         return this;
     }
 
@@ -986,13 +1235,16 @@ public class RealmQuery<E extends RealmObject> {
      *
      * @param fieldName the field to compare.
      * @param value the substring.
-     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only works for English locale characters.
+     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only folds the case of English
+     *                   letters, also if the field has a case insensitive index.
      * @return the query object
      * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or field type.
      */
     public RealmQuery<E> beginsWith(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
         this.query.beginsWith(columnIndices, value, casing);
+        addIndexedCondition(columnIndices, value, IndexedCondition.BEGINS_WITH);
+        describe("beginsWith", fieldName, value, casing);
         return this;
     }
 
@@ -1013,13 +1265,16 @@ public class RealmQuery<E extends RealmObject> {
      *
      * @param fieldName the field to compare.
      * @param value the substring.
-     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only works for English locale characters.
+     * @param casing     How to handle casing. Setting this to {@link Case#INSENSITIVE} only folds the case of English
+     *                   letters, also if the field has a case insensitive index.
      * @return the query object.
      * @throws java.lang.IllegalArgumentException One or more arguments do not match class or field type.
      */
     public RealmQuery<E> endsWith(String fieldName, String value, Case casing) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING);
         this.query.endsWith(columnIndices, value, casing);
+        addIndexedCondition(columnIndices, value, IndexedCondition.SUBSTRING);
+        describe("endsWith", fieldName, value, casing);
         return this;
     }
 
@@ -1033,6 +1288,8 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> beginGroup() {
         this.query.group();
+        groupDepth++;
+        describeOperator("(");
         return this;
     }
 
@@ -1044,6 +1301,8 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> endGroup() {
         this.query.endGroup();
+        groupDepth--;
+        describeOperator(")");
         return this;
     }
 
@@ -1054,6 +1313,8 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> or() {
         this.query.or();
+        disableIndexesOnTopLevel();
+        describeOperator("OR");
         return this;
     }
 
@@ -1064,6 +1325,8 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> not() {
         this.query.not();
+        disableIndexesOnTopLevel();
+        describeOperator("NOT");
         return this;
     }
 
@@ -1078,6 +1341,48 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> isEmpty(String fieldName) {
         long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.STRING, RealmFieldType.BINARY, RealmFieldType.LIST);
         this.query.isEmpty(columnIndices);
+        describe("isEmpty", fieldName);
+        return this;
+    }
+
+    // Links
+
+    /**
+     * Condition that a field links to the given object, i.e. the objects found are those referring to
+     * {@code object} through {@code fieldName}. If the class linked to declares the inverse relationship using
+     * {@link io.realm.annotations.LinkingObjects}, the objects are looked up directly instead of checking all objects.
+     *
+     * @param fieldName the name of a {@link RealmObject} field. Link paths are not supported.
+     * @param object the object linked to. It must be managed by the same Realm.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if the field isn't a {@link RealmObject} field, or if the object is
+     * {@code null}, not managed by this Realm, removed or of another class than the field.
+     */
+    public RealmQuery<E> linksTo(String fieldName, RealmObject object) {
+        long columnIndices[] = schema.getColumnIndices(fieldName, RealmFieldType.OBJECT);
+        if (columnIndices.length != 1) {
+            throw new IllegalArgumentException("Only direct links are supported: " + fieldName);
+        }
+        if (object == null) {
+            throw new IllegalArgumentException("Non-null object must be provided.");
+        }
+        if (object.row == null || !object.isValid()) {
+            throw new IllegalArgumentException("Object must be managed by a Realm and not removed.");
+        }
+        if (!object.realm.getPath().equals(realm.getPath())) {
+            throw new IllegalArgumentException("Object must be managed by the same Realm as the query.");
+        }
+        Table targetTable = table.getLinkTarget(columnIndices[0]);
+        String objectTableName = object.row.getTable().getName();
+        if (!targetTable.getName().equals(objectTableName)) {
+            throw new IllegalArgumentException(String.format("Field '%s' links to %s, not to %s.", fieldName,
+                    targetTable.getName().substring(Table.TABLE_PREFIX.length()),
+                    objectTableName.substring(Table.TABLE_PREFIX.length())));
+        }
+        long targetRowIndex = object.row.getIndex();
+        this.query.linksTo(columnIndices[0], targetRowIndex);
+        addIndexedCondition(columnIndices, targetRowIndex, IndexedCondition.LINKS_TO);
+        describe("linksTo", fieldName, targetRowIndex);
         return this;
     }
 
@@ -1094,6 +1399,7 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if the field is not a number type.
      */
     public Number sum(String fieldName) {
+        applyIndexes();
         long columnIndex = schema.getFieldIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -1119,6 +1425,7 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if the field is not a number type.
      */
     public double average(String fieldName) {
+        applyIndexes();
         long columnIndex = schema.getFieldIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -1145,6 +1452,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Number min(String fieldName) {
         realm.checkIfValid();
+        applyIndexes();
         long columnIndex = table.getColumnIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -1168,6 +1476,7 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
      */
     public Date minimumDate(String fieldName) {
+        applyIndexes();
         long columnIndex = schema.getFieldIndex(fieldName);
         return this.query.minimumDate(columnIndex);
     }
@@ -1185,6 +1494,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public Number max(String fieldName) {
         realm.checkIfValid();
+        applyIndexes();
         long columnIndex = table.getColumnIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -1208,10 +1518,130 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
      */
     public Date maximumDate(String fieldName) {
+        applyIndexes();
         long columnIndex = schema.getFieldIndex(fieldName);
         return this.query.maximumDate(columnIndex);
     }
 
+    // Statistics
+
+    /**
+     * Computes count, minimum, maximum, sum and average of a field in a single pass over the matching objects. This is
+     * faster than calling {@link #min(String)}, {@link #max(String)}, {@link #sum(String)} and
+     * {@link #average(String)} separately, as each of them evaluates the query again.
+     *
+     * @param fieldName the field to compute the statistics for. Only number and Date fields are supported.
+     * @return the statistics for the field. Objects with {@code null} values are ignored.
+     * @throws java.lang.IllegalArgumentException if the field is not a number or Date type.
+     */
+    public RealmStatistics stats(String fieldName) {
+        return stats(fieldName, false);
+    }
+
+    /**
+     * Computes count, minimum, maximum, sum, average and optionally the variance of a field in a single pass over the
+     * matching objects.
+     *
+     * @param fieldName the field to compute the statistics for. Only number and Date fields are supported.
+     * @param computeVariance {@code true} to also compute the variance and standard deviation.
+     * @return the statistics for the field. Objects with {@code null} values are ignored.
+     * @throws java.lang.IllegalArgumentException if the field is not a number or Date type.
+     * @see #stats(String)
+     */
+    public RealmStatistics stats(String fieldName, boolean computeVariance) {
+        realm.checkIfValid();
+        applyIndexes();
+        long columnIndex = schema.getFieldIndex(fieldName);
+        RealmFieldType fieldType = table.getColumnType(columnIndex);
+        switch (fieldType) {
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+            case DATE:
+                long[] longValues = new long[TableOrView.STATS_LONG_SIZE];
+                double[] doubleValues = new double[TableOrView.STATS_DOUBLE_SIZE];
+                query.statistics(columnIndex, computeVariance, longValues, doubleValues);
+                return new RealmStatistics(fieldName, fieldType, computeVariance, longValues, doubleValues);
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float, double or Date"));
+        }
+    }
+
+    // Bulk updates
+
+    /**
+     * Sets a boolean field of all objects matching the query, in a single native call. This must be done within a
+     * transaction. The query can't be used again afterwards.
+     *
+     * @see RealmResults#set(String, boolean)
+     */
+    public void set(String fieldName, boolean value) {
+        findAll().set(fieldName, value);
+    }
+
+    /**
+     * Sets a number field of all objects matching the query.
+     *
+     * @see RealmResults#set(String, long)
+     */
+    public void set(String fieldName, long value) {
+        findAll().set(fieldName, value);
+    }
+
+    /**
+     * Sets a float or double field of all objects matching the query.
+     *
+     * @see RealmResults#set(String, double)
+     */
+    public void set(String fieldName, double value) {
+        findAll().set(fieldName, value);
+    }
+
+    /**
+     * Sets a String field of all objects matching the query.
+     *
+     * @see RealmResults#set(String, String)
+     */
+    public void set(String fieldName, String value) {
+        findAll().set(fieldName, value);
+    }
+
+    /**
+     * Sets a Date field of all objects matching the query.
+     *
+     * @see RealmResults#set(String, Date)
+     */
+    public void set(String fieldName, Date value) {
+        findAll().set(fieldName, value);
+    }
+
+    /**
+     * Sets a nullable field of all objects matching the query to {@code null}.
+     *
+     * @see RealmResults#setNull(String)
+     */
+    public void setNull(String fieldName) {
+        findAll().setNull(fieldName);
+    }
+
+    /**
+     * Adds a value to a number field of all objects matching the query.
+     *
+     * @see RealmResults#increment(String, long)
+     */
+    public void increment(String fieldName, long delta) {
+        findAll().increment(fieldName, delta);
+    }
+
+    /**
+     * Adds a value to a float or double field of all objects matching the query.
+     *
+     * @see RealmResults#increment(String, double)
+     */
+    public void increment(String fieldName, double delta) {
+        findAll().increment(fieldName, delta);
+    }
+
     /**
      * Counts the number of objects that fulfill the query conditions.
      *
@@ -1219,15 +1649,58 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.UnsupportedOperationException if the query is not valid ("syntax error").
      */
     public long count() {
-        return this.query.count();
+        applyIndexes();
+        QueryProfile profile = startProfile(false);
+        long start = (profile != null) ? System.nanoTime() : 0;
+        long count = this.query.count();
+        if (profile != null) {
+            profile.setFilterNanos(System.nanoTime() - start);
+            reportProfile(profile, count);
+        }
+        return count;
+    }
+
+    /**
+     * Estimates the work of the query. The query is run to count the matching objects, but can still be used
+     * afterwards, e.g. to call {@link #findAll()}.
+     * <p>
+     * The estimate lists the conditions as they were added to the query, the index expected to narrow down the
+     * objects the conditions are evaluated for, the number of objects this leaves to scan and the number of objects
+     * matched. The storage engine doesn't report how it evaluates a query, so apart from the number of matches these
+     * are derived by Realm rather than measured. Indexes are only used for conditions combined with the rest of the
+     * query using AND, so a query which is expected to scan all objects can often be rewritten to use an index.
+     *
+     * @return the estimate of the query.
+     * @see RealmConfiguration.Builder#queryProfileListener(QueryProfileListener)
+     */
+    public QueryEstimate estimate() {
+        checkQueryIsNotReused();
+        applyIndexes();
+        long estimatedRowsScanned;
+        if (plan != null && plan.rows != null) {
+            estimatedRowsScanned = plan.rows.size();
+        } else if (plan != null && plan.searchIndexColumn != NO_SORT_COLUMN) {
+            estimatedRowsScanned = countEqual(plan.searchIndexColumn, plan.searchIndexValue);
+        } else {
+            estimatedRowsScanned = (view != null) ? view.size() : (results != null) ? results.size() : table.size();
+        }
+        return new QueryEstimate(schema.getClassName(), getDescription(), getIndexName(), estimatedRowsScanned,
+                query.count());
     }
 
     RealmResults<E> distinctAsync(final long columnIndex) {
         checkQueryIsNotReused();
+        applyIndexes();
+        query.keepLinkViewOrder();
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
+        final QueryProfile profile = startProfile(true);
+        long exportStart = (profile != null) ? System.nanoTime() : 0;
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        if (profile != null) {
+            profile.setHandoverExportNanos(System.nanoTime() - exportStart);
+        }
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_DISTINCT);
@@ -1255,11 +1728,15 @@ public class RealmQuery<E extends RealmObject> {
                                 realmConfiguration.getDurability(),
                                 realmConfiguration.getEncryptionKey());
 
+                        long filterStart = (profile != null) ? System.nanoTime() : 0;
                         long handoverTableViewPointer = query.
                                 findDistinctWithHandover(sharedGroup.getNativePointer(),
                                         sharedGroup.getNativeReplicationPointer(),
                                         handoverQueryPointer,
                                         columnIndex);
+                        if (profile != null) {
+                            profile.setFilterNanos(System.nanoTime() - filterStart);
+                        }
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1284,6 +1761,7 @@ public class RealmQuery<E extends RealmObject> {
             }
         });
 
+        realmResults.setQueryProfile(profile);
         realmResults.setPendingQuery(pendingQuery);
         return realmResults;
     }
@@ -1298,10 +1776,18 @@ public class RealmQuery<E extends RealmObject> {
     @SuppressWarnings("unchecked")
     public RealmResults<E> findAll() {
         checkQueryIsNotReused();
+        applyIndexes();
+        QueryProfile profile = startProfile(false);
+        long start = (profile != null) ? System.nanoTime() : 0;
+        TableView tableView = query.findAll();
+        if (profile != null) {
+            profile.setFilterNanos(System.nanoTime() - start);
+            reportProfile(profile, tableView.size());
+        }
         if (isDynamicQuery()) {
-            return (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, query.findAll(), className);
+            return (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, tableView, className);
         } else {
-            return RealmResults.createFromTableOrView(realm, query.findAll(), clazz);
+            return RealmResults.createFromTableOrView(realm, tableView, clazz);
         }
     }
 
@@ -1315,10 +1801,16 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmResults<E> findAllAsync() {
         checkQueryIsNotReused();
+        applyIndexes();
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
+        final QueryProfile profile = startProfile(true);
+        long exportStart = (profile != null) ? System.nanoTime() : 0;
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        if (profile != null) {
+            profile.setHandoverExportNanos(System.nanoTime() - exportStart);
+        }
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
@@ -1348,7 +1840,11 @@ public class RealmQuery<E extends RealmObject> {
                         // Run the query & handover the table view for the caller thread
                         // Note: the handoverQueryPointer contains the versionID needed by the SG in order
                         // to import it.
+                        long filterStart = (profile != null) ? System.nanoTime() : 0;
                         long handoverTableViewPointer = query.findAllWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+                        if (profile != null) {
+                            profile.setFilterNanos(System.nanoTime() - filterStart);
+                        }
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1374,6 +1870,7 @@ public class RealmQuery<E extends RealmObject> {
             }
         });
 
+        realmResults.setQueryProfile(profile);
         realmResults.setPendingQuery(pendingQuery);
         return realmResults;
     }
@@ -1390,15 +1887,48 @@ public class RealmQuery<E extends RealmObject> {
      * objects is returned.
      * @throws java.lang.IllegalArgumentException if field name does not exist.
      */
-    @SuppressWarnings("unchecked")
     public RealmResults<E> findAllSorted(String fieldName, Sort sortOrder) {
         checkQueryIsNotReused();
-        TableView tableView = query.findAll();
         Long columnIndex = schema.getFieldIndex(fieldName);
         if (columnIndex == null || columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
-        tableView.sort(columnIndex, sortOrder);
+        return findAllSorted(columnIndex, sortOrder);
+    }
+
+    /**
+     * Finds all objects that fulfill the query conditions and sorted by a specific field.
+     *
+     * @param field the handle of the field to sort by.
+     * @param sortOrder how to sort the results.
+     * @return a {@link io.realm.RealmResults} containing objects. If no objects match the condition, a list with zero
+     * objects is returned.
+     * @throws java.lang.IllegalArgumentException if the field belongs to another class.
+     * @see #findAllSorted(String, Sort)
+     * @throws java.lang.IllegalStateException if the schema has been changed since the handle was created.
+     */
+    public RealmResults<E> findAllSorted(FieldHandle field, Sort sortOrder) {
+        checkQueryIsNotReused();
+        return findAllSorted(getColumnIndices(field)[0], sortOrder);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RealmResults<E> findAllSorted(long columnIndex, Sort sortOrder) {
+        boolean sorted = applyIndexes(sortOrder == Sort.ASCENDING ? columnIndex : NO_SORT_COLUMN);
+        QueryProfile profile = startProfile(false);
+        long start = (profile != null) ? System.nanoTime() : 0;
+        TableView tableView = query.findAll();
+        long filterEnd = (profile != null) ? System.nanoTime() : 0;
+        if (!sorted) {
+            tableView.sort(columnIndex, sortOrder);
+        }
+        if (profile != null) {
+            profile.setFilterNanos(filterEnd - start);
+            if (!sorted) {
+                profile.setSortNanos(System.nanoTime() - filterEnd);
+            }
+            reportProfile(profile, tableView.size());
+        }
 
         if (isDynamicQuery()) {
             return (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, tableView, className);
@@ -1417,6 +1947,9 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmResults<E> findAllSortedAsync(String fieldName, final Sort sortOrder) {
         checkQueryIsNotReused();
+        applyIndexes();
+        // The worker thread sorts the results, they must not be put back into the order of the table.
+        query.keepLinkViewOrder();
         final Long columnIndex = schema.getFieldIndex(fieldName);
         if (columnIndex == null || columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
@@ -1430,7 +1963,12 @@ public class RealmQuery<E extends RealmObject> {
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
+        final QueryProfile profile = startProfile(true);
+        long exportStart = (profile != null) ? System.nanoTime() : 0;
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+        if (profile != null) {
+            profile.setHandoverExportNanos(System.nanoTime() - exportStart);
+        }
 
         // we need to use the same configuration to open a background SharedGroup to perform the query
         final RealmConfiguration realmConfiguration = realm.getConfiguration();
@@ -1452,8 +1990,12 @@ public class RealmQuery<E extends RealmObject> {
                                 realmConfiguration.getEncryptionKey());
 
                         // run the query & handover the table view for the caller thread
+                        long filterStart = (profile != null) ? System.nanoTime() : 0;
                         long handoverTableViewPointer = query.findAllSortedWithHandover(sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, columnIndex, sortOrder);
+                        if (profile != null) {
+                            profile.setFilterNanos(System.nanoTime() - filterStart);
+                        }
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1477,6 +2019,7 @@ public class RealmQuery<E extends RealmObject> {
                 return INVALID_NATIVE_POINTER;
             }
         });
+        realmResults.setQueryProfile(profile);
         realmResults.setPendingQuery(pendingQuery);
         return realmResults;
     }
@@ -1528,7 +2071,11 @@ public class RealmQuery<E extends RealmObject> {
         if (fieldNames.length == 1 && sortOrders.length == 1) {
             return findAllSorted(fieldNames[0], sortOrders[0]);
         } else {
+            applyIndexes();
+            QueryProfile profile = startProfile(false);
+            long start = (profile != null) ? System.nanoTime() : 0;
             TableView tableView = query.findAll();
+            long filterEnd = (profile != null) ? System.nanoTime() : 0;
             List<Long> columnIndices = new ArrayList<Long>();
             for (int i = 0; i < fieldNames.length; i++) {
                 String fieldName = fieldNames[i];
@@ -1538,7 +2085,13 @@ public class RealmQuery<E extends RealmObject> {
                 }
                 columnIndices.add(columnIndex);
             }
+            long sortStart = (profile != null) ? System.nanoTime() : 0;
             tableView.sort(columnIndices, sortOrders);
+            if (profile != null) {
+                profile.setFilterNanos(filterEnd - start);
+                profile.setSortNanos(System.nanoTime() - sortStart);
+                reportProfile(profile, tableView.size());
+            }
 
             if (isDynamicQuery()) {
                 return (RealmResults<E>) RealmResults.createFromDynamicTableOrView(realm, tableView, className);
@@ -1563,6 +2116,8 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmResults<E> findAllSortedAsync(String fieldNames[], final Sort[] sortOrders) {
         checkQueryIsNotReused();
+        applyIndexes();
+        query.keepLinkViewOrder();
         checkSortParameters(fieldNames, sortOrders);
 
         if (fieldNames.length == 1 && sortOrders.length == 1) {
@@ -1572,7 +2127,12 @@ public class RealmQuery<E extends RealmObject> {
             final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
             // Handover the query (to be used by a worker thread)
+            final QueryProfile profile = startProfile(true);
+            long exportStart = (profile != null) ? System.nanoTime() : 0;
             final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+            if (profile != null) {
+                profile.setHandoverExportNanos(System.nanoTime() - exportStart);
+            }
 
             // We need to use the same configuration to open a background SharedGroup to perform the query
             final RealmConfiguration realmConfiguration = realm.getConfiguration();
@@ -1610,8 +2170,12 @@ public class RealmQuery<E extends RealmObject> {
                                     realmConfiguration.getEncryptionKey());
 
                             // run the query & handover the table view for the caller thread
+                            long filterStart = (profile != null) ? System.nanoTime() : 0;
                             long handoverTableViewPointer = query.findAllMultiSortedWithHandover(sharedGroup.getNativePointer(),
                                     sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, indices, sortOrders);
+                            if (profile != null) {
+                                profile.setFilterNanos(System.nanoTime() - filterStart);
+                            }
 
                             QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                             result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1636,6 +2200,7 @@ public class RealmQuery<E extends RealmObject> {
                 }
             });
 
+            realmResults.setQueryProfile(profile);
             realmResults.setPendingQuery(pendingQuery);
             return realmResults;
         }
@@ -1721,14 +2286,31 @@ public class RealmQuery<E extends RealmObject> {
      */
     public E findFirst() {
         checkQueryIsNotReused();
+        QueryProfile profile = startProfile(false);
+        long start = (profile != null) ? System.nanoTime() : 0;
         long rowIndex = this.query.find();
+        if (profile != null) {
+            profile.setFilterNanos(System.nanoTime() - start);
+            reportProfile(profile, (rowIndex >= 0) ? 1 : 0);
+        }
         if (rowIndex >= 0) {
-            return realm.get(clazz, className, (view != null) ? view.getTargetRowIndex(rowIndex) : rowIndex);
+            return realm.get(clazz, className, getSourceRowIndex(rowIndex));
         } else {
             return null;
         }
     }
 
+    // Maps a position returned by query.find() to the index of the row in the table. A query on a LinkView or
+    // restricted to the candidates of an index returns positions within those rows.
+    private long getSourceRowIndex(long position) {
+        if (view != null) {
+            return view.getTargetRowIndex(position);
+        } else if (plan != null && plan.rows != null) {
+            return plan.rows.getTargetRowIndex(position);
+        }
+        return position;
+    }
+
     // FIXME Replace with Schema when it is available
     private static class DynamicColumnMap implements Map<String, Long> {
         private final Table table;
@@ -1896,6 +2478,314 @@ public class RealmQuery<E extends RealmObject> {
         }
     }
 
+    // Resolves a field handle without looking up the name of the field
+    private long[] getColumnIndices(FieldHandle field, RealmFieldType... validColumnTypes) {
+        if (field == null) {
+            throw new IllegalArgumentException("Non-null field handle required.");
+        }
+        field.check(realm, table);
+        if (validColumnTypes.length > 0 && !Arrays.asList(validColumnTypes).contains(field.type)) {
+            throw new IllegalArgumentException(String.format("Field '%s': type mismatch. Was %s, expected %s.",
+                    field.fieldName, field.type, Arrays.toString(validColumnTypes)));
+        }
+        return new long[] {field.columnIndex};
+    }
+
+    // The storage engine only folds the case of English letters. If the field has a case insensitive index, the values
+    // which are equal when folded like the index does are matched exactly as well, so the results don't depend on
+    // whether the index is chosen.
+    private void equalToIgnoringCase(long[] columnIndices, String value) {
+        Set<String> variants = Collections.emptySet();
+        if (columnIndices.length == 1 && value != null) {
+            realm.applyIndexUpdates();
+            Table indexTable = CaseInsensitiveIndex.getIndexTable(realm.sharedGroupManager.getTransaction(), table,
+                    columnIndices[0]);
+            if (indexTable != null) {
+                variants = CaseInsensitiveIndex.findEqualValues(indexTable, table, columnIndices[0], value);
+            }
+        }
+        if (variants.isEmpty()) {
+            query.equalTo(columnIndices, value, Case.INSENSITIVE);
+            return;
+        }
+        query.group().equalTo(columnIndices, value, Case.INSENSITIVE);
+        for (String variant : variants) {
+            query.or().equalTo(columnIndices, variant, Case.SENSITIVE);
+        }
+        query.endGroup();
+    }
+
+    private void addIndexedCondition(long[] columnIndices, Object value, IndexedCondition type) {
+        if (!indexesAllowed || groupDepth > 0 || columnIndices.length != 1
+                || (value == null && type != IndexedCondition.VALUE_EQUAL_TO)) {
+            return;
+        }
+        if (indexedConditionColumns == null) {
+            indexedConditionColumns = new ArrayList<Long>();
+            indexedConditionValues = new ArrayList<Object>();
+            indexedConditionTypes = new ArrayList<IndexedCondition>();
+        }
+        indexedConditionColumns.add(columnIndices[0]);
+        indexedConditionValues.add(value);
+        indexedConditionTypes.add(type);
+    }
+
+    private void addValueEqualToCondition(long[] columnIndices, Object value) {
+        addIndexedCondition(columnIndices, value, IndexedCondition.VALUE_EQUAL_TO);
+    }
+
+    // Adds a condition to the description of the query, e.g. equalTo(name, "John").
+    private void describe(String condition, String fieldName, Object... arguments) {
+        descriptionParts.add(new Object[] {condition, fieldName, arguments});
+    }
+
+    // Adds "(", ")", "OR" or "NOT" to the description of the query.
+    private void describeOperator(String operator) {
+        descriptionParts.add(new Object[] {operator});
+    }
+
+    // Formats the conditions and operators of the query.
+    private String getDescription() {
+        StringBuilder description = new StringBuilder();
+        boolean needsConjunction = false;
+        for (Object[] part : descriptionParts) {
+            String name = (String) part[0];
+            if (part.length == 1) {
+                if (name.equals(")")) {
+                    description.append(')');
+                    needsConjunction = true;
+                    continue;
+                }
+                if (name.equals("OR")) {
+                    description.append(" OR ");
+                } else {
+                    if (needsConjunction) {
+                        description.append(" AND ");
+                    }
+                    description.append(name.equals("NOT") ? "NOT " : name);
+                }
+                needsConjunction = false;
+                continue;
+            }
+            if (needsConjunction) {
+                description.append(" AND ");
+            }
+            description.append(name).append('(').append(part[1]);
+            for (Object argument : (Object[]) part[2]) {
+                description.append(", ");
+                if (argument instanceof String) {
+                    description.append('"').append(argument).append('"');
+                } else if (argument instanceof byte[]) {
+                    description.append(Arrays.toString((byte[]) argument));
+                } else {
+                    description.append(argument);
+                }
+            }
+            description.append(')');
+            needsConjunction = true;
+        }
+        return description.toString();
+    }
+
+    // A top level or() or not() means the conditions no longer restrict the entire result.
+    private void disableIndexesOnTopLevel() {
+        if (groupDepth == 0) {
+            indexesAllowed = false;
+        }
+    }
+
+    // Restricts the query to the candidates of the most selective condition backed by a full-text, case insensitive,
+    // composite, ordered or backlink index. This is postponed until the query is executed, as only then is it known that no or()
+    // or not() follows.
+    private void applyIndexes() {
+        applyIndexes(NO_SORT_COLUMN);
+    }
+
+    // Same as applyIndexes(), but also returns true if the results will be in ascending order of the given column
+    // without sorting. This is the case if the candidates are taken from an ordered index of that column.
+    private boolean applyIndexes(long sortColumnIndex) {
+        List<Long> columnIndices = indexedConditionColumns;
+        List<Object> values = indexedConditionValues;
+        List<IndexedCondition> types = indexedConditionTypes;
+        indexedConditionColumns = null;
+        indexedConditionValues = null;
+        indexedConditionTypes = null;
+        if (!indexesAllowed) {
+            return false;
+        }
+        // The query can only be restricted once.
+        indexesAllowed = false;
+        if (values == null) {
+            if (sortColumnIndex == NO_SORT_COLUMN) {
+                return false;
+            }
+            columnIndices = Collections.emptyList();
+            values = Collections.emptyList();
+            types = Collections.emptyList();
+        }
+
+        realm.applyIndexUpdates();
+        Group transaction = realm.sharedGroupManager.getTransaction();
+        Candidates candidates = new Candidates();
+        for (int i = 0; i < columnIndices.size(); i++) {
+            long columnIndex = columnIndices.get(i);
+            IndexedCondition type = types.get(i);
+            String fieldName = table.getColumnName(columnIndex);
+            if (type == IndexedCondition.VALUE_EQUAL_TO) {
+                if (table.hasSearchIndex(columnIndex)) {
+                    candidates.searchIndexColumn = columnIndex;
+                    candidates.searchIndexValue = values.get(i);
+                }
+                continue;
+            }
+            if (type == IndexedCondition.UPPER_BOUND) {
+                continue;
+            }
+            if (type == IndexedCondition.LINKS_TO) {
+                Table backlinkIndexTable = BacklinkIndex.getIndexTable(transaction, table, columnIndex);
+                if (backlinkIndexTable != null) {
+                    candidates.consider(BacklinkIndex.find(backlinkIndexTable, (Long) values.get(i)),
+                            "backlink index on '" + fieldName + "'", false);
+                }
+                continue;
+            }
+            if (type == IndexedCondition.LOWER_BOUND) {
+                Table orderedIndexTable = OrderedIndex.getIndexTable(transaction, table, columnIndex);
+                if (orderedIndexTable == null) {
+                    continue;
+                }
+                // Any pair of bounds gives a range holding all results.
+                for (int j = 0; j < columnIndices.size(); j++) {
+                    if (columnIndices.get(j) == columnIndex && types.get(j) == IndexedCondition.UPPER_BOUND) {
+                        candidates.consider(OrderedIndex.findRange(orderedIndexTable, values.get(i), values.get(j)),
+                                "ordered index on '" + fieldName + "'", columnIndex == sortColumnIndex);
+                    }
+                }
+                continue;
+            }
+            String value = (String) values.get(i);
+
+            Table caseInsensitiveIndexTable = CaseInsensitiveIndex.getIndexTable(transaction, table, columnIndex);
+            if (caseInsensitiveIndexTable != null) {
+                String indexName = "case insensitive index on '" + fieldName + "'";
+                if (type == IndexedCondition.EQUAL_TO) {
+                    candidates.consider(CaseInsensitiveIndex.findEqual(caseInsensitiveIndexTable, value), indexName,
+                            false);
+                } else if (type == IndexedCondition.BEGINS_WITH) {
+                    candidates.consider(CaseInsensitiveIndex.findPrefix(caseInsensitiveIndexTable, value), indexName,
+                            false);
+                }
+            }
+            Table fullTextIndexTable = FullTextIndex.getIndexTable(transaction, table, columnIndex);
+            if (fullTextIndexTable != null) {
+                candidates.consider(FullTextIndex.findCandidates(fullTextIndexTable, value),
+                        "full-text index on '" + fieldName + "'", false);
+            }
+        }
+        // A composite index answers equality on its leading fields. Conditions on the remaining fields, like a range
+        // on the next field, are evaluated for these candidates only.
+        for (CompositeIndex index : CompositeIndex.getIndexes(transaction, table)) {
+            List<String> prefix = new ArrayList<String>();
+            List<String> fieldNames = new ArrayList<String>();
+            for (long indexedColumn : index.getColumnIndices()) {
+                fieldNames.add("'" + table.getColumnName(indexedColumn) + "'");
+                int condition = findValueEqualToCondition(columnIndices, types, indexedColumn);
+                if (condition == -1) {
+                    break;
+                }
+                prefix.add(CompositeIndex.encode(values.get(condition)));
+            }
+            candidates.consider(index.find(prefix), "composite index on " + fieldNames, false);
+        }
+        // Without a more selective index, all rows can be taken in order from the ordered index. Rows with a null
+        // value are not in the index, so this only works for required fields.
+        if (candidates.rows == null && sortColumnIndex != NO_SORT_COLUMN && !table.isColumnNullable(sortColumnIndex)) {
+            Table orderedIndexTable = OrderedIndex.getIndexTable(transaction, table, sortColumnIndex);
+            if (orderedIndexTable != null) {
+                candidates.consider(OrderedIndex.findAll(orderedIndexTable),
+                        "ordered index on '" + table.getColumnName(sortColumnIndex) + "'", true);
+            }
+        }
+        if (candidates.rows != null) {
+            // Unless taken from an ordered index for sorting, the rows are put back into the order of the table.
+            query = query.restrictTo(candidates.rows, !candidates.sorted);
+        }
+        plan = candidates;
+        return candidates.sorted;
+    }
+
+    // Returns the index chosen by applyIndexes() for estimate() and query profiling.
+    private String getIndexName() {
+        if (plan == null) {
+            return null;
+        } else if (plan.rows != null) {
+            return plan.indexName;
+        } else if (plan.searchIndexColumn != NO_SORT_COLUMN) {
+            return "search index on '" + table.getColumnName(plan.searchIndexColumn) + "'";
+        }
+        return null;
+    }
+
+    // Counts the rows with the given value, which the storage engine finds using the search index of the column.
+    private long countEqual(long columnIndex, Object value) {
+        long[] columnIndices = new long[] {columnIndex};
+        TableQuery equalQuery = table.where();
+        if (value == null) {
+            equalQuery.isNull(columnIndices);
+        } else if (value instanceof String) {
+            equalQuery.equalTo(columnIndices, (String) value);
+        } else if (value instanceof Boolean) {
+            equalQuery.equalTo(columnIndices, (Boolean) value);
+        } else if (value instanceof Date) {
+            equalQuery.equalTo(columnIndices, (Date) value);
+        } else {
+            equalQuery.equalTo(columnIndices, ((Number) value).longValue());
+        }
+        return equalQuery.count();
+    }
+
+    // Returns a new profile for the query if query profiling is enabled, null otherwise.
+    private QueryProfile startProfile(boolean async) {
+        if (realm.getConfiguration().getQueryProfileListener() == null) {
+            return null;
+        }
+        return new QueryProfile(schema.getClassName(), getDescription(), getIndexName(), async);
+    }
+
+    private void reportProfile(QueryProfile profile, long resultSize) {
+        profile.setResultSize(resultSize);
+        realm.getConfiguration().getQueryProfileListener().onQueryProfiled(profile);
+    }
+
+    private static int findValueEqualToCondition(List<Long> columnIndices, List<IndexedCondition> types,
+                                                 long columnIndex) {
+        for (int i = 0; i < columnIndices.size(); i++) {
+            if (columnIndices.get(i) == columnIndex && types.get(i) == IndexedCondition.VALUE_EQUAL_TO) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // The candidates chosen by applyIndexes().
+    private static class Candidates {
+        LinkView rows;
+        String indexName;
+        boolean sorted;
+        // An equality condition which the storage engine answers using its search index.
+        long searchIndexColumn = NO_SORT_COLUMN;
+        Object searchIndexValue;
+
+        // Takes the given rows if they are fewer than the current candidates.
+        void consider(LinkView rows, String indexName, boolean sorted) {
+            if (rows != null && (this.rows == null || rows.size() < this.rows.size())) {
+                this.rows = rows;
+                this.indexName = indexName;
+                this.sorted = sorted;
+            }
+        }
+    }
+
     // We need to prevent the user from using the query again (mostly for async)
     // Ex: if the first query fail with findFirstAsync, if the user reuse the same RealmQuery
     //     with findAllSorted, argumentsHolder of the first query will be overridden,
@@ -1916,6 +2806,7 @@ public class RealmQuery<E extends RealmObject> {
      * @return the exported handover pointer for this RealmQuery.
      */
     long handoverQueryPointer() {
+        applyIndexes();
         return query.handoverQuery(realm.sharedGroupManager.getNativePointer());
     }
 }
@@ -29,9 +29,11 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
 
 import io.realm.exceptions.RealmException;
+import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
+import io.realm.internal.async.RowDiff;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -68,8 +70,15 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
 
     private final TableQuery query;
     private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private final List<RealmChangeSetListener> changeSetListeners = new CopyOnWriteArrayList<RealmChangeSetListener>();
+    // Sizes before and after the TableView was last replaced, for change sets which were not computed.
+    private int sizeBeforeUpdate = 0;
+    private int sizeAfterUpdate = 0;
     private Future<Long> pendingQuery;
     private boolean isCompleted = false;
+    private boolean isSnapshot = false;
+    // Reported once the results of an asynchronous query are imported, if query profiling is enabled.
+    private QueryProfile queryProfile;
 
     static <E extends RealmObject> RealmResults<E> createFromClass(BaseRealm realm, Class<E> clazz) {
         return new RealmResults<E>(realm, clazz);
@@ -145,6 +154,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public RealmQuery<E> where() {
         realm.checkIfValid();
+        checkNotSnapshot();
         return RealmQuery.createQueryFromResult(this);
     }
 
@@ -249,6 +259,72 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         return new RealmResultsListIterator(location);
     }
 
+    // Snapshots
+
+    /**
+     * Returns an immutable snapshot of the objects currently in these results. Unlike RealmResults a snapshot is never
+     * updated by later changes to the Realm, so {@link #get(int)}, {@link #size()} and its iterators don't need to check
+     * for such changes and never throw a {@link java.util.ConcurrentModificationException}. This makes iterating a
+     * snapshot cheaper, in particular inside a write transaction changing the objects iterated.
+     * <p>
+     * Objects changed later keep their position in the snapshot, even if they no longer match the query. Objects
+     * removed later stay in the snapshot as objects for which {@link RealmObject#isValid()} returns {@code false}.
+     * <p>
+     * Methods which would update the results, like sorting, aggregates, {@link #where()} or removing objects, throw an
+     * {@link UnsupportedOperationException} on a snapshot.
+     *
+     * @return a snapshot of these results. Calling this method on a snapshot returns the same snapshot.
+     * @throws IllegalStateException if the results of an asynchronous query are not loaded yet.
+     */
+    public RealmResults<E> snapshot() {
+        realm.checkIfValid();
+        if (isSnapshot) {
+            return this;
+        }
+        if (!isLoaded()) {
+            throw new IllegalStateException("Cannot create a snapshot before the results are loaded. Call load() " +
+                    "first or wait for the change listener to be notified.");
+        }
+
+        TableOrView table = getTable();
+        TableView snapshotView;
+        if (table instanceof TableView) {
+            snapshotView = ((TableView) table).createSnapshot();
+        } else {
+            // The view of all objects is only needed to be copied
+            TableView view = table.where().findAll();
+            try {
+                snapshotView = view.createSnapshot();
+            } finally {
+                view.close();
+            }
+        }
+        RealmResults<E> snapshot;
+        if (className != null) {
+            snapshot = new RealmResults<E>(realm, snapshotView, className);
+        } else {
+            snapshot = new RealmResults<E>(realm, snapshotView, classSpec);
+        }
+        snapshot.isSnapshot = true;
+        return snapshot;
+    }
+
+    /**
+     * Checks if these results are a snapshot created by {@link #snapshot()}.
+     *
+     * @return {@code true} if these results are a snapshot, {@code false} if they are updated automatically.
+     */
+    public boolean isSnapshot() {
+        return isSnapshot;
+    }
+
+    private void checkNotSnapshot() {
+        if (isSnapshot) {
+            throw new UnsupportedOperationException("This method is not supported on a snapshot. Use the " +
+                    "RealmResults the snapshot was created from instead.");
+        }
+    }
+
     // Sorting
 
     // aux. method used by sort methods
@@ -287,6 +363,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             throw new IllegalArgumentException("fieldName must be provided");
         }
         realm.checkIfValid();
+        checkNotSnapshot();
         TableOrView table = getTable();
 
         if (table instanceof TableView) {
@@ -316,6 +393,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             sort(fieldNames[0], sortOrders[0]);
         } else {
             realm.checkIfValid();
+            checkNotSnapshot();
             TableOrView table = getTable();
             if (table instanceof TableView) {
                 List<Long> columnIndices = new ArrayList<Long>();
@@ -384,6 +462,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public Number min(String fieldName) {
         realm.checkIfValid();
+        checkNotSnapshot();
         long columnIndex = table.getColumnIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -409,6 +488,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public Date minDate(String fieldName) {
         realm.checkIfValid();
+        checkNotSnapshot();
         long columnIndex = table.getColumnIndex(fieldName);
         if (table.getColumnType(columnIndex) == RealmFieldType.DATE) {
             return table.minimumDate(columnIndex);
@@ -429,6 +509,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public Number max(String fieldName) {
         realm.checkIfValid();
+        checkNotSnapshot();
         long columnIndex = table.getColumnIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -454,6 +535,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public Date maxDate(String fieldName) {
         realm.checkIfValid();
+        checkNotSnapshot();
         long columnIndex = table.getColumnIndex(fieldName);
         if (table.getColumnType(columnIndex) == RealmFieldType.DATE) {
             return table.maximumDate(columnIndex);
@@ -474,6 +556,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public Number sum(String fieldName) {
         realm.checkIfValid();
+        checkNotSnapshot();
         long columnIndex = table.getColumnIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -499,6 +582,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public double average(String fieldName) {
         realm.checkIfValid();
+        checkNotSnapshot();
         long columnIndex = table.getColumnIndex(fieldName);
         switch (table.getColumnType(columnIndex)) {
             case INTEGER:
@@ -513,6 +597,282 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     }
 
 
+    /**
+     * Computes count, minimum, maximum, sum and average of a field in a single pass over the results.
+     *
+     * @param fieldName the field to compute the statistics for. Only number and Date fields are supported.
+     * @return the statistics for the field. Objects with {@code null} values are ignored.
+     * @throws java.lang.IllegalArgumentException if the field is not a number or Date type.
+     * @see RealmQuery#stats(String)
+     */
+    public RealmStatistics stats(String fieldName) {
+        return stats(fieldName, false);
+    }
+
+    /**
+     * Computes count, minimum, maximum, sum, average and optionally the variance of a field in a single pass over the
+     * results.
+     *
+     * @param fieldName the field to compute the statistics for. Only number and Date fields are supported.
+     * @param computeVariance {@code true} to also compute the variance and standard deviation.
+     * @return the statistics for the field. Objects with {@code null} values are ignored.
+     * @throws java.lang.IllegalArgumentException if the field is not a number or Date type.
+     * @see RealmQuery#stats(String, boolean)
+     */
+    public RealmStatistics stats(String fieldName, boolean computeVariance) {
+        realm.checkIfValid();
+        checkNotSnapshot();
+        TableOrView table = getTable();
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        RealmFieldType fieldType = table.getColumnType(columnIndex);
+        switch (fieldType) {
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+            case DATE:
+                long[] longValues = new long[TableOrView.STATS_LONG_SIZE];
+                double[] doubleValues = new double[TableOrView.STATS_DOUBLE_SIZE];
+                table.statistics(columnIndex, computeVariance, longValues, doubleValues);
+                return new RealmStatistics(fieldName, fieldType, computeVariance, longValues, doubleValues);
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float, double or Date"));
+        }
+    }
+
+    // Bulk updates
+
+    /**
+     * Sets a boolean field of all objects in the results. The objects are updated in a single native call, without
+     * creating a {@link RealmObject} for each of them. This must be done within a transaction.
+     * <p>
+     * As the results are live, objects which no longer match the query after the update will be removed from them.
+     * Full-text, case insensitive, ordered and composite indexes of the field are updated when the transaction is
+     * committed, like for changes made through the objects.
+     *
+     * @param fieldName the field to set.
+     * @param value the new value.
+     * @throws java.lang.IllegalArgumentException if the field does not exist, is not a boolean field or is the primary
+     * key.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     */
+    public void set(String fieldName, boolean value) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        if (table.getColumnType(columnIndex) != RealmFieldType.BOOLEAN) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "boolean"));
+        }
+        table.setBooleanForAll(columnIndex, value);
+    }
+
+    /**
+     * Sets a number field of all objects in the results.
+     *
+     * @param fieldName the field to set. Only number fields are supported.
+     * @param value the new value. It is converted to the type of the field.
+     * @throws java.lang.IllegalArgumentException if the field does not exist, is not a number field or is the primary
+     * key.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     * @see #set(String, boolean)
+     */
+    public void set(String fieldName, long value) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        switch (table.getColumnType(columnIndex)) {
+            case INTEGER:
+                table.setLongForAll(columnIndex, value);
+                break;
+            case FLOAT:
+                table.setFloatForAll(columnIndex, value);
+                break;
+            case DOUBLE:
+                table.setDoubleForAll(columnIndex, value);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    /**
+     * Sets a float or double field of all objects in the results.
+     *
+     * @param fieldName the field to set.
+     * @param value the new value.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a float or double field.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     * @see #set(String, boolean)
+     */
+    public void set(String fieldName, double value) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        switch (table.getColumnType(columnIndex)) {
+            case FLOAT:
+                table.setFloatForAll(columnIndex, (float) value);
+                break;
+            case DOUBLE:
+                table.setDoubleForAll(columnIndex, value);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "float or double"));
+        }
+    }
+
+    /**
+     * Sets a String field of all objects in the results.
+     *
+     * @param fieldName the field to set.
+     * @param value the new value. {@code null} is only allowed if the field is nullable.
+     * @throws java.lang.IllegalArgumentException if the field does not exist, is not a String field or is the primary
+     * key, or if {@code value} is {@code null} and the field is not nullable.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     * @see #set(String, boolean)
+     */
+    public void set(String fieldName, String value) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        if (table.getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "String"));
+        }
+        table.setStringForAll(columnIndex, value);
+    }
+
+    /**
+     * Sets a Date field of all objects in the results.
+     *
+     * @param fieldName the field to set.
+     * @param value the new value. {@code null} is only allowed if the field is nullable.
+     * @throws java.lang.IllegalArgumentException if the field does not exist, is not a Date field or is the primary
+     * key, or if {@code value} is {@code null} and the field is not nullable.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     * @see #set(String, boolean)
+     */
+    public void set(String fieldName, Date value) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        if (table.getColumnType(columnIndex) != RealmFieldType.DATE) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "Date"));
+        }
+        if (value == null) {
+            table.setNullForAll(columnIndex);
+        } else {
+            table.setDateForAll(columnIndex, value);
+        }
+    }
+
+    /**
+     * Sets a nullable field of all objects in the results to {@code null}.
+     *
+     * @param fieldName the field to set. Only nullable boolean, number, String, Date and byte[] fields are supported.
+     * @throws java.lang.IllegalArgumentException if the field does not exist, is not nullable or is the primary key.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     * @see #set(String, boolean)
+     */
+    public void setNull(String fieldName) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        switch (table.getColumnType(columnIndex)) {
+            case BOOLEAN:
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+            case STRING:
+            case DATE:
+            case BINARY:
+                table.setNullForAll(columnIndex);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName,
+                        "boolean, int, float, double, String, Date or byte[]"));
+        }
+    }
+
+    /**
+     * Adds a value to a number field of all objects in the results. Objects having {@code null} as the value of the
+     * field are left unchanged.
+     *
+     * @param fieldName the field to increment. Only number fields are supported.
+     * @param delta the value to add, which may be negative.
+     * @throws java.lang.IllegalArgumentException if the field does not exist, is not a number field or is the primary
+     * key.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     * @see #set(String, boolean)
+     */
+    public void increment(String fieldName, long delta) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        switch (table.getColumnType(columnIndex)) {
+            case INTEGER:
+                table.incrementLongForAll(columnIndex, delta);
+                break;
+            case FLOAT:
+            case DOUBLE:
+                table.incrementDoubleForAll(columnIndex, delta);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    /**
+     * Adds a value to a float or double field of all objects in the results. Objects having {@code null} as the value
+     * of the field are left unchanged.
+     *
+     * @param fieldName the field to increment.
+     * @param delta the value to add, which may be negative.
+     * @throws java.lang.IllegalArgumentException if the field does not exist or is not a float or double field.
+     * @throws java.lang.IllegalStateException if the Realm is not in a transaction or the results are not loaded yet.
+     * @see #set(String, boolean)
+     */
+    public void increment(String fieldName, double delta) {
+        long columnIndex = getColumnIndexForUpdate(fieldName);
+        TableOrView table = getTable();
+        switch (table.getColumnType(columnIndex)) {
+            case FLOAT:
+            case DOUBLE:
+                table.incrementDoubleForAll(columnIndex, delta);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "float or double"));
+        }
+    }
+
+    // Checks that the field can be updated for all objects and registers the objects to have their auxiliary indexes
+    // updated, as the bulk updates change the values natively. An invalid value only leaves the indexes to be updated
+    // with unchanged values.
+    private long getColumnIndexForUpdate(String fieldName) {
+        realm.checkIfValid();
+        checkNotSnapshot();
+        if (!isLoaded()) {
+            throw new IllegalStateException("Cannot update results before they are loaded. Call load() first or wait " +
+                    "for the change listener to be notified.");
+        }
+        if (!realm.isInTransaction()) {
+            throw new IllegalStateException("Objects can only be updated within a transaction.");
+        }
+        TableOrView table = getTable();
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        // Setting the same value on all objects would break the uniqueness of the primary key
+        if (table.getTable().isPrimaryKey(columnIndex)) {
+            throw new IllegalArgumentException(String.format("Primary key field '%s' cannot be updated for all " +
+                    "objects.", fieldName));
+        }
+        Table sourceTable = table.getTable();
+        if (realm.hasIndexToUpdate(sourceTable, columnIndex)) {
+            // The rows are registered before the update, as objects which no longer match drop out of the results.
+            long size = table.size();
+            for (long i = 0; i < size; i++) {
+                long rowIndex = (table instanceof TableView) ? ((TableView) table).getSourceRowIndex(i) : i;
+                realm.scheduleIndexUpdate(sourceTable.getUncheckedRow(rowIndex), columnIndex);
+            }
+        }
+        return columnIndex;
+    }
+
     // Deleting
 
     /**
@@ -528,6 +888,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     @Override
     public E remove(int index) {
         realm.checkIfValid();
+        checkNotSnapshot();
         TableOrView table = getTable();
         table.remove(index);
         return null; // Returning the object doesn't make sense, since it could no longer access any data.
@@ -543,6 +904,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public void removeLast() {
         realm.checkIfValid();
+        checkNotSnapshot();
         TableOrView table = getTable();
         table.removeLast();
     }
@@ -554,6 +916,7 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      */
     public void clear() {
         realm.checkIfValid();
+        checkNotSnapshot();
         TableOrView table = getTable();
         table.clear();
     }
@@ -583,6 +946,10 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
 //    }
 
     private void assertRealmIsStable() {
+        if (isSnapshot) {
+            // Snapshots are never updated.
+            return;
+        }
         long version = table.sync();
         if (currentTableViewVersion > -1 && version != currentTableViewVersion) {
             throw new ConcurrentModificationException("No outside changes to a Realm is allowed while iterating a RealmResults. Use iterators methods instead.");
@@ -597,7 +964,9 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         int pos = -1;
 
         RealmResultsIterator() {
-            currentTableViewVersion = table.sync();
+            if (!isSnapshot) {
+                currentTableViewVersion = table.sync();
+            }
         }
 
         public boolean hasNext() {
@@ -704,8 +1073,41 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * @param handoverTableViewPointer handover pointer to the new table_view.
      */
     void swapTableViewPointer (long handoverTableViewPointer) {
+        long importStart = (queryProfile != null) ? System.nanoTime() : 0;
         table = query.importHandoverTableView(handoverTableViewPointer, realm.sharedGroupManager.getNativePointer());
         isCompleted = true;
+        sizeBeforeUpdate = sizeAfterUpdate;
+        sizeAfterUpdate = (int) table.size();
+        if (queryProfile != null) {
+            QueryProfile profile = queryProfile;
+            queryProfile = null;
+            profile.setHandoverImportNanos(System.nanoTime() - importStart);
+            profile.setResultSize(sizeAfterUpdate);
+            realm.getConfiguration().getQueryProfileListener().onQueryProfiled(profile);
+        }
+    }
+
+    /**
+     * Handovers the TableView of these results, so the worker thread updating the asynchronous queries can check if
+     * they are still up to date instead of running the query again.
+     *
+     * @return native pointer to the handover TableView or {@code 0} if the results aren't loaded yet.
+     */
+    long handoverTableViewPointer() {
+        if (!isLoaded() || !(table instanceof TableView)) {
+            return 0;
+        }
+        return ((TableView) table).handover(realm.sharedGroupManager.getNativePointer());
+    }
+
+    /**
+     * Sets the profile of the asynchronous query computing these results. It is reported when the results are first
+     * imported.
+     *
+     * @param queryProfile the profile or {@code null} if query profiling isn't enabled.
+     */
+    void setQueryProfile(QueryProfile queryProfile) {
+        this.queryProfile = queryProfile;
     }
 
     /**
@@ -772,7 +1174,10 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             // this should handle more complex use cases like retry, ignore etc
             table = query.importHandoverTableView(tvHandover, realm.sharedGroupManager.getNativePointer());
             isCompleted = true;
+            sizeBeforeUpdate = 0;
+            sizeAfterUpdate = (int) table.size();
             notifyChangeListeners();
+            notifyChangeSetListeners(null);
         } catch (Exception e) {
             RealmLog.d(e.getMessage());
             return false;
@@ -781,9 +1186,12 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     }
 
     /**
-     * Adds a change listener to this RealmResults.
+     * Adds a change listener to this RealmResults. It is notified each time the results of an asynchronous query have
+     * been updated, or for other results when objects of their class have been changed. Changes to other classes
+     * don't notify it.
      *
      * @param listener the change listener to be notified.
+     * @throws UnsupportedOperationException if these results are a snapshot, as snapshots never change.
      */
     public void addChangeListener(RealmChangeListener listener) {
         if (listener == null) {
@@ -792,9 +1200,14 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         if (realm != null) {
             realm.checkIfValid();
         }
+        checkNotSnapshot();
         if (!listeners.contains(listener)) {
             listeners.add(listener);
         }
+        // Results of asynchronous queries are notified when updated, all others when their table has changed.
+        if (realm != null && pendingQuery == null) {
+            realm.tableChangeListeners.addResults(table.getTable(), this);
+        }
     }
 
     /**
@@ -813,13 +1226,74 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     }
 
     /**
-     * Removes all registered listeners.
+     * Adds a listener which is told which objects were inserted, deleted, modified or moved each time these results
+     * change. This is only supported for results of an asynchronous query, e.g.
+     * {@link RealmQuery#findAllAsync()}, as the changes are computed while updating them.
+     *
+     * @param listener the change set listener to be notified.
+     * @throws IllegalStateException if these results are not created by an asynchronous query.
+     */
+    public void addChangeSetListener(RealmChangeSetListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        if (pendingQuery == null) {
+            throw new IllegalStateException("Change sets are only supported for RealmResults of an asynchronous " +
+                    "query, e.g. findAllAsync().");
+        }
+        if (!changeSetListeners.contains(listener)) {
+            changeSetListeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a previously registered change set listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeSetListener(RealmChangeSetListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        changeSetListeners.remove(listener);
+    }
+
+    /**
+     * Removes all registered listeners, including change set listeners.
      */
     public void removeChangeListeners() {
         if (realm != null) {
             realm.checkIfValid();
         }
         listeners.clear();
+        changeSetListeners.clear();
+    }
+
+    boolean hasChangeSetListeners() {
+        return !changeSetListeners.isEmpty();
+    }
+
+    /**
+     * Notifies all registered change set listeners, unless nothing changed.
+     *
+     * @param changes the changes computed by the worker thread or {@code null} if they were not computed, in which
+     *                case all objects are reported as replaced.
+     */
+    void notifyChangeSetListeners(int[][] changes) {
+        if (changeSetListeners.isEmpty()) {
+            return;
+        }
+        realm.checkIfValid();
+        RealmChangeSet changeSet = new RealmChangeSet(
+                (changes != null) ? changes : RowDiff.reload(sizeBeforeUpdate, sizeAfterUpdate));
+        if (changeSet.isEmpty()) {
+            return;
+        }
+        for (RealmChangeSetListener listener : changeSetListeners) {
+            listener.onChange(changeSet);
+        }
     }
 
     /**
@@ -23,7 +23,12 @@ import java.util.Set;
 
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
+import io.realm.internal.BacklinkIndex;
+import io.realm.internal.CaseInsensitiveIndex;
+import io.realm.internal.CompositeIndex;
+import io.realm.internal.FullTextIndex;
 import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.OrderedIndex;
 import io.realm.internal.Table;
 import io.realm.internal.Util;
 
@@ -117,6 +122,7 @@ public final class RealmSchema {
         }
         Table table = transaction.getTable(internalTableName);
         RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
+        realm.onSchemaChanged();
         return new RealmObjectSchema(realm, table, columnIndices);
     }
 
@@ -130,7 +136,17 @@ public final class RealmSchema {
         checkEmpty(className, EMPTY_STRING_MSG);
         String internalTableName = TABLE_PREFIX + className;
         checkHasTable(className, "Cannot remove class because it is not in this Realm: " + className);
+        // Index tables link to the class, so they must be removed first.
+        Table table = transaction.getTable(internalTableName);
+        for (long i = 0; i < table.getColumnCount(); i++) {
+            FullTextIndex.removeIndex(transaction, table, i);
+            CaseInsensitiveIndex.removeIndex(transaction, table, i);
+            OrderedIndex.removeIndex(transaction, table, i);
+            BacklinkIndex.removeIndex(transaction, table, i);
+            CompositeIndex.removeIndexes(transaction, table, i);
+        }
         transaction.removeTable(internalTableName);
+        realm.onSchemaChanged();
     }
 
     /**
@@ -149,9 +165,19 @@ public final class RealmSchema {
         if (transaction.hasTable(newInternalName)) {
             throw new IllegalArgumentException(oldClassName + " cannot be renamed because the new class already exists: " + newClassName);
         }
+        Table oldTable = transaction.getTable(oldInternalName);
+        for (long i = 0; i < oldTable.getColumnCount(); i++) {
+            String fieldName = oldTable.getColumnName(i);
+            FullTextIndex.renameIndex(transaction, oldClassName, fieldName, newClassName, fieldName);
+            CaseInsensitiveIndex.renameIndex(transaction, oldClassName, fieldName, newClassName, fieldName);
+            OrderedIndex.renameIndex(transaction, oldClassName, fieldName, newClassName, fieldName);
+            BacklinkIndex.renameIndex(transaction, oldClassName, fieldName, newClassName, fieldName);
+        }
+        CompositeIndex.renameClass(transaction, oldClassName, newClassName);
         transaction.renameTable(oldInternalName, newInternalName);
         Table table = transaction.getTable(newInternalName);
         RealmObjectSchema.DynamicColumnMap columnIndices = new RealmObjectSchema.DynamicColumnMap(table);
+        realm.onSchemaChanged();
         return new RealmObjectSchema(realm, table, columnIndices);
     }
 
@@ -202,8 +228,12 @@ public final class RealmSchema {
     Table getTable(Class<? extends RealmObject> clazz) {
         Table table = classToTable.get(clazz);
         if (table == null) {
-            clazz = Util.getOriginalModelClass(clazz);
-            table = transaction.getTable(realm.configuration.getSchemaMediator().getTableName(clazz));
+            Class<? extends RealmObject> originalClass = Util.getOriginalModelClass(clazz);
+            table = classToTable.get(originalClass);
+            if (table == null) {
+                table = transaction.getTable(realm.configuration.getSchemaMediator().getTableName(originalClass));
+                classToTable.put(originalClass, table);
+            }
             classToTable.put(clazz, table);
         }
         return table;
@@ -212,9 +242,13 @@ public final class RealmSchema {
     RealmObjectSchema getSchemaForClass(Class<? extends RealmObject> clazz) {
         RealmObjectSchema classSchema = classToSchema.get(clazz);
         if (classSchema == null) {
-            clazz = Util.getOriginalModelClass(clazz);
-            Table table = transaction.getTable(realm.configuration.getSchemaMediator().getTableName(clazz));
-            classSchema = new RealmObjectSchema(realm, table, columnIndices.getColumnInfo(clazz).getIndicesMap());
+            Class<? extends RealmObject> originalClass = Util.getOriginalModelClass(clazz);
+            classSchema = classToSchema.get(originalClass);
+            if (classSchema == null) {
+                Table table = getTable(originalClass);
+                classSchema = new RealmObjectSchema(realm, table, columnIndices.getColumnInfo(originalClass).getIndicesMap());
+                classToSchema.put(originalClass, classSchema);
+            }
             classToSchema.put(clazz, classSchema);
         }
         return classSchema;
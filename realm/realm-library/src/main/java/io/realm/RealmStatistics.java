@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Date;
+
+import io.realm.internal.TableOrView;
+
+/**
+ * Holds the standard aggregates of a single field computed by {@link RealmQuery#stats(String)} or
+ * {@link RealmResults#stats(String)}. All values are computed in one pass over the matching objects and are stored as
+ * primitives.
+ * <p>
+ * Objects with {@code null} as the value of the field are ignored, i.e. {@link #getCount()} is the number of non-null
+ * values. If there are no such values, all aggregates are {@code 0} and the date getters return {@code null}.
+ * <p>
+ * For Date fields all values are expressed in milliseconds since the epoch, like {@link Date#getTime()}.
+ */
+public final class RealmStatistics {
+
+    private final String fieldName;
+    private final RealmFieldType fieldType;
+    private final boolean hasVariance;
+
+    private final long count;
+    private final long longMin;
+    private final long longMax;
+    private final long longSum;
+    private final double min;
+    private final double max;
+    private final double sum;
+    private final double average;
+    private final double variance;
+
+    RealmStatistics(String fieldName, RealmFieldType fieldType, boolean hasVariance, long[] longValues,
+                    double[] doubleValues) {
+        this.fieldName = fieldName;
+        this.fieldType = fieldType;
+        this.hasVariance = hasVariance;
+        this.count = longValues[TableOrView.STATS_LONG_COUNT];
+
+        // Dates are stored as seconds in the storage engine
+        long scale = (fieldType == RealmFieldType.DATE) ? 1000 : 1;
+        this.longMin = longValues[TableOrView.STATS_LONG_MIN] * scale;
+        this.longMax = longValues[TableOrView.STATS_LONG_MAX] * scale;
+        this.longSum = longValues[TableOrView.STATS_LONG_SUM] * scale;
+        this.min = doubleValues[TableOrView.STATS_DOUBLE_MIN] * scale;
+        this.max = doubleValues[TableOrView.STATS_DOUBLE_MAX] * scale;
+        this.sum = doubleValues[TableOrView.STATS_DOUBLE_SUM] * scale;
+        this.average = doubleValues[TableOrView.STATS_DOUBLE_AVERAGE] * scale;
+        this.variance = doubleValues[TableOrView.STATS_DOUBLE_VARIANCE] * scale * scale;
+    }
+
+    /**
+     * Returns the type of the field the statistics were computed for.
+     *
+     * @return the field type.
+     */
+    public RealmFieldType getFieldType() {
+        return fieldType;
+    }
+
+    /**
+     * Returns the number of objects with a non-null value for the field.
+     *
+     * @return the number of values used to compute the aggregates.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the minimum value.
+     *
+     * @return the minimum value or {@code 0} if there are no values.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum value.
+     *
+     * @return the maximum value or {@code 0} if there are no values.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the sum of all values.
+     *
+     * @return the sum or {@code 0} if there are no values.
+     */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the average of all values.
+     *
+     * @return the average or {@code 0} if there are no values.
+     */
+    public double getAverage() {
+        return average;
+    }
+
+    /**
+     * Returns the exact minimum value of an integer or Date field.
+     *
+     * @return the minimum value or {@code 0} if there are no values.
+     * @throws IllegalStateException if the field is not an integer or Date field.
+     */
+    public long getMinAsLong() {
+        checkLongType();
+        return longMin;
+    }
+
+    /**
+     * Returns the exact maximum value of an integer or Date field.
+     *
+     * @return the maximum value or {@code 0} if there are no values.
+     * @throws IllegalStateException if the field is not an integer or Date field.
+     */
+    public long getMaxAsLong() {
+        checkLongType();
+        return longMax;
+    }
+
+    /**
+     * Returns the exact sum of an integer field.
+     *
+     * @return the sum or {@code 0} if there are no values.
+     * @throws IllegalStateException if the field is not an integer or Date field.
+     */
+    public long getSumAsLong() {
+        checkLongType();
+        return longSum;
+    }
+
+    /**
+     * Returns the minimum date.
+     *
+     * @return the minimum date or {@code null} if there are no values.
+     * @throws IllegalStateException if the field is not a Date field.
+     */
+    public Date getMinDate() {
+        checkDateType();
+        return (count == 0) ? null : new Date(longMin);
+    }
+
+    /**
+     * Returns the maximum date.
+     *
+     * @return the maximum date or {@code null} if there are no values.
+     * @throws IllegalStateException if the field is not a Date field.
+     */
+    public Date getMaxDate() {
+        checkDateType();
+        return (count == 0) ? null : new Date(longMax);
+    }
+
+    /**
+     * Returns the average date.
+     *
+     * @return the average date or {@code null} if there are no values.
+     * @throws IllegalStateException if the field is not a Date field.
+     */
+    public Date getAverageDate() {
+        checkDateType();
+        return (count == 0) ? null : new Date(Math.round(average));
+    }
+
+    /**
+     * Checks if the variance was computed, see {@link RealmQuery#stats(String, boolean)}.
+     *
+     * @return {@code true} if {@link #getVariance()} and {@link #getStandardDeviation()} can be called.
+     */
+    public boolean hasVariance() {
+        return hasVariance;
+    }
+
+    /**
+     * Returns the population variance of all values.
+     *
+     * @return the variance or {@code 0} if there are no values.
+     * @throws IllegalStateException if the variance was not requested.
+     */
+    public double getVariance() {
+        checkVariance();
+        return variance;
+    }
+
+    /**
+     * Returns the population standard deviation of all values.
+     *
+     * @return the standard deviation or {@code 0} if there are no values.
+     * @throws IllegalStateException if the variance was not requested.
+     */
+    public double getStandardDeviation() {
+        checkVariance();
+        return Math.sqrt(variance);
+    }
+
+    private void checkLongType() {
+        if (fieldType != RealmFieldType.INTEGER && fieldType != RealmFieldType.DATE) {
+            throw new IllegalStateException(String.format("Field '%s' is not an integer or Date field.", fieldName));
+        }
+    }
+
+    private void checkDateType() {
+        if (fieldType != RealmFieldType.DATE) {
+            throw new IllegalStateException(String.format("Field '%s' is not a Date field.", fieldName));
+        }
+    }
+
+    private void checkVariance() {
+        if (!hasVariance) {
+            throw new IllegalStateException("The variance was not computed. Use stats(fieldName, true) instead.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RealmStatistics{");
+        sb.append("field=").append(fieldName);
+        sb.append(", count=").append(count);
+        sb.append(", min=").append(min);
+        sb.append(", max=").append(max);
+        sb.append(", sum=").append(sum);
+        sb.append(", average=").append(average);
+        if (hasVariance) {
+            sb.append(", variance=").append(variance);
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.realm.internal.Table;
+import io.realm.internal.TableView;
+
+/**
+ * Keeps track of the listeners which are only interested in changes to one table: listeners registered for a class,
+ * {@link RealmResults} of synchronous queries and {@link RealmObject}s having change listeners.
+ * <p>
+ * For each observed table a TableView of its rows, limited to zero rows, is kept. The storage engine bumps the version
+ * of a table on every change to it or to the tables it links to, which puts the TableView out of sync, so checking
+ * which tables changed since the last notification doesn't require comparing any rows. Syncing the TableView again is cheap
+ * due to its limit.
+ * <p>
+ * Results and objects are only weakly referenced, as their listeners are removed together with them.
+ */
+final class TableChangeListeners {
+
+    private static final long NO_ROWS = 0;
+
+    private final Map<String, Entry> entries = new HashMap<String, Entry>();
+
+    private static class Entry {
+        final TableView probe;
+        final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+        final List<WeakReference<RealmResults<? extends RealmObject>>> results =
+                new ArrayList<WeakReference<RealmResults<? extends RealmObject>>>();
+        final List<WeakReference<RealmObject>> objects = new ArrayList<WeakReference<RealmObject>>();
+
+        Entry(Table table) {
+            probe = table.where().findAll(0, Table.INFINITE, NO_ROWS);
+        }
+
+        boolean isEmpty() {
+            return listeners.isEmpty() && results.isEmpty() && objects.isEmpty();
+        }
+    }
+
+    /**
+     * Adds a listener which is notified when the given table has changed.
+     */
+    void addListener(Table table, RealmChangeListener listener) {
+        Entry entry = getEntry(table);
+        if (!entry.listeners.contains(listener)) {
+            entry.listeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a listener from the given table.
+     */
+    void removeListener(Table table, RealmChangeListener listener) {
+        Entry entry = entries.get(table.getName());
+        if (entry != null) {
+            entry.listeners.remove(listener);
+            removeIfEmpty(table.getName(), entry);
+        }
+    }
+
+    /**
+     * Removes a listener from all tables.
+     */
+    void removeListener(RealmChangeListener listener) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            entry.listeners.remove(listener);
+            if (entry.isEmpty()) {
+                entry.probe.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all listeners registered for a table, but keeps the results and objects.
+     */
+    void removeAllListeners() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            entry.listeners.clear();
+            if (entry.isEmpty()) {
+                entry.probe.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Registers results whose listeners must be notified when the given table has changed. Nothing happens if they
+     * are already registered.
+     */
+    void addResults(Table table, RealmResults<? extends RealmObject> realmResults) {
+        Entry entry = getEntry(table);
+        for (WeakReference<RealmResults<? extends RealmObject>> ref : entry.results) {
+            if (ref.get() == realmResults) {
+                return;
+            }
+        }
+        entry.results.add(new WeakReference<RealmResults<? extends RealmObject>>(realmResults));
+    }
+
+    /**
+     * Registers an object whose listeners must be notified when the given table has changed. Nothing happens if it
+     * is already registered.
+     */
+    void addObject(Table table, RealmObject realmObject) {
+        Entry entry = getEntry(table);
+        for (WeakReference<RealmObject> ref : entry.objects) {
+            if (ref.get() == realmObject) {
+                return;
+            }
+        }
+        entry.objects.add(new WeakReference<RealmObject>(realmObject));
+    }
+
+    /**
+     * Notifies the listeners, results and objects of all tables which have changed since the last call.
+     * <p>
+     * All changed tables are determined before any listener is called, as a listener may commit another transaction
+     * and thereby call this method again.
+     */
+    void notifyChanged() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Entry> changed = null;
+        for (Entry entry : entries.values()) {
+            if (!entry.probe.isInSync()) {
+                entry.probe.sync();
+                if (changed == null) {
+                    changed = new ArrayList<Entry>();
+                }
+                changed.add(entry);
+            }
+        }
+        if (changed == null) {
+            return;
+        }
+
+        for (Entry entry : changed) {
+            for (RealmChangeListener listener : entry.listeners) {
+                listener.onChange();
+            }
+            for (RealmResults<? extends RealmObject> realmResults : getReferents(entry.results)) {
+                realmResults.notifyChangeListeners();
+            }
+            for (RealmObject realmObject : getReferents(entry.objects)) {
+                realmObject.notifyChangeListeners();
+            }
+        }
+    }
+
+    /**
+     * Releases all TableViews. Must be called before the Realm is closed.
+     */
+    void close() {
+        for (Entry entry : entries.values()) {
+            entry.probe.close();
+        }
+        entries.clear();
+    }
+
+    private Entry getEntry(Table table) {
+        Entry entry = entries.get(table.getName());
+        if (entry == null) {
+            entry = new Entry(table);
+            entries.put(table.getName(), entry);
+        }
+        return entry;
+    }
+
+    private void removeIfEmpty(String tableName, Entry entry) {
+        if (entry.isEmpty()) {
+            entry.probe.close();
+            entries.remove(tableName);
+        }
+    }
+
+    // Returns the referents not GC'd yet and removes the references to the others.
+    private static <T> List<T> getReferents(List<WeakReference<T>> references) {
+        List<T> referents = new ArrayList<T>(references.size());
+        Iterator<WeakReference<T>> iterator = references.iterator();
+        while (iterator.hasNext()) {
+            T referent = iterator.next().get();
+            if (referent == null) {
+                iterator.remove();
+            } else {
+                referents.add(referent);
+            }
+        }
+        return referents;
+    }
+}
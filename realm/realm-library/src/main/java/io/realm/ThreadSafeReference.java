@@ -0,0 +1,524 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.Closeable;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.realm.internal.LinkView;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.SharedGroupManager;
+import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
+import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
+import io.realm.internal.UncheckedRow;
+import io.realm.internal.Util;
+
+/**
+ * A reference to a {@link RealmObject}, {@link RealmResults} or {@link RealmList} which can be passed to another
+ * thread and resolved there by a Realm of the same file.
+ * <p>
+ * Objects, results and lists are confined to the thread of their Realm. Passing the primary key of an object or the
+ * query of some results to another thread means searching them again; a ThreadSafeReference instead hands over the
+ * position of the rows themselves, so resolving it doesn't search them again, also for objects without a primary key
+ * and for results which are sorted or filtered in ways a query can't easily be rebuilt from.
+ * <p>
+ * The reference keeps the version of the Realm it was created at until it is resolved or closed. If the Realm
+ * resolving it is at a later version, the rows are moved to that version first, i.e. the resolved object or list is
+ * the same one as when the reference was created. Resolved results contain the same rows in the same order if the
+ * Realm is at the version the reference was created at. Otherwise, as results are live, they are updated to the
+ * version of the Realm by running their query again when they are first accessed, like any other results of that
+ * Realm. Results of all objects of a class are resolved as all objects of the class in the Realm.
+ * <p>
+ * A reference can only be resolved once. References which aren't resolved should be closed, otherwise the Realm file
+ * can't release the space used by the old version until the reference has been garbage collected and another
+ * reference is created or resolved. References created at the same version share the resources keeping it.
+ *
+ * <pre>
+ * {@code
+ * final ThreadSafeReference<Person> ref = ThreadSafeReference.create(person);
+ * executor.submit(new Runnable() {
+ *     public void run() {
+ *         Realm realm = Realm.getInstance(configuration);
+ *         Person person = ref.resolve(realm);
+ *         // ...
+ *         realm.close();
+ *     }
+ * });
+ * }
+ * </pre>
+ *
+ * @param <T> the type of the referenced object, results or list.
+ */
+public final class ThreadSafeReference<T> implements Closeable {
+
+    private static final int TYPE_OBJECT = 0;
+    private static final int TYPE_RESULTS = 1;
+    private static final int TYPE_LIST = 2;
+    // Results of all objects of a class, which don't need to be handed over
+    private static final int TYPE_ALL_OBJECTS = 3;
+
+    // The versions references are kept at, by path and version number. They are shared by all references created at
+    // the same version and closed once the last one is resolved or closed.
+    private static final Map<String, VersionHolder> holders = new HashMap<String, VersionHolder>();
+
+    // The native resources of references which were neither resolved nor closed are released by the next thread
+    // creating or resolving a reference, instead of on the finalizer thread. The set keeps the phantom references
+    // reachable until then. Both are guarded by the holders map.
+    private static final ReferenceQueue<ThreadSafeReference<?>> referenceQueue =
+            new ReferenceQueue<ThreadSafeReference<?>>();
+    private static final Set<NativeResources> nativeResources = new HashSet<NativeResources>();
+
+    private final int type;
+    private final String path;
+    private final boolean dynamic;
+    // Class of the referenced object, or of the objects in the results or list
+    private final Class<? extends RealmObject> clazz;
+    private final String className;
+    // Table of the handed over rows, which is the table holding the list for lists
+    private final String tableName;
+    // Only used by lists
+    private final long originColumnIndex;
+
+    private SharedGroup.VersionID version;
+    // The handover and the version holder, or null for results of all objects
+    private NativeResources resources;
+    private boolean resolvable = true;
+
+    private ThreadSafeReference(int type, BaseRealm realm, Class<? extends RealmObject> clazz, String className,
+                                String tableName, long originColumnIndex) {
+        this.type = type;
+        this.path = realm.getPath();
+        this.dynamic = realm instanceof DynamicRealm;
+        this.clazz = clazz;
+        this.className = className;
+        this.tableName = tableName;
+        this.originColumnIndex = originColumnIndex;
+    }
+
+    /**
+     * Creates a reference to an object.
+     *
+     * @param object the object, which must belong to a Realm.
+     * @return a reference which can be resolved on any thread.
+     * @throws IllegalArgumentException if the object isn't managed by a Realm or has been deleted.
+     * @throws IllegalStateException if the Realm of the object is in a write transaction.
+     */
+    public static <E extends RealmObject> ThreadSafeReference<E> create(E object) {
+        if (object == null || object.realm == null) {
+            throw new IllegalArgumentException("Only objects managed by a Realm can be referenced.");
+        }
+        BaseRealm realm = object.realm;
+        checkCanExport(realm);
+        if (!object.isValid()) {
+            throw new IllegalArgumentException("The object has been deleted or its Realm has been closed.");
+        }
+
+        UncheckedRow row = (UncheckedRow) object.row;
+        String tableName = row.getTable().getName();
+        ThreadSafeReference<E> reference;
+        if (object instanceof DynamicRealmObject) {
+            String className = ((DynamicRealmObject) object).getType();
+            reference = new ThreadSafeReference<E>(TYPE_OBJECT, realm, null, className, tableName, 0);
+        } else {
+            reference = new ThreadSafeReference<E>(TYPE_OBJECT, realm, Util.getOriginalModelClass(object.getClass()),
+                    null, tableName, 0);
+        }
+        reference.export(realm, row);
+        return reference;
+    }
+
+    /**
+     * Creates a reference to query results. The rows of the results are handed over as they are, the query isn't run
+     * again when the reference is resolved.
+     *
+     * @param results the results, which must be loaded.
+     * @return a reference which can be resolved on any thread.
+     * @throws IllegalStateException if the Realm of the results is in a write transaction, or the results
+     * aren't loaded yet.
+     * @throws UnsupportedOperationException if the results are a snapshot.
+     */
+    public static <E extends RealmObject> ThreadSafeReference<RealmResults<E>> create(RealmResults<E> results) {
+        if (results == null) {
+            throw new IllegalArgumentException("Null results cannot be referenced.");
+        }
+        BaseRealm realm = results.realm;
+        checkCanExport(realm);
+        if (results.isSnapshot()) {
+            throw new UnsupportedOperationException("Snapshots cannot be referenced. Reference the results instead.");
+        }
+        if (!results.isLoaded()) {
+            throw new IllegalStateException("Cannot reference results before they are loaded. Call load() first or " +
+                    "wait for the change listener to be notified.");
+        }
+
+        Table resultsTable = (results.className != null) ? realm.schema.getTable(results.className)
+                : realm.schema.getTable(results.classSpec);
+        ThreadSafeReference<RealmResults<E>> reference = new ThreadSafeReference<RealmResults<E>>(TYPE_RESULTS,
+                realm, results.classSpec, results.className, resultsTable.getName(), 0);
+        TableOrView table = results.getTable();
+        if (table instanceof TableView) {
+            reference.export(realm, (TableView) table);
+            return reference;
+        }
+        ThreadSafeReference<RealmResults<E>> allObjects = new ThreadSafeReference<RealmResults<E>>(TYPE_ALL_OBJECTS,
+                realm, results.classSpec, results.className, resultsTable.getName(), 0);
+        allObjects.version = realm.sharedGroupManager.getVersion();
+        return allObjects;
+    }
+
+    /**
+     * Creates a reference to a list.
+     *
+     * @param list the list, which must belong to a Realm.
+     * @return a reference which can be resolved on any thread.
+     * @throws IllegalArgumentException if the list isn't managed by a Realm.
+     * @throws IllegalStateException if the Realm of the list is in a write transaction, or the object
+     * holding the list has been deleted.
+     */
+    public static <E extends RealmObject> ThreadSafeReference<RealmList<E>> create(RealmList<E> list) {
+        if (list == null || list.realm == null) {
+            throw new IllegalArgumentException("Only lists managed by a Realm can be referenced.");
+        }
+        BaseRealm realm = list.realm;
+        checkCanExport(realm);
+
+        // A list is handed over as the row holding it
+        LinkView view = list.view;
+        long originRowIndex = view.getOriginRowIndex();
+        Table originTable = view.getTable();
+        ThreadSafeReference<RealmList<E>> reference = new ThreadSafeReference<RealmList<E>>(TYPE_LIST, realm,
+                list.clazz, list.className, originTable.getName(), view.getColumnIndexInParent());
+        reference.export(realm, originTable.getUncheckedRow(originRowIndex));
+        return reference;
+    }
+
+    /**
+     * Resolves the reference on the calling thread.
+     *
+     * @param realm a Realm of the same file as the referenced object, opened on the calling thread. If it is at an
+     * older version than the reference, it is refreshed.
+     * @return the referenced object, results or list, or {@code null} if the object, or the object holding the list,
+     * has been deleted in the meantime.
+     * @throws IllegalArgumentException if the Realm is of another file or the reference was created by a
+     * {@link DynamicRealm}.
+     * @throws IllegalStateException if the reference has already been resolved or closed, or the Realm is in a write
+     * transaction.
+     */
+    public T resolve(Realm realm) {
+        return resolve((BaseRealm) realm);
+    }
+
+    /**
+     * Resolves a reference created by a {@link DynamicRealm} on the calling thread.
+     *
+     * @param realm a DynamicRealm of the same file as the referenced object, opened on the calling thread. If it is
+     * at an older version than the reference, it is refreshed.
+     * @return the referenced object, results or list, or {@code null} if the object, or the object holding the list,
+     * has been deleted in the meantime.
+     * @throws IllegalArgumentException if the Realm is of another file or the reference was created by a
+     * {@link Realm}.
+     * @throws IllegalStateException if the reference has already been resolved or closed, or the Realm is in a write
+     * transaction.
+     */
+    public T resolve(DynamicRealm realm) {
+        return resolve((BaseRealm) realm);
+    }
+
+    /**
+     * Checks if the reference can still be resolved.
+     *
+     * @return {@code true} if it has neither been resolved nor closed, {@code false} otherwise.
+     */
+    public synchronized boolean isResolvable() {
+        return resolvable;
+    }
+
+    /**
+     * Releases the reference without resolving it. Nothing happens if it has already been resolved or closed.
+     */
+    @Override
+    public synchronized void close() {
+        resolvable = false;
+        if (resources != null) {
+            synchronized (holders) {
+                nativeResources.remove(resources);
+            }
+            // Not enqueued anymore once cleared
+            resources.clear();
+            resources.release();
+            resources = null;
+        }
+    }
+
+    // Releases the native resources of references which have been garbage collected without being closed.
+    private static void releaseAbandonedResources() {
+        NativeResources abandoned;
+        while ((abandoned = (NativeResources) referenceQueue.poll()) != null) {
+            synchronized (holders) {
+                nativeResources.remove(abandoned);
+            }
+            abandoned.release();
+        }
+    }
+
+    private static void checkCanExport(BaseRealm realm) {
+        releaseAbandonedResources();
+        realm.checkIfValid();
+        if (realm.isInTransaction()) {
+            throw new IllegalStateException("Objects cannot be referenced inside a write transaction, as the " +
+                    "changes aren't visible to other threads yet.");
+        }
+    }
+
+    // Pins the current version of the Realm, so the handover can be imported at it.
+    private void export(BaseRealm realm, UncheckedRow row) {
+        version = realm.sharedGroupManager.getVersion();
+        resources = new NativeResources(this, acquireHolder(realm.getConfiguration(), version));
+        resources.handoverPtr = row.handover(realm.sharedGroupManager.getNativePointer());
+    }
+
+    private void export(BaseRealm realm, TableView view) {
+        version = realm.sharedGroupManager.getVersion();
+        resources = new NativeResources(this, acquireHolder(realm.getConfiguration(), version));
+        resources.handoverPtr = view.handover(realm.sharedGroupManager.getNativePointer());
+    }
+
+    private static VersionHolder acquireHolder(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        String key = configuration.getPath() + ":" + version.getVersion();
+        synchronized (holders) {
+            VersionHolder holder = holders.get(key);
+            if (holder == null) {
+                holder = new VersionHolder(key, configuration, version);
+                holders.put(key, holder);
+            }
+            holder.references++;
+            return holder;
+        }
+    }
+
+    private static void releaseHolder(VersionHolder holder) {
+        synchronized (holders) {
+            holder.references--;
+            if (holder.references == 0) {
+                holders.remove(holder.key);
+                holder.close();
+            }
+        }
+    }
+
+    private synchronized T resolve(BaseRealm realm) {
+        releaseAbandonedResources();
+        if (!resolvable) {
+            throw new IllegalStateException("The reference has already been resolved or closed.");
+        }
+        realm.checkIfValid();
+        if (!realm.getPath().equals(path)) {
+            throw new IllegalArgumentException("The reference must be resolved by a Realm of " + path);
+        }
+        if ((realm instanceof DynamicRealm) != dynamic) {
+            throw new IllegalArgumentException("References created by a " + (dynamic ? "DynamicRealm" : "Realm") +
+                    " must be resolved by a " + (dynamic ? "DynamicRealm." : "Realm."));
+        }
+        if (realm.isInTransaction()) {
+            throw new IllegalStateException("References cannot be resolved inside a write transaction.");
+        }
+
+        if (realm.sharedGroupManager.getVersion().compareTo(version) < 0) {
+            realm.refresh();
+        }
+        // The handover can only be imported at the version it was exported at. If the Realm has advanced beyond it,
+        // it is imported at the version of the reference and advanced to the same version as the Realm, which moves
+        // the rows, then handed over again.
+        SharedGroup.VersionID realmVersion = realm.sharedGroupManager.getVersion();
+        if (resources != null && realmVersion.compareTo(version) > 0) {
+            resources.handoverPtr = moveToVersion(resources.holder, realmVersion);
+        }
+
+        T result;
+        long ptr = 0;
+        if (resources != null) {
+            ptr = resources.handoverPtr;
+            resources.handoverPtr = 0;
+        }
+        try {
+            result = importInto(realm, ptr);
+        } finally {
+            close();
+        }
+        return result;
+    }
+
+    // Imports the handover at the version of the reference, advances and exports it again. This is done by the
+    // SharedGroup the holder keeps for moving rows, which reads the version of the holder again afterwards, so newer
+    // versions aren't kept.
+    private long moveToVersion(VersionHolder holder, SharedGroup.VersionID realmVersion) {
+        long ptr = resources.handoverPtr;
+        resources.handoverPtr = 0;
+        synchronized (holder) {
+            SharedGroupManager sharedGroupManager = holder.getMover();
+            long sharedGroupPtr = sharedGroupManager.getNativePointer();
+            try {
+                Table table = sharedGroupManager.getTable(tableName);
+                if (type == TYPE_RESULTS) {
+                    TableView view = table.where().importHandoverTableView(ptr, sharedGroupPtr);
+                    try {
+                        sharedGroupManager.advanceRead(realmVersion);
+                        return view.handover(sharedGroupPtr);
+                    } finally {
+                        view.close();
+                    }
+                } else {
+                    UncheckedRow row = table.getUncheckedRowByPointer(
+                            TableQuery.nativeImportHandoverRowIntoSharedGroup(ptr, sharedGroupPtr));
+                    sharedGroupManager.advanceRead(realmVersion);
+                    return row.isAttached() ? row.handover(sharedGroupPtr) : 0;
+                }
+            } finally {
+                sharedGroupManager.readVersion(holder.version);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T importInto(BaseRealm realm, long ptr) {
+        if (type == TYPE_ALL_OBJECTS) {
+            Table table = (className != null) ? realm.schema.getTable(className) : realm.schema.getTable(clazz);
+            if (className != null) {
+                return (T) RealmResults.createFromDynamicTableOrView(realm, table, className);
+            }
+            return (T) RealmResults.createFromTableOrView(realm, table, (Class<RealmObject>) clazz);
+        }
+        if (ptr == 0) {
+            // The row was deleted while moving it to the version of the Realm
+            return null;
+        }
+        long realmPtr = realm.sharedGroupManager.getNativePointer();
+        switch (type) {
+            case TYPE_OBJECT: {
+                Table table = (className != null) ? realm.schema.getTable(className) : realm.schema.getTable(clazz);
+                UncheckedRow row = table.getUncheckedRowByPointer(
+                        TableQuery.nativeImportHandoverRowIntoSharedGroup(ptr, realmPtr));
+                if (!row.isAttached()) {
+                    return null;
+                }
+                return (T) realm.get((Class<RealmObject>) ((className != null) ? DynamicRealmObject.class : clazz),
+                        className, row.getIndex());
+            }
+            case TYPE_RESULTS: {
+                Table table = (className != null) ? realm.schema.getTable(className) : realm.schema.getTable(clazz);
+                TableView view = table.where().importHandoverTableView(ptr, realmPtr);
+                if (className != null) {
+                    return (T) RealmResults.createFromDynamicTableOrView(realm, view, className);
+                }
+                return (T) RealmResults.createFromTableOrView(realm, view, (Class<RealmObject>) clazz);
+            }
+            case TYPE_LIST: {
+                Table originTable = realm.sharedGroupManager.getTable(tableName);
+                UncheckedRow originRow = originTable.getUncheckedRowByPointer(
+                        TableQuery.nativeImportHandoverRowIntoSharedGroup(ptr, realmPtr));
+                if (!originRow.isAttached()) {
+                    return null;
+                }
+                LinkView view = originRow.getLinkList(originColumnIndex);
+                if (className != null) {
+                    return (T) new RealmList<DynamicRealmObject>(className, view, realm);
+                }
+                return (T) new RealmList<RealmObject>((Class<RealmObject>) clazz, view, realm);
+            }
+            default:
+                throw new IllegalStateException("Unknown reference type: " + type);
+        }
+    }
+
+    private static void closeHandover(int type, long ptr) {
+        if (type == TYPE_RESULTS) {
+            TableQuery.nativeCloseTableViewHandover(ptr);
+        } else {
+            TableQuery.nativeCloseRowHandover(ptr);
+        }
+    }
+
+    // The handover of a reference and the holder of its version. It is enqueued when the reference is garbage
+    // collected without being closed, so the resources can be released by another thread.
+    private static final class NativeResources extends PhantomReference<ThreadSafeReference<?>> {
+        final int type;
+        final VersionHolder holder;
+        long handoverPtr;
+
+        NativeResources(ThreadSafeReference<?> reference, VersionHolder holder) {
+            super(reference, referenceQueue);
+            this.type = reference.type;
+            this.holder = holder;
+            synchronized (holders) {
+                nativeResources.add(this);
+            }
+        }
+
+        void release() {
+            if (handoverPtr != 0) {
+                closeHandover(type, handoverPtr);
+                handoverPtr = 0;
+            }
+            releaseHolder(holder);
+        }
+    }
+
+    private static final class VersionHolder {
+        final String key;
+        final RealmConfiguration configuration;
+        final SharedGroup.VersionID version;
+        // Keeps the version, so handovers can be imported at it
+        final SharedGroupManager sharedGroupManager;
+        // Moves rows to later versions for all references of the version. Guarded by the holder.
+        private SharedGroupManager mover;
+
+        int references;
+
+        VersionHolder(String key, RealmConfiguration configuration, SharedGroup.VersionID version) {
+            this.key = key;
+            this.configuration = configuration;
+            this.version = version;
+            this.sharedGroupManager = new SharedGroupManager(configuration, version);
+        }
+
+        // Returns the SharedGroup for moving rows, which reads the version of the holder. Must be called while
+        // holding the lock of the holder.
+        SharedGroupManager getMover() {
+            if (mover == null) {
+                mover = new SharedGroupManager(configuration, version);
+            }
+            return mover;
+        }
+
+        void close() {
+            synchronized (this) {
+                if (mover != null) {
+                    mover.close();
+                    mover = null;
+                }
+            }
+            sharedGroupManager.close();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import io.realm.RealmFieldType;
+
+/**
+ * An index of the inverse of a link column, used to find all rows linking to a given row.
+ * <p>
+ * The index is stored in a table named {@code bl_<class>.<field>} with a link to the target row as its first column
+ * and a LinkList of the rows linking to it as its second column. The storage engine already keeps backlinks for
+ * every link, so the key row of a target row is found through the backlinks of the first column without any search,
+ * and the rows currently listed under a key row through the backlinks of the second column.
+ * <p>
+ * Like {@link PostingLists} key rows are never removed while their target exists, so queries restricted to a LinkList
+ * stay live. The LinkLists are maintained by the storage engine when rows are removed and changed links must be
+ * registered using {@link PendingIndexUpdates}.
+ */
+public final class BacklinkIndex {
+
+    public static final String TABLE_PREFIX = "bl_";
+
+    public static final long TARGET_COLUMN_INDEX = 0;
+    public static final long ORIGINS_COLUMN_INDEX = 1;
+
+    private static final String TARGET_COLUMN_NAME = "target";
+    private static final String ORIGINS_COLUMN_NAME = "origins";
+    private static final long NO_MATCH = -1;
+    private static final long NO_TARGET = -1;
+    private static final int MAX_TABLE_NAME_LENGTH = 63;
+
+    private BacklinkIndex() {
+    }
+
+    /**
+     * Returns the name of the table holding the backlink index of a field.
+     *
+     * @param className name of the class without the table prefix.
+     * @param fieldName name of the link field.
+     * @return the name of the index table.
+     */
+    public static String getIndexTableName(String className, String fieldName) {
+        return TABLE_PREFIX + className + "." + fieldName;
+    }
+
+    /**
+     * Checks if a table name belongs to a backlink index table.
+     */
+    public static boolean isIndexTable(String tableName) {
+        return tableName.startsWith(TABLE_PREFIX);
+    }
+
+    /**
+     * Checks if the given link column has a backlink index.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @return {@code true} if the column has a backlink index, {@code false} otherwise.
+     */
+    public static boolean hasIndex(Group group, Table table, long columnIndex) {
+        return group.hasTable(getIndexTableName(table, columnIndex));
+    }
+
+    /**
+     * Returns the table holding the backlink index of a column.
+     *
+     * @return the index table or {@code null} if the column isn't indexed.
+     */
+    public static Table getIndexTable(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        return group.hasTable(indexTableName) ? group.getTable(indexTableName) : null;
+    }
+
+    /**
+     * Adds a backlink index to a link column and indexes all existing links. Nothing happens if the column is already
+     * indexed. Must be called inside a write transaction.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @throws IllegalArgumentException if the column isn't a link column.
+     */
+    public static void addIndex(Group group, Table table, long columnIndex) {
+        if (table.getColumnType(columnIndex) != RealmFieldType.OBJECT) {
+            throw new IllegalArgumentException("Only RealmObject fields can have a backlink index: "
+                    + table.getColumnName(columnIndex));
+        }
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            return;
+        }
+        if (indexTableName.length() > MAX_TABLE_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("The name of the backlink index table '%s' is longer " +
+                    "than %d characters. Use a shorter class or field name.", indexTableName, MAX_TABLE_NAME_LENGTH));
+        }
+
+        Table indexTable = group.getTable(indexTableName);
+        indexTable.addColumnLink(RealmFieldType.OBJECT, TARGET_COLUMN_NAME, table.getLinkTarget(columnIndex));
+        indexTable.addColumnLink(RealmFieldType.LIST, ORIGINS_COLUMN_NAME, table);
+
+        long size = table.size();
+        for (long rowIndex = 0; rowIndex < size; rowIndex++) {
+            update(indexTable, table.getUncheckedRow(rowIndex), columnIndex);
+        }
+    }
+
+    /**
+     * Removes the backlink index of a column, if any. Must be called inside a write transaction.
+     */
+    public static void removeIndex(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            group.removeTable(indexTableName);
+        }
+    }
+
+    /**
+     * Renames the index table after a class or a field has been renamed. Nothing happens if the field isn't indexed.
+     */
+    public static void renameIndex(Group group, String oldClassName, String oldFieldName, String newClassName,
+                                   String newFieldName) {
+        String oldName = getIndexTableName(oldClassName, oldFieldName);
+        if (group.hasTable(oldName)) {
+            group.renameTable(oldName, getIndexTableName(newClassName, newFieldName));
+        }
+    }
+
+    /**
+     * Lists a row under the row its link column currently points to.
+     *
+     * @param indexTable the index table.
+     * @param row the row of the indexed table.
+     * @param columnIndex the indexed link column.
+     */
+    public static void update(Table indexTable, Row row, long columnIndex) {
+        long targetRowIndex = row.isNullLink(columnIndex) ? NO_TARGET : row.getLink(columnIndex);
+        nativeUpdate(indexTable.nativePtr, row.getIndex(), targetRowIndex);
+    }
+
+    /**
+     * Finds the rows linking to a row.
+     *
+     * @param indexTable the index table.
+     * @param targetRowIndex the index of the row in the link target table.
+     * @return a LinkList of the rows linking to the target row or {@code null} if no row has ever linked to it.
+     */
+    public static LinkView find(Table indexTable, long targetRowIndex) {
+        long keyRowIndex = nativeFindKeyRow(indexTable.nativePtr, targetRowIndex);
+        if (keyRowIndex == NO_MATCH) {
+            return null;
+        }
+        return indexTable.getUncheckedRow(keyRowIndex).getLinkList(ORIGINS_COLUMN_INDEX);
+    }
+
+    private static String getIndexTableName(Table table, long columnIndex) {
+        String className = table.getName().substring(Table.TABLE_PREFIX.length());
+        return getIndexTableName(className, table.getColumnName(columnIndex));
+    }
+
+    private static native void nativeUpdate(long nativeIndexTablePtr, long originRowIndex, long targetRowIndex);
+    private static native long nativeFindKeyRow(long nativeIndexTablePtr, long targetRowIndex);
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import io.realm.RealmFieldType;
+
+/**
+ * A case insensitive index for a String column.
+ * <p>
+ * The index is stored in a {@link PostingLists} table named {@code ci_<class>.<field>}. Every row is listed under its
+ * case folded value and under the first 1 to {@link #PREFIX_LENGTH} characters of it, so both {@code equalTo()} and
+ * {@code beginsWith()} find a single LinkList holding all candidates, also for rows added later.
+ * <p>
+ * Values are folded one code point at a time using the full Unicode case mappings, so folding a prefix of a string
+ * gives a prefix of the folded string. Any string matched case insensitively by {@code equalTo()} or
+ * {@code beginsWith()} thus has the folded query value as its key or as a prefix of its key. Mapping each code point
+ * to upper and then lower case expands e.g. '&szlig;' to "ss" and folds the final sigma like the sigma, but unlike the case
+ * folding of the Unicode standard it doesn't apply locale specific mappings like the dotless i of Turkish.
+ * <p>
+ * Like {@link FullTextIndex} the LinkLists are maintained by the storage engine when rows are removed and changed
+ * values must be registered using {@link PendingIndexUpdates}.
+ */
+public final class CaseInsensitiveIndex {
+
+    public static final String TABLE_PREFIX = "ci_";
+    public static final int PREFIX_LENGTH = 3;
+
+    private static final String KEY_COLUMN_NAME = "key";
+    private static final String TARGETS_COLUMN_NAME = "targets";
+    private static final String VALUE_KEY_PREFIX = "=";
+    private static final String PREFIX_KEY_PREFIX = "^";
+    private static final int MAX_TABLE_NAME_LENGTH = 63;
+    private static final String[] NO_KEYS = new String[0];
+
+    private CaseInsensitiveIndex() {
+    }
+
+    /**
+     * Returns the name of the table holding the case insensitive index of a field.
+     *
+     * @param className name of the class without the table prefix.
+     * @param fieldName name of the field.
+     * @return the name of the index table.
+     */
+    public static String getIndexTableName(String className, String fieldName) {
+        return TABLE_PREFIX + className + "." + fieldName;
+    }
+
+    /**
+     * Checks if a table name belongs to a case insensitive index table.
+     */
+    public static boolean isIndexTable(String tableName) {
+        return tableName.startsWith(TABLE_PREFIX);
+    }
+
+    /**
+     * Checks if the given column has a case insensitive index.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @return {@code true} if the column has a case insensitive index, {@code false} otherwise.
+     */
+    public static boolean hasIndex(Group group, Table table, long columnIndex) {
+        return group.hasTable(getIndexTableName(table, columnIndex));
+    }
+
+    /**
+     * Returns the table holding the case insensitive index of a column.
+     *
+     * @return the index table or {@code null} if the column isn't indexed.
+     */
+    public static Table getIndexTable(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        return group.hasTable(indexTableName) ? group.getTable(indexTableName) : null;
+    }
+
+    /**
+     * Adds a case insensitive index to a String column and indexes all existing values. Nothing happens if the column
+     * is already indexed. Must be called inside a write transaction.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @throws IllegalArgumentException if the column isn't a String column.
+     */
+    public static void addIndex(Group group, Table table, long columnIndex) {
+        if (table.getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException("Only String fields can have a case insensitive index: "
+                    + table.getColumnName(columnIndex));
+        }
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            return;
+        }
+        if (indexTableName.length() > MAX_TABLE_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("The name of the case insensitive index table '%s' is " +
+                    "longer than %d characters. Use a shorter class or field name.", indexTableName,
+                    MAX_TABLE_NAME_LENGTH));
+        }
+
+        Table indexTable = group.getTable(indexTableName);
+        indexTable.addColumn(RealmFieldType.STRING, KEY_COLUMN_NAME, Table.NOT_NULLABLE);
+        indexTable.addSearchIndex(PostingLists.KEY_COLUMN_INDEX);
+        indexTable.addColumnLink(RealmFieldType.LIST, TARGETS_COLUMN_NAME, table);
+
+        long size = table.size();
+        for (long rowIndex = 0; rowIndex < size; rowIndex++) {
+            update(indexTable, rowIndex, table.getString(columnIndex, rowIndex));
+        }
+    }
+
+    /**
+     * Removes the case insensitive index of a column, if any. Must be called inside a write transaction.
+     */
+    public static void removeIndex(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            group.removeTable(indexTableName);
+        }
+    }
+
+    /**
+     * Renames the index table after a class or a field has been renamed. Nothing happens if the field isn't indexed.
+     */
+    public static void renameIndex(Group group, String oldClassName, String oldFieldName, String newClassName,
+                                   String newFieldName) {
+        String oldName = getIndexTableName(oldClassName, oldFieldName);
+        if (group.hasTable(oldName)) {
+            group.renameTable(oldName, getIndexTableName(newClassName, newFieldName));
+        }
+    }
+
+    /**
+     * Folds the case of a string, so strings which only differ by case are folded to the same string.
+     *
+     * @param value the string to fold.
+     * @return the case folded string or {@code null} if {@code value} is {@code null}.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            if (codePoint < 0x80) {
+                sb.append((char) Character.toLowerCase(codePoint));
+            } else {
+                // The String methods apply the mappings to more than one character, which Character can't. A single
+                // code point has no context, so a sigma is never mapped to the final sigma.
+                String upper = new String(Character.toChars(codePoint)).toUpperCase(Locale.ROOT);
+                sb.append(upper.toLowerCase(Locale.ROOT));
+            }
+            i += Character.charCount(codePoint);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Lists a row under the keys of its new value.
+     *
+     * @param indexTable the index table.
+     * @param rowIndex the index of the row in the indexed table.
+     * @param value the new value of the indexed column.
+     */
+    public static void update(Table indexTable, long rowIndex, String value) {
+        String folded = fold(value);
+        if (folded == null) {
+            PostingLists.update(indexTable, rowIndex, NO_KEYS);
+            return;
+        }
+        int prefixes = Math.min(folded.codePointCount(0, folded.length()), PREFIX_LENGTH);
+        String[] keys = new String[prefixes + 1];
+        keys[0] = VALUE_KEY_PREFIX + folded;
+        for (int i = 1; i <= prefixes; i++) {
+            keys[i] = PREFIX_KEY_PREFIX + folded.substring(0, folded.offsetByCodePoints(0, i));
+        }
+        PostingLists.update(indexTable, rowIndex, keys);
+    }
+
+    /**
+     * Finds the rows which might be equal to a value when ignoring case.
+     *
+     * @param indexTable the index table.
+     * @param value the query value.
+     * @return a LinkList of the candidate rows or {@code null} if {@code value} is {@code null} or no row has that
+     * value.
+     */
+    public static LinkView findEqual(Table indexTable, String value) {
+        if (value == null) {
+            return null;
+        }
+        return PostingLists.findSmallest(indexTable, new String[] {VALUE_KEY_PREFIX + fold(value)});
+    }
+
+    /**
+     * Finds the distinct values of a column which are equal to a value when folded like the index does.
+     *
+     * @param indexTable the index table.
+     * @param table the indexed table.
+     * @param columnIndex the index of the indexed column.
+     * @param value the query value.
+     * @return the values as stored in the column. The set is empty if {@code value} is {@code null} or no row has
+     * that value.
+     */
+    public static Set<String> findEqualValues(Table indexTable, Table table, long columnIndex, String value) {
+        Set<String> values = new LinkedHashSet<String>();
+        LinkView rows = findEqual(indexTable, value);
+        if (rows != null) {
+            long size = rows.size();
+            for (long i = 0; i < size; i++) {
+                values.add(table.getString(columnIndex, rows.getTargetRowIndex(i)));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Finds the rows which might begin with a value when ignoring case.
+     *
+     * @param indexTable the index table.
+     * @param value the query value.
+     * @return a LinkList of the candidate rows or {@code null} if {@code value} is {@code null} or empty or no row
+     * begins with the first characters of the value.
+     */
+    public static LinkView findPrefix(Table indexTable, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        String folded = fold(value);
+        int length = Math.min(folded.codePointCount(0, folded.length()), PREFIX_LENGTH);
+        String prefix = folded.substring(0, folded.offsetByCodePoints(0, length));
+        return PostingLists.findSmallest(indexTable, new String[] {PREFIX_KEY_PREFIX + prefix});
+    }
+
+    private static String getIndexTableName(Table table, long columnIndex) {
+        String className = table.getName().substring(Table.TABLE_PREFIX.length());
+        return getIndexTableName(className, table.getColumnName(columnIndex));
+    }
+}
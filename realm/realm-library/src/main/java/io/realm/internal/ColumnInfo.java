@@ -19,10 +19,13 @@ package io.realm.internal;
 import java.util.Collections;
 import java.util.Map;
 
+import io.realm.RealmFieldType;
 import io.realm.exceptions.RealmMigrationNeededException;
 
 public class ColumnInfo {
     private Map<String, Long> indicesMap;
+    // Indexed by column index, true for the link columns which have a backlink index.
+    private boolean[] backlinkIndexed = new boolean[0];
 
     protected final long getValidColumnIndex(String realmPath, Table table,
                                              String className, String columnName) {
@@ -41,4 +44,31 @@ public class ColumnInfo {
     public Map<String, Long> getIndicesMap() {
         return indicesMap;
     }
+
+    /**
+     * Looks up which link columns have a backlink index. A backlink index is added by the class being linked to, so
+     * this must be called once the tables of all classes have been validated.
+     *
+     * @param group the group the table belongs to.
+     * @param table the table of the class.
+     */
+    public final void resolveBacklinkIndexes(Group group, Table table) {
+        final boolean[] indexed = new boolean[(int) table.getColumnCount()];
+        for (Long columnIndex : indicesMap.values()) {
+            if (table.getColumnType(columnIndex) == RealmFieldType.OBJECT) {
+                indexed[columnIndex.intValue()] = BacklinkIndex.hasIndex(group, table, columnIndex);
+            }
+        }
+        backlinkIndexed = indexed;
+    }
+
+    /**
+     * Checks if changes to a link column must be registered to update its backlink index.
+     *
+     * @param columnIndex the index of the link column.
+     * @return {@code true} if the column has a backlink index, {@code false} otherwise.
+     */
+    public final boolean hasBacklinkIndex(long columnIndex) {
+        return columnIndex < backlinkIndexed.length && backlinkIndexed[(int) columnIndex];
+    }
 }
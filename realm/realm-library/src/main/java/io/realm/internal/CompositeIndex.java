@@ -0,0 +1,367 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import io.realm.RealmFieldType;
+
+/**
+ * An index over several columns of a table.
+ * <p>
+ * The index is stored in a {@link PostingLists} table named {@code cx_<class>.<field1>.<field2>...}. Every row is
+ * listed under the values of the first field, under the values of the first two fields and so on, so a query having
+ * {@code equalTo()} conditions on any leading fields finds all candidates in a single LinkList. Remaining conditions,
+ * e.g. a {@code between()} on the next field, are only evaluated for those candidates.
+ * <p>
+ * Like {@link FullTextIndex} the LinkLists are maintained by the storage engine when rows are removed and changed
+ * values must be registered using {@link PendingIndexUpdates}.
+ */
+public final class CompositeIndex {
+
+    public static final String TABLE_PREFIX = "cx_";
+
+    private static final String KEY_COLUMN_NAME = "key";
+    private static final String TARGETS_COLUMN_NAME = "targets";
+    private static final String FIELD_SEPARATOR = ".";
+    private static final int MAX_TABLE_NAME_LENGTH = 63;
+
+    // Each value is encoded as a type tag, the value and a terminator. Backslashes and terminators in strings are
+    // escaped, so the encoding of a list of values is unique.
+    private static final char TERMINATOR = '\u001f';
+    private static final char ESCAPE = '\\';
+    private static final char TAG_NULL = 'n';
+    private static final char TAG_STRING = 's';
+    private static final char TAG_INTEGER = 'i';
+    private static final char TAG_BOOLEAN = 'b';
+    private static final char TAG_DATE = 'd';
+
+    private final Table indexTable;
+    private final long[] columnIndices;
+
+    private CompositeIndex(Table indexTable, long[] columnIndices) {
+        this.indexTable = indexTable;
+        this.columnIndices = columnIndices;
+    }
+
+    /**
+     * Returns the columns covered by this index, in index order.
+     */
+    public long[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    /**
+     * Checks if the given column is covered by this index.
+     */
+    public boolean covers(long columnIndex) {
+        for (long index : columnIndices) {
+            if (index == columnIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists a row under the current values of the indexed columns.
+     *
+     * @param row the row of the indexed table.
+     */
+    public void update(Row row) {
+        String[] keys = new String[columnIndices.length];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < columnIndices.length; i++) {
+            appendValue(sb, getValue(row, columnIndices[i]));
+            keys[i] = sb.toString();
+        }
+        PostingLists.update(indexTable, row.getIndex(), keys);
+    }
+
+    /**
+     * Finds the rows having the given values in the leading columns of the index.
+     *
+     * @param encodedValues the values of the leading columns encoded with {@link #encode(Object)}.
+     * @return a LinkList of the candidate rows or {@code null} if no values are given or no row has these values.
+     */
+    public LinkView find(List<String> encodedValues) {
+        if (encodedValues.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String value : encodedValues) {
+            sb.append(value);
+        }
+        return PostingLists.findSmallest(indexTable, new String[] {sb.toString()});
+    }
+
+    /**
+     * Encodes a value as used in the keys of an index. Integers of all sizes are encoded the same way and dates are
+     * truncated to seconds like in the storage engine.
+     *
+     * @param value a String, integer, Boolean or Date value or {@code null}.
+     * @return the encoded value.
+     * @throws IllegalArgumentException if the type of the value cannot be indexed.
+     */
+    public static String encode(Object value) {
+        StringBuilder sb = new StringBuilder();
+        appendValue(sb, value);
+        return sb.toString();
+    }
+
+    /**
+     * Returns the name of the table holding a composite index.
+     *
+     * @param className name of the class without the table prefix.
+     * @param fieldNames names of the indexed fields, in index order.
+     * @return the name of the index table.
+     */
+    public static String getIndexTableName(String className, String[] fieldNames) {
+        StringBuilder sb = new StringBuilder(TABLE_PREFIX).append(className);
+        for (String fieldName : fieldNames) {
+            sb.append(FIELD_SEPARATOR).append(fieldName);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks if a table name belongs to a composite index table.
+     */
+    public static boolean isIndexTable(String tableName) {
+        return tableName.startsWith(TABLE_PREFIX);
+    }
+
+    /**
+     * Checks if the given columns have a composite index, in that order.
+     */
+    public static boolean hasIndex(Group group, Table table, long[] columnIndices) {
+        return group.hasTable(getIndexTableName(table, columnIndices));
+    }
+
+    /**
+     * Checks if the given column is covered by any composite index.
+     */
+    public static boolean isCovered(Group group, Table table, long columnIndex) {
+        for (CompositeIndex index : getIndexes(group, table)) {
+            if (index.covers(columnIndex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns all composite indexes of a table.
+     *
+     * @param group the group containing the table.
+     * @param table the indexed table.
+     * @return the composite indexes, an empty list if there are none.
+     */
+    public static List<CompositeIndex> getIndexes(Group group, Table table) {
+        String prefix = getIndexTableNamePrefix(getClassName(table));
+        List<CompositeIndex> indexes = new ArrayList<CompositeIndex>();
+        long size = group.size();
+        for (int i = 0; i < size; i++) {
+            String tableName = group.getTableName(i);
+            if (!tableName.startsWith(prefix)) {
+                continue;
+            }
+            String[] fieldNames = tableName.substring(prefix.length()).split("\\" + FIELD_SEPARATOR);
+            long[] columnIndices = new long[fieldNames.length];
+            for (int j = 0; j < fieldNames.length; j++) {
+                columnIndices[j] = table.getColumnIndex(fieldNames[j]);
+            }
+            indexes.add(new CompositeIndex(group.getTable(tableName), columnIndices));
+        }
+        return indexes;
+    }
+
+    /**
+     * Adds a composite index and indexes all existing rows. Nothing happens if the index already exists. Must be called
+     * inside a write transaction.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the columns.
+     * @param columnIndices the columns to index, in index order.
+     * @throws IllegalArgumentException if less than two or duplicated columns are given or a column cannot be
+     * indexed.
+     */
+    public static void addIndex(Group group, Table table, long[] columnIndices) {
+        if (columnIndices.length < 2) {
+            throw new IllegalArgumentException("A composite index needs at least two fields.");
+        }
+        for (int i = 0; i < columnIndices.length; i++) {
+            RealmFieldType type = table.getColumnType(columnIndices[i]);
+            if (type != RealmFieldType.STRING && type != RealmFieldType.INTEGER && type != RealmFieldType.BOOLEAN
+                    && type != RealmFieldType.DATE) {
+                throw new IllegalArgumentException("Only String, integer, boolean and Date fields can be part of a " +
+                        "composite index: " + table.getColumnName(columnIndices[i]));
+            }
+            for (int j = 0; j < i; j++) {
+                if (columnIndices[j] == columnIndices[i]) {
+                    throw new IllegalArgumentException("A field can only be part of a composite index once: "
+                            + table.getColumnName(columnIndices[i]));
+                }
+            }
+        }
+        String indexTableName = getIndexTableName(table, columnIndices);
+        if (group.hasTable(indexTableName)) {
+            return;
+        }
+        if (indexTableName.length() > MAX_TABLE_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("The name of the composite index table '%s' is longer " +
+                    "than %d characters. Use shorter class or field names.", indexTableName, MAX_TABLE_NAME_LENGTH));
+        }
+
+        Table indexTable = group.getTable(indexTableName);
+        indexTable.addColumn(RealmFieldType.STRING, KEY_COLUMN_NAME, Table.NOT_NULLABLE);
+        indexTable.addSearchIndex(PostingLists.KEY_COLUMN_INDEX);
+        indexTable.addColumnLink(RealmFieldType.LIST, TARGETS_COLUMN_NAME, table);
+
+        CompositeIndex index = new CompositeIndex(indexTable, columnIndices);
+        long size = table.size();
+        for (long rowIndex = 0; rowIndex < size; rowIndex++) {
+            index.update(table.getUncheckedRow(rowIndex));
+        }
+    }
+
+    /**
+     * Removes a composite index, if it exists. Must be called inside a write transaction.
+     */
+    public static void removeIndex(Group group, Table table, long[] columnIndices) {
+        String indexTableName = getIndexTableName(table, columnIndices);
+        if (group.hasTable(indexTableName)) {
+            group.removeTable(indexTableName);
+        }
+    }
+
+    /**
+     * Removes all composite indexes covering a column. Must be called inside a write transaction.
+     */
+    public static void removeIndexes(Group group, Table table, long columnIndex) {
+        for (CompositeIndex index : getIndexes(group, table)) {
+            if (index.covers(columnIndex)) {
+                group.removeTable(index.indexTable.getName());
+            }
+        }
+    }
+
+    /**
+     * Renames the index tables after a class has been renamed.
+     */
+    public static void renameClass(Group group, String oldClassName, String newClassName) {
+        String oldPrefix = getIndexTableNamePrefix(oldClassName);
+        for (String tableName : getTableNames(group, oldPrefix)) {
+            group.renameTable(tableName, getIndexTableNamePrefix(newClassName)
+                    + tableName.substring(oldPrefix.length()));
+        }
+    }
+
+    /**
+     * Renames the index tables after a field has been renamed.
+     */
+    public static void renameField(Group group, String className, String oldFieldName, String newFieldName) {
+        String prefix = getIndexTableNamePrefix(className);
+        for (String tableName : getTableNames(group, prefix)) {
+            String[] fieldNames = tableName.substring(prefix.length()).split("\\" + FIELD_SEPARATOR);
+            boolean renamed = false;
+            for (int i = 0; i < fieldNames.length; i++) {
+                if (fieldNames[i].equals(oldFieldName)) {
+                    fieldNames[i] = newFieldName;
+                    renamed = true;
+                }
+            }
+            if (renamed) {
+                group.renameTable(tableName, getIndexTableName(className, fieldNames));
+            }
+        }
+    }
+
+    private static List<String> getTableNames(Group group, String prefix) {
+        List<String> tableNames = new ArrayList<String>();
+        long size = group.size();
+        for (int i = 0; i < size; i++) {
+            String tableName = group.getTableName(i);
+            if (tableName.startsWith(prefix)) {
+                tableNames.add(tableName);
+            }
+        }
+        return tableNames;
+    }
+
+    private static String getIndexTableNamePrefix(String className) {
+        return TABLE_PREFIX + className + FIELD_SEPARATOR;
+    }
+
+    private static String getIndexTableName(Table table, long[] columnIndices) {
+        String[] fieldNames = new String[columnIndices.length];
+        for (int i = 0; i < columnIndices.length; i++) {
+            fieldNames[i] = table.getColumnName(columnIndices[i]);
+        }
+        return getIndexTableName(getClassName(table), fieldNames);
+    }
+
+    private static String getClassName(Table table) {
+        return table.getName().substring(Table.TABLE_PREFIX.length());
+    }
+
+    private static Object getValue(Row row, long columnIndex) {
+        if (row.isNull(columnIndex)) {
+            return null;
+        }
+        switch (row.getColumnType(columnIndex)) {
+            case STRING:
+                return row.getString(columnIndex);
+            case INTEGER:
+                return row.getLong(columnIndex);
+            case BOOLEAN:
+                return row.getBoolean(columnIndex);
+            case DATE:
+                return row.getDate(columnIndex);
+            default:
+                throw new IllegalArgumentException("Unsupported column type: " + row.getColumnType(columnIndex));
+        }
+    }
+
+    private static void appendValue(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append(TAG_NULL);
+        } else if (value instanceof String) {
+            sb.append(TAG_STRING);
+            String string = (String) value;
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c == ESCAPE || c == TERMINATOR) {
+                    sb.append(ESCAPE);
+                }
+                sb.append(c);
+            }
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            sb.append(TAG_INTEGER).append(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            sb.append(TAG_BOOLEAN).append(((Boolean) value) ? '1' : '0');
+        } else if (value instanceof Date) {
+            sb.append(TAG_DATE).append(((Date) value).getTime() / 1000);
+        } else {
+            throw new IllegalArgumentException("Unsupported value type: " + value.getClass());
+        }
+        sb.append(TERMINATOR);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import io.realm.RealmFieldType;
+
+/**
+ * A full-text index for a String column.
+ * <p>
+ * The index is stored in a {@link PostingLists} table named {@code fts_<class>.<field>} with one row for each token
+ * (a case folded sequence of {@link #TOKEN_LENGTH} characters) and a LinkList pointing to all rows containing that
+ * token. Any string matched by {@code contains()}, {@code beginsWith()}, {@code endsWith()} or {@code equalTo()} must
+ * contain all the tokens of the query value, so the rows in the smallest of those LinkLists are a superset of the
+ * result and the query only has to evaluate them instead of the whole table.
+ * <p>
+ * Removed rows are removed from the LinkLists by the storage engine itself. Changed values must be registered using
+ * {@link PendingIndexUpdates} which rewrites the tokens of the row before the write transaction is committed.
+ */
+public final class FullTextIndex {
+
+    public static final String TABLE_PREFIX = "fts_";
+    public static final int TOKEN_LENGTH = 3;
+
+    private static final String TOKEN_COLUMN_NAME = "token";
+    private static final String TARGETS_COLUMN_NAME = "targets";
+    private static final int MAX_TABLE_NAME_LENGTH = 63;
+    private static final String[] NO_TOKENS = new String[0];
+
+    private FullTextIndex() {
+    }
+
+    /**
+     * Returns the name of the table holding the full-text index of a field.
+     *
+     * @param className name of the class without the table prefix.
+     * @param fieldName name of the field.
+     * @return the name of the index table.
+     */
+    public static String getIndexTableName(String className, String fieldName) {
+        return TABLE_PREFIX + className + "." + fieldName;
+    }
+
+    /**
+     * Checks if a table name belongs to a full-text index table.
+     */
+    public static boolean isIndexTable(String tableName) {
+        return tableName.startsWith(TABLE_PREFIX);
+    }
+
+    /**
+     * Checks if the given column has a full-text index.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @return {@code true} if the column has a full-text index, {@code false} otherwise.
+     */
+    public static boolean hasIndex(Group group, Table table, long columnIndex) {
+        return group.hasTable(getIndexTableName(table, columnIndex));
+    }
+
+    /**
+     * Returns the table holding the full-text index of a column.
+     *
+     * @return the index table or {@code null} if the column isn't indexed.
+     */
+    public static Table getIndexTable(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        return group.hasTable(indexTableName) ? group.getTable(indexTableName) : null;
+    }
+
+    /**
+     * Adds a full-text index to a String column and indexes all existing values. Nothing happens if the column is
+     * already indexed. Must be called inside a write transaction.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @throws IllegalArgumentException if the column isn't a String column.
+     */
+    public static void addIndex(Group group, Table table, long columnIndex) {
+        if (table.getColumnType(columnIndex) != RealmFieldType.STRING) {
+            throw new IllegalArgumentException("Only String fields can have a full-text index: "
+                    + table.getColumnName(columnIndex));
+        }
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            return;
+        }
+        if (indexTableName.length() > MAX_TABLE_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("The name of the full-text index table '%s' is longer " +
+                    "than %d characters. Use a shorter class or field name.", indexTableName, MAX_TABLE_NAME_LENGTH));
+        }
+
+        Table indexTable = group.getTable(indexTableName);
+        indexTable.addColumn(RealmFieldType.STRING, TOKEN_COLUMN_NAME, Table.NOT_NULLABLE);
+        indexTable.addSearchIndex(PostingLists.KEY_COLUMN_INDEX);
+        indexTable.addColumnLink(RealmFieldType.LIST, TARGETS_COLUMN_NAME, table);
+
+        long size = table.size();
+        for (long rowIndex = 0; rowIndex < size; rowIndex++) {
+            update(indexTable, rowIndex, table.getString(columnIndex, rowIndex));
+        }
+    }
+
+    /**
+     * Removes the full-text index of a column, if any. Must be called inside a write transaction.
+     */
+    public static void removeIndex(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            group.removeTable(indexTableName);
+        }
+    }
+
+    /**
+     * Renames the index table after a class or a field has been renamed. Nothing happens if the field isn't indexed.
+     */
+    public static void renameIndex(Group group, String oldClassName, String oldFieldName, String newClassName,
+                                   String newFieldName) {
+        String oldName = getIndexTableName(oldClassName, oldFieldName);
+        if (group.hasTable(oldName)) {
+            group.renameTable(oldName, getIndexTableName(newClassName, newFieldName));
+        }
+    }
+
+    /**
+     * Splits a string into its distinct, case folded tokens. Strings shorter than {@link #TOKEN_LENGTH} characters
+     * have no tokens.
+     * <p>
+     * Characters are folded one code point at a time so a token always covers exactly {@link #TOKEN_LENGTH}
+     * characters of the original string.
+     *
+     * @param value the string to split.
+     * @return the tokens of the string.
+     */
+    public static String[] tokenize(String value) {
+        if (value == null || value.length() < TOKEN_LENGTH) {
+            return NO_TOKENS;
+        }
+        int[] codePoints = new int[value.length()];
+        int length = 0;
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            codePoints[length++] = Character.toLowerCase(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        if (length < TOKEN_LENGTH) {
+            return NO_TOKENS;
+        }
+
+        Set<String> tokens = new LinkedHashSet<String>();
+        for (int i = 0; i <= length - TOKEN_LENGTH; i++) {
+            tokens.add(new String(codePoints, i, TOKEN_LENGTH));
+        }
+        return tokens.toArray(new String[tokens.size()]);
+    }
+
+    /**
+     * Replaces the tokens registered for a row with the tokens of its new value.
+     *
+     * @param indexTable the index table.
+     * @param rowIndex the index of the row in the indexed table.
+     * @param value the new value of the indexed column.
+     */
+    public static void update(Table indexTable, long rowIndex, String value) {
+        PostingLists.update(indexTable, rowIndex, tokenize(value));
+    }
+
+    /**
+     * Finds the rows which might match a query value, i.e. the rows containing all the tokens of the value.
+     *
+     * @param indexTable the index table.
+     * @param value the query value.
+     * @return a LinkList of the candidate rows or {@code null} if the value is too short to use the index or
+     * no row contains all the tokens.
+     */
+    public static LinkView findCandidates(Table indexTable, String value) {
+        return PostingLists.findSmallest(indexTable, tokenize(value));
+    }
+
+    private static String getIndexTableName(Table table, long columnIndex) {
+        String className = table.getName().substring(Table.TABLE_PREFIX.length());
+        return getIndexTableName(className, table.getColumnName(columnIndex));
+    }
+}
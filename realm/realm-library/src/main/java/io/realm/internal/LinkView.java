@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import io.realm.RealmFieldType;
+import io.realm.Sort;
 import java.lang.ref.ReferenceQueue;
 
 /**
@@ -111,6 +112,66 @@ public class LinkView extends NativeObject {
         nativeClear(nativePointer);
     }
 
+    /**
+     * Adds links to the given rows of the target table at the end of this LinkView.
+     */
+    public void addAll(long[] rowIndexes) {
+        checkImmutable();
+        nativeInsertAll(nativePointer, nativeSize(nativePointer), rowIndexes);
+    }
+
+    /**
+     * Inserts links to the given rows of the target table, starting at the given position.
+     */
+    public void insertAll(long pos, long[] rowIndexes) {
+        checkImmutable();
+        nativeInsertAll(nativePointer, pos, rowIndexes);
+    }
+
+    /**
+     * Replaces all links by links to the given rows. Only positions which link to another row are changed.
+     */
+    public void setAll(long[] rowIndexes) {
+        checkImmutable();
+        nativeSetAll(nativePointer, rowIndexes);
+    }
+
+    /**
+     * Removes the links at the positions from {@code fromPos}, inclusive, to {@code toPos}, exclusive.
+     */
+    public void removeRange(long fromPos, long toPos) {
+        checkImmutable();
+        nativeRemoveRange(nativePointer, fromPos, toPos);
+    }
+
+    /**
+     * Sorts the links by a column of the target table. The new order is stored.
+     */
+    public void sort(long columnIndex, Sort sortOrder) {
+        checkImmutable();
+        nativeSort(nativePointer, columnIndex, sortOrder.getValue());
+    }
+
+    /**
+     * Removes all links to rows not in {@code rowIndexes}.
+     *
+     * @return {@code true} if any link was removed.
+     */
+    public boolean retainAll(long[] rowIndexes) {
+        checkImmutable();
+        return nativeRemoveTargets(nativePointer, rowIndexes, true);
+    }
+
+    /**
+     * Removes all links to rows in {@code rowIndexes}.
+     *
+     * @return {@code true} if any link was removed.
+     */
+    public boolean removeAll(long[] rowIndexes) {
+        checkImmutable();
+        return nativeRemoveTargets(nativePointer, rowIndexes, false);
+    }
+
     public long size() {
         return nativeSize(nativePointer);
     }
@@ -135,6 +196,22 @@ public class LinkView extends NativeObject {
         return nativeIsAttached(nativePointer);
     }
 
+    /**
+     * Returns the index of the row in the origin table which owns this LinkView.
+     *
+     * @throws IllegalStateException if the LinkView is no longer attached.
+     */
+    public long getOriginRowIndex() {
+        return nativeGetOriginRowIndex(nativePointer);
+    }
+
+    /**
+     * Returns the index of the column in the origin table which holds this LinkView.
+     */
+    public long getColumnIndexInParent() {
+        return columnIndexInParent;
+    }
+
     /**
      * Returns the {@link Table} which all links point to.
      */
@@ -161,4 +238,10 @@ public class LinkView extends NativeObject {
     private native boolean nativeIsEmpty(long nativeLinkViewPtr);
     protected native long nativeWhere(long nativeLinkViewPtr);
     private native boolean nativeIsAttached(long nativeLinkViewPtr);
+    private native long nativeGetOriginRowIndex(long nativeLinkViewPtr);
+    private native void nativeInsertAll(long nativeLinkViewPtr, long pos, long[] rowIndexes);
+    private native void nativeSetAll(long nativeLinkViewPtr, long[] rowIndexes);
+    private native void nativeRemoveRange(long nativeLinkViewPtr, long fromPos, long toPos);
+    private native void nativeSort(long nativeLinkViewPtr, long columnIndex, boolean ascending);
+    private native boolean nativeRemoveTargets(long nativeLinkViewPtr, long[] rowIndexes, boolean retain);
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.Date;
+
+import io.realm.RealmFieldType;
+
+/**
+ * An ordered index for a numeric or Date column.
+ * <p>
+ * The index is stored in a {@link PostingLists} table named {@code oi_<class>.<field>}. Values are mapped to 64 bits
+ * preserving their order and every row is listed under the value with the lowest 8, 16, ..., 56 bits removed, i.e.
+ * in buckets of growing width, and under a key for all rows. A range query is answered by the narrowest bucket
+ * holding both of its bounds, which also holds any row added to the range later. All LinkLists are kept sorted by
+ * value, so query results restricted to one of them are in ascending order without sorting.
+ * <p>
+ * Rows with a {@code null} value are not listed. Like {@link FullTextIndex} the LinkLists are maintained by the
+ * storage engine when rows are removed and changed values must be registered using {@link PendingIndexUpdates}.
+ */
+public final class OrderedIndex {
+
+    public static final String TABLE_PREFIX = "oi_";
+
+    private static final String KEY_COLUMN_NAME = "key";
+    private static final String TARGETS_COLUMN_NAME = "targets";
+    private static final String ALL_ROWS_KEY = "*";
+    private static final int BUCKET_BITS = 8;
+    private static final int MAX_TABLE_NAME_LENGTH = 63;
+    private static final String[] NO_KEYS = new String[0];
+
+    private OrderedIndex() {
+    }
+
+    /**
+     * Returns the name of the table holding the ordered index of a field.
+     *
+     * @param className name of the class without the table prefix.
+     * @param fieldName name of the field.
+     * @return the name of the index table.
+     */
+    public static String getIndexTableName(String className, String fieldName) {
+        return TABLE_PREFIX + className + "." + fieldName;
+    }
+
+    /**
+     * Checks if a table name belongs to an ordered index table.
+     */
+    public static boolean isIndexTable(String tableName) {
+        return tableName.startsWith(TABLE_PREFIX);
+    }
+
+    /**
+     * Checks if the given column has an ordered index.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @return {@code true} if the column has an ordered index, {@code false} otherwise.
+     */
+    public static boolean hasIndex(Group group, Table table, long columnIndex) {
+        return group.hasTable(getIndexTableName(table, columnIndex));
+    }
+
+    /**
+     * Returns the table holding the ordered index of a column.
+     *
+     * @return the index table or {@code null} if the column isn't indexed.
+     */
+    public static Table getIndexTable(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        return group.hasTable(indexTableName) ? group.getTable(indexTableName) : null;
+    }
+
+    /**
+     * Adds an ordered index to an integer, float, double or Date column and indexes all existing values. Nothing
+     * happens if the column is already indexed. Must be called inside a write transaction.
+     *
+     * @param group the group containing the table.
+     * @param table the table containing the column.
+     * @param columnIndex the index of the column.
+     * @throws IllegalArgumentException if the column type cannot be ordered.
+     */
+    public static void addIndex(Group group, Table table, long columnIndex) {
+        RealmFieldType type = table.getColumnType(columnIndex);
+        if (type != RealmFieldType.INTEGER && type != RealmFieldType.FLOAT && type != RealmFieldType.DOUBLE
+                && type != RealmFieldType.DATE) {
+            throw new IllegalArgumentException("Only integer, float, double and Date fields can have an ordered " +
+                    "index: " + table.getColumnName(columnIndex));
+        }
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            return;
+        }
+        if (indexTableName.length() > MAX_TABLE_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("The name of the ordered index table '%s' is longer " +
+                    "than %d characters. Use a shorter class or field name.", indexTableName, MAX_TABLE_NAME_LENGTH));
+        }
+
+        Table indexTable = group.getTable(indexTableName);
+        indexTable.addColumn(RealmFieldType.STRING, KEY_COLUMN_NAME, Table.NOT_NULLABLE);
+        indexTable.addSearchIndex(PostingLists.KEY_COLUMN_INDEX);
+        indexTable.addColumnLink(RealmFieldType.LIST, TARGETS_COLUMN_NAME, table);
+
+        long size = table.size();
+        for (long rowIndex = 0; rowIndex < size; rowIndex++) {
+            update(indexTable, table.getUncheckedRow(rowIndex), columnIndex);
+        }
+    }
+
+    /**
+     * Removes the ordered index of a column, if any. Must be called inside a write transaction.
+     */
+    public static void removeIndex(Group group, Table table, long columnIndex) {
+        String indexTableName = getIndexTableName(table, columnIndex);
+        if (group.hasTable(indexTableName)) {
+            group.removeTable(indexTableName);
+        }
+    }
+
+    /**
+     * Renames the index table after a class or a field has been renamed. Nothing happens if the field isn't indexed.
+     */
+    public static void renameIndex(Group group, String oldClassName, String oldFieldName, String newClassName,
+                                   String newFieldName) {
+        String oldName = getIndexTableName(oldClassName, oldFieldName);
+        if (group.hasTable(oldName)) {
+            group.renameTable(oldName, getIndexTableName(newClassName, newFieldName));
+        }
+    }
+
+    /**
+     * Lists a row under the keys of its current value and moves it to its sorted position.
+     *
+     * @param indexTable the index table.
+     * @param row the row of the indexed table.
+     * @param columnIndex the indexed column.
+     */
+    public static void update(Table indexTable, Row row, long columnIndex) {
+        if (row.isNull(columnIndex)) {
+            PostingLists.updateOrdered(indexTable, row.getIndex(), NO_KEYS, columnIndex);
+            return;
+        }
+        long bits = toOrderedBits(getValue(row, columnIndex));
+        String[] keys = new String[Long.SIZE / BUCKET_BITS];
+        for (int i = 1; i < keys.length; i++) {
+            keys[i - 1] = getBucketKey(bits, i * BUCKET_BITS);
+        }
+        keys[keys.length - 1] = ALL_ROWS_KEY;
+        PostingLists.updateOrdered(indexTable, row.getIndex(), keys, columnIndex);
+    }
+
+    /**
+     * Finds the rows which might be within a range.
+     *
+     * @param indexTable the index table.
+     * @param from the lowest value of the range, an integer, Float, Double or Date.
+     * @param to the highest value of the range, of the same type as {@code from}.
+     * @return a LinkList of the candidate rows, sorted by value, or {@code null} if the range is too wide to narrow
+     * down the candidates or no row is in range.
+     */
+    public static LinkView findRange(Table indexTable, Object from, Object to) {
+        long fromBits = toOrderedBits(from);
+        long toBits = toOrderedBits(to);
+        for (int shift = BUCKET_BITS; shift < Long.SIZE; shift += BUCKET_BITS) {
+            if ((fromBits >>> shift) == (toBits >>> shift)) {
+                return PostingLists.findSmallest(indexTable, new String[] {getBucketKey(fromBits, shift)});
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all rows with a non-null value, sorted by value.
+     *
+     * @param indexTable the index table.
+     * @return a LinkList of the rows or {@code null} if there are none.
+     */
+    public static LinkView findAll(Table indexTable) {
+        return PostingLists.findSmallest(indexTable, new String[] {ALL_ROWS_KEY});
+    }
+
+    private static String getBucketKey(long bits, int shift) {
+        return shift + ":" + Long.toHexString(bits >>> shift);
+    }
+
+    // Maps a value to 64 bits such that comparing the bits unsigned gives the order of the values.
+    private static long toOrderedBits(Object value) {
+        if (value instanceof Float || value instanceof Double) {
+            double d = ((Number) value).doubleValue();
+            // -0.0 and 0.0 are equal in queries, so they must be in the same buckets.
+            long bits = Double.doubleToLongBits(d == 0.0 ? 0.0 : d);
+            return (bits < 0) ? ~bits : bits ^ Long.MIN_VALUE;
+        } else if (value instanceof Number) {
+            return ((Number) value).longValue() ^ Long.MIN_VALUE;
+        } else if (value instanceof Date) {
+            // Dates are stored with a precision of seconds.
+            return (((Date) value).getTime() / 1000) ^ Long.MIN_VALUE;
+        }
+        throw new IllegalArgumentException("Unsupported value type: " + value.getClass());
+    }
+
+    private static Object getValue(Row row, long columnIndex) {
+        switch (row.getColumnType(columnIndex)) {
+            case INTEGER:
+                return row.getLong(columnIndex);
+            case FLOAT:
+                return row.getFloat(columnIndex);
+            case DOUBLE:
+                return row.getDouble(columnIndex);
+            case DATE:
+                return row.getDate(columnIndex);
+            default:
+                throw new IllegalArgumentException("Unsupported column type: " + row.getColumnType(columnIndex));
+        }
+    }
+
+    private static String getIndexTableName(Table table, long columnIndex) {
+        String className = table.getName().substring(Table.TABLE_PREFIX.length());
+        return getIndexTableName(className, table.getColumnName(columnIndex));
+    }
+}
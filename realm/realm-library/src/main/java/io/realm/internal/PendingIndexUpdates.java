@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the rows whose values were changed during a write transaction in columns having a {@link FullTextIndex}, a
+ * {@link CaseInsensitiveIndex}, an {@link OrderedIndex} or a {@link BacklinkIndex} or being part of a
+ * {@link CompositeIndex}, so the indexes can be updated once just before the transaction is committed.
+ */
+public final class PendingIndexUpdates {
+
+    private static final long ALL_COLUMNS = -1;
+
+    private final List<Row> rows = new ArrayList<Row>();
+    private final List<Long> columnIndices = new ArrayList<Long>();
+    // Caches which columns of a table have an index which must be updated, by the native pointer of the table. The
+    // last element tells if any column has. Table accessors stay the same during a transaction unless the schema is
+    // changed, so this is only valid until invalidateCaches() is called.
+    private final Map<Long, boolean[]> indexedColumns = new HashMap<Long, boolean[]>();
+
+    /**
+     * Registers a change to an indexed column. The value is not read until {@link #apply(Group)} is called.
+     */
+    public void add(Row row, long columnIndex) {
+        rows.add(row);
+        columnIndices.add(columnIndex);
+    }
+
+    /**
+     * Registers a new row, as its default values must be indexed as well. Nothing is registered if the table has no
+     * index which must be updated.
+     *
+     * @param group the group being written to.
+     * @param table the table the row was added to.
+     * @param rowIndex the index of the new row.
+     */
+    public void addNewRow(Group group, Table table, long rowIndex) {
+        boolean[] indexed = getIndexedColumns(group, table);
+        if (indexed[indexed.length - 1]) {
+            add(table.getUncheckedRow(rowIndex), ALL_COLUMNS);
+        }
+    }
+
+    /**
+     * Checks if a column has any index which must be updated using this class. The indexes of a table are only looked
+     * up the first time one of its columns is checked.
+     *
+     * @param group the group being written to.
+     * @param table the table of the column.
+     * @param columnIndex the index of the column.
+     * @return {@code true} if changes to the column must be registered, {@code false} otherwise.
+     */
+    public boolean isIndexed(Group group, Table table, long columnIndex) {
+        boolean[] indexed = getIndexedColumns(group, table);
+        return columnIndex < indexed.length - 1 && indexed[(int) columnIndex];
+    }
+
+    private boolean[] getIndexedColumns(Group group, Table table) {
+        boolean[] indexed = indexedColumns.get(table.nativePtr);
+        if (indexed != null) {
+            return indexed;
+        }
+        int columnCount = (int) table.getColumnCount();
+        indexed = new boolean[columnCount + 1];
+        List<CompositeIndex> compositeIndexes = CompositeIndex.getIndexes(group, table);
+        for (int i = 0; i < columnCount; i++) {
+            indexed[i] = FullTextIndex.hasIndex(group, table, i)
+                    || CaseInsensitiveIndex.hasIndex(group, table, i)
+                    || OrderedIndex.hasIndex(group, table, i)
+                    || BacklinkIndex.hasIndex(group, table, i);
+            for (int j = 0; j < compositeIndexes.size() && !indexed[i]; j++) {
+                indexed[i] = compositeIndexes.get(j).covers(i);
+            }
+            indexed[columnCount] |= indexed[i];
+        }
+        indexedColumns.put(table.nativePtr, indexed);
+        return indexed;
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Drops all registered changes.
+     */
+    public void clear() {
+        rows.clear();
+        columnIndices.clear();
+    }
+
+    /**
+     * Forgets which columns are indexed. Must be called whenever a write transaction begins or ends and whenever the
+     * schema is changed, as indexes and columns may have been added, removed or renamed since.
+     */
+    public void invalidateCaches() {
+        indexedColumns.clear();
+    }
+
+    /**
+     * Updates the index tables for all registered changes. Rows deleted in the meantime are skipped.
+     *
+     * @param group the group being written to.
+     */
+    public void apply(Group group) {
+        Map<String, Table[]> indexTables = new HashMap<String, Table[]>();
+        Map<String, List<CompositeIndex>> compositeIndexes = new HashMap<String, List<CompositeIndex>>();
+        Set<String> updatedRows = new HashSet<String>();
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            if (!row.isAttached()) {
+                continue;
+            }
+            Table table = row.getTable();
+            long columnIndex = columnIndices.get(i);
+            if (columnIndex != ALL_COLUMNS) {
+                update(group, indexTables, updatedRows, table, row, columnIndex);
+            } else {
+                for (long j = 0; j < table.getColumnCount(); j++) {
+                    update(group, indexTables, updatedRows, table, row, j);
+                }
+            }
+            updateComposite(group, compositeIndexes, updatedRows, table, row, columnIndex);
+        }
+        clear();
+    }
+
+    private static void update(Group group, Map<String, Table[]> indexTables, Set<String> updatedRows, Table table,
+                               Row row, long columnIndex) {
+        String columnKey = table.getName() + ":" + columnIndex;
+        Table[] tables = indexTables.get(columnKey);
+        if (tables == null) {
+            tables = new Table[] {
+                    FullTextIndex.getIndexTable(group, table, columnIndex),
+                    CaseInsensitiveIndex.getIndexTable(group, table, columnIndex),
+                    OrderedIndex.getIndexTable(group, table, columnIndex),
+                    BacklinkIndex.getIndexTable(group, table, columnIndex)
+            };
+            indexTables.put(columnKey, tables);
+        }
+        if ((tables[0] == null && tables[1] == null && tables[2] == null && tables[3] == null)
+                || !updatedRows.add(columnKey + ":" + row.getIndex())) {
+            return;
+        }
+        if (tables[0] != null) {
+            FullTextIndex.update(tables[0], row.getIndex(), row.getString(columnIndex));
+        }
+        if (tables[1] != null) {
+            CaseInsensitiveIndex.update(tables[1], row.getIndex(), row.getString(columnIndex));
+        }
+        if (tables[2] != null) {
+            OrderedIndex.update(tables[2], row, columnIndex);
+        }
+        if (tables[3] != null) {
+            BacklinkIndex.update(tables[3], row, columnIndex);
+        }
+    }
+
+    private static void updateComposite(Group group, Map<String, List<CompositeIndex>> compositeIndexes,
+                                        Set<String> updatedRows, Table table, Row row, long columnIndex) {
+        String tableName = table.getName();
+        List<CompositeIndex> indexes = compositeIndexes.get(tableName);
+        if (indexes == null) {
+            indexes = CompositeIndex.getIndexes(group, table);
+            compositeIndexes.put(tableName, indexes);
+        }
+        for (int i = 0; i < indexes.size(); i++) {
+            CompositeIndex index = indexes.get(i);
+            if ((columnIndex == ALL_COLUMNS || index.covers(columnIndex))
+                    && updatedRows.add(tableName + ":cx" + i + ":" + row.getIndex())) {
+                index.update(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+/**
+ * Access to the tables backing the auxiliary indexes like {@link FullTextIndex}. Such a table has a String key as its
+ * first column, with a search index, and a LinkList to the indexed table as its second column. Each row of the
+ * indexed table is listed under zero or more keys.
+ * <p>
+ * Key rows are never removed, even when their LinkList becomes empty, as queries restricted to a LinkList must keep
+ * working when rows are added later. This is also what keeps such queries live: a row added or changed later is
+ * listed under the same keys as the rows already matching.
+ */
+public final class PostingLists {
+
+    public static final long KEY_COLUMN_INDEX = 0;
+    public static final long TARGETS_COLUMN_INDEX = 1;
+
+    private static final long NO_MATCH = -1;
+
+    private PostingLists() {
+    }
+
+    /**
+     * Lists a row under the given keys only.
+     *
+     * @param indexTable the index table.
+     * @param rowIndex the index of the row in the indexed table.
+     * @param keys all keys the row should be listed under. Duplicates are ignored.
+     */
+    public static void update(Table indexTable, long rowIndex, String[] keys) {
+        nativeUpdate(indexTable.nativePtr, rowIndex, keys);
+    }
+
+    /**
+     * Lists a row under the given keys only and keeps each LinkList sorted in ascending order of a column of the
+     * indexed table. The row is moved within a LinkList whenever its value changes.
+     *
+     * @param indexTable the index table.
+     * @param rowIndex the index of the row in the indexed table.
+     * @param keys all keys the row should be listed under. Duplicates are ignored.
+     * @param sortColumnIndex the numeric or date column of the indexed table to sort by.
+     */
+    public static void updateOrdered(Table indexTable, long rowIndex, String[] keys, long sortColumnIndex) {
+        nativeUpdateOrdered(indexTable.nativePtr, rowIndex, keys, sortColumnIndex);
+    }
+
+    /**
+     * Finds the smallest LinkList among the given keys. All rows listed under all the keys are in that LinkList.
+     *
+     * @param indexTable the index table.
+     * @param keys the keys to look up.
+     * @return the smallest LinkList or {@code null} if no keys were given or any key isn't known or has no rows.
+     */
+    public static LinkView findSmallest(Table indexTable, String[] keys) {
+        if (keys.length == 0) {
+            return null;
+        }
+        long keyRowIndex = nativeFindSmallest(indexTable.nativePtr, keys);
+        if (keyRowIndex == NO_MATCH) {
+            return null;
+        }
+        return indexTable.getUncheckedRow(keyRowIndex).getLinkList(TARGETS_COLUMN_INDEX);
+    }
+
+    private static native void nativeUpdate(long nativeIndexTablePtr, long rowIndex, String[] keys);
+    private static native void nativeUpdateOrdered(long nativeIndexTablePtr, long rowIndex, String[] keys,
+                                                   long sortColumnIndex);
+    private static native long nativeFindSmallest(long nativeIndexTablePtr, String[] keys);
+}
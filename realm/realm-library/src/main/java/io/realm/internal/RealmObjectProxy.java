@@ -16,10 +16,26 @@
 
 package io.realm.internal;
 
+import io.realm.RealmObject;
+
 /**
  * Empty interface making it easy to determine if an object is the generated RealmProxy class or the original class.
  *
  * Ideally all the static methods was also present here, but that is not supported before Java 8.
  */
 public interface RealmObjectProxy {
+
+    /**
+     * The standalone copy of a managed object created by {@code createDetachedCopy()}, together with the depth it
+     * was first reached at. If the same object is reached again at a lower depth, its copy must be filled deeper.
+     */
+    class CacheData<E extends RealmObject> {
+        public int minDepth;
+        public final E object;
+
+        public CacheData(int minDepth, E object) {
+            this.minDepth = minDepth;
+            this.object = object;
+        }
+    }
 }
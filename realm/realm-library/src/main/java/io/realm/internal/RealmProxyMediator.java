@@ -17,10 +17,14 @@
 package io.realm.internal;
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +61,16 @@ public abstract class RealmProxyMediator {
      */
     public abstract ColumnInfo validateTable(Class<? extends RealmObject> clazz, ImplicitTransaction transaction);
 
+    /**
+     * Looks up the column indices of the backing table for the given RealmObject class without validating it. Must
+     * only be used if the table is known to match the class, see {@link #getSchemaHash()}.
+     *
+     * @param clazz the {@link RealmObject} model class.
+     * @param transaction the read transaction for the Realm containing the table.
+     * @return the field indices map.
+     */
+    public abstract ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, ImplicitTransaction transaction);
+
     /**
      * Returns a map of non-obfuscated object field names to their internal Realm name.
      *
@@ -75,6 +89,41 @@ public abstract class RealmProxyMediator {
      */
     public abstract String getTableName(Class<? extends RealmObject> clazz);
 
+    /**
+     * Returns a hash of the fields of the given RealmObject class as seen by the annotation processor, including their
+     * types, nullability and indexes.
+     *
+     * @param clazz the {@link RealmObject} class reference.
+     * @return the hash of the class schema.
+     */
+    public abstract long getSchemaHash(Class<? extends RealmObject> clazz);
+
+    /**
+     * Returns a hash of all model classes. If the tables of a Realm were validated against a schema with the same
+     * hash, and the schema hasn't been changed since, they don't have to be validated again.
+     *
+     * @return the hash of the schema.
+     */
+    public long getSchemaHash() {
+        List<String> classHashes = new ArrayList<String>();
+        for (Class<? extends RealmObject> clazz : getModelClasses()) {
+            classHashes.add(getTableName(clazz) + ":" + getSchemaHash(clazz));
+        }
+        Collections.sort(classHashes);
+
+        // 64-bit FNV-1a, like the hashes of the classes
+        long hash = 0xcbf29ce484222325L;
+        for (String classHash : classHashes) {
+            for (int i = 0; i < classHash.length(); i++) {
+                hash ^= classHash.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= ';';
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
     /**
      * Creates a new instance of an {@link RealmProxy} for the given RealmObject class.
      *
@@ -103,6 +152,31 @@ public abstract class RealmProxyMediator {
      */
     public abstract <E extends RealmObject> E copyOrUpdate(Realm realm, E object, boolean update, Map<RealmObject, RealmObjectProxy> cache);
 
+    /**
+     * Creates a standalone copy of a managed {@link RealmObject}. The fields are read directly from the row of the
+     * object, without validating the Realm for each of them.
+     *
+     * @param realmObject the managed object to copy.
+     * @param maxDepth the depth of the object graph to copy. Links and lists beyond it are {@code null}.
+     * @param cache the cache for mapping between managed objects and their standalone copies, which makes sure an
+     * object reached several times is only copied once and cycles terminate.
+     * @return the standalone copy.
+     */
+    public abstract <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache);
+
+    /**
+     * Writes a managed {@link RealmObject} as a JSON object. The fields are read directly from the row of the object,
+     * without validating the Realm for each of them.
+     *
+     * @param writer the writer to write the JSON object to.
+     * @param realmObject the managed object to write.
+     * @param maxDepth the depth of linked objects to write. RealmObject and RealmList fields beyond it are omitted.
+     * @param fieldNames the fields of {@code realmObject} to write, or {@code null} to write all of them. Linked
+     * objects are always written with all their fields.
+     * @throws IOException if writing fails.
+     */
+    public abstract void exportToJson(JsonWriter writer, RealmObject realmObject, int maxDepth, Set<String> fieldNames) throws IOException;
+
     /**
      * Creates or updates a {@link RealmObject} using the provided JSON data.
      *
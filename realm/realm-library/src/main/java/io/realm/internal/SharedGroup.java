@@ -114,6 +114,23 @@ public class SharedGroup implements Closeable {
         return transaction;
     }
 
+    /**
+     * Begins an implicit transaction reading the given version instead of the latest one. The version is kept until
+     * the transaction is advanced or this SharedGroup is closed.
+     *
+     * @param versionID a version which is still being read by another SharedGroup.
+     */
+    public ImplicitTransaction beginImplicitTransaction(VersionID versionID) {
+        if (activeTransaction) {
+            throw new IllegalStateException(
+                    "Can't beginImplicitTransaction() during another active transaction");
+        }
+        long nativeGroupPtr = nativeBeginImplicitAtVersion(nativePtr, versionID.version, versionID.index);
+        ImplicitTransaction transaction = new ImplicitTransaction(context, this, nativeGroupPtr);
+        activeTransaction = true;
+        return transaction;
+    }
+
     public WriteTransaction beginWrite() {
         if (activeTransaction)
             throw new IllegalStateException(
@@ -259,6 +276,13 @@ public class SharedGroup implements Closeable {
             this.index = index;
         }
 
+        /**
+         * Returns the version number, which is incremented by each commit.
+         */
+        public long getVersion() {
+            return version;
+        }
+
         @Override
         public int compareTo(VersionID another) {
             if (version > another.version) {
@@ -284,6 +308,7 @@ public class SharedGroup implements Closeable {
     private native long nativeCreateReplication(String databaseFile, byte[] key);
     private native void nativeCommitAndContinueAsRead(long nativePtr);
     private native long nativeBeginImplicit(long nativePtr);
+    private native long nativeBeginImplicitAtVersion(long nativePtr, long version, long index);
     private native String nativeGetDefaultReplicationDatabaseFileName();
 
     private native void nativeReserve(long nativePtr, long bytes);
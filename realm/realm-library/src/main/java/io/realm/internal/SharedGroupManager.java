@@ -35,6 +35,8 @@ public class SharedGroupManager implements Closeable {
 
     private SharedGroup sharedGroup;
     private ImplicitTransaction transaction;
+    // Incremented each time the transaction may have moved to another version of the file.
+    private long transactionCount;
 
     /**
      * Creates a new instance of the FileWrapper for the given configuration on this thread.
@@ -48,6 +50,19 @@ public class SharedGroupManager implements Closeable {
         this.transaction = sharedGroup.beginImplicitTransaction();
     }
 
+    /**
+     * Creates a new instance of the FileWrapper for the given configuration, reading the given version of the file
+     * instead of the latest one.
+     */
+    public SharedGroupManager(RealmConfiguration configuration, SharedGroup.VersionID version) {
+        this.sharedGroup = new SharedGroup(
+                configuration.getPath(),
+                SharedGroup.IMPLICIT_TRANSACTION,
+                configuration.getDurability(),
+                configuration.getEncryptionKey());
+        this.transaction = sharedGroup.beginImplicitTransaction(version);
+    }
+
     /**
      * Closes the underlying {@link SharedGroup} and free any native resources.
      */
@@ -72,6 +87,7 @@ public class SharedGroupManager implements Closeable {
      */
     public void advanceRead() {
         transaction.advanceRead();
+        transactionCount++;
     }
 
     /**
@@ -79,6 +95,7 @@ public class SharedGroupManager implements Closeable {
      */
     public void advanceRead(SharedGroup.VersionID version) {
         transaction.advanceRead(version);
+        transactionCount++;
     }
 
 
@@ -107,6 +124,7 @@ public class SharedGroupManager implements Closeable {
      */
     public void promoteToWrite() {
         transaction.promoteToWrite();
+        transactionCount++;
     }
 
     /**
@@ -114,6 +132,7 @@ public class SharedGroupManager implements Closeable {
      */
     public void commitAndContinueAsRead() {
         transaction.commitAndContinueAsRead();
+        transactionCount++;
     }
 
     /**
@@ -121,6 +140,27 @@ public class SharedGroupManager implements Closeable {
      */
     public void rollbackAndContinueAsRead() {
         transaction.rollbackAndContinueAsRead();
+        transactionCount++;
+    }
+
+    /**
+     * Ends the current read transaction and reads the given version instead, which unlike
+     * {@link #advanceRead(SharedGroup.VersionID)} may also be older than the current one.
+     *
+     * @param version a version which is still being read by another SharedGroup.
+     */
+    public void readVersion(SharedGroup.VersionID version) {
+        transaction.endRead();
+        transaction = sharedGroup.beginImplicitTransaction(version);
+        transactionCount++;
+    }
+
+    /**
+     * Returns a counter which changes each time the file may have moved to another version, so values read from the
+     * file can be cached until it changes.
+     */
+    public long getTransactionCount() {
+        return transactionCount;
     }
 
     /**
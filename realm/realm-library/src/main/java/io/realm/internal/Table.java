@@ -39,6 +39,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
     public static final String STRING_DEFAULT_VALUE = "";
     public static final long INTEGER_DEFAULT_VALUE = 0;
     public static final String METADATA_TABLE_NAME = "metadata";
+    public static final String SCHEMA_HASH_TABLE_NAME = "schema_hashes";
+    public static final String SCHEMA_GENERATION_TABLE_NAME = "schema_generation";
     public static final boolean NULLABLE = true;
     public static final boolean NOT_NULLABLE = false;
 
@@ -1256,6 +1258,88 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native long nativeMinimumDate(long nativePtr, long columnIndex);
 
+    @Override
+    public void statistics(long columnIndex, boolean computeVariance, long[] longResults, double[] doubleResults) {
+        nativeStatistics(nativePtr, columnIndex, computeVariance, longResults, doubleResults);
+    }
+
+    protected native void nativeStatistics(long nativePtr, long columnIndex, boolean computeVariance,
+                                           long[] longResults, double[] doubleResults);
+
+    // Bulk updates
+
+    @Override
+    public void setLongForAll(long columnIndex, long value) {
+        checkImmutable();
+        nativeSetLongForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetLongForAll(long nativePtr, long columnIndex, long value);
+
+    @Override
+    public void setBooleanForAll(long columnIndex, boolean value) {
+        checkImmutable();
+        nativeSetBooleanForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetBooleanForAll(long nativePtr, long columnIndex, boolean value);
+
+    @Override
+    public void setFloatForAll(long columnIndex, float value) {
+        checkImmutable();
+        nativeSetFloatForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetFloatForAll(long nativePtr, long columnIndex, float value);
+
+    @Override
+    public void setDoubleForAll(long columnIndex, double value) {
+        checkImmutable();
+        nativeSetDoubleForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetDoubleForAll(long nativePtr, long columnIndex, double value);
+
+    @Override
+    public void setDateForAll(long columnIndex, Date value) {
+        checkImmutable();
+        nativeSetDateTimeValueForAll(nativePtr, columnIndex, value.getTime() / 1000);
+    }
+
+    protected native void nativeSetDateTimeValueForAll(long nativePtr, long columnIndex, long dateTimeValue);
+
+    @Override
+    public void setStringForAll(long columnIndex, String value) {
+        checkImmutable();
+        nativeSetStringForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetStringForAll(long nativePtr, long columnIndex, String value);
+
+    @Override
+    public void setNullForAll(long columnIndex) {
+        checkImmutable();
+        nativeSetNullForAll(nativePtr, columnIndex);
+    }
+
+    protected native void nativeSetNullForAll(long nativePtr, long columnIndex);
+
+    @Override
+    public void incrementLongForAll(long columnIndex, long delta) {
+        checkImmutable();
+        nativeIncrementLongForAll(nativePtr, columnIndex, delta);
+    }
+
+    protected native void nativeIncrementLongForAll(long nativePtr, long columnIndex, long delta);
+
+    @Override
+    public void incrementDoubleForAll(long columnIndex, double delta) {
+        checkImmutable();
+        nativeIncrementDoubleForAll(nativePtr, columnIndex, delta);
+    }
+
+    protected native void nativeIncrementDoubleForAll(long nativePtr, long columnIndex, double delta);
+
 
     //
     // Count
@@ -1561,6 +1645,12 @@ public class Table implements TableOrView, TableSchema, Closeable {
      * Checks if a given table name is a meta-table, i.e. a table used by Realm to track its internal state.
      */
     public static boolean isMetaTable(String tableName) {
-        return (tableName.equals(METADATA_TABLE_NAME) || tableName.equals(PRIMARY_KEY_TABLE_NAME));
+        return (tableName.equals(METADATA_TABLE_NAME) || tableName.equals(PRIMARY_KEY_TABLE_NAME)
+                || tableName.equals(SCHEMA_HASH_TABLE_NAME) || tableName.equals(SCHEMA_GENERATION_TABLE_NAME)
+                || FullTextIndex.isIndexTable(tableName)
+                || CaseInsensitiveIndex.isIndexTable(tableName)
+                || CompositeIndex.isIndexTable(tableName)
+                || OrderedIndex.isIndexTable(tableName)
+                || BacklinkIndex.isIndexTable(tableName));
     }
 }
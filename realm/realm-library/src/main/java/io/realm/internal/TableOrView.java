@@ -27,6 +27,20 @@ public interface TableOrView {
 
     int NO_MATCH = -1;
 
+    // Layout of the arrays filled by statistics(). Must be kept in sync with statistics.hpp.
+    int STATS_LONG_COUNT = 0;
+    int STATS_LONG_MIN = 1;
+    int STATS_LONG_MAX = 2;
+    int STATS_LONG_SUM = 3;
+    int STATS_LONG_SIZE = 4;
+
+    int STATS_DOUBLE_MIN = 0;
+    int STATS_DOUBLE_MAX = 1;
+    int STATS_DOUBLE_SUM = 2;
+    int STATS_DOUBLE_AVERAGE = 3;
+    int STATS_DOUBLE_VARIANCE = 4;
+    int STATS_DOUBLE_SIZE = 5;
+
     void clear();
 
     /**
@@ -260,6 +274,55 @@ public interface TableOrView {
 
     Date minimumDate(long columnIndex);
 
+    /**
+     * Computes count, minimum, maximum, sum, average and optionally the population variance of a column in a single
+     * pass. Only integer, float, double and date columns are supported, {@code null} values are ignored. Dates are
+     * reported in seconds as stored by the storage engine.
+     *
+     * @param columnIndex the column to compute the statistics for.
+     * @param computeVariance {@code true} to also compute the variance.
+     * @param longResults array of at least {@link #STATS_LONG_SIZE} elements. Receives the number of non-null values
+     *                    and, for integer and date columns, the exact minimum, maximum and sum.
+     * @param doubleResults array of at least {@link #STATS_DOUBLE_SIZE} elements. Receives minimum, maximum, sum,
+     *                      average and variance as doubles.
+     */
+    void statistics(long columnIndex, boolean computeVariance, long[] longResults, double[] doubleResults);
+
+    // Bulk updates. Each sets or changes the value of a column in all rows in one native call.
+
+    void setLongForAll(long columnIndex, long value);
+
+    void setBooleanForAll(long columnIndex, boolean value);
+
+    void setFloatForAll(long columnIndex, float value);
+
+    void setDoubleForAll(long columnIndex, double value);
+
+    void setDateForAll(long columnIndex, Date value);
+
+    /**
+     * Sets a string column of all rows.
+     *
+     * @param columnIndex the column to set.
+     * @param value the value, {@code null} is only allowed if the column is nullable.
+     */
+    void setStringForAll(long columnIndex, String value);
+
+    /**
+     * Sets a nullable column of all rows to {@code null}.
+     */
+    void setNullForAll(long columnIndex);
+
+    /**
+     * Adds a value to an integer column of all rows. {@code null} values are left unchanged.
+     */
+    void incrementLongForAll(long columnIndex, long delta);
+
+    /**
+     * Adds a value to a float or double column of all rows. {@code null} values are left unchanged.
+     */
+    void incrementDoubleForAll(long columnIndex, double delta);
+
 
     /**
      * Searches for first occurrence of a value. Beware that the order in the column is undefined.
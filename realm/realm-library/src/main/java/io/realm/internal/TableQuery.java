@@ -38,6 +38,10 @@ public class TableQuery implements Closeable {
     // the first action to validate the syntax of the query.
     private boolean queryValidated = true;
 
+    // True if the TableViews of this query must be put into the order of the table, as the query is restricted to
+    // rows in another order.
+    private boolean restoreRowOrder;
+
     // TODO: Can we protect this?
     public TableQuery(Context context, Table table, long nativeQueryPtr) {
         if (DEBUG) {
@@ -95,6 +99,45 @@ public class TableQuery implements Closeable {
         }
     }
 
+    /**
+     * Creates a new query with the same conditions as this query which only considers the rows in the given LinkView.
+     * The LinkView must point to the table of this query and contain all rows which can match this query, otherwise
+     * the result will be incomplete.
+     *
+     * @param linkView the rows to search.
+     * @param restoreRowOrder {@code true} if the TableViews of the restricted query should list the rows in the order
+     *                        of the table like any other query, {@code false} to keep them in the order of the LinkView.
+     * @return the restricted query.
+     */
+    public TableQuery restrictTo(LinkView linkView, boolean restoreRowOrder) {
+        validateQuery();
+
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        long nativeQueryPtr = nativeRestrictToLinkView(nativePtr, linkView.nativePointer);
+        try {
+            TableQuery restricted = new TableQuery(this.context, this.table, nativeQueryPtr);
+            restricted.restoreRowOrder = restoreRowOrder;
+            return restricted;
+        } catch (RuntimeException e) {
+            TableQuery.nativeClose(nativeQueryPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Keeps the TableViews of a query restricted by {@link #restrictTo(LinkView, boolean)} in the order of the
+     * LinkView. This is needed if the TableViews are sorted by other means, e.g. by a worker thread.
+     */
+    public void keepLinkViewOrder() {
+        restoreRowOrder = false;
+    }
+
+    // Used by views kept in row order, as a query on a view searches the rows in the order of the native view.
+    void setRestoreRowOrder(boolean restoreRowOrder) {
+        this.restoreRowOrder = restoreRowOrder;
+    }
+
     // Query TableView
     public TableQuery tableview(TableView tv) {
         nativeTableview(nativePtr, tv.nativePtr);
@@ -445,12 +488,17 @@ public class TableQuery implements Closeable {
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAll(nativePtr, start, end, limit);
+        TableView tableView;
         try {
-            return new TableView(this.context, this.table, nativeViewPtr, this);
+            tableView = new TableView(this.context, this.table, nativeViewPtr, this);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
         }
+        if (restoreRowOrder) {
+            tableView.keepInRowOrder();
+        }
+        return tableView;
     }
 
     public TableView findAll() {
@@ -459,12 +507,17 @@ public class TableQuery implements Closeable {
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAll(nativePtr, 0, Table.INFINITE, Table.INFINITE);
+        TableView tableView;
         try {
-            return new TableView(this.context, this.table, nativeViewPtr, this);
+            tableView = new TableView(this.context, this.table, nativeViewPtr, this);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
         }
+        if (restoreRowOrder) {
+            tableView.keepInRowOrder();
+        }
+        return tableView;
     }
 
     // handover find* methods
@@ -502,15 +555,20 @@ public class TableQuery implements Closeable {
     // Suppose to be called from the caller SharedGroup thread
     public TableView importHandoverTableView(long handoverPtr, long callerSharedGroupPtr) {
         long nativeTvPtr = 0;
+        TableView tableView;
         try {
             nativeTvPtr = nativeImportHandoverTableViewIntoSharedGroup(handoverPtr, callerSharedGroupPtr);
-            return new TableView(this.context, this.table, nativeTvPtr);
+            tableView = new TableView(this.context, this.table, nativeTvPtr);
         } catch (RuntimeException e) {
             if (nativeTvPtr != 0) {
                 TableView.nativeClose(nativeTvPtr);
             }
             throw e;
         }
+        if (restoreRowOrder) {
+            tableView.keepInRowOrder();
+        }
+        return tableView;
     }
 
     /**
@@ -677,6 +735,19 @@ public class TableQuery implements Closeable {
         return null;
     }
 
+    // statistics
+
+    /**
+     * Computes all aggregates of a column over the rows matching the query in a single pass.
+     *
+     * @see TableOrView#statistics(long, boolean, long[], double[])
+     */
+    public void statistics(long columnIndex, boolean computeVariance, long[] longResults, double[] doubleResults) {
+        validateQuery();
+        nativeStatistics(nativePtr, columnIndex, computeVariance, 0, Table.INFINITE, Table.INFINITE,
+                longResults, doubleResults);
+    }
+
     // isNull and isNotNull
     public TableQuery isNull(long columnIndices[]) {
         nativeIsNull(nativePtr, columnIndices);
@@ -690,6 +761,20 @@ public class TableQuery implements Closeable {
         return this;
     }
 
+    // linksTo
+
+    /**
+     * Matches the rows whose link column points to the given row of the link target table.
+     *
+     * @param columnIndex the index of a link column.
+     * @param targetRowIndex the index of the row in the table the column links to.
+     */
+    public TableQuery linksTo(long columnIndex, long targetRowIndex) {
+        nativeLinksTo(nativePtr, columnIndex, targetRowIndex);
+        queryValidated = false;
+        return this;
+    }
+
     // count
 
     // TODO: Rename all start, end parameter names to firstRow, lastRow
@@ -733,6 +818,7 @@ public class TableQuery implements Closeable {
 
     protected static native void nativeClose(long nativeQueryPtr);
     private native String nativeValidateQuery(long nativeQueryPtr);
+    private native long nativeRestrictToLinkView(long nativeQueryPtr, long nativeLinkViewPtr);
     private native void nativeTableview(long nativeQueryPtr, long nativeTableViewPtr);
     private native void nativeGroup(long nativeQueryPtr);
     private native void nativeEndGroup(long nativeQueryPtr);
@@ -791,8 +877,10 @@ public class TableQuery implements Closeable {
     private native double nativeAverageDouble(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMaximumDate(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMinimumDate(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
+    private native void nativeStatistics(long nativeQueryPtr, long columnIndex, boolean computeVariance, long start, long end, long limit, long[] longResults, double[] doubleResults);
     private native void nativeIsNull(long nativePtr, long columnIndices[]);
     private native void nativeIsNotNull(long nativePtr, long columnIndices[]);
+    private native void nativeLinksTo(long nativePtr, long columnIndex, long targetRowIndex);
     private native long nativeCount(long nativeQueryPtr, long start, long end, long limit);
     private native long nativeRemove(long nativeQueryPtr, long start, long end, long limit);
     private native long nativeImportHandoverTableViewIntoSharedGroup(long handoverTableViewPtr, long callerSharedGroupPtr);
@@ -804,4 +892,17 @@ public class TableQuery implements Closeable {
     public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long[] columnIndices, boolean[] ascending);
     public static native long nativeImportHandoverRowIntoSharedGroup(long handoverRowPtr, long callerSharedGroupPtr);
     public static native void nativeCloseQueryHandover (long nativePtr);
+    // Imports a TableView handed over by the caller and advances to the current version of the SharedGroup. Returns
+    // true if no table the TableView depends on has changed in between, i.e. if running its query again would give the
+    // same result.
+    public static native boolean nativeIsInSyncWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long handoverTableViewPtr);
+    // Like nativeIsInSyncWithHandover, but returns null if the TableView is in sync and otherwise its rows as pairs of
+    // source row index after advancing to the current version, or -1 if removed, and hash of the values before
+    // advancing.
+    public static native long[] nativeGetChangedRowsWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long handoverTableViewPtr);
+    // Returns a new handover pointer for the TableView followed by its rows as pairs of source row index and hash of the
+    // values.
+    public static native long[] nativeGetRowsWithHandover(long bgSharedGroupPtr, long handoverTableViewPtr);
+    public static native void nativeCloseTableViewHandover(long nativePtr);
+    public static native void nativeCloseRowHandover(long nativePtr);
 }
@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -64,6 +65,13 @@ public class TableView implements TableOrView, Closeable {
     // Core requests TableView to hold the Query reference.
     @SuppressWarnings({"unused"})
     private final TableQuery query; // the query which created this TableView
+    // Snapshots are never synced, see createSnapshot().
+    private boolean isSnapshot = false;
+    // The rows of views kept in row order, see keepInRowOrder(). The position in the native view of each row in the
+    // order of the table, or null if the native view is in that order. Snapshots keep the positions of their view.
+    private boolean keepInRowOrder = false;
+    private long[] rowPositions;
+    private long rowPositionsVersion = -1;
 
     /**
      * Creates a TableView. This constructor is used if the TableView is created from a table.
@@ -143,6 +151,9 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public long size() {
+        if (isSnapshot) {
+            return nativeGetSnapshotSize(nativePtr);
+        }
         return nativeSize(nativePtr);
     }
 
@@ -152,14 +163,167 @@ public class TableView implements TableOrView, Closeable {
      * Returns the index of the row in the source table.
      *
      * @param rowIndex row index in the TableView.
-     * @return the translated row number in the source table.
+     * @return the translated row number in the source table or {@link #NO_MATCH} if this is a snapshot and the row has
+     * been removed since.
      */
     public long getSourceRowIndex(long rowIndex) {
-        return nativeGetSourceRowIndex(nativePtr, rowIndex);
+        if (isSnapshot) {
+            return nativeGetSnapshotSourceRowIndex(nativePtr, toViewPosition(rowIndex));
+        }
+        return nativeGetSourceRowIndex(nativePtr, toViewPosition(rowIndex));
     }
 
     protected native long nativeGetSourceRowIndex(long nativeViewPtr, long rowIndex);
 
+    /**
+     * Creates a snapshot of the rows currently in this TableView. This TableView is synced once, the snapshot is never
+     * synced again. Rows moved by later changes keep their position in the snapshot and removed rows stay in it, but
+     * no longer have a source row.
+     * <p>
+     * Only {@link #size()} and {@link #getSourceRowIndex(long)} may be called on a snapshot, as all other methods
+     * would sync it.
+     *
+     * @return the snapshot.
+     */
+    public TableView createSnapshot() {
+        context.executeDelayedDisposal();
+        if (keepInRowOrder) {
+            updateRowPositions();
+        }
+        long nativeSnapshotPtr = nativeCreateSnapshot(nativePtr);
+        try {
+            TableView snapshot = new TableView(context, parent, nativeSnapshotPtr, query);
+            snapshot.isSnapshot = true;
+            snapshot.rowPositions = rowPositions;
+            return snapshot;
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeSnapshotPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks if this TableView is a snapshot created by {@link #createSnapshot()}.
+     */
+    public boolean isSnapshot() {
+        return isSnapshot;
+    }
+
+    /**
+     * Handovers this TableView without syncing it, so another SharedGroup can check if it is still in sync with a
+     * later version using {@link TableQuery#nativeIsInSyncWithHandover(long, long, long)}.
+     *
+     * @param callerSharedGroupPtr native pointer to the SharedGroup of the calling thread.
+     * @return native pointer to the handover TableView.
+     */
+    public long handover(long callerSharedGroupPtr) {
+        return nativeHandover(callerSharedGroupPtr, nativePtr);
+    }
+
+    /**
+     * Checks if this TableView is in sync with the tables it depends on without syncing it, i.e. if none of them has
+     * changed since the TableView was last synced.
+     */
+    public boolean isInSync() {
+        return nativeIsInSync(nativePtr);
+    }
+
+    /**
+     * Lists the rows of this TableView in the order of the table, also after it has been synced, until it is sorted.
+     * Used for queries restricted to rows in another order, as the results of all other unsorted queries are in the
+     * order of the table. The native TableView keeps its order, the positions of the rows are mapped instead.
+     */
+    public void keepInRowOrder() {
+        keepInRowOrder = true;
+        rowPositionsVersion = -1;
+    }
+
+    /**
+     * Checks if the rows of this TableView are listed in the order of the table by {@link #keepInRowOrder()}.
+     */
+    public boolean isKeptInRowOrder() {
+        return keepInRowOrder;
+    }
+
+    // Sorting puts the rows of the native view into the requested order.
+    private void stopKeepingRowOrder() {
+        keepInRowOrder = false;
+        rowPositions = null;
+        rowPositionsVersion = -1;
+    }
+
+    // Maps a position in the order of the table to the position of the row in the native TableView.
+    private long toViewPosition(long rowIndex) {
+        if (keepInRowOrder) {
+            updateRowPositions();
+        }
+        if (rowPositions == null || rowIndex < 0 || rowIndex >= rowPositions.length) {
+            // Out of range positions are reported by the native methods
+            return rowIndex;
+        }
+        return rowPositions[(int) rowIndex];
+    }
+
+    // Maps a position in the native TableView back to the position of the row in the order of the table.
+    private long toRowOrderPosition(long viewPosition) {
+        if (keepInRowOrder) {
+            updateRowPositions();
+        }
+        if (rowPositions == null || viewPosition < 0) {
+            return viewPosition;
+        }
+        for (int i = 0; i < rowPositions.length; i++) {
+            if (rowPositions[i] == viewPosition) {
+                return i;
+            }
+        }
+        return viewPosition;
+    }
+
+    // Syncs the view and sorts the positions of its rows by row index if the query has run again since.
+    private void updateRowPositions() {
+        long version = nativeSync(nativePtr);
+        if (version == rowPositionsVersion) {
+            return;
+        }
+        rowPositions = getRowPositions(nativeGetSourceRowIndices(nativePtr));
+        rowPositionsVersion = version;
+    }
+
+    // Returns the positions of the rows ordered by row index or null if they are in that order already. Views with
+    // removed rows are left alone.
+    private static long[] getRowPositions(long[] sourceRowIndices) {
+        boolean sorted = true;
+        for (int i = 0; i < sourceRowIndices.length; i++) {
+            if (sourceRowIndices[i] < 0) {
+                return null;
+            }
+            if (i > 0 && sourceRowIndices[i] < sourceRowIndices[i - 1]) {
+                sorted = false;
+            }
+        }
+        if (sorted) {
+            return null;
+        }
+        // Sorting the row indices with the positions in the lower bits sorts the positions along
+        long[] positions = new long[sourceRowIndices.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = (sourceRowIndices[i] << 32) | i;
+        }
+        Arrays.sort(positions);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] &= 0xFFFFFFFFL;
+        }
+        return positions;
+    }
+
+    protected native long nativeHandover(long callerSharedGroupPtr, long nativeViewPtr);
+    protected native boolean nativeIsInSync(long nativeViewPtr);
+    protected native long[] nativeGetSourceRowIndices(long nativeViewPtr);
+    protected native long nativeCreateSnapshot(long nativeViewPtr);
+    protected native long nativeGetSnapshotSize(long nativeViewPtr);
+    protected native long nativeGetSnapshotSourceRowIndex(long nativeViewPtr, long rowIndex);
+
     /**
      * Returns the number of columns in the table.
      *
@@ -223,7 +387,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public long getLong(long columnIndex, long rowIndex){
-        return nativeGetLong(nativePtr, columnIndex, rowIndex);
+        return nativeGetLong(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native long nativeGetLong(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -237,7 +401,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public boolean getBoolean(long columnIndex, long rowIndex){
-        return nativeGetBoolean(nativePtr, columnIndex, rowIndex);
+        return nativeGetBoolean(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native boolean nativeGetBoolean(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -251,7 +415,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public float getFloat(long columnIndex, long rowIndex){
-        return nativeGetFloat(nativePtr, columnIndex, rowIndex);
+        return nativeGetFloat(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native float nativeGetFloat(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -265,7 +429,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public double getDouble(long columnIndex, long rowIndex){
-        return nativeGetDouble(nativePtr, columnIndex, rowIndex);
+        return nativeGetDouble(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native double nativeGetDouble(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -279,7 +443,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public Date getDate(long columnIndex, long rowIndex){
-        return new Date(nativeGetDateTimeValue(nativePtr, columnIndex, rowIndex)*1000);
+        return new Date(nativeGetDateTimeValue(nativePtr, columnIndex, toViewPosition(rowIndex))*1000);
     }
 
     protected native long nativeGetDateTimeValue(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -293,7 +457,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public String getString(long columnIndex, long rowIndex){
-        return nativeGetString(nativePtr, columnIndex, rowIndex);
+        return nativeGetString(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native String nativeGetString(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -309,7 +473,7 @@ public class TableView implements TableOrView, Closeable {
     /*
     @Override
     public ByteBuffer getBinaryByteBuffer(long columnIndex, long rowIndex){
-        return nativeGetBinary(nativePtr, columnIndex, rowIndex);
+        return nativeGetBinary(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native ByteBuffer nativeGetBinary(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -317,28 +481,28 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public byte[] getBinaryByteArray(long columnIndex, long rowIndex){
-        return nativeGetByteArray(nativePtr, columnIndex, rowIndex);
+        return nativeGetByteArray(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native byte[] nativeGetByteArray(long nativePtr, long columnIndex, long rowIndex);
 
     @Override
     public RealmFieldType getMixedType(long columnIndex, long rowIndex) {
-        return RealmFieldType.fromNativeValue(nativeGetMixedType(nativePtr, columnIndex, rowIndex));
+        return RealmFieldType.fromNativeValue(nativeGetMixedType(nativePtr, columnIndex, toViewPosition(rowIndex)));
     }
 
     protected native int nativeGetMixedType(long nativeViewPtr, long columnIndex, long rowIndex);
 
     @Override
     public Mixed getMixed(long columnIndex, long rowIndex){
-        return nativeGetMixed(nativePtr, columnIndex, rowIndex);
+        return nativeGetMixed(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native Mixed nativeGetMixed(long nativeViewPtr, long columnIndex, long rowIndex);
 
 
     public long getLink(long columnIndex, long rowIndex){
-        return nativeGetLink(nativePtr, columnIndex, rowIndex);
+        return nativeGetLink(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native long nativeGetLink(long nativeViewPtr, long columnIndex, long rowIndex);
@@ -347,7 +511,7 @@ public class TableView implements TableOrView, Closeable {
     public Table getSubtable(long columnIndex, long rowIndex) {
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        long nativeSubtablePtr = nativeGetSubtable(nativePtr, columnIndex, rowIndex);
+        long nativeSubtablePtr = nativeGetSubtable(nativePtr, columnIndex, toViewPosition(rowIndex));
         try {
             // Copy context reference from parent
             return new Table(context, this.parent, nativeSubtablePtr);
@@ -362,7 +526,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public long getSubtableSize(long columnIndex, long rowIndex) {
-        return nativeGetSubtableSize(nativePtr, columnIndex, rowIndex);
+        return nativeGetSubtableSize(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native long nativeGetSubtableSize(long nativeTablePtr, long columnIndex, long rowIndex);
@@ -370,7 +534,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void clearSubtable(long columnIndex, long rowIndex) {
         if (parent.isImmutable()) throwImmutable();
-        nativeClearSubtable(nativePtr, columnIndex, rowIndex);
+        nativeClearSubtable(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native void nativeClearSubtable(long nativeTablePtr, long columnIndex, long rowIndex);
@@ -388,7 +552,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setLong(long columnIndex, long rowIndex, long value){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetLong(nativePtr, columnIndex, rowIndex, value);
+        nativeSetLong(nativePtr, columnIndex, toViewPosition(rowIndex), value);
     }
 
     protected native void nativeSetLong(long nativeViewPtr, long columnIndex, long rowIndex, long value);
@@ -403,7 +567,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setBoolean(long columnIndex, long rowIndex, boolean value){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetBoolean(nativePtr, columnIndex, rowIndex, value);
+        nativeSetBoolean(nativePtr, columnIndex, toViewPosition(rowIndex), value);
     }
 
     protected native void nativeSetBoolean(long nativeViewPtr, long columnIndex, long rowIndex, boolean value);
@@ -418,7 +582,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setFloat(long columnIndex, long rowIndex, float value){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetFloat(nativePtr, columnIndex, rowIndex, value);
+        nativeSetFloat(nativePtr, columnIndex, toViewPosition(rowIndex), value);
     }
 
     protected native void nativeSetFloat(long nativeViewPtr, long columnIndex, long rowIndex, float value);
@@ -433,7 +597,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setDouble(long columnIndex, long rowIndex, double value){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetDouble(nativePtr, columnIndex, rowIndex, value);
+        nativeSetDouble(nativePtr, columnIndex, toViewPosition(rowIndex), value);
     }
 
     protected native void nativeSetDouble(long nativeViewPtr, long columnIndex, long rowIndex, double value);
@@ -448,7 +612,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setDate(long columnIndex, long rowIndex, Date value){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetDateTimeValue(nativePtr, columnIndex, rowIndex, value.getTime()/1000);
+        nativeSetDateTimeValue(nativePtr, columnIndex, toViewPosition(rowIndex), value.getTime()/1000);
     }
 
     protected native void nativeSetDateTimeValue(long nativePtr, long columnIndex, long rowIndex, long dateTimeValue);
@@ -463,7 +627,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setString(long columnIndex, long rowIndex, String value){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetString(nativePtr, columnIndex, rowIndex, value);
+        nativeSetString(nativePtr, columnIndex, toViewPosition(rowIndex), value);
     }
 
     protected native void nativeSetString(long nativeViewPtr, long columnIndex, long rowIndex, String value);
@@ -479,7 +643,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setBinaryByteBuffer(long columnIndex, long rowIndex, ByteBuffer data){
         if (immutable) throwImmutable();
-        nativeSetBinary(nativePtr, columnIndex, rowIndex, data);
+        nativeSetBinary(nativePtr, columnIndex, toViewPosition(rowIndex), data);
     }
 
     protected native void nativeSetBinary(long nativeViewPtr, long columnIndex, long rowIndex, ByteBuffer data);
@@ -488,7 +652,7 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setBinaryByteArray(long columnIndex, long rowIndex, byte[] data){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetByteArray(nativePtr, columnIndex, rowIndex, data);
+        nativeSetByteArray(nativePtr, columnIndex, toViewPosition(rowIndex), data);
     }
 
     protected native void nativeSetByteArray(long nativePtr, long columnIndex, long rowIndex, byte[] data);
@@ -503,27 +667,27 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void setMixed(long columnIndex, long rowIndex, Mixed data){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetMixed(nativePtr, columnIndex, rowIndex, data);
+        nativeSetMixed(nativePtr, columnIndex, toViewPosition(rowIndex), data);
     }
 
     protected native void nativeSetMixed(long nativeViewPtr, long columnIndex, long rowIndex, Mixed value);
 
     public void setLink(long columnIndex, long rowIndex, long value){
         if (parent.isImmutable()) throwImmutable();
-        nativeSetLink(nativePtr, columnIndex, rowIndex, value);
+        nativeSetLink(nativePtr, columnIndex, toViewPosition(rowIndex), value);
     }
 
     protected native void nativeSetLink(long nativeViewPtr, long columnIndex, long rowIndex, long value);
 
 
     public boolean isNullLink(long columnIndex, long rowIndex) {
-        return nativeIsNullLink(nativePtr, columnIndex, rowIndex);
+        return nativeIsNullLink(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native boolean nativeIsNullLink(long nativePtr, long columnIndex, long rowIndex);
 
     public void nullifyLink(long columnIndex, long rowIndex) {
-        nativeNullifyLink(nativePtr, columnIndex, rowIndex);
+        nativeNullifyLink(nativePtr, columnIndex, toViewPosition(rowIndex));
     }
 
     protected native void nativeNullifyLink(long nativePtr, long columnIndex, long rowIndex);
@@ -533,6 +697,7 @@ public class TableView implements TableOrView, Closeable {
     public void clear(){
         if (parent.isImmutable()) throwImmutable();
         nativeClear(nativePtr);
+        rowPositionsVersion = -1;
     }
 
     protected native void nativeClear(long nativeViewPtr);
@@ -546,7 +711,9 @@ public class TableView implements TableOrView, Closeable {
     @Override
     public void remove(long rowIndex){
         if (parent.isImmutable()) throwImmutable();
-        nativeRemoveRow(nativePtr, rowIndex);
+        nativeRemoveRow(nativePtr, toViewPosition(rowIndex));
+        // The view stays in sync, but its rows have been moved
+        rowPositionsVersion = -1;
     }
 
     protected native void nativeRemoveRow(long nativeViewPtr, long rowIndex);
@@ -555,49 +722,49 @@ public class TableView implements TableOrView, Closeable {
     public void removeLast() {
         if (parent.isImmutable()) throwImmutable();
         if (!isEmpty()) {
-            nativeRemoveRow(nativePtr, size() - 1);
+            remove(size() - 1);
         }
     }
 
     // Search for first match
     @Override
     public long findFirstLong(long columnIndex, long value){
-        return nativeFindFirstInt(nativePtr, columnIndex, value);
+        return toRowOrderPosition(nativeFindFirstInt(nativePtr, columnIndex, value));
     }
 
     protected native long nativeFindFirstInt(long nativeTableViewPtr, long columnIndex, long value);
 
     @Override
     public long findFirstBoolean(long columnIndex, boolean value) {
-        return nativeFindFirstBool(nativePtr, columnIndex, value);
+        return toRowOrderPosition(nativeFindFirstBool(nativePtr, columnIndex, value));
     }
 
     protected native long nativeFindFirstBool(long nativePtr, long columnIndex, boolean value);
 
     @Override
     public long findFirstFloat(long columnIndex, float value) {
-        return nativeFindFirstFloat(nativePtr, columnIndex, value);
+        return toRowOrderPosition(nativeFindFirstFloat(nativePtr, columnIndex, value));
     }
 
     protected native long nativeFindFirstFloat(long nativePtr, long columnIndex, float value);
 
     @Override
     public long findFirstDouble(long columnIndex, double value) {
-        return nativeFindFirstDouble(nativePtr, columnIndex, value);
+        return toRowOrderPosition(nativeFindFirstDouble(nativePtr, columnIndex, value));
     }
 
     protected native long nativeFindFirstDouble(long nativePtr, long columnIndex, double value);
 
     @Override
     public long findFirstDate(long columnIndex, Date date) {
-        return nativeFindFirstDate(nativePtr, columnIndex, date.getTime()/1000);
+        return toRowOrderPosition(nativeFindFirstDate(nativePtr, columnIndex, date.getTime()/1000));
     }
 
     protected native long nativeFindFirstDate(long nativeTablePtr, long columnIndex, long dateTimeValue);
 
     @Override
     public long findFirstString(long columnIndex, String value){
-        return nativeFindFirstString(nativePtr, columnIndex, value);
+        return toRowOrderPosition(nativeFindFirstString(nativePtr, columnIndex, value));
     }
 
     protected native long nativeFindFirstString(long nativePtr, long columnIndex, String value);
@@ -623,7 +790,7 @@ public class TableView implements TableOrView, Closeable {
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllInt(nativePtr, columnIndex, value);
         try { 
-            return new TableView(this.context, this.parent, nativeViewPtr);
+            return createSubView(nativeViewPtr);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
@@ -638,7 +805,7 @@ public class TableView implements TableOrView, Closeable {
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllBool(nativePtr, columnIndex, value);
         try { 
-            return new TableView(this.context, this.parent, nativeViewPtr);
+            return createSubView(nativeViewPtr);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
@@ -653,7 +820,7 @@ public class TableView implements TableOrView, Closeable {
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllFloat(nativePtr, columnIndex, value);
         try { 
-            return new TableView(this.context, this.parent, nativeViewPtr);
+            return createSubView(nativeViewPtr);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
@@ -668,7 +835,7 @@ public class TableView implements TableOrView, Closeable {
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllDouble(nativePtr, columnIndex, value);
         try { 
-            return new TableView(this.context, this.parent, nativeViewPtr);
+            return createSubView(nativeViewPtr);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
@@ -683,7 +850,7 @@ public class TableView implements TableOrView, Closeable {
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllDate(nativePtr, columnIndex, date.getTime()/1000);
         try { 
-            return new TableView(this.context, this.parent, nativeViewPtr);
+            return createSubView(nativeViewPtr);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
@@ -698,7 +865,7 @@ public class TableView implements TableOrView, Closeable {
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllString(nativePtr, columnIndex, value);
         try { 
-            return new TableView(this.context, this.parent, nativeViewPtr);
+            return createSubView(nativeViewPtr);
         } catch (RuntimeException e) {
             TableView.nativeClose(nativeViewPtr);
             throw e;
@@ -854,16 +1021,99 @@ public class TableView implements TableOrView, Closeable {
 
     protected native Long nativeMinimumDate(long nativePtr, long columnIndex);
 
+    @Override
+    public void statistics(long columnIndex, boolean computeVariance, long[] longResults, double[] doubleResults) {
+        nativeStatistics(nativePtr, columnIndex, computeVariance, longResults, doubleResults);
+    }
+
+    protected native void nativeStatistics(long nativePtr, long columnIndex, boolean computeVariance,
+                                           long[] longResults, double[] doubleResults);
+
+    // Bulk updates
+
+    @Override
+    public void setLongForAll(long columnIndex, long value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetLongForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetLongForAll(long nativePtr, long columnIndex, long value);
+
+    @Override
+    public void setBooleanForAll(long columnIndex, boolean value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetBooleanForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetBooleanForAll(long nativePtr, long columnIndex, boolean value);
+
+    @Override
+    public void setFloatForAll(long columnIndex, float value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetFloatForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetFloatForAll(long nativePtr, long columnIndex, float value);
+
+    @Override
+    public void setDoubleForAll(long columnIndex, double value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetDoubleForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetDoubleForAll(long nativePtr, long columnIndex, double value);
+
+    @Override
+    public void setDateForAll(long columnIndex, Date value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetDateTimeValueForAll(nativePtr, columnIndex, value.getTime() / 1000);
+    }
+
+    protected native void nativeSetDateTimeValueForAll(long nativePtr, long columnIndex, long dateTimeValue);
+
+    @Override
+    public void setStringForAll(long columnIndex, String value) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetStringForAll(nativePtr, columnIndex, value);
+    }
+
+    protected native void nativeSetStringForAll(long nativePtr, long columnIndex, String value);
+
+    @Override
+    public void setNullForAll(long columnIndex) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeSetNullForAll(nativePtr, columnIndex);
+    }
+
+    protected native void nativeSetNullForAll(long nativePtr, long columnIndex);
+
+    @Override
+    public void incrementLongForAll(long columnIndex, long delta) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeIncrementLongForAll(nativePtr, columnIndex, delta);
+    }
+
+    protected native void nativeIncrementLongForAll(long nativePtr, long columnIndex, long delta);
+
+    @Override
+    public void incrementDoubleForAll(long columnIndex, double delta) {
+        if (parent.isImmutable()) throwImmutable();
+        nativeIncrementDoubleForAll(nativePtr, columnIndex, delta);
+    }
+
+    protected native void nativeIncrementDoubleForAll(long nativePtr, long columnIndex, double delta);
 
     // Sorting
     public void sort(long columnIndex, Sort sortOrder) {
         // Don't check for immutable. Sorting does not modify original table
         nativeSort(nativePtr, columnIndex, sortOrder.getValue());
+        stopKeepingRowOrder();
     }
 
     public void sort(long columnIndex) {
         // Don't check for immutable. Sorting does not modify original table
         nativeSort(nativePtr, columnIndex, true);
+        stopKeepingRowOrder();
     }
 
     protected native void nativeSort(long nativeTableViewPtr, long columnIndex, boolean sortOrder);
@@ -875,6 +1125,7 @@ public class TableView implements TableOrView, Closeable {
         }
         boolean nativeSortOrder[] = TableQuery.getNativeSortOrderValues(sortOrders);
         nativeSortMulti(nativePtr, indices, nativeSortOrder);
+        stopKeepingRowOrder();
     }
 
     protected native void nativeSortMulti(long nativeTableViewPtr, long columnIndices[], boolean ascending[]);
@@ -902,7 +1153,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public String rowToString(long rowIndex) {
-        return nativeRowToString(nativePtr, rowIndex);
+        return nativeRowToString(nativePtr, toViewPosition(rowIndex));
     }
 
     protected native String nativeRowToString(long nativeTablePtr, long rowIndex);
@@ -913,7 +1164,10 @@ public class TableView implements TableOrView, Closeable {
         this.context.executeDelayedDisposal();
         long nativeQueryPtr = nativeWhere(nativePtr);
         try {
-            return new TableQuery(this.context, this.parent, nativeQueryPtr, this);
+            TableQuery query = new TableQuery(this.context, this.parent, nativeQueryPtr, this);
+            // The query searches the rows in the order of the native view
+            query.setRestoreRowOrder(keepInRowOrder);
+            return query;
         } catch (RuntimeException e) {
             TableQuery.nativeClose(nativeQueryPtr);
             throw e;
@@ -922,6 +1176,15 @@ public class TableView implements TableOrView, Closeable {
 
     protected native long nativeWhere(long nativeViewPtr);
 
+    // The rows of views found in a view kept in row order are in the order of the native view
+    private TableView createSubView(long nativeViewPtr) {
+        TableView view = new TableView(this.context, this.parent, nativeViewPtr);
+        if (keepInRowOrder) {
+            view.keepInRowOrder();
+        }
+        return view;
+    }
+
     private void throwImmutable() {
         throw new IllegalStateException("Mutable method call during read transaction.");
     }
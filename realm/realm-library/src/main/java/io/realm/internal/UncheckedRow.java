@@ -295,6 +295,17 @@ public class UncheckedRow extends NativeObject implements Row {
         return nativePointer != 0 && nativeIsAttached(nativePointer);
     }
 
+    /**
+     * Handovers this row, so it can be imported by another SharedGroup at the same version using
+     * {@link TableQuery#nativeImportHandoverRowIntoSharedGroup(long, long)}.
+     *
+     * @param callerSharedGroupPtr native pointer to the SharedGroup of the calling thread.
+     * @return native pointer to the handover row.
+     */
+    public long handover(long callerSharedGroupPtr) {
+        return nativeHandover(callerSharedGroupPtr, nativePointer);
+    }
+
     @Override
     public boolean hasColumn(String fieldName) {
         return nativeHasColumn(nativePointer, fieldName);
@@ -332,4 +343,5 @@ public class UncheckedRow extends NativeObject implements Row {
     protected native boolean nativeHasColumn(long nativeRowPtr, String columnName);
     protected native boolean nativeIsNull(long nativeRowPtr, long columnIndex);
     protected native void nativeSetNull(long nativeRowPtr, long columnIndex);
+    private native long nativeHandover(long callerSharedGroupPtr, long nativeRowPtr);
 }
@@ -17,6 +17,9 @@
 package io.realm.internal.android;
 
 import android.util.Base64;
+import android.util.JsonWriter;
+
+import java.io.IOException;
 
 import java.util.Date;
 import java.util.regex.Matcher;
@@ -56,4 +59,48 @@ public class JsonUtils {
         if (str == null || str.length() == 0) return new byte[0];
         return Base64.decode(str, Base64.DEFAULT);
     }
+
+    /**
+     * Converts a byte[] to a Base64 encoded Json string, which can be read by {@link #stringToBytes(String)}.
+     *
+     * @param bytes the bytes to encode.
+     * @return the Base64 encoded bytes or null if {@code bytes} is null.
+     */
+    public static String bytesToString(byte[] bytes) {
+        if (bytes == null) return null;
+        return Base64.encodeToString(bytes, Base64.NO_WRAP);
+    }
+
+    /**
+     * Writes a float value. JSON has no representation of NaN and infinite values, so they are written as the strings
+     * {@code "NaN"}, {@code "Infinity"} and {@code "-Infinity"}, which are read again as numbers by the JSON import.
+     *
+     * @param writer the writer to write the value to.
+     * @param value the value to write.
+     * @throws IOException if writing fails.
+     */
+    public static void writeFloat(JsonWriter writer, float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            writer.value(Float.toString(value));
+        } else {
+            // Written as a Float, so it isn't widened to a double with more digits
+            writer.value(Float.valueOf(value));
+        }
+    }
+
+    /**
+     * Writes a double value. NaN and infinite values are written as strings like by
+     * {@link #writeFloat(JsonWriter, float)}.
+     *
+     * @param writer the writer to write the value to.
+     * @param value the value to write.
+     * @throws IOException if writing fails.
+     */
+    public static void writeDouble(JsonWriter writer, double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writer.value(Double.toString(value));
+        } else {
+            writer.value(value);
+        }
+    }
 }
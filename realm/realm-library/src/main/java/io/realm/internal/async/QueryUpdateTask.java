@@ -103,10 +103,37 @@ public class QueryUpdateTask implements Runnable {
         }
     }
 
+    // All queries and sync checks run at the version the SharedGroup was opened at, which is the version reported to
+    // the caller, even if other threads commit while the task runs.
+    // The sync check only tells whether a table the query depends on has changed at all. Core doesn't expose the
+    // changed rows to patch the caller's TableView with, so any change to such a table runs the whole query again
+    // and hands over a new TableView, however small the change was.
     @SuppressWarnings("unchecked")
     private boolean updateRealmResultsQueries(SharedGroup sharedGroup, Result result) {
         for (Builder.QueryEntry  queryEntry : realmResultsEntries) {
             if (!isTaskCancelled()) {
+                long[] oldRows = null;
+                if (queryEntry.handoverTableViewPointer != 0) {
+                    boolean inSync;
+                    if (queryEntry.computeChangeSet) {
+                        oldRows = TableQuery.nativeGetChangedRowsWithHandover(sharedGroup.getNativePointer(),
+                                sharedGroup.getNativeReplicationPointer(),
+                                queryEntry.handoverTableViewPointer);
+                        inSync = (oldRows == null);
+                    } else {
+                        inSync = TableQuery.nativeIsInSyncWithHandover(sharedGroup.getNativePointer(),
+                                sharedGroup.getNativeReplicationPointer(),
+                                queryEntry.handoverTableViewPointer);
+                    }
+                    queryEntry.handoverTableViewPointer = 0L;
+                    if (inSync) {
+                        // no table the query depends on has changed since the caller's results were computed,
+                        // so they are left out of the result and kept by the caller.
+                        TableQuery.nativeCloseQueryHandover(queryEntry.handoverQueryPointer);
+                        queryEntry.handoverQueryPointer = 0L;
+                        continue;
+                    }
+                }
                 switch (queryEntry.queryArguments.type) {
                     case ArgumentsHolder.TYPE_FIND_ALL: {
                         long handoverTableViewPointer = TableQuery.nativeFindAllWithHandover
@@ -160,18 +187,37 @@ public class QueryUpdateTask implements Runnable {
                     default:
                         throw new IllegalArgumentException("Query mode " + queryEntry.queryArguments.type + " not supported");
                 }
+                if (oldRows != null) {
+                    computeChangeSet(sharedGroup, result, queryEntry.element, oldRows);
+                }
             } else {
                 for (Long handoverQueryPointer : result.updatedTableViews.values()) {
                     if (handoverQueryPointer != 0) {
                         TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
                     }
                 }
+                for (Builder.QueryEntry entry : realmResultsEntries) {
+                    if (entry.handoverTableViewPointer != 0) {
+                        TableQuery.nativeCloseTableViewHandover(entry.handoverTableViewPointer);
+                        entry.handoverTableViewPointer = 0L;
+                    }
+                }
                 return false;
             }
         }
         return true;
     }
 
+    // Compares the rows of the new TableView with the caller's rows and replaces its handover pointer, as reading the
+    // rows consumes it.
+    @SuppressWarnings("unchecked")
+    private void computeChangeSet(SharedGroup sharedGroup, Result result, WeakReference element, long[] oldRows) {
+        Long handoverTableViewPointer = result.updatedTableViews.get(element);
+        long[] newRows = TableQuery.nativeGetRowsWithHandover(sharedGroup.getNativePointer(), handoverTableViewPointer);
+        result.updatedTableViews.put(element, newRows[0]);
+        result.changeSets.put(element, RowDiff.compute(oldRows, 0, newRows, 1));
+    }
+
     private boolean updateRealmObjectQuery(SharedGroup sharedGroup, Result result) {
         if (!isTaskCancelled()) {
             switch (realmObjectEntry.queryArguments.type) {
@@ -206,11 +252,14 @@ public class QueryUpdateTask implements Runnable {
     public static class Result {
         public IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>, Long> updatedTableViews;
         public IdentityHashMap<WeakReference<? extends RealmObject>, Long> updatedRow;
+        // changes of the updated RealmResults with change set listeners, as computed by RowDiff
+        public IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>, int[][]> changeSets;
         public SharedGroup.VersionID versionID;
 
         public static Result newRealmResultsResponse() {
             Result result = new Result();
             result.updatedTableViews = new IdentityHashMap<WeakReference<RealmResults<?>>, Long>(1);
+            result.changeSets = new IdentityHashMap<WeakReference<RealmResults<?>>, int[][]>(1);
             return result;
         }
 
@@ -247,6 +296,11 @@ public class QueryUpdateTask implements Runnable {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
                                           long handoverQueryPointer,
                                           ArgumentsHolder queryArguments);
+            RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
+                                          long handoverQueryPointer,
+                                          long handoverTableViewPointer,
+                                          boolean computeChangeSet,
+                                          ArgumentsHolder queryArguments);
             HandlerStep addObject(WeakReference<? extends RealmObject> weakReference,
                                   long handoverQueryPointer,
                                   ArgumentsHolder queryArguments);// can only update 1 element
@@ -256,6 +310,11 @@ public class QueryUpdateTask implements Runnable {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
                                           long handoverQueryPointer,
                                           ArgumentsHolder queryArguments);
+            RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
+                                          long handoverQueryPointer,
+                                          long handoverTableViewPointer,
+                                          boolean computeChangeSet,
+                                          ArgumentsHolder queryArguments);
             BuilderStep sendToHandler(Handler handler, int message);
         }
 
@@ -284,10 +343,22 @@ public class QueryUpdateTask implements Runnable {
             public RealmResultsQueryStep add(WeakReference<RealmResults<?>> weakReference,
                                              long handoverQueryPointer,
                                              ArgumentsHolder queryArguments) {
+                return add(weakReference, handoverQueryPointer, 0L, false, queryArguments);
+            }
+
+            @Override
+            public RealmResultsQueryStep add(WeakReference<RealmResults<?>> weakReference,
+                                             long handoverQueryPointer,
+                                             long handoverTableViewPointer,
+                                             boolean computeChangeSet,
+                                             ArgumentsHolder queryArguments) {
                 if (this.realmResultsEntries == null) {
                     this.realmResultsEntries = new ArrayList<QueryEntry>(1);
                 }
-                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments));
+                QueryEntry entry = new QueryEntry(weakReference, handoverQueryPointer, queryArguments);
+                entry.handoverTableViewPointer = handoverTableViewPointer;
+                entry.computeChangeSet = computeChangeSet;
+                this.realmResultsEntries.add(entry);
                 return this;
             }
 
@@ -322,6 +393,10 @@ public class QueryUpdateTask implements Runnable {
         private static class QueryEntry {
             final WeakReference element;
             long handoverQueryPointer;
+            // the current results of the caller, if any, used to skip running the query if they are up to date
+            long handoverTableViewPointer;
+            // true if the changes compared to the caller's results must be computed
+            boolean computeChangeSet;
             final ArgumentsHolder queryArguments;
 
             private QueryEntry(WeakReference element, long handoverQueryPointer, ArgumentsHolder queryArguments) {
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the differences between two versions of the rows of a TableView.
+ * <p>
+ * Both versions are given as returned by the native handover methods: for each row its source row index, or
+ * {@code -1} if the row has been removed, followed by a hash of its values. Rows are identified by their source row
+ * index, so the old version must already have been moved to the new version of the table.
+ */
+public final class RowDiff {
+
+    public static final int DELETIONS = 0;
+    public static final int INSERTIONS = 1;
+    public static final int MODIFICATIONS = 2;
+    public static final int MOVES_FROM = 3;
+    public static final int MOVES_TO = 4;
+
+    private static final int[] NONE = new int[0];
+
+    private RowDiff() {
+    }
+
+    /**
+     * Computes the differences between two versions.
+     *
+     * @param oldRows the rows of the old version.
+     * @param oldOffset the index in {@code oldRows} of the first row.
+     * @param newRows the rows of the new version.
+     * @param newOffset the index in {@code newRows} of the first row.
+     * @return the deletions, insertions, modifications and the old and new indices of moves, indexed by
+     * {@link #DELETIONS}, {@link #INSERTIONS}, {@link #MODIFICATIONS}, {@link #MOVES_FROM} and {@link #MOVES_TO}.
+     */
+    public static int[][] compute(long[] oldRows, int oldOffset, long[] newRows, int newOffset) {
+        int oldSize = (oldRows.length - oldOffset) / 2;
+        int newSize = (newRows.length - newOffset) / 2;
+
+        Map<Long, Integer> oldIndices = new HashMap<Long, Integer>(oldSize * 2);
+        for (int i = 0; i < oldSize; i++) {
+            long row = oldRows[oldOffset + 2 * i];
+            if (row != -1) {
+                oldIndices.put(row, i);
+            }
+        }
+
+        boolean[] kept = new boolean[oldSize];
+        List<Integer> insertions = new ArrayList<Integer>();
+        List<Integer> modifications = new ArrayList<Integer>();
+        // old and new indices of the rows in both versions, in the new order
+        int[] keptOld = new int[Math.min(oldSize, newSize)];
+        int[] keptNew = new int[keptOld.length];
+        int keptCount = 0;
+        for (int j = 0; j < newSize; j++) {
+            Integer i = oldIndices.get(newRows[newOffset + 2 * j]);
+            if (i == null) {
+                insertions.add(j);
+                continue;
+            }
+            kept[i] = true;
+            if (oldRows[oldOffset + 2 * i + 1] != newRows[newOffset + 2 * j + 1]) {
+                modifications.add(j);
+            }
+            keptOld[keptCount] = i;
+            keptNew[keptCount] = j;
+            keptCount++;
+        }
+
+        List<Integer> deletions = new ArrayList<Integer>();
+        for (int i = 0; i < oldSize; i++) {
+            if (!kept[i]) {
+                deletions.add(i);
+            }
+        }
+
+        // The rows in the longest increasing subsequence of old indices keep their relative order, all others moved.
+        boolean[] inOrder = longestIncreasingSubsequence(keptOld, keptCount);
+        List<Integer> movesFrom = new ArrayList<Integer>();
+        List<Integer> movesTo = new ArrayList<Integer>();
+        for (int k = 0; k < keptCount; k++) {
+            if (!inOrder[k]) {
+                movesFrom.add(keptOld[k]);
+                movesTo.add(keptNew[k]);
+            }
+        }
+
+        int[][] result = new int[5][];
+        result[DELETIONS] = toArray(deletions);
+        result[INSERTIONS] = toArray(insertions);
+        result[MODIFICATIONS] = toArray(modifications);
+        result[MOVES_FROM] = toArray(movesFrom);
+        result[MOVES_TO] = toArray(movesTo);
+        return result;
+    }
+
+    /**
+     * Returns the differences when all rows were replaced, i.e. all old rows were deleted and all new rows inserted.
+     */
+    public static int[][] reload(int oldSize, int newSize) {
+        int[][] result = new int[5][];
+        result[DELETIONS] = range(oldSize);
+        result[INSERTIONS] = range(newSize);
+        result[MODIFICATIONS] = NONE;
+        result[MOVES_FROM] = NONE;
+        result[MOVES_TO] = NONE;
+        return result;
+    }
+
+    // Marks the elements of a longest strictly increasing subsequence, in O(n log n).
+    private static boolean[] longestIncreasingSubsequence(int[] values, int count) {
+        int[] tails = new int[count]; // index of the smallest tail of all subsequences of length i + 1
+        int[] previous = new int[count];
+        int length = 0;
+        for (int k = 0; k < count; k++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[tails[middle]] < values[k]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[k] = (low > 0) ? tails[low - 1] : -1;
+            tails[low] = k;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] inSubsequence = new boolean[count];
+        for (int k = (length > 0) ? tails[length - 1] : -1; k != -1; k = previous[k]) {
+            inSubsequence[k] = true;
+        }
+        return inSubsequence;
+    }
+
+    private static int[] range(int size) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        if (list.isEmpty()) {
+            return NONE;
+        }
+        int[] result = new int[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i);
+        }
+        return result;
+    }
+}
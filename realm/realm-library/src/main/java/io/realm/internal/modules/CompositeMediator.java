@@ -17,6 +17,7 @@
 package io.realm.internal.modules;
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -68,6 +69,12 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.validateTable(clazz, transaction);
     }
 
+    @Override
+    public ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, ImplicitTransaction transaction) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.createColumnInfo(clazz, transaction);
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmObject> clazz) {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -80,6 +87,12 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.getTableName(clazz);
     }
 
+    @Override
+    public long getSchemaHash(Class<? extends RealmObject> clazz) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.getSchemaHash(clazz);
+    }
+
     @Override
     public <E extends RealmObject> E newInstance(Class<E> clazz, ColumnInfo columnInfo) {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -97,6 +110,18 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        RealmProxyMediator mediator = getMediator(Util.getOriginalModelClass(realmObject.getClass()));
+        return mediator.createDetachedCopy(realmObject, maxDepth, cache);
+    }
+
+    @Override
+    public void exportToJson(JsonWriter writer, RealmObject realmObject, int maxDepth, Set<String> fieldNames) throws IOException {
+        RealmProxyMediator mediator = getMediator(Util.getOriginalModelClass(realmObject.getClass()));
+        mediator.exportToJson(writer, realmObject, maxDepth, fieldNames);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         RealmProxyMediator mediator = getMediator(clazz);
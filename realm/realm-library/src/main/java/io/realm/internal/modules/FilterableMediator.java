@@ -17,6 +17,7 @@
 package io.realm.internal.modules;
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -84,6 +85,12 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.validateTable(clazz, transaction);
     }
 
+    @Override
+    public ColumnInfo createColumnInfo(Class<? extends RealmObject> clazz, ImplicitTransaction transaction) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.createColumnInfo(clazz, transaction);
+    }
+
     @Override
     public List<String> getFieldNames(Class<? extends RealmObject> clazz) {
         checkSchemaHasClass(clazz);
@@ -96,6 +103,12 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.getTableName(clazz);
     }
 
+    @Override
+    public long getSchemaHash(Class<? extends RealmObject> clazz) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.getSchemaHash(clazz);
+    }
+
     @Override
     public <E extends RealmObject> E newInstance(Class<E> clazz, ColumnInfo columnInfo) {
         checkSchemaHasClass(clazz);
@@ -113,6 +126,18 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public <E extends RealmObject> E createDetachedCopy(E realmObject, int maxDepth, Map<RealmObject, RealmObjectProxy.CacheData<RealmObject>> cache) {
+        checkSchemaHasClass(Util.getOriginalModelClass(realmObject.getClass()));
+        return originalMediator.createDetachedCopy(realmObject, maxDepth, cache);
+    }
+
+    @Override
+    public void exportToJson(JsonWriter writer, RealmObject realmObject, int maxDepth, Set<String> fieldNames) throws IOException {
+        checkSchemaHasClass(Util.getOriginalModelClass(realmObject.getClass()));
+        originalMediator.exportToJson(writer, realmObject, maxDepth, fieldNames);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         checkSchemaHasClass(clazz);